@@ -0,0 +1,188 @@
+package com.lttlgames.components;
+
+import java.util.Arrays;
+
+/**
+ * Holds all the values for the particles of a {@link LttlParticleEmitterArrays} in parallel primitive arrays (one index
+ * per particle) so they can be updated and rendered in tight loops without touching any particle objects. Alive
+ * particles are always packed at the front, removing one moves the last particle into it's index.
+ */
+class LttlParticleArrays
+{
+	int size = 0;
+	int capacity = 0;
+
+	/* STATE */
+	float[] life, currentLife;
+	float[] x, y;
+	float[] originX, originY;
+	float[] scale;
+	float[] rotation;
+	float[] alpha;
+	/**
+	 * packed color (Color.toFloatBits())
+	 */
+	float[] color;
+
+	/* RANGES (set on spawn) */
+	float[] scaleLow, scaleHigh;
+	float[] xOriginLow, xOriginHigh;
+	float[] yOriginLow, yOriginHigh;
+	float[] rotationLow, rotationHigh;
+	float[] speedLow, speedHigh;
+	float[] angleLow, angleHigh;
+	float[] angleCos, angleSin;
+	float[] xForceLow, xForceHigh;
+	float[] yForceLow, yForceHigh;
+
+	LttlParticleArrays(int capacity)
+	{
+		ensureCapacity(capacity);
+	}
+
+	/**
+	 * Grows all the arrays (keeping values) so they can hold at least this many particles.
+	 *
+	 * @param minCapacity
+	 */
+	void ensureCapacity(int minCapacity)
+	{
+		if (minCapacity <= capacity) return;
+		int newCapacity = Math.max(minCapacity, capacity * 2);
+
+		life = grow(life, newCapacity);
+		currentLife = grow(currentLife, newCapacity);
+		x = grow(x, newCapacity);
+		y = grow(y, newCapacity);
+		originX = grow(originX, newCapacity);
+		originY = grow(originY, newCapacity);
+		scale = grow(scale, newCapacity);
+		rotation = grow(rotation, newCapacity);
+		alpha = grow(alpha, newCapacity);
+		color = grow(color, newCapacity);
+
+		scaleLow = grow(scaleLow, newCapacity);
+		scaleHigh = grow(scaleHigh, newCapacity);
+		xOriginLow = grow(xOriginLow, newCapacity);
+		xOriginHigh = grow(xOriginHigh, newCapacity);
+		yOriginLow = grow(yOriginLow, newCapacity);
+		yOriginHigh = grow(yOriginHigh, newCapacity);
+		rotationLow = grow(rotationLow, newCapacity);
+		rotationHigh = grow(rotationHigh, newCapacity);
+		speedLow = grow(speedLow, newCapacity);
+		speedHigh = grow(speedHigh, newCapacity);
+		angleLow = grow(angleLow, newCapacity);
+		angleHigh = grow(angleHigh, newCapacity);
+		angleCos = grow(angleCos, newCapacity);
+		angleSin = grow(angleSin, newCapacity);
+		xForceLow = grow(xForceLow, newCapacity);
+		xForceHigh = grow(xForceHigh, newCapacity);
+		yForceLow = grow(yForceLow, newCapacity);
+		yForceHigh = grow(yForceHigh, newCapacity);
+
+		capacity = newCapacity;
+	}
+
+	private static float[] grow(float[] array, int newCapacity)
+	{
+		return array == null ? new float[newCapacity] : Arrays.copyOf(array,
+				newCapacity);
+	}
+
+	/**
+	 * Adds a particle to the end and returns it's index, all values still need to be set.
+	 *
+	 * @return
+	 */
+	int add()
+	{
+		ensureCapacity(size + 1);
+		return size++;
+	}
+
+	/**
+	 * Removes the particle by moving the last particle into it's index (order is not kept).
+	 *
+	 * @param i
+	 */
+	void remove(int i)
+	{
+		int last = --size;
+		if (i == last) return;
+
+		life[i] = life[last];
+		currentLife[i] = currentLife[last];
+		x[i] = x[last];
+		y[i] = y[last];
+		originX[i] = originX[last];
+		originY[i] = originY[last];
+		scale[i] = scale[last];
+		rotation[i] = rotation[last];
+		alpha[i] = alpha[last];
+		color[i] = color[last];
+
+		scaleLow[i] = scaleLow[last];
+		scaleHigh[i] = scaleHigh[last];
+		xOriginLow[i] = xOriginLow[last];
+		xOriginHigh[i] = xOriginHigh[last];
+		yOriginLow[i] = yOriginLow[last];
+		yOriginHigh[i] = yOriginHigh[last];
+		rotationLow[i] = rotationLow[last];
+		rotationHigh[i] = rotationHigh[last];
+		speedLow[i] = speedLow[last];
+		speedHigh[i] = speedHigh[last];
+		angleLow[i] = angleLow[last];
+		angleHigh[i] = angleHigh[last];
+		angleCos[i] = angleCos[last];
+		angleSin[i] = angleSin[last];
+		xForceLow[i] = xForceLow[last];
+		xForceHigh[i] = xForceHigh[last];
+		yForceLow[i] = yForceLow[last];
+		yForceHigh[i] = yForceHigh[last];
+	}
+
+	/**
+	 * Copies all the values from the particle object into index i.
+	 *
+	 * @param i
+	 * @param p
+	 */
+	void set(int i, LttlParticle p)
+	{
+		life[i] = p.life;
+		currentLife[i] = p.currentLife;
+		x[i] = p.position.x;
+		y[i] = p.position.y;
+		originX[i] = p.origin.x;
+		originY[i] = p.origin.y;
+		// particles are always uniformly scaled
+		scale[i] = p.scale.x;
+		rotation[i] = p.rotation;
+		alpha[i] = p.alpha;
+		color[i] = p.color.toFloatBits();
+
+		scaleLow[i] = p.scaleLow;
+		scaleHigh[i] = p.scaleHigh;
+		xOriginLow[i] = p.xOriginLow;
+		xOriginHigh[i] = p.xOriginHigh;
+		yOriginLow[i] = p.yOriginLow;
+		yOriginHigh[i] = p.yOriginHigh;
+		rotationLow[i] = p.rotationLow;
+		rotationHigh[i] = p.rotationHigh;
+		speedLow[i] = p.speedLow;
+		speedHigh[i] = p.speedHigh;
+		angleLow[i] = p.angleLow;
+		angleHigh[i] = p.angleHigh;
+		angleCos[i] = p.angleCos;
+		angleSin[i] = p.angleSin;
+		xForceLow[i] = p.xForceLow;
+		xForceHigh[i] = p.xForceHigh;
+		yForceLow[i] = p.yForceLow;
+		yForceHigh[i] = p.yForceHigh;
+	}
+
+	void clear()
+	{
+		size = 0;
+	}
+}
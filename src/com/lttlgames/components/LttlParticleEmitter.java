@@ -15,9 +15,10 @@ import com.lttlgames.helpers.FloatRangeRandomTimeline;
 import com.lttlgames.helpers.IntRangeRandomTimeline;
 import com.lttlgames.helpers.LttlMath;
 import com.lttlgames.helpers.LttlTimeline;
+import com.lttlgames.helpers.RangeRandomTimeline;
 
 //NOTE not sure if this can be extended with an object that extends LttlParticle, may just need to cast when updating particles and have a constrcutor that gives the new class
-//49
+//50
 @Persist(-9014)
 public class LttlParticleEmitter extends LttlParticleEmitterBase<LttlParticle>
 {
@@ -224,6 +225,16 @@ public class LttlParticleEmitter extends LttlParticleEmitterBase<LttlParticle>
 	@GuiGroup("Settings")
 	@Persist(9014046)
 	public boolean startAtTransformAngle = false;
+	/**
+	 * If greater than 1, the timelines and gradient evaluated for each particle every frame are baked with this many
+	 * samples on restart, so they are evaluated in constant time no matter how many points they have (see
+	 * {@link LttlTimeline#bake(int)}). Worth it with many particles.
+	 */
+	@GuiGroup("Settings")
+	@Persist(9014050)
+	@GuiMin(0)
+	@GuiCallback("restart")
+	public int bakedSamples = 0;
 	@GuiGroup("Editor Settings")
 	@Persist(9014049)
 	public boolean drawSpawnShape = false;
@@ -231,7 +242,6 @@ public class LttlParticleEmitter extends LttlParticleEmitterBase<LttlParticle>
 	/* PRIVATE */
 	private int emissionLow, emissionHigh;
 	private float lifeLow, lifeHigh;
-	private int updateFlags;
 	private float xOffsetEmitter, yOffsetEmitter;
 
 	private float lifeOffsetLow, lifeOffsetHigh;
@@ -240,6 +250,9 @@ public class LttlParticleEmitter extends LttlParticleEmitterBase<LttlParticle>
 	private float spawnWidthLow, spawnWidthHigh;
 	private float spawnHeightLow, spawnHeightHigh;
 
+	/* PROTECTED */
+	protected int updateFlags;
+
 	/* TEMP */
 	protected static Color colorTemp = new Color();
 
@@ -449,6 +462,50 @@ public class LttlParticleEmitter extends LttlParticleEmitterBase<LttlParticle>
 		{
 			updateFlags |= UPDATE_YORIGIN;
 		}
+
+		bakeTimeline(scaleRangeTimeline);
+		bakeTimeline(xOriginRangeTimeline);
+		bakeTimeline(yOriginRangeTimeline);
+		bakeTimeline(speedRangeTimeline);
+		bakeTimeline(angleRangeTimeline);
+		bakeTimeline(xForceRangeTimeline);
+		bakeTimeline(yForceRangeTimeline);
+		bakeTimeline(rotationRangeTimeline);
+		if (transparencyTimeline != null)
+		{
+			if (bakedSamples > 1)
+			{
+				transparencyTimeline.bake(bakedSamples);
+			}
+			else
+			{
+				transparencyTimeline.unbake();
+			}
+		}
+		if (particleColor != null)
+		{
+			if (bakedSamples > 1)
+			{
+				particleColor.bake(bakedSamples);
+			}
+			else
+			{
+				particleColor.unbake();
+			}
+		}
+	}
+
+	private void bakeTimeline(RangeRandomTimeline rangeTimeline)
+	{
+		if (rangeTimeline == null || rangeTimeline.timeline == null) return;
+		if (bakedSamples > 1)
+		{
+			rangeTimeline.timeline.bake(bakedSamples);
+		}
+		else
+		{
+			rangeTimeline.timeline.unbake();
+		}
 	}
 
 	@Override
@@ -0,0 +1,341 @@
+package com.lttlgames.components;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Matrix3;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.ShortArray;
+import com.lttlgames.editor.Lttl;
+import com.lttlgames.editor.annotations.Persist;
+import com.lttlgames.graphics.LttlMesh;
+import com.lttlgames.helpers.LttlMath;
+
+//0
+/**
+ * A {@link LttlParticleEmitter} that keeps it's particles in primitive arrays ({@link LttlParticleArrays}) instead of
+ * pooled {@link LttlParticle} objects. All particles are updated in one loop, and on render their world vertices are
+ * written straight into one vertex array that is drawn in as few batches as possible, instead of transforming the
+ * shared mesh and calling renderDraw() once per particle.<br>
+ * Uses all the same emitter and particle settings, but particles are always rendered with world vertices (like
+ * {@link #preMultiplyWorldMesh}), do not support shear, and {@link #checkEachMultiDraw} and
+ * {@link #setOrdered(boolean)} are ignored.
+ */
+@Persist(-90145)
+public class LttlParticleEmitterArrays extends LttlParticleEmitter
+{
+	/* TEMP */
+	private static final Color colorTempParticle = new Color();
+	private static final Color colorTempEmitter = new Color();
+
+	private final LttlParticleArrays particles = new LttlParticleArrays(32);
+	/**
+	 * used to spawn each particle with {@link #onNewObject(LttlParticle)}, then it's values are copied into the arrays
+	 */
+	private final LttlParticle spawnParticle = new LttlParticle();
+
+	/* RENDER CACHE */
+	private final FloatArray chunkVertices = new FloatArray();
+	private final ShortArray chunkIndices = new ShortArray();
+	private LttlMesh chunkMesh;
+	private int chunkMeshUpdateId = -1;
+	private int chunkMeshVertexCount = -1;
+	private int chunkMeshIndiceCount = -1;
+	private int chunkParticleCount = 0;
+
+	@Override
+	public int getParticleCount()
+	{
+		return particles.size;
+	}
+
+	@Override
+	protected void clearParticles()
+	{
+		particles.clear();
+	}
+
+	@Override
+	protected void emitParticle()
+	{
+		LttlParticle p = spawnParticle;
+		p.reset();
+		onNewObject(p);
+		particles.set(particles.add(), p);
+	}
+
+	@Override
+	protected void updateParticles(float delta)
+	{
+		LttlParticleArrays p = particles;
+		int updateFlags = this.updateFlags;
+
+		// the emitter color is the same for all particles this frame
+		boolean hasEmitterColor = emitterColor != null;
+		if (hasEmitterColor)
+		{
+			emitterColor.lerp(getPercentComplete(), colorTempEmitter);
+		}
+		float emitterColorBits = colorTempEmitter.toFloatBits();
+		// a baked gradient can pack it's color without a Color, same result as lerp and toFloatBits
+		boolean packedColor = !hasEmitterColor && particleColor != null
+				&& particleColor.isBaked();
+
+		for (int i = 0; i < p.size;)
+		{
+			// update life and check if dead
+			float life = p.currentLife[i] - delta;
+			if (life <= 0)
+			{
+				// moves last particle into this index, so don't increment
+				p.remove(i);
+				continue;
+			}
+			p.currentLife[i] = life;
+			float particlePercent = 1 - life / p.life[i];
+
+			// SCALE
+			if ((updateFlags & UPDATE_SCALE) != 0)
+			{
+				p.scale[i] = scaleRangeTimeline.lerp(p.scaleLow[i],
+						p.scaleHigh[i], particlePercent);
+			}
+
+			// ORIGIN (compensate position so it stays in visually same location)
+			if ((updateFlags & UPDATE_XORIGIN) != 0)
+			{
+				float xOrigin = xOriginRangeTimeline.lerp(p.xOriginLow[i],
+						p.xOriginHigh[i], particlePercent);
+				p.x[i] -= xOrigin - p.originX[i];
+				p.originX[i] = xOrigin;
+			}
+			if ((updateFlags & UPDATE_YORIGIN) != 0)
+			{
+				float yOrigin = yOriginRangeTimeline.lerp(p.yOriginLow[i],
+						p.yOriginHigh[i], particlePercent);
+				p.y[i] -= yOrigin - p.originY[i];
+				p.originY[i] = yOrigin;
+			}
+
+			// FORCES and MOVEMENT (speed, angle, forces)
+			float velocityX = xGlobalForce, velocityY = yGlobalForce, angle = 0;
+			if ((updateFlags & UPDATE_SPEED) != 0)
+			{
+				float speed = speedRangeTimeline.lerp(p.speedLow[i],
+						p.speedHigh[i], particlePercent) * delta;
+
+				if ((updateFlags & UPDATE_ANGLE) != 0)
+				{
+					angle = angleRangeTimeline.lerpFloat(p.angleLow[i],
+							p.angleHigh[i], particlePercent);
+					velocityX += speed * LttlMath.cosDeg(angle);
+					velocityY += speed * LttlMath.sinDeg(angle);
+				}
+				else
+				{
+					velocityX = speed * p.angleCos[i];
+					velocityY = speed * p.angleSin[i];
+				}
+			}
+			if ((updateFlags & UPDATE_XFORCE) != 0)
+			{
+				velocityX += xForceRangeTimeline.lerp(p.xForceLow[i],
+						p.xForceHigh[i], particlePercent) * delta;
+			}
+			if ((updateFlags & UPDATE_YFORCE) != 0)
+			{
+				velocityY += yForceRangeTimeline.lerp(p.yForceLow[i],
+						p.yForceHigh[i], particlePercent) * delta;
+			}
+			p.x[i] += velocityX;
+			p.y[i] += velocityY;
+
+			// ROTATION
+			float rotation = 0;
+			if ((updateFlags & UPDATE_ROTATION) != 0)
+			{
+				rotation = rotationRangeTimeline.lerpFloat(p.rotationLow[i],
+						p.rotationHigh[i], particlePercent);
+			}
+			if (alignedAngle)
+			{
+				rotation += -angle;
+			}
+			if (alignedVelocity)
+			{
+				rotation += LttlMath.atan2(velocityX, velocityY)
+						* LttlMath.radiansToDegrees;
+			}
+			p.rotation[i] = rotation;
+
+			// COLOR
+			if ((updateFlags & UPDATE_COLOR) != 0 && packedColor)
+			{
+				p.color[i] = particleColor.lerpBits(particlePercent);
+			}
+			else if ((updateFlags & UPDATE_COLOR) != 0)
+			{
+				// gradient lerp only sets rgb
+				colorTempParticle.a = 1;
+				particleColor.lerp(particlePercent, colorTempParticle);
+				if (hasEmitterColor)
+				{
+					ColorBlendMode.blend(emitterColorBlend, colorTempParticle,
+							colorTempEmitter);
+				}
+				p.color[i] = colorTempParticle.toFloatBits();
+			}
+			else if (hasEmitterColor)
+			{
+				// if not updating color, then just use the emitter color and do not blend
+				p.color[i] = emitterColorBits;
+			}
+
+			// TRANSPARENCY
+			p.alpha[i] = transparencyTimeline.getValue(particlePercent);
+
+			i++;
+		}
+	}
+
+	@Override
+	protected void renderParticles()
+	{
+		LttlMesh mesh = getMesh();
+		if (mesh == null) return;
+
+		FloatArray localVertices = mesh.getVerticesArray();
+		int vertexCount = mesh.getVertexCount();
+		int indiceCount = mesh.getIndiceCount();
+		if (vertexCount == 0 || indiceCount == 0) return;
+		// AA vertices keep their own alpha
+		int alphaVertexCount = mesh.hasAA() ? mesh.getAAVerticeIndex()
+				: vertexCount;
+
+		prepareChunks(mesh, vertexCount, indiceCount);
+
+		// parent transform (if inheriting), the particle's rotation is compensated for it's scale
+		float w00 = 1, w01 = 0, w02 = 0, w10 = 0, w11 = 1, w12 = 0;
+		float parentScaleX = 1, parentScaleY = 1;
+		if (inheritTransform)
+		{
+			float[] w = t().getWorldRenderTransform(false).val;
+			w00 = w[Matrix3.M00];
+			w01 = w[Matrix3.M01];
+			w02 = w[Matrix3.M02];
+			w10 = w[Matrix3.M10];
+			w11 = w[Matrix3.M11];
+			w12 = w[Matrix3.M12];
+			Vector2 parentScale = t().getWorldScale(false);
+			parentScaleX = parentScale.x;
+			parentScaleY = parentScale.y;
+		}
+		float rotationScaleXY = parentScaleY / parentScaleX;
+		float rotationScaleYX = parentScaleX / parentScaleY;
+
+		float rendererAlpha = r().getWorldAlpha(false);
+		LttlParticleArrays p = particles;
+		final int stride = LttlMesh.VERTICE_ATTRIBUTE_COUNT;
+		final int particleFloats = vertexCount * stride;
+		float[] local = localVertices.items;
+		float[] out = chunkVertices.items;
+		int count = 0;
+		for (int i = 0, n = p.size; i < n; i++)
+		{
+			float alpha = rendererAlpha * p.alpha[i];
+			if (alpha <= 0) continue;
+
+			// local matrix (see LttlMath.GenerateTransormMatrix): world = A * (scale * (v - origin)) + position
+			float scale = p.scale[i];
+			float cos = 1, sin = 0;
+			if (p.rotation[i] != 0)
+			{
+				cos = LttlMath.cosDeg(p.rotation[i]);
+				sin = LttlMath.sinDeg(p.rotation[i]);
+			}
+			float a00 = cos * scale;
+			float a01 = -sin * rotationScaleXY * scale;
+			float a10 = sin * rotationScaleYX * scale;
+			float a11 = cos * scale;
+			float ox = p.originX[i], oy = p.originY[i];
+			float tx = p.x[i] - (a00 * ox + a01 * oy);
+			float ty = p.y[i] - (a10 * ox + a11 * oy);
+
+			// premultiply by parent
+			float m00 = w00 * a00 + w01 * a10;
+			float m01 = w00 * a01 + w01 * a11;
+			float m02 = w00 * tx + w01 * ty + w02;
+			float m10 = w10 * a00 + w11 * a10;
+			float m11 = w10 * a01 + w11 * a11;
+			float m12 = w10 * tx + w11 * ty + w12;
+
+			float color = p.color[i];
+			int o = count * particleFloats;
+			for (int v = 0, l = 0; v < vertexCount; v++, l += stride, o += stride)
+			{
+				float x = local[l];
+				float y = local[l + 1];
+				out[o] = m00 * x + m01 * y + m02;
+				out[o + 1] = m10 * x + m11 * y + m12;
+				out[o + 2] = local[l + 2];
+				out[o + 3] = local[l + 3];
+				out[o + 4] = color;
+				out[o + 5] = v < alphaVertexCount ? alpha : local[l + 5];
+			}
+
+			if (++count == chunkParticleCount)
+			{
+				drawChunk(count, particleFloats, indiceCount);
+				count = 0;
+			}
+		}
+		if (count > 0)
+		{
+			drawChunk(count, particleFloats, indiceCount);
+		}
+	}
+
+	private void drawChunk(int count, int particleFloats, int indiceCount)
+	{
+		chunkVertices.size = count * particleFloats;
+		chunkIndices.size = count * indiceCount;
+		renderDraw(chunkVertices, chunkIndices);
+	}
+
+	/**
+	 * Sizes the chunk arrays so a chunk of particles fits in one batch, and generates the indices for a full chunk
+	 * (only when the mesh or batch size changes).
+	 */
+	private void prepareChunks(LttlMesh mesh, int vertexCount, int indiceCount)
+	{
+		int max = Lttl.game.getSettings().maxTriangleBatch;
+		int particleCount = LttlMath.max(1, LttlMath.min(max / vertexCount,
+				(max * 3) / indiceCount));
+
+		if (chunkMesh == mesh && chunkMeshUpdateId == mesh.getUpdateId()
+				&& chunkMeshVertexCount == vertexCount
+				&& chunkMeshIndiceCount == indiceCount
+				&& chunkParticleCount == particleCount) return;
+
+		chunkMesh = mesh;
+		chunkMeshUpdateId = mesh.getUpdateId();
+		chunkMeshVertexCount = vertexCount;
+		chunkMeshIndiceCount = indiceCount;
+		chunkParticleCount = particleCount;
+
+		chunkVertices.clear();
+		chunkVertices.ensureCapacity(particleCount * vertexCount
+				* LttlMesh.VERTICE_ATTRIBUTE_COUNT);
+
+		ShortArray meshIndices = mesh.getIndicesArray();
+		chunkIndices.clear();
+		chunkIndices.ensureCapacity(particleCount * indiceCount);
+		for (int i = 0; i < particleCount; i++)
+		{
+			int offset = i * vertexCount;
+			for (int j = 0; j < indiceCount; j++)
+			{
+				chunkIndices.add((short) (offset + meshIndices.get(j)));
+			}
+		}
+	}
+}
@@ -193,10 +193,16 @@ public abstract class LttlParticleEmitterBase<T extends LttlParticleBase>
 	final protected void update(float delta)
 	{
 		updateEmitterInternal(delta);
-		updateParticlesInternal(delta);
+		updateParticles(delta);
 	}
 
-	private void updateParticlesInternal(float delta)
+	/**
+	 * Updates all the particles and frees the dead ones. Called on {@link #update(float)} and {@link #fastForward(float)}
+	 * .
+	 * 
+	 * @param delta
+	 */
+	protected void updateParticles(float delta)
 	{
 		for (Iterator<T> it = getActivePooled().iterator(); it.hasNext();)
 		{
@@ -226,17 +232,25 @@ public abstract class LttlParticleEmitterBase<T extends LttlParticleBase>
 
 	final private void emitInternal(int count)
 	{
-		count = LttlMath.min(count, countRange.max - getActivePooled().size);
+		count = LttlMath.min(count, countRange.max - getParticleCount());
 		// count = LttlMath.max(count, countRange.min - activeCount);
 		if (count <= 0) return;
 
 		// create particles
 		for (int i = 0; i < count; i++)
 		{
-			obtain();
+			emitParticle();
 		}
 	}
 
+	/**
+	 * Creates a single new particle. Default obtains one from the pool.
+	 */
+	protected void emitParticle()
+	{
+		obtain();
+	}
+
 	/**
 	 * Used to initialize the particle emitter. Use this to define emitter values for this instance.<br>
 	 * Called on {@link #emit(int)} and {@link #start()} or {@link #startContinous()}
@@ -278,7 +292,7 @@ public abstract class LttlParticleEmitterBase<T extends LttlParticleBase>
 			return;
 		}
 
-		int activeCount = getActivePooled().size;
+		int activeCount = getParticleCount();
 
 		// check for delay
 		if (delayTimer < delay)
@@ -452,16 +466,7 @@ public abstract class LttlParticleEmitterBase<T extends LttlParticleBase>
 	private void fastForwardInternal(float delta)
 	{
 		updateEmitterInternal(delta);
-		for (Iterator<T> it = getActivePooled().iterator(); it.hasNext();)
-		{
-			T particle = it.next();
-			// remove if complete and do not render
-			if (!updateParticle(particle, delta))
-			{
-				free(particle, it);
-				continue;
-			}
-		}
+		updateParticles(delta);
 	}
 
 	@GuiButton(order = 2)
@@ -490,6 +495,14 @@ public abstract class LttlParticleEmitterBase<T extends LttlParticleBase>
 	 * removes all particles, does not stop
 	 */
 	final public void clear()
+	{
+		clearParticles();
+	}
+
+	/**
+	 * Removes all the particles. Default clears the active pooled objects.
+	 */
+	protected void clearParticles()
 	{
 		getActivePooled().clear();
 	}
@@ -510,63 +523,72 @@ public abstract class LttlParticleEmitterBase<T extends LttlParticleBase>
 	final protected void render()
 	{
 		// prepare for rendering
-		if (getActivePooled().size > 0)
+		if (getParticleCount() > 0)
+		{
+			renderParticles();
+		}
+	}
+
+	/**
+	 * Renders all the particles, only called if there are any. Default renders each pooled particle with it's own
+	 * renderDraw().
+	 */
+	protected void renderParticles()
+	{
+		// if not premultiplying mesh, then get the world matrix to multiply each particle's local transform matrix
+		// by
+		if (!preMultiplyWorldMesh)
 		{
-			// if not premultiplying mesh, then get the world matrix to multiply each particle's local transform matrix
-			// by
-			if (!preMultiplyWorldMesh)
+			// generate the cachedWorldRenderMatrix, which includes camera and this worldTransformMatrix if global
+			if (cachedWorldRenderMatrix == null)
 			{
-				// generate the cachedWorldRenderMatrix, which includes camera and this worldTransformMatrix if global
-				if (cachedWorldRenderMatrix == null)
-				{
-					cachedWorldRenderMatrix = new Matrix4();
-				}
-				getWorldMatrix(cachedWorldRenderMatrix, !inheritTransform);
+				cachedWorldRenderMatrix = new Matrix4();
 			}
+			getWorldMatrix(cachedWorldRenderMatrix, !inheritTransform);
+		}
 
-			// then iterate through each particle, update it
-			// if it is still alive, then update the renderer's mesh or worldRendermatrix and render it
-			for (T particle : getActivePooled())
-			{
-				/* RENDER PARTICLE */
-				// before render
-				prepareRender(particle);
+		// then iterate through each particle, update it
+		// if it is still alive, then update the renderer's mesh or worldRendermatrix and render it
+		for (T particle : getActivePooled())
+		{
+			/* RENDER PARTICLE */
+			// before render
+			prepareRender(particle);
 
-				// update the alpha and color of mesh's local vertices
-				getMesh().updateColorAlpha(particle.color,
-						getWorldAlpha(particle));
+			// update the alpha and color of mesh's local vertices
+			getMesh().updateColorAlpha(particle.color,
+					getWorldAlpha(particle));
 
-				if (preMultiplyWorldMesh)
+			if (preMultiplyWorldMesh)
+			{
+				// premulity mesh's local vertices to generate world vertices
+				// update mesh with world vertices (gets any updated alpha and color values too)
+				if (inheritTransform)
 				{
-					// premulity mesh's local vertices to generate world vertices
-					// update mesh with world vertices (gets any updated alpha and color values too)
-					if (inheritTransform)
-					{
-						getMesh().updateWorldVertices(
-								tmpM3a.set(t().getWorldRenderTransform(false)).mul(
-										getLocalTransformMatrix(particle,
-												tmpM3b, false)));
-					}
-					else
-					{
-						getMesh()
-								.updateWorldVertices(
-										getLocalTransformMatrix(particle,
-												tmpM3a, true));
-					}
-
-					// render, no matrix, just use world mesh
-					renderDraw(null);
+					getMesh().updateWorldVertices(
+							tmpM3a.set(t().getWorldRenderTransform(false)).mul(
+									getLocalTransformMatrix(particle,
+											tmpM3b, false)));
 				}
 				else
 				{
-					// render
-					// This should really never happen, since it defies the pupose of a multiRender since each
-					// particle has to be batched by itself, however, there may be some situations where it's faster, so
-					// worth testing
-					renderDraw(particle, cachedWorldRenderMatrix, tmpM4,
-							!inheritTransform);
+					getMesh()
+							.updateWorldVertices(
+									getLocalTransformMatrix(particle,
+											tmpM3a, true));
 				}
+
+				// render, no matrix, just use world mesh
+				renderDraw(null);
+			}
+			else
+			{
+				// render
+				// This should really never happen, since it defies the pupose of a multiRender since each
+				// particle has to be batched by itself, however, there may be some situations where it's faster, so
+				// worth testing
+				renderDraw(particle, cachedWorldRenderMatrix, tmpM4,
+						!inheritTransform);
 			}
 		}
 	}
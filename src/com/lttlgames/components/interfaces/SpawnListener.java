@@ -0,0 +1,26 @@
+package com.lttlgames.components.interfaces;
+
+import com.lttlgames.editor.LttlComponent;
+import com.lttlgames.editor.LttlPrefabPool;
+
+/**
+ * Pool callbacks for components in a {@link LttlPrefabPool} instance's tree (the instance or any descendant). Since
+ * pooled instances are reused instead of created and destroyed, this is where a component resets it's own state (ie.
+ * health, timers, velocity), the pool only resets the transforms and enabled states.
+ */
+public interface SpawnListener
+{
+	/**
+	 * Ran right after the instance is reset and enabled, after it's {@link LttlComponent#onEnable()}.
+	 *
+	 * @param pool
+	 */
+	public void onSpawn(LttlPrefabPool pool);
+
+	/**
+	 * Ran right before the instance is disabled and returned to the pool.
+	 *
+	 * @param pool
+	 */
+	public void onDespawn(LttlPrefabPool pool);
+}
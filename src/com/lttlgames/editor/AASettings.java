@@ -3,7 +3,7 @@ package com.lttlgames.editor;
 import com.lttlgames.editor.annotations.GuiMin;
 import com.lttlgames.editor.annotations.Persist;
 
-//8
+//9
 @Persist(-901)
 public class AASettings
 {
@@ -41,6 +41,14 @@ public class AASettings
 	@Persist(90107)
 	public boolean useSimple = true;
 
+	/**
+	 * The AA vertices store their offset and the shader scales it by the camera zoom, so the mesh does not need to be
+	 * regenerated when the camera zooms. Only works with {@link #useSimple} and {@link #cameraZoomDependent}, otherwise
+	 * the AA is generated normally.
+	 */
+	@Persist(90109)
+	public boolean shaderAA = false;
+
 	/**
 	 * When AA is generated with {@link #useSimple} it will cleanup the points to try and prevent self intersections.
 	 * Mostly useful when something is shrinking and large AA or very thin parts.
@@ -55,6 +63,15 @@ public class AASettings
 	@GuiMin(0)
 	public float mitreRatioLimitOverride = 0;
 
+	/**
+	 * @return if the AA should be generated for shader AA
+	 * @see #shaderAA
+	 */
+	public boolean isShaderAA()
+	{
+		return shaderAA && useSimple && cameraZoomDependent;
+	}
+
 	/**
 	 * if shape is counterclockwise, make this true
 	 */
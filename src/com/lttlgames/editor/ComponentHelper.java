@@ -6,9 +6,10 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map.Entry;
 
+import com.badlogic.gdx.utils.IdentityMap;
 import com.lttlgames.editor.LttlObjectGraphCrawler.FieldsMode;
+import com.lttlgames.helpers.LttlFrameProfiler;
 import com.lttlgames.helpers.LttlMutatableInt;
-import com.lttlgames.helpers.LttlProfiler;
 
 /**
  * Stores a bunch of static methods and properites to help handle the life of a component.
@@ -319,8 +320,8 @@ final class ComponentHelper
 	}
 
 	/**
-	 * Looks inside the scene specified and the world for a component id. If not found, searches all other loaded
-	 * scenes.
+	 * Looks inside the scene specified for a component id. If not found, looks in the world and all other loaded scenes
+	 * (with {@link ScenesManager#findComponentByIdAllScenes(int)}).
 	 * 
 	 * @param compId
 	 * @param scene
@@ -336,31 +337,10 @@ final class ComponentHelper
 			ro = scene.componentMap.get(compId);
 		}
 
-		// if didn't find it and this scene is not the world or the scene was not specified, then check inside the world
-		if (ro == null
-				&& (scene == null || scene.getId() != Lttl.scenes.WORLD_ID))
-		{
-			ro = Lttl.game.getWorldCore().componentMap.get(compId);
-		}
-
-		// search all other scenes
+		// if didn't find it, then check the world and all other loaded scenes
 		if (ro == null)
 		{
-			// skip world scene
-			for (LttlScene iScene : Lttl.scenes.getAllLoaded(false))
-			{
-				// skip scene already checked, if scene was specified
-				if (scene != null && iScene.getId() == scene.getId())
-				{
-					continue;
-				}
-
-				// if found, then break
-				if ((ro = iScene.getRef().componentMap.get(compId)) != null)
-				{
-					break;
-				}
-			}
+			ro = Lttl.scenes.findComponentByIdAllScenes(compId);
 		}
 
 		if (ro == null)
@@ -390,12 +370,31 @@ final class ComponentHelper
 	 *            the highest level transform (should not have a parent)
 	 */
 	static void initialPrepTree(LttlTransform transform)
+	{
+		initialPrepTree(transform, null);
+	}
+
+	/**
+	 * @param transform
+	 * @param zOrderList
+	 *            if not null, the transforms are added to this list instead of being inserted into the z ordered list
+	 *            one by one
+	 */
+	static void initialPrepTree(LttlTransform transform,
+			ArrayList<LttlTransform> zOrderList)
 	{
 		// it's key to update parents first since it will give the children accurate world transforms
 		transform.updateTransforms(true);
 
 		// add to z ordered list
-		Lttl.loop.updateTransformZindex(transform);
+		if (zOrderList != null)
+		{
+			zOrderList.add(transform);
+		}
+		else
+		{
+			Lttl.loop.updateTransformZindex(transform);
+		}
 
 		// update alpha
 		if (transform.renderer() != null)
@@ -406,7 +405,7 @@ final class ComponentHelper
 		// now update children
 		for (LttlTransform child : transform.children)
 		{
-			initialPrepTree(child);
+			initialPrepTree(child, zOrderList);
 		}
 	}
 
@@ -508,6 +507,7 @@ final class ComponentHelper
 		// do not do callback if paused and transform is not unPauseable
 		if (Lttl.game.isPaused() && !lc.transform().unPauseable) { return true; }
 
+		long profileStart = LttlFrameProfiler.beginComponent();
 		switch (methodType)
 		{
 			case onStart:
@@ -559,11 +559,6 @@ final class ComponentHelper
 				{
 					lc.onUpdate();
 				}
-				if (lc.getClass() == LttlTransform.class)
-				{
-					LttlProfiler.enabledTransforms.add();
-				}
-				LttlProfiler.enabledComponents.add();
 				break;
 			case onLateUpdate:
 				if (!Lttl.game.isPlaying())
@@ -624,6 +619,7 @@ final class ComponentHelper
 			case DebugDraw:
 				break;
 		}
+		LttlFrameProfiler.endComponent(lc.getClass(), profileStart);
 		lc.hasRanBit |= methodType.getValue();
 
 		return true;
@@ -653,6 +649,7 @@ final class ComponentHelper
 
 		// add to scene's componentMap
 		scene.componentMap.put(component.getId(), component);
+		Lttl.scenes.registerComponent(component, scene);
 	}
 
 	/**
@@ -728,6 +725,7 @@ final class ComponentHelper
 		transform.components.clear();
 		transform.parentTransform = null;
 		transform.renderer = null;
+		Lttl.scenes.callbackDispatcher.markDirty();
 
 		return transform;
 	}
@@ -745,6 +743,7 @@ final class ComponentHelper
 		// add to top level transform hierarchy
 		transform.parentTransform = null;
 		scene.transformHiearchy.add(transform);
+		Lttl.scenes.callbackDispatcher.markDirty();
 
 		if (Lttl.game.inEditor())
 		{
@@ -774,18 +773,67 @@ final class ComponentHelper
 	 * Searches through all scenes and their components and in all their fields and when it finds one of the specified
 	 * components it sets it's value to null. If it finds a key with the component in a hashmap, it deletes the whole
 	 * entry, and if it finds just the value in a hashmap, it sets it to null. <br>
-	 * <b>WARNING: this is probably very slow and has the chance of getting trapped recursively.</b>
+	 * When playing with {@link LttlGameSettings#indexedHardDestroy}, components are checked by their
+	 * {@link LttlReferenceFields}, their component fields are checked directly and only the components with lists,
+	 * maps, or other objects that may hold components are crawled. Otherwise all components are crawled.<br>
+	 * <b>WARNING: crawling all components is probably very slow and has the chance of getting trapped recursively.</b>
 	 * 
 	 * @param components
 	 */
 	static void removeComponentReferencesGlobal(
 			final ArrayList<LttlComponent> components)
 	{
+		final IdentityMap<LttlComponent, Boolean> componentsSet = new IdentityMap<LttlComponent, Boolean>(
+				components.size());
+		for (LttlComponent component : components)
+		{
+			componentsSet.put(component, true);
+		}
+
+		ArrayList<LttlComponent> searchComponents = Lttl.scenes
+				.findAllComponents();
+		if (Lttl.game.isPlaying()
+				&& Lttl.game.getSettings().indexedHardDestroy)
+		{
+			ArrayList<LttlComponent> crawlComponents = new ArrayList<LttlComponent>();
+			for (LttlComponent lc : searchComponents)
+			{
+				LttlReferenceFields referenceFields = LttlReferenceFields
+						.get(lc.getClass());
+				if (referenceFields.crawl)
+				{
+					// the crawl checks the component fields too
+					crawlComponents.add(lc);
+					continue;
+				}
+				for (ProcessedFieldType pft : referenceFields.componentFields)
+				{
+					try
+					{
+						Object o = pft.getAccessor().get(lc);
+						if (o != null
+								&& componentsSet.containsKey((LttlComponent) o))
+						{
+							Lttl.logNote("Hard Destroy: Found reference of "
+									+ o.toString() + " on " + lc.toString()
+									+ " and nulled it.");
+							pft.getAccessor().set(lc, null);
+						}
+					}
+					catch (IllegalArgumentException | IllegalAccessException e)
+					{
+						e.printStackTrace();
+					}
+				}
+			}
+			searchComponents = crawlComponents;
+		}
+
 		new LttlComponentCrawler()
 		{
 			public Object set(Object o)
 			{
-				if (components.contains(o))
+				if (componentsSet.containsKey((LttlComponent) o))
 				{
 					Lttl.logNote("Hard Destroy: Found reference of "
 							+ ((LttlComponent) o).toString() + " on "
@@ -798,7 +846,8 @@ final class ComponentHelper
 
 			public Object setHashMapEntry(Object key, Object value)
 			{
-				if (components.contains(key))
+				if (key instanceof LttlComponent
+						&& componentsSet.containsKey((LttlComponent) key))
 				{
 					Lttl.logNote("Hard Destroy: Found reference of "
 							+ ((LttlComponent) value).toString()
@@ -807,7 +856,7 @@ final class ComponentHelper
 							+ " and remove whole entry.");
 					return "delete";
 				}
-				else if (components.contains(value))
+				else if (componentsSet.containsKey((LttlComponent) value))
 				{
 					// only value matches, so keep entry but set value to null
 					Lttl.logNote("Hard Destroy: Found reference of "
@@ -819,7 +868,7 @@ final class ComponentHelper
 				}
 				return value;
 			}
-		}.crawl(Lttl.scenes.findAllComponents(), FieldsMode.AllButIgnore, 1);
+		}.crawl(searchComponents, FieldsMode.AllButIgnore, 1);
 	}
 
 	/**
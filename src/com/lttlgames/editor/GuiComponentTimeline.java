@@ -62,6 +62,7 @@ public class GuiComponentTimeline extends GuiComponentObject
 		{
 			getValue().getPoints().clear();
 			getValue().getPoints().addAll((Vector2Array) value);
+			getValue().modified();
 			chart.setValues(getValue().getPoints());
 			chart.repaint();
 			updateUndoValue();
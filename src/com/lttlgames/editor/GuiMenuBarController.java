@@ -1003,6 +1003,22 @@ class GuiMenuBarController
 			}
 		});
 
+		// Export Binary Scenes
+		register(new GuiLttlMenuHotkeyItem("Export Binary", "Scenes", null)
+		{
+			@Override
+			boolean validate()
+			{
+				return !Lttl.game.isPlaying();
+			}
+
+			@Override
+			void action(boolean clickedInMenu)
+			{
+				Lttl.scenes.exportBinaryScenes();
+			}
+		});
+
 		// Reload Textures Scene
 		register(new GuiLttlMenuHotkeyItem("Refresh Textures", "Scenes", null)
 		{
@@ -2680,6 +2680,19 @@ public class GuiSelectionController implements TreeSelectionListener,
 	private ArrayList<LttlTransform> initialSelectedTransforms = null;
 	private HashMap<LttlTransform, TransformBounds> boundsCache = new HashMap<LttlTransform, TransformBounds>();
 	private ArrayList<LttlTransform> selectBoxTransforms = new ArrayList<LttlTransform>();
+	private final ArrayList<LttlTransform> selectionCandidates = new ArrayList<LttlTransform>();
+	private final Rectangle tmpPointRect = new Rectangle();
+	/**
+	 * least to greatest z position, requires {@link LoopManager#updateZOrderIndexes()}
+	 */
+	private static final Comparator<LttlTransform> zOrderReversedComparator = new Comparator<LttlTransform>()
+	{
+		@Override
+		public int compare(LttlTransform o1, LttlTransform o2)
+		{
+			return o2.zOrderIndex - o1.zOrderIndex;
+		}
+	};
 	LttlTransform pressedOnNonSelected = null;
 	private Vector2 intialSingleSelectPos = null;
 
@@ -2797,9 +2810,13 @@ public class GuiSelectionController implements TreeSelectionListener,
 
 					// a function that takes a rectange and returns selection (no decendants)
 					// The select box works efficiently by caching, so if an object is moving, it won't work
-					for (LttlTransform lt : Lttl.scenes
-							.findComponentsAllScenes(LttlTransform.class, false))
+					// only checks the transforms near the select box
+					selectionCandidates.clear();
+					Lttl.loop.spatialIndex.collectSelectionCandidates(
+							selectBoxRectangle, selectionCandidates);
+					for (int i = 0, n = selectionCandidates.size(); i < n; i++)
 					{
+						LttlTransform lt = selectionCandidates.get(i);
 						// skip if unselectable or disabled
 						if (!lt.isEnabled() || !GuiHelper.isSelectable(lt))
 						{
@@ -2975,9 +2992,14 @@ public class GuiSelectionController implements TreeSelectionListener,
 						: position.x, (position == null) ? Lttl.input
 						.getEditorY() : position.y));
 
-		for (LttlTransform lt : Lttl.scenes.findComponentsAllScenes(
-				LttlTransform.class, false))
+		// only check the transforms near the point
+		selectionCandidates.clear();
+		tmpPointRect.set((float) point.getX(), (float) point.getY(), 0, 0);
+		Lttl.loop.spatialIndex.collectSelectionCandidates(tmpPointRect,
+				selectionCandidates);
+		for (int i = 0, n = selectionCandidates.size(); i < n; i++)
 		{
+			LttlTransform lt = selectionCandidates.get(i);
 			// check if allowed to be selectable, then check if mouse is in it
 			if (!lt.isEnabled()
 					|| !(!useRules || GuiHelper.isSelectable(lt.transform())))
@@ -3016,23 +3038,9 @@ public class GuiSelectionController implements TreeSelectionListener,
 			}
 		}
 
-		// Sort the list based on index of the the transformsOrdered list
-		Collections.sort(list, new Comparator<LttlTransform>()
-		{
-			@Override
-			public int compare(LttlTransform o1, LttlTransform o2)
-			{
-				if (Lttl.loop.transformsOrdered.indexOf(o2) > Lttl.loop.transformsOrdered
-						.indexOf(o1))
-				{
-					return 1;
-				}
-				else
-				{
-					return -1;
-				}
-			}
-		});
+		// Sort the list based on index of the the transformsOrdered list (reversed)
+		Lttl.loop.updateZOrderIndexes();
+		Collections.sort(list, zOrderReversedComparator);
 
 		return list;
 	}
@@ -1,7 +1,12 @@
 package com.lttlgames.editor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
@@ -17,6 +22,7 @@ import com.lttlgames.graphics.LttlBlendMode;
 import com.lttlgames.graphics.LttlMesh;
 import com.lttlgames.graphics.LttlShader;
 import com.lttlgames.graphics.LttlShaders;
+import com.lttlgames.helpers.LttlFrameProfiler;
 import com.lttlgames.helpers.LttlMath;
 import com.lttlgames.helpers.LttlProfiler;
 
@@ -38,6 +44,67 @@ public class LoopManager
 	 * iterated through when drawing all transforms (z order)
 	 */
 	ArrayList<LttlTransform> transformsOrdered = new ArrayList<LttlTransform>();
+	/**
+	 * if any transform's world z position changed this frame, then {@link #transformsOrdered} needs to be sorted
+	 */
+	private boolean transformsOrderedDirty = false;
+	/**
+	 * if {@link #transformsOrdered} has changed since the transforms' {@link LttlTransform#zOrderIndex} were set
+	 */
+	private boolean zOrderIndexesDirty = true;
+	/**
+	 * renderer world bounds, for culling and selection
+	 */
+	final LttlSpatialIndex spatialIndex = new LttlSpatialIndex();
+	/**
+	 * the transforms that may render this view, in z order, used when {@link LttlGameSettings#useSpatialCulling}
+	 */
+	private final ArrayList<LttlTransform> renderCandidates = new ArrayList<LttlTransform>();
+	private int[] zOrderSortBuffer = new int[64];
+	private static final Comparator<LttlTransform> zComparator = new Comparator<LttlTransform>()
+	{
+		@Override
+		public int compare(LttlTransform o1, LttlTransform o2)
+		{
+			// highest z first
+			return Float.compare(o2.worldZpos, o1.worldZpos);
+		}
+	};
+	/**
+	 * used instead of iterating {@link #transformsOrdered} when {@link LttlGameSettings#useRenderQueue} is enabled
+	 */
+	private final LttlRenderQueue renderQueue = new LttlRenderQueue();
+	/**
+	 * used when {@link LttlGameSettings#useStaticBatching} is enabled
+	 */
+	private final LttlStaticBatcher staticBatcher = new LttlStaticBatcher();
+	private final LttlWorldVertexTransformer worldVertexTransformer = new LttlWorldVertexTransformer();
+	private static final FloatArray emptyVertices = new FloatArray(0);
+	private static final ShortArray emptyIndices = new ShortArray(0);
+
+	/**
+	 * generates meshes in the background, see {@link LttlMeshGenerator#submitMeshJob(LttlMeshJob)}
+	 */
+	final LttlMeshWorker meshWorker = new LttlMeshWorker();
+
+	// Parallel staging
+	private ForkJoinPool stagingPool;
+	/**
+	 * all the top level transforms of all scenes, these trees are independent of each other so can be staged in
+	 * parallel
+	 */
+	private final ArrayList<LttlTransform> stagingRoots = new ArrayList<LttlTransform>();
+	private final ArrayList<StagingTask> stagingTasks = new ArrayList<StagingTask>();
+	private final RecursiveAction stagingAllTask = new RecursiveAction()
+	{
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected void compute()
+		{
+			invokeAll(stagingTasks);
+		}
+	};
 
 	/**
 	 * The components to be destroyed this frame.
@@ -48,6 +115,11 @@ public class LoopManager
 	 * be delete all the same time instead of running it for each component
 	 */
 	ArrayList<LttlComponent> compHardDestroyList = new ArrayList<LttlComponent>();
+	/**
+	 * transforms marked dirty ({@link LttlTransform#markDirty()}), the only {@link LttlTransform#staticTransform}s that
+	 * check their local values when staging
+	 */
+	final ArrayList<LttlTransform> dirtyTransforms = new ArrayList<LttlTransform>();
 
 	/**
 	 * The currently binded texture;
@@ -75,6 +147,16 @@ public class LoopManager
 	private boolean shaderHasCameraMatrix = false;
 	private LttlRenderer lastRenderer;
 	private LttlMesh batchMesh;
+	/**
+	 * used instead of renderMesh when the current shader is a shader AA variant
+	 */
+	private Mesh renderMeshShaderAA;
+	private boolean currentShaderAA = false;
+	/**
+	 * the AA offsets (x, y) of every vertex in batchMesh, only when currentShaderAA
+	 */
+	private final FloatArray batchAAOffsets = new FloatArray();
+	private float[] shaderAAVertices = new float[0];
 	private int totalFrameRenderCount = 0;
 	private int frameRenderPeak = 0;
 	private RenderView renderView = RenderView.Play;
@@ -95,6 +177,13 @@ public class LoopManager
 			renderMesh.dispose();
 		}
 		renderMesh = new Mesh(false, size, size * 3, LttlMesh.VERTEX_ATTRIBUTES);
+		if (renderMeshShaderAA != null)
+		{
+			renderMeshShaderAA.dispose();
+		}
+		renderMeshShaderAA = new Mesh(false, size, size * 3,
+				LttlMesh.VERTEX_ATTRIBUTES_SHADER_AA);
+		batchAAOffsets.clear();
 
 		if (batchMesh == null)
 		{
@@ -124,25 +213,41 @@ public class LoopManager
 	{
 		try
 		{
+			LttlFrameProfiler.beginFrame();
+
 			// always process engine input before any updates
 			// needs to be done even if paused because this also processes editor input
+			LttlFrameProfiler.begin("Process Input");
 			Lttl.input.update();
+			LttlFrameProfiler.end();
 
 			// update editor
 			if (Lttl.game.inEditor() && Lttl.editor.getGui().isInitialized())
 			{
+				LttlFrameProfiler.begin("Editor");
 				Lttl.editor.update();
+				LttlFrameProfiler.end();
 			}
 
 			// EDITOR PAUSED
 			// don't update anything, unless stepOneFrame is true, then pretend not paused
 			if (Lttl.game.inEditor() && Lttl.editor.isPaused() && !stepOneFrame)
 			{
+				// meshes updated by the editor still need to be swapped in
+				LttlFrameProfiler.begin("Mesh Swaps");
+				meshWorker.processCompleted();
+				LttlFrameProfiler.end();
+				LttlFrameProfiler.begin("Stage");
 				stage();
+				LttlFrameProfiler.end();
 				// still want to debug draw when paused
+				LttlFrameProfiler.begin("Debug Draw");
 				functionsGroupDebugDraw();
+				LttlFrameProfiler.end();
 				// render (didn't update anything though)
+				LttlFrameProfiler.begin("Render");
 				renderLoop();
+				LttlFrameProfiler.end();
 				printProfileData();
 				return;
 			}
@@ -161,14 +266,30 @@ public class LoopManager
 			// clear all components' has ran bits
 			clearHasRanBits();
 
+			/* ASYNC SCENE LOADS */
+			LttlFrameProfiler.begin("Scene Loads");
+			Lttl.scenes.processSceneLoads();
+			LttlFrameProfiler.end();
+
+			/* ASYNC MESHES */
+			LttlFrameProfiler.begin("Mesh Swaps");
+			meshWorker.processCompleted();
+			LttlFrameProfiler.end();
+
 			/* UPDATES */
+			LttlFrameProfiler.begin("Updates");
 			updates();
+			LttlFrameProfiler.end();
 
 			/* STAGE */
+			LttlFrameProfiler.begin("Stage");
 			stage();
+			LttlFrameProfiler.end();
 
 			/* RENDER */
+			LttlFrameProfiler.begin("Render");
 			renderLoop();
+			LttlFrameProfiler.end();
 
 			// REPAUSES IF ONLY PLAYING ONE FRAME
 			if (Lttl.game.inEditor() && Lttl.editor.isPaused() && stepOneFrame)
@@ -180,6 +301,10 @@ public class LoopManager
 		catch (KillLoopException k)
 		{
 		}
+		finally
+		{
+			LttlFrameProfiler.endFrame();
+		}
 	}
 
 	private void updates()
@@ -191,22 +316,34 @@ public class LoopManager
 		// order, which can be modified in editor)
 
 		/* Functions Group: Input */
+		LttlFrameProfiler.begin("Input");
 		functionsGroupInput();
+		LttlFrameProfiler.end();
 
 		/* Functions Group: Animation */
+		LttlFrameProfiler.begin("Animation");
 		functionsGroupAnimation();
+		LttlFrameProfiler.end();
 
 		/* Functions Group: Physics/Fixed */
+		LttlFrameProfiler.begin("Physics/Fixed");
 		functionsGroupPhysicsFixed();
+		LttlFrameProfiler.end();
 
 		/* Functions Group: Core Logic */
+		LttlFrameProfiler.begin("Core Logic");
 		functionsGroupCoreLogic();
+		LttlFrameProfiler.end();
 
 		/* Functions Group: Dependent Logic */
+		LttlFrameProfiler.begin("Dependent Logic");
 		functionsGroupDependentLogic();
+		LttlFrameProfiler.end();
 
 		/* Functions Group: Debug Draw */
+		LttlFrameProfiler.begin("Debug Draw");
 		functionsGroupDebugDraw();
+		LttlFrameProfiler.end();
 	}
 
 	private void functionsGroupInput()
@@ -228,6 +365,9 @@ public class LoopManager
 
 	private void functionsGroupPhysicsFixed()
 	{
+		// finish last frame's threaded step (and run it's callbacks) before anything else uses the world
+		Lttl.game.getPhysics().finishThreadedStep();
+
 		// add the delta time to the fixed left over
 		// limit the deltaTime, so if it spikes on really slow devices or on load, prevents a runaway train effect
 		Lttl.game.fixedAccumulator += LttlMath.min(Lttl.game.getDeltaTime(),
@@ -238,15 +378,29 @@ public class LoopManager
 			// guaranteed at least one step
 			while (Lttl.game.fixedAccumulator >= Lttl.game.getSettings().fixedDeltaTime)
 			{
+				LttlFrameProfiler.begin("Fixed Step");
 				Lttl.game.fixedFrameCount++;
 				fixedAccumulatorAdjustment(Lttl.game.getSettings().fixedDeltaTime);
 
 				Lttl.scenes.callBackScenes(ComponentCallBackType.onFixedUpdate);
 
+				// the last step can run on the step thread during the rest of the frame, it's onLateFixedUpdate runs
+				// when it is finished
+				if (Lttl.game.isPlaying() && Lttl.game.getPhysics().enabled
+						&& Lttl.game.fixedAccumulator < Lttl.game.getSettings().fixedDeltaTime
+						&& Lttl.game.getPhysics().canStepThreaded())
+				{
+					Lttl.game.getPhysics().startThreadedStep();
+					LttlFrameProfiler.end();
+					continue;
+				}
+
 				// step physics after running this iteration's onFixedUpdates if physics is enabled and isPlaying
 				if (Lttl.game.isPlaying() && Lttl.game.getPhysics().enabled)
 				{
+					LttlFrameProfiler.begin("Physics Step");
 					Lttl.game.getPhysics().step(false);
+					LttlFrameProfiler.end();
 
 					// update the LttlTransforms with the physics body's transform since this is the last step. The
 					// bodyToTransform update needs to be done in onLateFixedUpdate because the bodies need to update in
@@ -263,6 +417,7 @@ public class LoopManager
 
 				// always set to false afterward
 				Lttl.game.getPhysics().shouldUpdateBodyToTransform = false;
+				LttlFrameProfiler.end();
 			}
 
 			// clearForces() is automatically done after each step(), if necessary, could disable autoClearForces and do
@@ -335,17 +490,144 @@ public class LoopManager
 		// it is crucial that the camera gets staged before the transforms, since they need the camera worldMatrix
 		Lttl.game.getCamera().update();
 
+		if (Lttl.game.getSettings().parallelStaging)
+		{
+			stageParallel();
+		}
+		else
+		{
+			for (LttlSceneCore ls : Lttl.scenes.getScenesAndWorld())
+			{
+				for (LttlTransform lt : ls.transformHiearchy)
+				{
+					stageTransform(lt, null);
+				}
+			}
+		}
+
+		// the staged dirty transforms were cleaned, the ones that weren't staged (disabled) stay dirty
+		for (int i = dirtyTransforms.size() - 1; i >= 0; i--)
+		{
+			LttlTransform lt = dirtyTransforms.get(i);
+			if (!lt.stageDirty || lt.isDestroyPending())
+			{
+				lt.stageDirty = false;
+				dirtyTransforms.set(i, dirtyTransforms.get(dirtyTransforms.size() - 1));
+				dirtyTransforms.remove(dirtyTransforms.size() - 1);
+			}
+		}
+
+		// sort once for all the transforms that changed z position this frame
+		if (transformsOrderedDirty)
+		{
+			Collections.sort(transformsOrdered, zComparator);
+			transformsOrderedDirty = false;
+			zOrderIndexesDirty = true;
+		}
+
+		// update the bounds of the renderers that changed this frame
+		spatialIndex.update();
+	}
+
+	/**
+	 * Stages all the top level transform trees in parallel. Anything that is not thread safe (mesh generation, texture
+	 * refreshes, and world transform change callbacks) is deferred and ran afterwards on this thread, in hiearchy order.
+	 */
+	private void stageParallel()
+	{
+		stagingRoots.clear();
 		for (LttlSceneCore ls : Lttl.scenes.getScenesAndWorld())
 		{
-			for (LttlTransform lt : ls.transformHiearchy)
+			stagingRoots.addAll(ls.transformHiearchy);
+		}
+
+		ForkJoinPool stagingPool = getStagingPool();
+
+		// split the roots into a few tasks per thread, so uneven tree sizes still balance out
+		int taskCount = LttlMath.min(stagingRoots.size(),
+				stagingPool.getParallelism() * 4);
+		while (stagingTasks.size() > taskCount)
+		{
+			stagingTasks.remove(stagingTasks.size() - 1);
+		}
+		while (stagingTasks.size() < taskCount)
+		{
+			stagingTasks.add(new StagingTask());
+		}
+		for (int i = 0; i < taskCount; i++)
+		{
+			StagingTask task = stagingTasks.get(i);
+			task.reinitialize();
+			task.start = stagingRoots.size() * i / taskCount;
+			task.end = stagingRoots.size() * (i + 1) / taskCount;
+		}
+
+		stagingAllTask.reinitialize();
+		stagingPool.invoke(stagingAllTask);
+
+		// serial pass
+		for (StagingTask task : stagingTasks)
+		{
+			for (LttlTransform lt : task.deferredWorldTransformChanges)
+			{
+				lt.r().onWorldTransformChange();
+			}
+			for (LttlTransform lt : task.deferredRenderers)
+			{
+				stageRenderer(lt);
+			}
+			task.deferredWorldTransformChanges.clear();
+			task.deferredRenderers.clear();
+		}
+		stagingRoots.clear();
+	}
+
+	/**
+	 * @return the fork join pool used for staging and other parallel work on the main thread's data
+	 */
+	private ForkJoinPool getStagingPool()
+	{
+		if (stagingPool == null)
+		{
+			stagingPool = new ForkJoinPool();
+		}
+		return stagingPool;
+	}
+
+	private class StagingTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		int start;
+		int end;
+		final ArrayList<LttlTransform> deferredWorldTransformChanges = new ArrayList<LttlTransform>();
+		final ArrayList<LttlTransform> deferredRenderers = new ArrayList<LttlTransform>();
+
+		@Override
+		protected void compute()
+		{
+			for (int i = start; i < end; i++)
 			{
-				stageTransform(lt);
+				stageTransform(stagingRoots.get(i), this);
 			}
 		}
 	}
 
-	private void stageTransform(LttlTransform lt)
+	/**
+	 * @param lt
+	 * @param task
+	 *            if null then staging on main thread, otherwise anything not thread safe is added to the task to be ran
+	 *            later
+	 */
+	private void stageTransform(LttlTransform lt, StagingTask task)
 	{
+		// skip static subtrees that have not changed since they were last staged, they keep their staged values
+		if (lt.staticSubtree && !lt.subtreeDirty && !lt.parentTransformChanged
+				&& (lt.r() == null || !lt.r().parentAlphaChanged)
+				&& Lttl.game.isPlaying()) { return; }
+		lt.subtreeDirty = false;
+		lt.staticSubtree = false;
+
 		lt.enabledThisFrame = true; // all transforms start as enabled, then determine if not enabled this frame
 		if (!lt.isEnabledSelf())
 		{
@@ -353,41 +635,44 @@ public class LoopManager
 			return; // don't compute any of the staging stuff for this object and all its children
 		}
 
+		boolean staticSubtree = lt.staticTransform;
 		if (lt.r() != null)
 		{
 			// reset post processing stuff
 			lt.r().isRenderConsumed = false;
 			lt.r().hasRendered = false;
-			lt.r().hasUpdatedCanRender = false;
 
 			if (lt.r().isEnabled())
 			{
 				// update Alpha
 				lt.r().updateAlpha(false);
 
-				// check if should force a mesh update with MeshGenerator
-				if (lt.r().generator() != null
-						&& lt.r().generator().isEnabled()
-						&& lt.r().generator().debugUpdateMeshEveryFrame)
+				if (task == null)
 				{
-					Lttl.logNote("Forcing Mesh Update: on " + lt.getName());
-					lt.r().generator().updateMesh();
+					stageRenderer(lt);
 				}
-
-				// update textures if they are null but have a regionName
-				if (lt.r().getTex0().getTex() == null)
+				else if ((lt.r().generator() != null
+						&& lt.r().generator().isEnabled() && lt.r().generator().debugUpdateMeshEveryFrame)
+						|| lt.r().getTex0().getTex() == null
+						|| lt.r().getTex1().getTex() == null)
 				{
-					lt.r().getTex0().refresh();
+					task.deferredRenderers.add(lt);
 				}
-				if (lt.r().getTex1().getTex() == null)
+
+				// a renderer still waiting on a texture or forcing mesh updates needs staging every frame
+				if ((lt.r().generator() != null
+						&& lt.r().generator().isEnabled() && lt.r().generator().debugUpdateMeshEveryFrame)
+						|| lt.r().getTex0().getTex() == null
+						|| lt.r().getTex1().getTex() == null)
 				{
-					lt.r().getTex1().refresh();
+					staticSubtree = false;
 				}
 			}
 		}
 
 		// update (local and world) transform and world values
-		lt.updateTransforms(false);
+		lt.updateTransforms(false, task == null ? null
+				: task.deferredWorldTransformChanges);
 
 		// check if world z position changed, should be up to date since the updateTransforms() ran above
 		checkTransformZindex(lt);
@@ -397,9 +682,36 @@ public class LoopManager
 		{
 			for (int i = 0; i < lt.children.size(); i++)
 			{
-				stageTransform(lt.children.get(i));
+				LttlTransform child = lt.children.get(i);
+				stageTransform(child, task);
+				staticSubtree &= child.staticSubtree;
 			}
 		}
+		lt.staticSubtree = staticSubtree;
+	}
+
+	/**
+	 * The renderer staging that is not thread safe. Assumes renderer exists and is enabled.
+	 */
+	private void stageRenderer(LttlTransform lt)
+	{
+		// check if should force a mesh update with MeshGenerator
+		if (lt.r().generator() != null && lt.r().generator().isEnabled()
+				&& lt.r().generator().debugUpdateMeshEveryFrame)
+		{
+			Lttl.logNote("Forcing Mesh Update: on " + lt.getName());
+			lt.r().generator().updateMesh();
+		}
+
+		// update textures if they are null but have a regionName
+		if (lt.r().getTex0().getTex() == null)
+		{
+			lt.r().getTex0().refresh();
+		}
+		if (lt.r().getTex1().getTex() == null)
+		{
+			lt.r().getTex1().refresh();
+		}
 	}
 
 	/**
@@ -447,11 +759,29 @@ public class LoopManager
 
 		// should already be clear
 		batchMesh.clear();
+		batchAAOffsets.clear();
+		staticBatcher.beginFrame();
 
 		// force texture rebind, prevents errors when making textures and stuff, like LttlFontRenderer, and when
 		// importing texture atlas
 		clearBindedTextures();
 
+		// build the render queue once, it is used for both views
+		if (Lttl.game.getSettings().useRenderQueue)
+		{
+			// only the play view renders when not in editor, so can be culled now
+			if (!Lttl.game.inEditor() && Lttl.game.getSettings().useSpatialCulling)
+			{
+				collectRenderCandidates(Lttl.game.getCamera());
+				renderQueue.build(renderCandidates);
+				renderCandidates.clear();
+			}
+			else
+			{
+				renderQueue.build(transformsOrdered);
+			}
+		}
+
 		// draw editor debug stuff and add handles, this way it renders like any other debug, but it is on top
 		if (Lttl.game.inEditor())
 		{
@@ -485,6 +815,7 @@ public class LoopManager
 
 			// flush and clean
 			cleanUpRenderingView("Finished");
+			staticBatcher.endView();
 		}
 
 		if (Lttl.game.inEditor()
@@ -525,6 +856,7 @@ public class LoopManager
 
 			// flush and clean
 			cleanUpRenderingView("Finished");
+			staticBatcher.endView();
 
 			// reset back to play view
 			renderView = RenderView.Play;
@@ -533,6 +865,9 @@ public class LoopManager
 		// reset debug
 		Lttl.debug.reset();
 
+		// don't hold on to any transforms
+		renderQueue.clear();
+
 		// save peak
 		frameRenderPeak = LttlMath.max(frameRenderPeak, totalFrameRenderCount);
 	}
@@ -577,6 +912,7 @@ public class LoopManager
 	private void cleanUpRenderingView(String flushReason)
 	{
 		// flush any left
+		endStaticRun();
 		if (batchMesh.getVertexCount() > 0)
 		{
 			flush(RenderType.Other, null, flushReason);
@@ -588,6 +924,7 @@ public class LoopManager
 			currentShader.end();
 			currentShader = null;
 		}
+		currentShaderAA = false;
 		currentBlendMode = null;
 		shaderHasCameraMatrix = false;
 		lastRenderer = null;
@@ -605,6 +942,8 @@ public class LoopManager
 
 	private void renderView()
 	{
+		staticBatcher.beginView(renderView);
+
 		// now that everything is ready for rendering callback post process, but only if rendering play view
 		// this needs to happen after setViewport above
 		if (processing != null && getRenderView() == RenderView.Play)
@@ -617,15 +956,148 @@ public class LoopManager
 			processing.onStart();
 		}
 
-		// iterate through the objects in order of their z position
-		for (LttlTransform lt : transformsOrdered)
+		if (Lttl.game.getSettings().useRenderQueue)
+		{
+			for (int i = 0, n = renderQueue.size(); i < n; i++)
+			{
+				prepareWorldVertices(renderQueue.get(i));
+			}
+			worldVertexTransformer.run(getStagingPool());
+
+			// iterate through the objects in order of their sort key (z position, then render state)
+			for (int i = 0, n = renderQueue.size(); i < n; i++)
+			{
+				LttlTransform lt = renderQueue.get(i);
+				// check again, play view's post processing may have changed it
+				if (lt.r() == null || lt.r().doNotRender || !lt.r().canRender())
+					continue;
+
+				renderTransform(lt);
+			}
+			return;
+		}
+
+		// iterate through the objects in order of their z position, only the ones that may be in view if culling
+		ArrayList<LttlTransform> list = transformsOrdered;
+		if (Lttl.game.getSettings().useSpatialCulling
+				&& !(Lttl.game.inEditor() && Lttl.editor.getSettings().markNonRenders))
 		{
+			collectRenderCandidates(getCurrentRenderingCamera());
+			list = renderCandidates;
+		}
+		for (int i = 0, n = list.size(); i < n; i++)
+		{
+			prepareWorldVertices(list.get(i));
+		}
+		worldVertexTransformer.run(getStagingPool());
+
+		for (int i = 0, n = list.size(); i < n; i++)
+		{
+			LttlTransform lt = list.get(i);
 			if (lt.r() == null || lt.r().doNotRender || !lt.r().canRender())
 				continue;
 
 			// no post callbacks for editor
 			renderTransform(lt);
 		}
+		renderCandidates.clear();
+	}
+
+	/**
+	 * Adds the transform's mesh to {@link #worldVertexTransformer} if it would render in this view and it's world
+	 * vertices need updating, so {@link #renderTransform(LttlTransform)} finds them updated.
+	 */
+	private void prepareWorldVertices(LttlTransform lt)
+	{
+		LttlRenderer r = lt.r();
+		if (r == null || r.doNotRender || !r.preMultiplyWorldMesh
+				|| r instanceof LttlMultiRenderer || !r.canRender()) return;
+
+		LttlMesh mesh = r.getMesh();
+		if (mesh == null || mesh.getWorldVerticesArray().size != 0) return;
+		if (r.checkInCameraView
+				&& !getCurrentRenderingCamera().getViewportRotatedAABB()
+						.overlaps(r.getRenderCheckRect())) return;
+
+		worldVertexTransformer.add(mesh, lt.worldRenderTransform);
+	}
+
+	/**
+	 * Sets {@link #renderCandidates} to the transforms that may render in the camera's view, in z order.
+	 */
+	private void collectRenderCandidates(LttlCamera camera)
+	{
+		spatialIndex.collectRenderCandidates(camera.getViewportRotatedAABB(),
+				false, renderCandidates);
+		sortByZOrder(renderCandidates);
+	}
+
+	/**
+	 * Returns all the transforms with a renderer whose world bounds (axis aligned mesh and custom bounding rect)
+	 * overlap the rect, in z order (highest z first). Uses the spatial index, so it only checks the ones nearby.
+	 * 
+	 * @param rect
+	 * @param result
+	 *            if null, creates a new list, is cleared
+	 * @return result
+	 */
+	public ArrayList<LttlTransform> getTransformsInRect(Rectangle rect,
+			ArrayList<LttlTransform> result)
+	{
+		if (result == null)
+		{
+			result = new ArrayList<LttlTransform>();
+		}
+		result.clear();
+		spatialIndex.collectOverlapping(rect, result);
+		sortByZOrder(result);
+		return result;
+	}
+
+	/**
+	 * Sets {@link LttlTransform#zOrderIndex} on all the transforms if the z order has changed.
+	 */
+	void updateZOrderIndexes()
+	{
+		if (!zOrderIndexesDirty) return;
+		for (int i = 0, n = transformsOrdered.size(); i < n; i++)
+		{
+			transformsOrdered.get(i).zOrderIndex = i;
+		}
+		zOrderIndexesDirty = false;
+	}
+
+	/**
+	 * Sorts the transforms by their order in {@link #transformsOrdered} (highest z first), any that are not in it are
+	 * removed. O(n log n) of the list, not all the transforms.
+	 * 
+	 * @param list
+	 */
+	void sortByZOrder(ArrayList<LttlTransform> list)
+	{
+		updateZOrderIndexes();
+		int n = list.size();
+		if (zOrderSortBuffer.length < n)
+		{
+			zOrderSortBuffer = new int[Math.max(n, zOrderSortBuffer.length * 2)];
+		}
+		int count = 0;
+		for (int i = 0; i < n; i++)
+		{
+			LttlTransform lt = list.get(i);
+			int index = lt.zOrderIndex;
+			if (index >= 0 && index < transformsOrdered.size()
+					&& transformsOrdered.get(index) == lt)
+			{
+				zOrderSortBuffer[count++] = index;
+			}
+		}
+		Arrays.sort(zOrderSortBuffer, 0, count);
+		list.clear();
+		for (int i = 0; i < count; i++)
+		{
+			list.add(transformsOrdered.get(zOrderSortBuffer[i]));
+		}
 	}
 
 	/**
@@ -749,8 +1221,16 @@ public class LoopManager
 
 				if (checkPostProcessing(lt))
 				{
-					// draw with just mesh since it has world values
-					renderRenderer(lt.r(), null);
+					if (Lttl.game.getSettings().useStaticBatching
+							&& staticBatcher.check(r, colorAlphaChanged, max))
+					{
+						renderStatic(r);
+					}
+					else
+					{
+						// draw with just mesh since it has world values
+						renderRenderer(lt.r(), null);
+					}
 				}
 				else return;
 			}
@@ -808,6 +1288,9 @@ public class LoopManager
 
 	void flush(RenderType type, LttlRenderer renderer, String reason)
 	{
+		// the static run is before anything in the batch now
+		endStaticRun();
+
 		// check if an empty batch
 		if (batchMesh.getVertexCount() == 0) return;
 
@@ -820,6 +1303,7 @@ public class LoopManager
 					+ (renderer == null ? "unknown" : renderer.t().getName()
 							+ ".  Removing mesh."));
 			batchMesh.clear();
+			batchAAOffsets.clear();
 			return;
 		}
 
@@ -832,22 +1316,64 @@ public class LoopManager
 
 		/* RENDER */
 		// set vertices and indices
-		renderMesh.setVertices(batchMesh.getVerticesArray().items, 0,
-				batchMesh.getVerticesArray().size);
-		renderMesh.setIndices(batchMesh.getIndicesArray().items, 0,
+		Mesh mesh;
+		if (currentShaderAA)
+		{
+			mesh = renderMeshShaderAA;
+			int count = interleaveShaderAAVertices();
+			mesh.setVertices(shaderAAVertices, 0, count);
+		}
+		else
+		{
+			mesh = renderMesh;
+			mesh.setVertices(batchMesh.getVerticesArray().items, 0,
+					batchMesh.getVerticesArray().size);
+		}
+		mesh.setIndices(batchMesh.getIndicesArray().items, 0,
 				batchMesh.getIndicesArray().size);
 		// actually render (epicness!)
-		renderMesh.render(currentShader, GL20.GL_TRIANGLES, 0,
+		mesh.render(currentShader, GL20.GL_TRIANGLES, 0,
 				batchMesh.getIndicesArray().size);
 
 		// log batch and mesh
 		if (getRenderView() == RenderView.Play)
 		{
-			LttlMesh.profileMesh(renderMesh);
+			LttlMesh.profileMesh(mesh);
 			LttlProfiler.batchCount.add();
 		}
 
 		batchMesh.clear();
+		batchAAOffsets.clear();
+	}
+
+	/**
+	 * Interleaves the batch vertices and AA offsets into {@link #shaderAAVertices} with the
+	 * {@link LttlMesh#VERTEX_ATTRIBUTES_SHADER_AA} layout.
+	 * 
+	 * @return the number of floats
+	 */
+	private int interleaveShaderAAVertices()
+	{
+		float[] vertices = batchMesh.getVerticesArray().items;
+		float[] offsets = batchAAOffsets.items;
+		int vertexCount = batchMesh.getVertexCount();
+		int size = vertexCount * LttlMesh.VERTICE_ATTRIBUTE_COUNT_SHADER_AA;
+		if (shaderAAVertices.length < size)
+		{
+			shaderAAVertices = new float[size];
+		}
+
+		float[] result = shaderAAVertices;
+		for (int i = 0, src = 0, dst = 0; i < vertexCount; i++)
+		{
+			System.arraycopy(vertices, src, result, dst,
+					LttlMesh.VERTICE_ATTRIBUTE_COUNT);
+			src += LttlMesh.VERTICE_ATTRIBUTE_COUNT;
+			dst += LttlMesh.VERTICE_ATTRIBUTE_COUNT;
+			result[dst++] = offsets[i * 2];
+			result[dst++] = offsets[i * 2 + 1];
+		}
+		return size;
 	}
 
 	private void printBatchData(RenderType type, LttlRenderer renderer,
@@ -872,6 +1398,52 @@ public class LoopManager
 		}
 	}
 
+	/**
+	 * Adds the renderer to the current static run, ending the run first if it can't be added. The run is drawn as one
+	 * chunk when it ends, which is whenever anything else is drawn or flushed.
+	 * 
+	 * @param renderer
+	 *            checked with {@link LttlStaticBatcher#check(LttlRenderer, boolean, int)}
+	 */
+	private void renderStatic(LttlRenderer renderer)
+	{
+		if (!staticBatcher.canAdd(renderer, max))
+		{
+			endStaticRun();
+		}
+		staticBatcher.add(renderer);
+	}
+
+	/**
+	 * Draws the current static run's chunk, rebuilding it if any of it's renderers changed.
+	 */
+	private void endStaticRun()
+	{
+		if (!staticBatcher.hasRun()) return;
+
+		LttlRenderer first = staticBatcher.getRunFirst();
+		int count = staticBatcher.getRunSize();
+		Mesh mesh = staticBatcher.endRun(max);
+
+		// set the render state like any other draw (flushing if it changes), but nothing is added to the batch
+		renderDraw(RenderType.Renderer, first.blendMode, first.shader, first
+				.getTex0().getTex(), first.getTex1().getTex(), emptyVertices,
+				emptyIndices, null, first);
+		batchRenderCount--;
+		// anything left in the batch was before the run
+		flush(RenderType.Renderer, first, "Static Batch");
+
+		batchNum++;
+		totalFrameRenderCount += count;
+		mesh.render(currentShader, GL20.GL_TRIANGLES, 0, mesh.getNumIndices());
+
+		if (getRenderView() == RenderView.Play)
+		{
+			LttlMesh.profileMesh(mesh);
+			LttlProfiler.batchCount.add();
+		}
+	}
+
 	private void addToRenderBatch(FloatArray vertices, ShortArray indices)
 	{
 		int indexOffset = LttlMesh.getVertexCount(batchMesh.getVerticesArray());
@@ -899,12 +1471,25 @@ public class LoopManager
 
 	void renderRenderer(LttlRenderer renderer, Matrix4 worldRenderMatrix)
 	{
+		LttlMesh mesh = renderer.getMesh();
+		FloatArray vertices = worldRenderMatrix == null ? mesh
+				.getWorldVerticesArray() : mesh.getVerticesArray();
+		FloatArray aaOffsets = null;
+		if (mesh.hasShaderAA())
+		{
+			aaOffsets = worldRenderMatrix == null ? mesh
+					.getWorldAAOffsetsArray() : mesh.getAAOffsetsArray();
+			// offsets need to match the AA vertices, or they would shift the rest of the batch
+			if (aaOffsets.size != (LttlMesh.getVertexCount(vertices) - mesh
+					.getAAVerticeIndex()) * 2)
+			{
+				aaOffsets = null;
+			}
+		}
 		renderDraw(RenderType.Renderer, renderer.blendMode, renderer.shader,
 				renderer.getTex0().getTex(), renderer.getTex1().getTex(),
-				worldRenderMatrix == null ? renderer.getMesh()
-						.getWorldVerticesArray() : renderer.getMesh()
-						.getVerticesArray(), renderer.getMesh()
-						.getIndicesArray(), worldRenderMatrix, renderer);
+				vertices, mesh.getIndicesArray(), worldRenderMatrix, renderer,
+				aaOffsets);
 	}
 
 	/**
@@ -917,6 +1502,26 @@ public class LoopManager
 			FloatArray vertices, ShortArray indices, Matrix4 worldRenderMatrix,
 			LttlRenderer renderer)
 	{
+		renderDraw(type, blendMode, shaderType, tex0, tex1, vertices, indices,
+				worldRenderMatrix, renderer, null);
+	}
+
+	/**
+	 * @param renderer
+	 * @param worldRenderMatrix
+	 *            can be null if mesh has world values, if has worldRenderMatrix will always flush
+	 * @param aaOffsets
+	 *            if not null, renders with the shader AA variant of the shader, these are the offsets of the last
+	 *            vertices (the AA vertices), see {@link LttlMesh#hasShaderAA()}
+	 */
+	void renderDraw(RenderType type, LttlBlendMode blendMode,
+			LttlShader shaderType, Texture tex0, Texture tex1,
+			FloatArray vertices, ShortArray indices, Matrix4 worldRenderMatrix,
+			LttlRenderer renderer, FloatArray aaOffsets)
+	{
+		// the static run is before this
+		endStaticRun();
+
 		batchRenderCount++;
 
 		boolean uniqueUniforms = false;
@@ -947,8 +1552,11 @@ public class LoopManager
 		// *** SHADER ***//
 		// check if it is using multiple textures, so can choose which shader to give it
 		ShaderProgram nextShader;
-		nextShader = LttlShaders.getShader(shaderType, tex0 != null
-				&& tex1 != null && tex0 != tex1);
+		boolean shaderAA = aaOffsets != null;
+		boolean multipleTextures = tex0 != null && tex1 != null && tex0 != tex1;
+		nextShader = shaderAA ? LttlShaders.getShaderAA(shaderType,
+				multipleTextures) : LttlShaders.getShader(shaderType,
+				multipleTextures);
 
 		// check if shader was found
 		Lttl.Throw(nextShader);
@@ -964,10 +1572,18 @@ public class LoopManager
 				currentShader.end();
 			}
 			currentShader = nextShader;
+			currentShaderAA = shaderAA;
 			// clear the current blend mode because it's a new shader and needs to be initally set
 			currentBlendMode = null;
 			currentShader.begin();
 
+			// shader AA is scaled by the zoom of the camera rendering it
+			if (shaderAA)
+			{
+				currentShader.setUniformf(LttlShaders.UNIFORM_AA_ZOOM,
+						1 / getCurrentRenderingCamera().zoom);
+			}
+
 			// if using the camera matrix then make sure it's set
 			if (worldRenderMatrix == null)
 			{
@@ -1053,6 +1669,17 @@ public class LoopManager
 		// needed to be binded
 		// now add this renderer's mesh to the batchMesh
 		batchMesh.add(vertices, indices);
+		if (shaderAA)
+		{
+			// the vertices before the AA vertices have no offset
+			for (int i = 0, n = LttlMesh.getVertexCount(vertices)
+					- aaOffsets.size / 2; i < n; i++)
+			{
+				batchAAOffsets.add(0);
+				batchAAOffsets.add(0);
+			}
+			batchAAOffsets.addAll(aaOffsets);
+		}
 
 		// if there were any unique uniforms then flush it now, because can't batch more than one with unique uniforms
 		if (uniqueUniforms)
@@ -1066,21 +1693,23 @@ public class LoopManager
 
 	private void checkTransformZindex(LttlTransform lt)
 	{
-		// check if z position has changed since last frame
+		// check if z position has changed since last frame, sorts them all at once at end of stage
 		if (lt.lastF_worldZpos != lt.worldZpos)
 		{
-			updateTransformZindex(lt);
+			transformsOrderedDirty = true;
 		}
 		lt.lastF_worldZpos = lt.worldZpos;
 	}
 
 	/**
-	 * Adds/updates the transformsOrdered (by z world pos) list. Required on scene load and transform creation.
+	 * Adds/updates the transformsOrdered (by z world pos) list. Required on scene load and transform creation. During
+	 * staging, z changes are not inserted one by one, the list is just sorted once at the end of {@link #stage()}.
 	 * 
 	 * @param lt
 	 */
 	void updateTransformZindex(LttlTransform lt)
 	{
+		zOrderIndexesDirty = true;
 		transformsOrdered.remove(lt);
 		for (int i = 0; i < transformsOrdered.size(); i++)
 		{
@@ -1094,6 +1723,32 @@ public class LoopManager
 		transformsOrdered.add(lt); // add at end
 	}
 
+	/**
+	 * Adds the transforms to the transformsOrdered list without inserting them one by one, the list is sorted once at
+	 * the end of the next {@link #stage()}.
+	 * 
+	 * @param transforms
+	 */
+	void addTransformsZindex(ArrayList<LttlTransform> transforms)
+	{
+		transformsOrdered.addAll(transforms);
+		transformsOrderedDirty = true;
+		zOrderIndexesDirty = true;
+	}
+
+	/**
+	 * Removes the transform from the transformsOrdered list (prevents any rendering).
+	 * 
+	 * @param lt
+	 */
+	void removeTransformZindex(LttlTransform lt)
+	{
+		if (transformsOrdered.remove(lt))
+		{
+			zOrderIndexesDirty = true;
+		}
+	}
+
 	/**
 	 * Actually unloads a scene from game.
 	 */
@@ -1343,5 +1998,16 @@ public class LoopManager
 		{
 			renderMesh.dispose();
 		}
+		if (renderMeshShaderAA != null)
+		{
+			renderMeshShaderAA.dispose();
+		}
+		if (stagingPool != null)
+		{
+			stagingPool.shutdown();
+			stagingPool = null;
+		}
+		meshWorker.dispose();
+		staticBatcher.dispose();
 	}
 }
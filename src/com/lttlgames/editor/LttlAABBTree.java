@@ -0,0 +1,435 @@
+package com.lttlgames.editor;
+
+import java.util.ArrayList;
+
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * A dynamic bounding volume tree of axis aligned rects (same idea as Box2D's b2DynamicTree). Each leaf is a proxy
+ * with a fattened rect, so small movements don't change the tree, and the tree is kept balanced with rotations.<br>
+ * Queries only visit the branches that overlap, so they cost about the log of the proxy count plus the results.
+ *
+ * @param <T>
+ *            the data stored with each proxy
+ */
+final class LttlAABBTree<T>
+{
+	private static final int NULL = -1;
+	/**
+	 * how much bigger (of the rect's largest side) a proxy's fat rect is
+	 */
+	private static final float FAT_FACTOR = .1f;
+	private static final float FAT_MIN = .01f;
+
+	private int root = NULL;
+	private int capacity = 0;
+	private int freeList = NULL;
+
+	private float[] minX, minY, maxX, maxY;
+	/**
+	 * parent node, or the next free node if this node is free
+	 */
+	private int[] parent;
+	private int[] child1, child2;
+	/**
+	 * leaf is 0, free is -1
+	 */
+	private int[] height;
+	private Object[] data;
+
+	private int[] stack = new int[64];
+
+	LttlAABBTree()
+	{
+		allocate(16);
+	}
+
+	private void allocate(int newCapacity)
+	{
+		minX = copy(minX, newCapacity);
+		minY = copy(minY, newCapacity);
+		maxX = copy(maxX, newCapacity);
+		maxY = copy(maxY, newCapacity);
+		parent = copy(parent, newCapacity);
+		child1 = copy(child1, newCapacity);
+		child2 = copy(child2, newCapacity);
+		height = copy(height, newCapacity);
+		Object[] newData = new Object[newCapacity];
+		if (data != null) System.arraycopy(data, 0, newData, 0, capacity);
+		data = newData;
+
+		// link the new nodes into the free list
+		for (int i = capacity; i < newCapacity - 1; i++)
+		{
+			parent[i] = i + 1;
+			height[i] = -1;
+		}
+		parent[newCapacity - 1] = freeList;
+		height[newCapacity - 1] = -1;
+		freeList = capacity;
+		capacity = newCapacity;
+	}
+
+	private static float[] copy(float[] array, int newCapacity)
+	{
+		float[] result = new float[newCapacity];
+		if (array != null) System.arraycopy(array, 0, result, 0, array.length);
+		return result;
+	}
+
+	private static int[] copy(int[] array, int newCapacity)
+	{
+		int[] result = new int[newCapacity];
+		if (array != null) System.arraycopy(array, 0, result, 0, array.length);
+		return result;
+	}
+
+	private int allocateNode()
+	{
+		if (freeList == NULL)
+		{
+			allocate(capacity * 2);
+		}
+		int node = freeList;
+		freeList = parent[node];
+		parent[node] = NULL;
+		child1[node] = NULL;
+		child2[node] = NULL;
+		height[node] = 0;
+		return node;
+	}
+
+	private void freeNode(int node)
+	{
+		parent[node] = freeList;
+		height[node] = -1;
+		data[node] = null;
+		freeList = node;
+	}
+
+	/**
+	 * Creates a proxy for the rect.
+	 *
+	 * @param rect
+	 * @param value
+	 * @return the proxy id, used to move and destroy it
+	 */
+	int createProxy(Rectangle rect, T value)
+	{
+		int proxy = allocateNode();
+		setFat(proxy, rect);
+		data[proxy] = value;
+		insertLeaf(proxy);
+		return proxy;
+	}
+
+	void destroyProxy(int proxy)
+	{
+		removeLeaf(proxy);
+		freeNode(proxy);
+	}
+
+	/**
+	 * Moves the proxy to the new rect, if the new rect is still inside the proxy's fat rect then the tree is not
+	 * changed.
+	 *
+	 * @param proxy
+	 * @param rect
+	 * @return if the tree changed
+	 */
+	boolean moveProxy(int proxy, Rectangle rect)
+	{
+		if (minX[proxy] <= rect.x && minY[proxy] <= rect.y
+				&& maxX[proxy] >= rect.x + rect.width
+				&& maxY[proxy] >= rect.y + rect.height) { return false; }
+
+		removeLeaf(proxy);
+		setFat(proxy, rect);
+		insertLeaf(proxy);
+		return true;
+	}
+
+	/**
+	 * Adds the data of every proxy whose fat rect overlaps the rect to the result (does not clear it).
+	 *
+	 * @param rect
+	 * @param result
+	 */
+	@SuppressWarnings("unchecked")
+	void query(Rectangle rect, ArrayList<T> result)
+	{
+		if (root == NULL) return;
+
+		float qMinX = rect.x, qMinY = rect.y;
+		float qMaxX = rect.x + rect.width, qMaxY = rect.y + rect.height;
+
+		int top = 0;
+		stack[top++] = root;
+		while (top > 0)
+		{
+			int node = stack[--top];
+			if (minX[node] > qMaxX || maxX[node] < qMinX || minY[node] > qMaxY
+					|| maxY[node] < qMinY)
+			{
+				continue;
+			}
+
+			if (height[node] == 0)
+			{
+				result.add((T) data[node]);
+			}
+			else
+			{
+				if (top + 2 > stack.length)
+				{
+					int[] newStack = new int[stack.length * 2];
+					System.arraycopy(stack, 0, newStack, 0, top);
+					stack = newStack;
+				}
+				stack[top++] = child1[node];
+				stack[top++] = child2[node];
+			}
+		}
+	}
+
+	private void setFat(int node, Rectangle rect)
+	{
+		float margin = Math.max(Math.max(rect.width, rect.height) * FAT_FACTOR,
+				FAT_MIN);
+		minX[node] = rect.x - margin;
+		minY[node] = rect.y - margin;
+		maxX[node] = rect.x + rect.width + margin;
+		maxY[node] = rect.y + rect.height + margin;
+	}
+
+	private float perimeter(int node)
+	{
+		return 2 * ((maxX[node] - minX[node]) + (maxY[node] - minY[node]));
+	}
+
+	private float combinedPerimeter(int a, int b)
+	{
+		return 2 * ((Math.max(maxX[a], maxX[b]) - Math.min(minX[a], minX[b])) + (Math
+				.max(maxY[a], maxY[b]) - Math.min(minY[a], minY[b])));
+	}
+
+	private void combine(int node, int a, int b)
+	{
+		minX[node] = Math.min(minX[a], minX[b]);
+		minY[node] = Math.min(minY[a], minY[b]);
+		maxX[node] = Math.max(maxX[a], maxX[b]);
+		maxY[node] = Math.max(maxY[a], maxY[b]);
+	}
+
+	private void insertLeaf(int leaf)
+	{
+		if (root == NULL)
+		{
+			root = leaf;
+			parent[root] = NULL;
+			return;
+		}
+
+		// find the best sibling, by the surface area heuristic
+		int index = root;
+		while (height[index] != 0)
+		{
+			int c1 = child1[index];
+			int c2 = child2[index];
+
+			float area = perimeter(index);
+			float combinedArea = combinedPerimeter(index, leaf);
+
+			// cost of creating a new parent for this node and the new leaf
+			float cost = 2 * combinedArea;
+			// minimum cost of pushing the leaf further down the tree
+			float inheritanceCost = 2 * (combinedArea - area);
+
+			float cost1 = descendCost(c1, leaf) + inheritanceCost;
+			float cost2 = descendCost(c2, leaf) + inheritanceCost;
+
+			if (cost < cost1 && cost < cost2)
+			{
+				break;
+			}
+			index = cost1 < cost2 ? c1 : c2;
+		}
+		int sibling = index;
+
+		// create a new parent
+		int oldParent = parent[sibling];
+		int newParent = allocateNode();
+		parent[newParent] = oldParent;
+		data[newParent] = null;
+		combine(newParent, leaf, sibling);
+		height[newParent] = height[sibling] + 1;
+
+		if (oldParent != NULL)
+		{
+			if (child1[oldParent] == sibling)
+			{
+				child1[oldParent] = newParent;
+			}
+			else
+			{
+				child2[oldParent] = newParent;
+			}
+		}
+		else
+		{
+			root = newParent;
+		}
+		child1[newParent] = sibling;
+		child2[newParent] = leaf;
+		parent[sibling] = newParent;
+		parent[leaf] = newParent;
+
+		fixUpwards(parent[leaf]);
+	}
+
+	private float descendCost(int child, int leaf)
+	{
+		if (height[child] == 0) { return combinedPerimeter(child, leaf); }
+		return combinedPerimeter(child, leaf) - perimeter(child);
+	}
+
+	private void removeLeaf(int leaf)
+	{
+		if (leaf == root)
+		{
+			root = NULL;
+			return;
+		}
+
+		int p = parent[leaf];
+		int grandParent = parent[p];
+		int sibling = child1[p] == leaf ? child2[p] : child1[p];
+
+		if (grandParent != NULL)
+		{
+			// connect sibling to grand parent and destroy parent
+			if (child1[grandParent] == p)
+			{
+				child1[grandParent] = sibling;
+			}
+			else
+			{
+				child2[grandParent] = sibling;
+			}
+			parent[sibling] = grandParent;
+			freeNode(p);
+
+			fixUpwards(grandParent);
+		}
+		else
+		{
+			root = sibling;
+			parent[sibling] = NULL;
+			freeNode(p);
+		}
+	}
+
+	/**
+	 * Rebalances and refits the rects and heights from the node up to the root.
+	 */
+	private void fixUpwards(int index)
+	{
+		while (index != NULL)
+		{
+			index = balance(index);
+
+			int c1 = child1[index];
+			int c2 = child2[index];
+			height[index] = 1 + Math.max(height[c1], height[c2]);
+			combine(index, c1, c2);
+
+			index = parent[index];
+		}
+	}
+
+	/**
+	 * Performs a left or right rotation if the node is imbalanced.
+	 *
+	 * @return the new root of this sub tree
+	 */
+	private int balance(int a)
+	{
+		if (height[a] < 2) return a;
+
+		int b = child1[a];
+		int c = child2[a];
+		int balance = height[c] - height[b];
+
+		// rotate c up
+		if (balance > 1)
+		{
+			rotateUp(a, c, b, true);
+			return c;
+		}
+
+		// rotate b up
+		if (balance < -1)
+		{
+			rotateUp(a, b, c, false);
+			return b;
+		}
+
+		return a;
+	}
+
+	/**
+	 * @param a
+	 *            the imbalanced node
+	 * @param up
+	 *            the child of a that is moving up
+	 * @param other
+	 *            the other child of a
+	 * @param upIsChild2
+	 *            if up is a's child2
+	 */
+	private void rotateUp(int a, int up, int other, boolean upIsChild2)
+	{
+		int f = child1[up];
+		int g = child2[up];
+
+		// swap a and up
+		child1[up] = a;
+		parent[up] = parent[a];
+		parent[a] = up;
+
+		// a's old parent should point to up
+		if (parent[up] != NULL)
+		{
+			if (child1[parent[up]] == a)
+			{
+				child1[parent[up]] = up;
+			}
+			else
+			{
+				child2[parent[up]] = up;
+			}
+		}
+		else
+		{
+			root = up;
+		}
+
+		// the taller of f and g stays with up, the other goes to a
+		int keep = height[f] > height[g] ? f : g;
+		int give = keep == f ? g : f;
+		child2[up] = keep;
+		if (upIsChild2)
+		{
+			child2[a] = give;
+		}
+		else
+		{
+			child1[a] = give;
+		}
+		parent[give] = a;
+		combine(a, other, give);
+		combine(up, a, keep);
+		height[a] = 1 + Math.max(height[other], height[give]);
+		height[up] = 1 + Math.max(height[a], height[keep]);
+	}
+}
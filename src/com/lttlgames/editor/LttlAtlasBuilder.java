@@ -0,0 +1,395 @@
+package com.lttlgames.editor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.apache.commons.io.FileUtils;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker.Settings;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonReader;
+
+/**
+ * Packs a scene's atlas input folder in groups, the images directly in the folder and each top level sub folder, each
+ * on to it's own pages, then merges the groups' pack files in to the one pack file the texture manager loads. Only the
+ * groups whose input files changed are repacked, which is found by comparing each group's digest of it's files'
+ * contents with the manifest saved next to the input folder. A file is only read and digested again if it's length
+ * or modified time changed.<br>
+ * Region names are the same as packing the whole folder at once (relative to the input folder). Settings come from
+ * the input folder's pack.json and the group folder's pack.json, deeper pack.json files are ignored.<br>
+ * Doesn't use anything from the game, so it can run off the main thread, see
+ * {@link LttlTextureManager#loadAndBuildTextures(boolean, boolean)}. ONLY RAN IN EDITOR
+ */
+final class LttlAtlasBuilder
+{
+	static final String MANIFEST_NAME = "atlas.manifest";
+	private static final String GROUPS_DIR = "groups";
+	private static final String ROOT_GROUP = "_root";
+	private static final String SETTINGS_NAME = "pack.json";
+
+	private final File inputDir;
+	private final File outputDir;
+	private final File manifestFile;
+	private final String packFileName;
+	/**
+	 * one for the groups and one for the files, since the files are digested while digesting their group
+	 */
+	private final MessageDigest groupDigester;
+	private final MessageDigest fileDigester;
+
+	/**
+	 * length, modified time, and digest of each input file (relative to input folder) from the manifest
+	 */
+	private final HashMap<String, String[]> lastFiles = new HashMap<String, String[]>();
+	private final HashMap<String, String> lastGroups = new HashMap<String, String>();
+	private final HashMap<String, String[]> files = new HashMap<String, String[]>();
+	private final TreeMap<String, String> groups = new TreeMap<String, String>();
+
+	LttlAtlasBuilder(File inputDir, File outputDir, String packFileName)
+	{
+		this.inputDir = inputDir;
+		this.outputDir = outputDir;
+		this.packFileName = packFileName;
+		manifestFile = new File(inputDir.getParentFile(), MANIFEST_NAME);
+		try
+		{
+			groupDigester = MessageDigest.getInstance("MD5");
+			fileDigester = MessageDigest.getInstance("MD5");
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Repacks the groups that changed and writes the pack file.
+	 *
+	 * @param checkIfModified
+	 *            if false, repacks every group
+	 * @return if anything was repacked, so the atlas needs to be loaded again
+	 * @throws IOException
+	 */
+	boolean build(boolean checkIfModified) throws IOException
+	{
+		readManifest();
+
+		// group the input files
+		TreeMap<String, ArrayList<File>> groupFiles = new TreeMap<String, ArrayList<File>>();
+		for (File f : listSorted(inputDir))
+		{
+			if (f.isDirectory())
+			{
+				ArrayList<File> list = new ArrayList<File>();
+				listAll(f, list);
+				groupFiles.put(f.getName(), list);
+			}
+			else if (!f.getName().equals(SETTINGS_NAME))
+			{
+				ArrayList<File> list = groupFiles.get(ROOT_GROUP);
+				if (list == null)
+				{
+					list = new ArrayList<File>();
+					groupFiles.put(ROOT_GROUP, list);
+				}
+				list.add(f);
+			}
+		}
+
+		// the input folder's settings affect every group
+		File rootSettings = new File(inputDir, SETTINGS_NAME);
+		String rootSettingsDigest = rootSettings.exists() ? digestFile(rootSettings)
+				: "";
+
+		// digest each group and find the ones that changed
+		ArrayList<String> changedGroups = new ArrayList<String>();
+		for (Entry<String, ArrayList<File>> e : groupFiles.entrySet())
+		{
+			String name = e.getKey();
+			groupDigester.reset();
+			groupDigester.update(rootSettingsDigest.getBytes("UTF-8"));
+			for (File f : e.getValue())
+			{
+				String fileDigest = digestFile(f);
+				groupDigester.update(getRelativePath(f).getBytes("UTF-8"));
+				groupDigester.update(fileDigest.getBytes("UTF-8"));
+			}
+			String groupDigest = toHex(groupDigester.digest());
+			groups.put(name, groupDigest);
+
+			if (!checkIfModified || !groupDigest.equals(lastGroups.get(name))
+					|| !new File(getGroupDir(name), packFileName + ".atlas").exists())
+			{
+				changedGroups.add(name);
+			}
+		}
+
+		// remove the output of groups that no longer exist
+		boolean removed = false;
+		File[] groupDirs = new File(outputDir, GROUPS_DIR).listFiles();
+		if (groupDirs != null)
+		{
+			for (File dir : groupDirs)
+			{
+				if (!groupFiles.containsKey(dir.getName()))
+				{
+					FileUtils.deleteQuietly(dir);
+					removed = true;
+				}
+			}
+		}
+
+		File packFile = new File(outputDir, packFileName + ".atlas");
+		if (changedGroups.size() == 0 && !removed && packFile.exists())
+		{
+			// saves any new modified times, so they don't need to be digested again
+			if (!files.keySet().equals(lastFiles.keySet()) || hasNewFileTimes())
+			{
+				writeManifest();
+			}
+			return false;
+		}
+
+		for (String name : changedGroups)
+		{
+			packGroup(name, groupFiles.get(name), rootSettings);
+		}
+		writePackFile();
+		writeManifest();
+		return true;
+	}
+
+	private void packGroup(String name, ArrayList<File> groupFiles,
+			File rootSettings) throws IOException
+	{
+		File groupDir = getGroupDir(name);
+		// the packer appends to an existing pack file
+		FileUtils.deleteQuietly(groupDir);
+		groupDir.mkdirs();
+
+		Settings settings = new Settings();
+		Json json = new Json();
+		if (rootSettings.exists())
+		{
+			json.readFields(settings, new JsonReader().parse(new FileHandle(
+					rootSettings)));
+		}
+		File groupSettings = new File(new File(inputDir, name), SETTINGS_NAME);
+		if (!name.equals(ROOT_GROUP) && groupSettings.exists())
+		{
+			json.readFields(settings, new JsonReader().parse(new FileHandle(
+					groupSettings)));
+		}
+
+		// the input folder is the root, so region names are the same as packing it all at once
+		TexturePacker packer = new TexturePacker(inputDir, settings);
+		boolean hasImages = false;
+		for (File f : groupFiles)
+		{
+			if (isImage(f))
+			{
+				packer.addImage(f);
+				hasImages = true;
+			}
+		}
+		if (hasImages)
+		{
+			packer.pack(groupDir, packFileName);
+		}
+		else
+		{
+			// empty pack file, so the group isn't seen as never packed
+			FileUtils.writeStringToFile(new File(groupDir, packFileName
+					+ ".atlas"), "", "UTF-8");
+		}
+	}
+
+	/**
+	 * Merges the groups' pack files in to one, with the page images relative to the output folder, and replaces the old
+	 * one in one move, so it's never partially written. Also removes pages from before the atlas was packed in groups.
+	 */
+	private void writePackFile() throws IOException
+	{
+		StringBuilder sb = new StringBuilder();
+		for (String name : groups.keySet())
+		{
+			File groupPackFile = new File(getGroupDir(name), packFileName
+					+ ".atlas");
+			if (!groupPackFile.exists()) continue;
+
+			String prefix = GROUPS_DIR + "/" + name + "/";
+			// a page's image is the first line after a blank line
+			boolean pageStart = true;
+			sb.append('\n');
+			for (String line : FileUtils.readLines(groupPackFile, "UTF-8"))
+			{
+				if (line.trim().isEmpty())
+				{
+					pageStart = true;
+					sb.append('\n');
+					continue;
+				}
+				if (pageStart)
+				{
+					sb.append(prefix);
+					pageStart = false;
+				}
+				sb.append(line).append('\n');
+			}
+		}
+
+		File packFile = new File(outputDir, packFileName + ".atlas");
+		File tempFile = new File(outputDir, packFileName + ".atlas.tmp");
+		FileUtils.writeStringToFile(tempFile, sb.toString(), "UTF-8");
+		Files.move(tempFile.toPath(), packFile.toPath(),
+				StandardCopyOption.REPLACE_EXISTING);
+
+		File[] oldPages = outputDir.listFiles();
+		if (oldPages != null)
+		{
+			for (File f : oldPages)
+			{
+				if (f.isFile() && f.getName().startsWith(packFileName) && isImage(f))
+				{
+					f.delete();
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the digest of the file's contents, from the manifest if it's length and modified time didn't change
+	 */
+	private String digestFile(File f) throws IOException
+	{
+		String path = getRelativePath(f);
+		String length = Long.toString(f.length());
+		String modified = Long.toString(f.lastModified());
+		String[] last = lastFiles.get(path);
+		String fileDigest;
+		if (last != null && last[0].equals(length) && last[1].equals(modified))
+		{
+			fileDigest = last[2];
+		}
+		else
+		{
+			fileDigest = toHex(fileDigester.digest(FileUtils
+					.readFileToByteArray(f)));
+		}
+		files.put(path, new String[]
+		{ length, modified, fileDigest });
+		return fileDigest;
+	}
+
+	private boolean hasNewFileTimes()
+	{
+		for (Entry<String, String[]> e : files.entrySet())
+		{
+			String[] last = lastFiles.get(e.getKey());
+			if (!Arrays.equals(last, e.getValue())) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Each line is either "f path length modified digest" or "g name digest", tab separated.
+	 */
+	private void readManifest() throws IOException
+	{
+		if (!manifestFile.exists()) return;
+		for (String line : FileUtils.readLines(manifestFile, "UTF-8"))
+		{
+			String[] split = line.split("\t");
+			if (split.length == 5 && split[0].equals("f"))
+			{
+				lastFiles.put(split[1], new String[]
+				{ split[2], split[3], split[4] });
+			}
+			else if (split.length == 3 && split[0].equals("g"))
+			{
+				lastGroups.put(split[1], split[2]);
+			}
+		}
+	}
+
+	private void writeManifest() throws IOException
+	{
+		StringBuilder sb = new StringBuilder();
+		for (Entry<String, String> e : groups.entrySet())
+		{
+			sb.append("g\t").append(e.getKey()).append('\t').append(e.getValue())
+					.append('\n');
+		}
+		for (Entry<String, String[]> e : new TreeMap<String, String[]>(files)
+				.entrySet())
+		{
+			String[] v = e.getValue();
+			sb.append("f\t").append(e.getKey()).append('\t').append(v[0])
+					.append('\t').append(v[1]).append('\t').append(v[2])
+					.append('\n');
+		}
+		FileUtils.writeStringToFile(manifestFile, sb.toString(), "UTF-8");
+	}
+
+	private File getGroupDir(String name)
+	{
+		return new File(new File(outputDir, GROUPS_DIR), name);
+	}
+
+	private String getRelativePath(File f)
+	{
+		return inputDir.toURI().relativize(f.toURI()).getPath();
+	}
+
+	private static File[] listSorted(File dir)
+	{
+		File[] list = dir.listFiles();
+		if (list == null) return new File[0];
+		Arrays.sort(list);
+		return list;
+	}
+
+	private static void listAll(File dir, ArrayList<File> list)
+	{
+		for (File f : listSorted(dir))
+		{
+			if (f.isDirectory())
+			{
+				listAll(f, list);
+			}
+			else
+			{
+				list.add(f);
+			}
+		}
+	}
+
+	private static boolean isImage(File f)
+	{
+		String name = f.getName().toLowerCase();
+		return name.endsWith(".png") || name.endsWith(".jpg")
+				|| name.endsWith(".jpeg");
+	}
+
+	private static String toHex(byte[] bytes)
+	{
+		StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes)
+		{
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+			sb.append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+}
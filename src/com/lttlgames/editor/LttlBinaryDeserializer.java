@@ -0,0 +1,767 @@
+package com.lttlgames.editor;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import com.lttlgames.editor.LttlJsonDeserializer.ComponentRef;
+import com.lttlgames.editor.LttlJsonDeserializer.Helper;
+import com.lttlgames.editor.interfaces.Deserializable;
+import com.lttlgames.helpers.LttlMututatableObject;
+
+/**
+ * Deserializes the binary scene format ({@link LttlBinaryScene}) straight from a ByteBuffer (can be memory mapped).
+ * Follows the same rules as {@link LttlJsonDeserializer}, but no json string or tree is ever made.
+ */
+public class LttlBinaryDeserializer
+{
+	private final ByteBuffer buffer;
+	private final String[] strings;
+	/**
+	 * cached classes for the string table indexes used by class tokens
+	 */
+	private final Class<?>[] classes;
+	private final Helper helper;
+
+	/**
+	 * used for not setting a field because the value does not match the field. Usually happens when changing the field
+	 * ids.
+	 */
+	private boolean typeMismatch = false;
+
+	private LttlBinaryDeserializer(ByteBuffer buffer,
+			ArrayList<ComponentRef> compRefsList)
+	{
+		this.buffer = buffer;
+		this.strings = LttlBinaryScene.readHeader(buffer);
+		this.classes = new Class<?>[strings.length];
+		this.helper = new Helper(compRefsList);
+	}
+
+	/**
+	 * Returns object (no need for cast)
+	 *
+	 * @param buffer
+	 *            reads from the current position
+	 * @param c
+	 * @param compRefsList
+	 *            optional, if not null, wll populate with fields and objects and ids which can be used to populate all
+	 *            component references once deserialize is done
+	 * @param container
+	 *            can be null
+	 * @return
+	 */
+	public static <T> T deserialize(ByteBuffer buffer, Class<T> c,
+			ArrayList<ComponentRef> compRefsList, Object container)
+	{
+		return deserialize(buffer, c, compRefsList, container, null);
+	}
+
+	/**
+	 * @param buffer
+	 * @param c
+	 * @param compRefsList
+	 * @param container
+	 * @param deferredSceneComps
+	 *            optional, if not null, the components in a scene's component map are skipped, a runnable that
+	 *            deserializes and adds each one is added to it instead (the buffer needs to stay valid until they are
+	 *            all ran)
+	 * @return
+	 * @see #deserialize(ByteBuffer, Class, ArrayList, Object)
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T deserialize(ByteBuffer buffer, Class<T> c,
+			ArrayList<ComponentRef> compRefsList, Object container,
+			ArrayList<Runnable> deferredSceneComps)
+	{
+		LttlBinaryDeserializer d = new LttlBinaryDeserializer(buffer,
+				compRefsList);
+		d.helper.deferredSceneComps = deferredSceneComps;
+		return (T) d.readValue(buffer.get(), c, null, container);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object readValue(byte token, Class<?> c, ProcessedFieldType pft,
+			Object container)
+	{
+		if (pft != null)
+		{
+			c = pft.getCurrentClass();
+		}
+
+		if (token == LttlBinaryScene.NULL) { return null; }
+
+		// check which reader to use
+		if (LttlObjectGraphCrawler.isPrimative(c))
+		{
+			return readPrimative(token, c);
+		}
+		else if (token != LttlBinaryScene.OBJECT
+				&& token != LttlBinaryScene.LIST)
+		{
+			// if no object or list, then it's a primative on an object field
+			LttlBinaryScene.skipValue(buffer, token);
+			typeMismatch = true;
+			Lttl.logNote("Deserializing: Unexpected primative.");
+			return 0;
+		}
+		else if (c == HashMap.class)
+		{
+			if (!checkToken(token, LttlBinaryScene.LIST)) return null;
+			return readHashMap(pft, (HashMap<Object, Object>) container);
+		}
+		else if (c == ArrayList.class)
+		{
+			if (!checkToken(token, LttlBinaryScene.LIST)) return null;
+			return readArrayList(pft, (ArrayList<Object>) container);
+		}
+		else if (c.isArray())
+		{
+			if (!checkToken(token, LttlBinaryScene.LIST)) return null;
+			return readArray(c);
+		}
+		else
+		{
+			if (!checkToken(token, LttlBinaryScene.OBJECT)) return null;
+			return readObject(c, pft, container);
+		}
+	}
+
+	/**
+	 * If the token is not the expected one, the value is skipped and it is a type mismatch.
+	 */
+	private boolean checkToken(byte token, byte expected)
+	{
+		if (token == expected) return true;
+		LttlBinaryScene.skipValue(buffer, token);
+		typeMismatch = true;
+		return false;
+	}
+
+	private Object readArray(Class<?> c)
+	{
+		int count = LttlBinaryScene.readVarInt(buffer);
+		byte token = buffer.get();
+
+		// the class of the array instance
+		if (token == LttlBinaryScene.CLASS)
+		{
+			c = getClass(LttlBinaryScene.readVarInt(buffer));
+			token = buffer.get();
+		}
+
+		Class<?> compType = c.getComponentType();
+		final Object newArray = Array.newInstance(compType, count);
+
+		for (int i = 0; token != LttlBinaryScene.END; i++, token = buffer.get())
+		{
+			if (shouldDoComponentRef(compType))
+			{
+				// set as default null
+				Array.set(newArray, i, null);
+
+				// then later one it will be replaced with component refs
+				final int finalIndex = i;
+				helper.compRefsList.add(new ComponentRef(readComponentRefId(token))
+				{
+					@Override
+					void set(LttlComponent component)
+					{
+						Array.set(newArray, finalIndex, component);
+					}
+				});
+			}
+			else
+			{
+				Array.set(newArray, i, readValue(token, compType, null, null));
+			}
+		}
+
+		return newArray;
+	}
+
+	private ArrayList<Object> readArrayList(ProcessedFieldType pft,
+			ArrayList<Object> container)
+	{
+		int count = LttlBinaryScene.readVarInt(buffer);
+
+		final ArrayList<Object> newList;
+		if (container == null)
+		{
+			newList = new ArrayList<Object>(count);
+		}
+		else
+		{
+			container.clear();
+			container.ensureCapacity(count);
+			newList = container;
+		}
+
+		ProcessedFieldType itemPft = pft.getParam(0);
+		boolean doComponentRef = shouldDoComponentRef(itemPft.getCurrentClass());
+		byte token;
+		for (int index = 0; (token = buffer.get()) != LttlBinaryScene.END; index++)
+		{
+			if (doComponentRef)
+			{
+				// add default value as null
+				newList.add(null);
+
+				// then later one it will be replaced with component refs
+				final int finalIndex = index;
+				helper.compRefsList.add(new ComponentRef(readComponentRefId(token))
+				{
+					@Override
+					void set(LttlComponent component)
+					{
+						newList.set(finalIndex, component);
+					}
+				});
+			}
+			else
+			{
+				// add normal object
+				newList.add(readValue(token, null, itemPft, null));
+			}
+		}
+
+		return newList;
+	}
+
+	/**
+	 * Hashmaps are a list of objects with a key and value field.
+	 */
+	private HashMap<Object, Object> readHashMap(ProcessedFieldType pft,
+			HashMap<Object, Object> container)
+	{
+		int count = LttlBinaryScene.readVarInt(buffer);
+
+		final HashMap<Object, Object> newHM;
+		if (container == null)
+		{
+			newHM = new HashMap<Object, Object>(count);
+		}
+		else
+		{
+			container.clear();
+			newHM = container;
+		}
+
+		ProcessedFieldType keyPft = pft.getParam(0);
+		final ProcessedFieldType valuePft = pft.getParam(1);
+		final boolean keyIsRef = shouldDoComponentRef(keyPft
+				.getCurrentClass());
+		boolean valueIsRef = shouldDoComponentRef(valuePft.getCurrentClass());
+
+		byte token;
+		while ((token = buffer.get()) != LttlBinaryScene.END)
+		{
+			if (!checkToken(token, LttlBinaryScene.OBJECT)) continue;
+
+			final LttlMututatableObject keyObject = new LttlMututatableObject();
+			final LttlMututatableObject valueObject = new LttlMututatableObject();
+			ComponentRef keyRef = null;
+			boolean valueDeferred = false;
+			while ((token = buffer.get()) != LttlBinaryScene.END)
+			{
+				if (token != LttlBinaryScene.FIELD_NAME)
+				{
+					// not a key or value, skip it
+					LttlBinaryScene.readVarInt(buffer);
+					if (token == LttlBinaryScene.FIELD_ID)
+					{
+						LttlBinaryScene.skipValue(buffer, buffer.get());
+					}
+					continue;
+				}
+				boolean isKey = strings[LttlBinaryScene.readVarInt(buffer)]
+						.equals("key");
+				token = buffer.get();
+				if (isKey)
+				{
+					if (keyIsRef)
+					{
+						// if the key is a LttlComponent, need to not "put" anything in map til after all desializing
+						// is done since we want no null values as keys
+						keyRef = new ComponentRef(readComponentRefId(token))
+						{
+							@Override
+							void set(LttlComponent component)
+							{
+								if (component == null)
+								{
+									Lttl.logNote("WARNING: a hashmap had a null key, which is probably unintended.");
+								}
+								newHM.put(component, valueObject.value);
+							}
+						};
+					}
+					else
+					{
+						keyObject.value = readValue(token, null, keyPft, null);
+						if (keyObject.value == null)
+						{
+							Lttl.logNote("WARNING: a hashmap had a null key, which is probably unintended.");
+						}
+					}
+				}
+				else
+				{
+					if (valueIsRef)
+					{
+						// value callback needs to be added before the key callback so when the key callback runs it has
+						// the value already
+						helper.compRefsList.add(new ComponentRef(
+								readComponentRefId(token))
+						{
+							@Override
+							void set(LttlComponent component)
+							{
+								valueObject.value = component;
+								if (!keyIsRef)
+								{
+									// add entry to hashmap
+									newHM.put(keyObject.value, component);
+								}
+							}
+						});
+					}
+					else if (helper.inSceneCompMap && helper.primaryComp == null
+							&& helper.deferredSceneComps != null)
+					{
+						// deserialized later, one component at a time
+						final int valuePosition = buffer.position() - 1;
+						LttlBinaryScene.skipValue(buffer, token);
+						valueDeferred = true;
+						helper.deferredSceneComps.add(new Runnable()
+						{
+							@Override
+							public void run()
+							{
+								buffer.position(valuePosition);
+								helper.inSceneCompMap = true;
+								valueObject.value = readValue(buffer.get(), null,
+										valuePft, null);
+								newHM.put(keyObject.value, valueObject.value);
+								helper.inSceneCompMap = false;
+							}
+						});
+					}
+					else
+					{
+						valueObject.value = readValue(token, null, valuePft,
+								null);
+					}
+				}
+			}
+
+			if (keyRef != null)
+			{
+				helper.compRefsList.add(keyRef);
+			}
+			else if (!valueIsRef && !valueDeferred)
+			{
+				newHM.put(keyObject.value, valueObject.value);
+			}
+		}
+
+		return newHM;
+	}
+
+	private Object readPrimative(byte token, Class<?> c)
+	{
+		if (c == Boolean.class || c == boolean.class)
+		{
+			if (token == LttlBinaryScene.TRUE) return true;
+			if (token == LttlBinaryScene.FALSE) return false;
+			// same as Boolean.parseBoolean()
+			LttlBinaryScene.skipValue(buffer, token);
+			return false;
+		}
+		else if (c == Integer.class || c == int.class)
+		{
+			if (token == LttlBinaryScene.INT) { return LttlBinaryScene
+					.readZigZagInt(buffer); }
+			return primativeMismatch(token, "int");
+		}
+		else if (c == Float.class || c == float.class)
+		{
+			switch (token)
+			{
+				case LttlBinaryScene.INT:
+					return (float) LttlBinaryScene.readZigZagInt(buffer);
+				case LttlBinaryScene.LONG:
+					return (float) buffer.getLong();
+				case LttlBinaryScene.FLOAT:
+					return buffer.getFloat();
+				case LttlBinaryScene.DOUBLE:
+					return (float) buffer.getDouble();
+				case LttlBinaryScene.NAME:
+					return parseFloatName();
+				default:
+					return primativeMismatch(token, "float");
+			}
+		}
+		else if (c == String.class)
+		{
+			if (token == LttlBinaryScene.STRING) { return strings[LttlBinaryScene
+					.readVarInt(buffer)]; }
+			return primativeMismatch(token, "String");
+		}
+		else if (c.isEnum())
+		{
+			if (token != LttlBinaryScene.NAME) { return primativeMismatch(token,
+					"enum"); }
+			String name = strings[LttlBinaryScene.readVarInt(buffer)];
+			try
+			{
+				return getEnum(c, name);
+			}
+			catch (IllegalArgumentException e)
+			{
+				Lttl.logNote("Deserializing: No Enum with value of '" + name
+						+ "'"
+						+ " in class: "
+						+ c.getCanonicalName());
+				typeMismatch = true;
+				return null;
+			}
+		}
+		else if (c == Double.class || c == double.class)
+		{
+			switch (token)
+			{
+				case LttlBinaryScene.INT:
+					return (double) LttlBinaryScene.readZigZagInt(buffer);
+				case LttlBinaryScene.LONG:
+					return (double) buffer.getLong();
+				case LttlBinaryScene.FLOAT:
+					// the float was the shortest text for the double, so parse that
+					return Double.parseDouble(Float.toString(buffer.getFloat()));
+				case LttlBinaryScene.DOUBLE:
+					return buffer.getDouble();
+				default:
+					return primativeMismatch(token, "double");
+			}
+		}
+		else if (c == Long.class || c == long.class)
+		{
+			if (token == LttlBinaryScene.INT) { return (long) LttlBinaryScene
+					.readZigZagInt(buffer); }
+			if (token == LttlBinaryScene.LONG) { return buffer.getLong(); }
+			return primativeMismatch(token, "long");
+		}
+		else if (c == Short.class || c == short.class)
+		{
+			if (token == LttlBinaryScene.INT) { return (short) LttlBinaryScene
+					.readZigZagInt(buffer); }
+			return primativeMismatch(token, "short");
+		}
+		else if (c == Byte.class || c == byte.class)
+		{
+			if (token == LttlBinaryScene.INT) { return (byte) LttlBinaryScene
+					.readZigZagInt(buffer); }
+			return primativeMismatch(token, "byte");
+		}
+
+		LttlBinaryScene.skipValue(buffer, token);
+		return null;
+	}
+
+	private float parseFloatName()
+	{
+		String name = strings[LttlBinaryScene.readVarInt(buffer)];
+		try
+		{
+			return Float.parseFloat(name);
+		}
+		catch (NumberFormatException e)
+		{
+			Lttl.logNote("Deserializing: Can't parse to float: '" + name + "'");
+			typeMismatch = true;
+			return 0;
+		}
+	}
+
+	private Object primativeMismatch(byte token, String type)
+	{
+		LttlBinaryScene.skipValue(buffer, token);
+		Lttl.logNote("Deserializing: Can't read token " + token + " as "
+				+ type + ".");
+		typeMismatch = true;
+		return 0;
+	}
+
+	@SuppressWarnings(
+	{ "unchecked", "rawtypes" })
+	private static Object getEnum(Class<?> c, String name)
+	{
+		return Enum.valueOf((Class<Enum>) c, name);
+	}
+
+	private Object readObject(Class<?> c, ProcessedFieldType pft,
+			Object container)
+	{
+		if (pft != null)
+		{
+			c = pft.getCurrentClass();
+		}
+
+		// check if class token exists
+		byte token = buffer.get();
+		if (token == LttlBinaryScene.CLASS)
+		{
+			c = getClass(LttlBinaryScene.readVarInt(buffer));
+			token = buffer.get();
+		}
+
+		Object object = null;
+		if (container == null)
+		{
+			// obtain a new instance of the class
+			object = LttlObjectGraphCrawler.newInstance(c);
+		}
+		else
+		{
+			if (!c.isAssignableFrom(container.getClass()))
+			{
+				Lttl.Throw("The given container object "
+						+ container.getClass().getSimpleName()
+						+ " does not match the class "
+						+ c.getSimpleName());
+			}
+			object = container;
+		}
+		final Object finalObject = object;
+
+		// entering first LttlComponent
+		if (LttlComponent.class.isAssignableFrom(c)
+				&& helper.primaryComp == null)
+		{
+			helper.primaryComp = (LttlComponent) object;
+		}
+
+		ProcessedFieldType paramPft = (pft != null) ? pft.getParam(0) : null;
+		for (; token != LttlBinaryScene.END; token = buffer.get())
+		{
+			// get field
+			final ProcessedFieldType pftI;
+			int key = LttlBinaryScene.readVarInt(buffer);
+			if (token == LttlBinaryScene.FIELD_ID)
+			{
+				pftI = LttlObjectGraphCrawler.getFieldById(key, c, paramPft);
+			}
+			else
+			{
+				pftI = LttlObjectGraphCrawler.getFieldByNameOrId(strings[key],
+						c, paramPft);
+			}
+			byte valueToken = buffer.get();
+
+			// did we get the field?
+			if (pftI == null || pftI.getField() == null)
+			{
+				Lttl.logNote("Deserializing: Skipping field "
+						+ (token == LttlBinaryScene.FIELD_ID ? key
+								: strings[key]) + " on class "
+						+ c.getName()
+						+ "... losing data.");
+				LttlBinaryScene.skipValue(buffer, valueToken);
+				continue;
+			}
+
+			boolean isSceneCompMapField = false;
+			if (LttlSceneCore.class.isAssignableFrom(c)
+					&& LttlObjectGraphCrawler.isFieldComponentMap(pftI
+							.getField()))
+			{
+				isSceneCompMapField = true;
+				helper.inSceneCompMap = true;
+			}
+
+			// special case for if it is a LttlComponent that should be referenced
+			if (shouldDoComponentRef(pftI.getCurrentClass()))
+			{
+				// don't set anything from default
+				// then later on it will be replaced with component refs
+				helper.compRefsList.add(new ComponentRef(readComponentRefId(valueToken))
+				{
+					@Override
+					void set(LttlComponent component)
+					{
+						try
+						{
+							pftI.getAccessor().set(finalObject, component);
+						}
+						catch (IllegalArgumentException | IllegalAccessException e)
+						{
+							e.printStackTrace();
+						}
+					}
+				});
+
+				// go straight to next field
+				continue;
+			}
+
+			/* NORMAL DESERIALIZE */
+
+			final Field f = pftI.getField();
+			final LttlFieldAccessor accessor = pftI.getAccessor();
+
+			// get the object of the field, this way can utilize the intial objects created, helps garbage collector and
+			// final fields
+			Object fieldObjectContainer = null;
+			try
+			{
+				fieldObjectContainer = accessor.get(object);
+			}
+			catch (IllegalArgumentException | IllegalAccessException e1)
+			{
+				e1.printStackTrace();
+			}
+
+			// set the object to the field
+			try
+			{
+				typeMismatch = false;
+				Object fieldObject = readValue(valueToken,
+						pftI.getCurrentClass(), pftI, fieldObjectContainer);
+
+				if (!typeMismatch)
+				{
+					// only set the field if the fieldObject's container object is different than the created object
+					if (fieldObjectContainer != fieldObject)
+					{
+						try
+						{
+							accessor.set(object, fieldObject);
+						}
+						catch (IllegalArgumentException e)
+						{
+							Lttl.logNote("Deserializing: Skipping field "
+									+ f.getName()
+									+ " on class "
+									+ c.getName()
+									+ ".  Probably because a field type was changed.");
+						}
+					}
+				}
+				else
+				{
+					Lttl.logNote("Deserializing: Skipping field "
+							+ f.getName() + " on class " + c.getName());
+				}
+			}
+			catch (IllegalArgumentException | IllegalAccessException e)
+			{
+				e.printStackTrace();
+			}
+
+			// if was in scene component map field, and now leaving, then set to false
+			if (isSceneCompMapField)
+			{
+				helper.inSceneCompMap = false;
+			}
+		}
+
+		// finished deserializing object
+		if (object instanceof Deserializable)
+		{
+			((Deserializable) object).afterDeserialized();
+		}
+
+		// reset primaryComp since leaving
+		if (helper.primaryComp != null && helper.primaryComp == object)
+		{
+			helper.primaryComp = null;
+		}
+
+		return object;
+	}
+
+	/**
+	 * Gets the class (can be an array class) for the string table index.
+	 */
+	private Class<?> getClass(int index)
+	{
+		Class<?> c = classes[index];
+		if (c == null)
+		{
+			String nameOrId = strings[index];
+			int bracketIndex = nameOrId.indexOf("[]");
+			if (bracketIndex == -1)
+			{
+				c = LttlObjectGraphCrawler.getClassByNameOrId(nameOrId);
+			}
+			else
+			{
+				c = LttlObjectGraphCrawler.getArrayClass(LttlObjectGraphCrawler
+						.getClassByNameOrId(nameOrId.substring(0, bracketIndex)),
+						(nameOrId.length() - bracketIndex) / 2);
+			}
+			classes[index] = c;
+		}
+		return c;
+	}
+
+	/**
+	 * Reads a referenced component's value (only it's id field is used) and returns the id.
+	 *
+	 * @return -1 if null or no id was found
+	 */
+	private int readComponentRefId(byte token)
+	{
+		if (token != LttlBinaryScene.OBJECT)
+		{
+			LttlBinaryScene.skipValue(buffer, token);
+			return -1;
+		}
+
+		int id = -1;
+		while ((token = buffer.get()) != LttlBinaryScene.END)
+		{
+			if (token == LttlBinaryScene.CLASS)
+			{
+				LttlBinaryScene.readVarInt(buffer);
+				continue;
+			}
+
+			// field key
+			boolean isIdField = token == LttlBinaryScene.FIELD_ID
+					&& LttlBinaryScene.readVarInt(buffer) == 90701;
+			if (!isIdField && token == LttlBinaryScene.FIELD_NAME)
+			{
+				LttlBinaryScene.readVarInt(buffer);
+			}
+			token = buffer.get();
+			if (isIdField && token == LttlBinaryScene.INT)
+			{
+				id = LttlBinaryScene.readZigZagInt(buffer);
+			}
+			else
+			{
+				LttlBinaryScene.skipValue(buffer, token);
+			}
+		}
+		// if no id, must have changed the persist id from a primative to a component ref, just set to null
+		return id;
+	}
+
+	/**
+	 * Checks if should save this object as a component reference which will be set later, and for now be set as null or
+	 * entirely skipped in the case of a hashmap. Expects all LttlComponents inside another LttlComponent should only
+	 * have an id.
+	 */
+	private boolean shouldDoComponentRef(Class<?> c)
+	{
+		return LttlComponent.class.isAssignableFrom(c)
+				&& helper.compRefsList != null
+				// if outside scene component map, then always try and make references, if inside the scene
+				// component map, then the first component will have a new instance created, the deeper ones will be
+				// by reference
+				&& ((helper.inSceneCompMap && helper.primaryComp != null) || !helper.inSceneCompMap);
+	}
+}
@@ -0,0 +1,617 @@
+package com.lttlgames.editor;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * The compact binary scene format. It is a token stream of the exact same data as the persisted json (made by
+ * {@link LttlCopier#toJson(Object)}), fields are keyed by their {@link com.lttlgames.editor.annotations.Persist} id and
+ * all text (strings, enum names, class ids/names, library field names) is stored once in a string table at the start
+ * of the file.<br>
+ * The json stays the editor's source of truth, this is only exported (see {@link ScenesManager#exportBinaryScenes()})
+ * and read by {@link LttlBinaryDeserializer} when playing outside of the editor.
+ *
+ * <pre>
+ * header: MAGIC (int), VERSION (byte), source json hash (int), string count (varint),
+ *         strings (varint byte length + UTF-8)
+ * body:   one value
+ * value:  NULL | TRUE | FALSE | INT zigzag varint | LONG long | FLOAT float | DOUBLE double
+ *         | STRING index | NAME index (bare json value, like an enum)
+ *         | OBJECT [CLASS index] (FIELD_ID varint | FIELD_NAME index) value ... END
+ *         | LIST count [CLASS index] value ... END
+ * </pre>
+ */
+public final class LttlBinaryScene
+{
+	private LttlBinaryScene()
+	{
+	}
+
+	static final int MAGIC = 0x4C545342; // LTSB
+	static final byte VERSION = 2;
+	static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/* TOKENS */
+	static final byte NULL = 0;
+	static final byte TRUE = 1;
+	static final byte FALSE = 2;
+	static final byte INT = 3;
+	static final byte LONG = 4;
+	static final byte FLOAT = 5;
+	static final byte DOUBLE = 6;
+	static final byte STRING = 7;
+	static final byte NAME = 8;
+	static final byte OBJECT = 9;
+	static final byte LIST = 10;
+	static final byte END = 11;
+	static final byte CLASS = 12;
+	static final byte FIELD_ID = 13;
+	static final byte FIELD_NAME = 14;
+
+	/**
+	 * Checks if the buffer (at it's current position) starts with the binary scene header. Does not move the position.
+	 *
+	 * @param buffer
+	 * @return
+	 */
+	public static boolean isBinary(ByteBuffer buffer)
+	{
+		return buffer.remaining() >= 9
+				&& buffer.getInt(buffer.position()) == MAGIC;
+	}
+
+	/**
+	 * Checks if the binary scene (at the buffer's current position) was exported with the current version. Does not move
+	 * the position.
+	 *
+	 * @param buffer
+	 * @return
+	 */
+	public static boolean isCurrentVersion(ByteBuffer buffer)
+	{
+		return isBinary(buffer)
+				&& buffer.get(buffer.position() + 4) == VERSION;
+	}
+
+	/**
+	 * Checks if the binary scene (at the buffer's current position) was made from this json with the current version,
+	 * if not, it is stale and the json should be used. Does not move the position.
+	 *
+	 * @param buffer
+	 * @param json
+	 * @return
+	 */
+	public static boolean isMadeFrom(ByteBuffer buffer, String json)
+	{
+		return isCurrentVersion(buffer)
+				&& buffer.getInt(buffer.position() + 5) == json.hashCode();
+	}
+
+	/**
+	 * Converts persisted json (from {@link LttlCopier#toJson(Object)}) to the binary format.
+	 *
+	 * @param json
+	 * @return
+	 */
+	public static byte[] fromJson(String json)
+	{
+		return new JsonToBinary(json).convert();
+	}
+
+	/**
+	 * Converts the binary format back to the exact json it was made from. Used to verify an export.
+	 *
+	 * @param buffer
+	 *            reads from current position, and moves it to the end of the scene
+	 * @return
+	 */
+	public static String toJson(ByteBuffer buffer)
+	{
+		String[] strings = readHeader(buffer);
+		StringBuilder sb = new StringBuilder(buffer.remaining() * 2);
+		writeJsonValue(buffer, buffer.get(), strings, sb);
+		return sb.toString();
+	}
+
+	/* READING */
+
+	/**
+	 * Reads and checks the header and returns the string table.
+	 *
+	 * @param buffer
+	 * @return
+	 */
+	static String[] readHeader(ByteBuffer buffer)
+	{
+		if (buffer.getInt() != MAGIC)
+		{
+			Lttl.Throw("Binary Scene: Not a binary scene.");
+		}
+		byte version = buffer.get();
+		if (version != VERSION)
+		{
+			Lttl.Throw("Binary Scene: Unsupported version " + version + ".");
+		}
+		// source json hash, only used by isMadeFrom()
+		buffer.getInt();
+
+		String[] strings = new String[readVarInt(buffer)];
+		for (int i = 0; i < strings.length; i++)
+		{
+			int length = readVarInt(buffer);
+			if (buffer.hasArray())
+			{
+				strings[i] = new String(buffer.array(), buffer.arrayOffset()
+						+ buffer.position(), length, UTF8);
+				buffer.position(buffer.position() + length);
+			}
+			else
+			{
+				byte[] bytes = new byte[length];
+				buffer.get(bytes);
+				strings[i] = new String(bytes, UTF8);
+			}
+		}
+		return strings;
+	}
+
+	static int readVarInt(ByteBuffer buffer)
+	{
+		int result = 0;
+		int shift = 0;
+		byte b;
+		do
+		{
+			b = buffer.get();
+			result |= (b & 0x7F) << shift;
+			shift += 7;
+		}
+		while ((b & 0x80) != 0);
+		return result;
+	}
+
+	static int readZigZagInt(ByteBuffer buffer)
+	{
+		int n = readVarInt(buffer);
+		return (n >>> 1) ^ -(n & 1);
+	}
+
+	/**
+	 * Skips the value that started with this token.
+	 *
+	 * @param buffer
+	 * @param token
+	 *            already read
+	 */
+	static void skipValue(ByteBuffer buffer, byte token)
+	{
+		switch (token)
+		{
+			case NULL:
+			case TRUE:
+			case FALSE:
+				break;
+			case INT:
+			case STRING:
+			case NAME:
+				readVarInt(buffer);
+				break;
+			case LONG:
+			case DOUBLE:
+				buffer.position(buffer.position() + 8);
+				break;
+			case FLOAT:
+				buffer.position(buffer.position() + 4);
+				break;
+			case LIST:
+				readVarInt(buffer);
+				//$FALL-THROUGH$
+			case OBJECT:
+				while ((token = buffer.get()) != END)
+				{
+					// field keys and classes are followed by their index/id, skip it and read next token
+					if (token == CLASS || token == FIELD_ID
+							|| token == FIELD_NAME)
+					{
+						readVarInt(buffer);
+						continue;
+					}
+					skipValue(buffer, token);
+				}
+				break;
+			default:
+				Lttl.Throw("Binary Scene: Unexpected token " + token + ".");
+		}
+	}
+
+	private static void writeJsonValue(ByteBuffer buffer, byte token,
+			String[] strings, StringBuilder sb)
+	{
+		switch (token)
+		{
+			case NULL:
+				sb.append("null");
+				break;
+			case TRUE:
+				sb.append("true");
+				break;
+			case FALSE:
+				sb.append("false");
+				break;
+			case INT:
+				sb.append(readZigZagInt(buffer));
+				break;
+			case LONG:
+				sb.append(buffer.getLong());
+				break;
+			case FLOAT:
+				sb.append(buffer.getFloat());
+				break;
+			case DOUBLE:
+				sb.append(buffer.getDouble());
+				break;
+			case STRING:
+				sb.append("\"")
+						.append(strings[readVarInt(buffer)].replace("\"",
+								"\\\"")).append("\"");
+				break;
+			case NAME:
+				sb.append(strings[readVarInt(buffer)]);
+				break;
+			case OBJECT:
+			{
+				sb.append("{");
+				boolean first = true;
+				while ((token = buffer.get()) != END)
+				{
+					if (!first)
+					{
+						sb.append(",");
+					}
+					first = false;
+					if (token == CLASS)
+					{
+						sb.append("class:").append(
+								strings[readVarInt(buffer)]);
+						continue;
+					}
+					if (token == FIELD_ID)
+					{
+						sb.append(readVarInt(buffer));
+					}
+					else
+					{
+						sb.append(strings[readVarInt(buffer)]);
+					}
+					sb.append(":");
+					writeJsonValue(buffer, buffer.get(), strings, sb);
+				}
+				sb.append("}");
+				break;
+			}
+			case LIST:
+			{
+				readVarInt(buffer);
+				sb.append("[");
+				boolean first = true;
+				while ((token = buffer.get()) != END)
+				{
+					if (!first)
+					{
+						sb.append(",");
+					}
+					first = false;
+					if (token == CLASS)
+					{
+						sb.append("class:").append(
+								strings[readVarInt(buffer)]);
+						continue;
+					}
+					writeJsonValue(buffer, token, strings, sb);
+				}
+				sb.append("]");
+				break;
+			}
+			default:
+				Lttl.Throw("Binary Scene: Unexpected token " + token + ".");
+		}
+	}
+
+	/* WRITING */
+
+	/**
+	 * Parses the persisted json (same rules as {@link LttlJsonDeserializer}, keys are not quoted and strings only
+	 * escape double quotes) and writes the tokens.
+	 */
+	private static class JsonToBinary
+	{
+		private final String json;
+		private int i = 0;
+		private final ArrayList<String> strings = new ArrayList<String>();
+		private final HashMap<String, Integer> stringIndices = new HashMap<String, Integer>();
+
+		JsonToBinary(String json)
+		{
+			this.json = json;
+		}
+
+		byte[] convert()
+		{
+			Output body = new Output();
+			writeValue(body);
+
+			Output out = new Output();
+			out.writeInt(MAGIC);
+			out.write(VERSION);
+			out.writeInt(json.hashCode());
+			out.writeVarInt(strings.size());
+			for (String s : strings)
+			{
+				byte[] bytes = s.getBytes(UTF8);
+				out.writeVarInt(bytes.length);
+				out.write(bytes, 0, bytes.length);
+			}
+			body.copyTo(out);
+			return out.toByteArray();
+		}
+
+		private int stringIndex(String s)
+		{
+			Integer index = stringIndices.get(s);
+			if (index == null)
+			{
+				index = strings.size();
+				strings.add(s);
+				stringIndices.put(s, index);
+			}
+			return index;
+		}
+
+		private void writeValue(Output out)
+		{
+			char c = json.charAt(i);
+			if (c == '{')
+			{
+				writeObject(out);
+			}
+			else if (c == '[')
+			{
+				writeList(out);
+			}
+			else if (c == '"')
+			{
+				writeString(out);
+			}
+			else
+			{
+				writeBare(out, readBare());
+			}
+		}
+
+		private void writeObject(Output out)
+		{
+			out.write(OBJECT);
+			i++; // {
+			while (json.charAt(i) != '}')
+			{
+				int colon = json.indexOf(':', i);
+				String key = json.substring(i, colon);
+				i = colon + 1;
+				if (key.equals("class"))
+				{
+					out.write(CLASS);
+					out.writeVarInt(stringIndex(readBare()));
+				}
+				else
+				{
+					int fieldId = parseFieldId(key);
+					if (fieldId >= 0)
+					{
+						out.write(FIELD_ID);
+						out.writeVarInt(fieldId);
+					}
+					else
+					{
+						out.write(FIELD_NAME);
+						out.writeVarInt(stringIndex(key));
+					}
+					writeValue(out);
+				}
+				if (json.charAt(i) == ',')
+				{
+					i++;
+				}
+			}
+			i++; // }
+			out.write(END);
+		}
+
+		private void writeList(Output out)
+		{
+			// write the items first to know the count
+			Output items = new Output();
+			int count = 0;
+			i++; // [
+			while (json.charAt(i) != ']')
+			{
+				if (json.startsWith("class:", i))
+				{
+					i += 6;
+					items.write(CLASS);
+					items.writeVarInt(stringIndex(readBare()));
+				}
+				else
+				{
+					writeValue(items);
+					count++;
+				}
+				if (json.charAt(i) == ',')
+				{
+					i++;
+				}
+			}
+			i++; // ]
+			out.write(LIST);
+			out.writeVarInt(count);
+			items.copyTo(out);
+			out.write(END);
+		}
+
+		private void writeString(Output out)
+		{
+			int start = ++i;
+			// a quote ends the string if it is not escaped
+			while (json.charAt(i) != '"' || json.charAt(i - 1) == '\\')
+			{
+				i++;
+			}
+			String s = json.substring(start, i).replace("\\\"", "\"");
+			i++; // "
+			out.write(STRING);
+			out.writeVarInt(stringIndex(s));
+		}
+
+		/**
+		 * Reads a value that is not an object, list, or string
+		 */
+		private String readBare()
+		{
+			int start = i;
+			char c;
+			while ((c = json.charAt(i)) != ',' && c != '}' && c != ']')
+			{
+				i++;
+			}
+			return json.substring(start, i);
+		}
+
+		private void writeBare(Output out, String bare)
+		{
+			if (bare.equals("null"))
+			{
+				out.write(NULL);
+				return;
+			}
+			if (bare.equals("true"))
+			{
+				out.write(TRUE);
+				return;
+			}
+			if (bare.equals("false"))
+			{
+				out.write(FALSE);
+				return;
+			}
+
+			char c = bare.charAt(0);
+			if (c == '-' || (c >= '0' && c <= '9'))
+			{
+				// only use a number token if it will convert back to the same text, otherwise keep the text
+				try
+				{
+					if (bare.indexOf('.') == -1 && bare.indexOf('E') == -1)
+					{
+						long l = Long.parseLong(bare);
+						if (Long.toString(l).equals(bare))
+						{
+							if (l == (int) l)
+							{
+								out.write(INT);
+								out.writeVarInt((((int) l) << 1)
+										^ (((int) l) >> 31));
+							}
+							else
+							{
+								out.write(LONG);
+								out.writeLong(l);
+							}
+							return;
+						}
+					}
+					else
+					{
+						float f = Float.parseFloat(bare);
+						if (Float.toString(f).equals(bare))
+						{
+							out.write(FLOAT);
+							out.writeInt(Float.floatToRawIntBits(f));
+							return;
+						}
+						double d = Double.parseDouble(bare);
+						if (Double.toString(d).equals(bare))
+						{
+							out.write(DOUBLE);
+							out.writeLong(Double.doubleToRawLongBits(d));
+							return;
+						}
+					}
+				}
+				catch (NumberFormatException e)
+				{
+				}
+			}
+
+			// enums and anything else
+			out.write(NAME);
+			out.writeVarInt(stringIndex(bare));
+		}
+
+		private int parseFieldId(String key)
+		{
+			if (key.isEmpty()) return -1;
+			for (int j = 0; j < key.length(); j++)
+			{
+				char c = key.charAt(j);
+				if (c < '0' || c > '9') return -1;
+			}
+			try
+			{
+				return Integer.parseInt(key);
+			}
+			catch (NumberFormatException e)
+			{
+				return -1;
+			}
+		}
+	}
+
+	private static class Output extends ByteArrayOutputStream
+	{
+		Output()
+		{
+			super(256);
+		}
+
+		void writeVarInt(int value)
+		{
+			while ((value & ~0x7F) != 0)
+			{
+				write((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			write(value);
+		}
+
+		void writeInt(int value)
+		{
+			write(value >>> 24);
+			write(value >>> 16);
+			write(value >>> 8);
+			write(value);
+		}
+
+		void writeLong(long value)
+		{
+			writeInt((int) (value >>> 32));
+			writeInt((int) value);
+		}
+
+		void copyTo(Output out)
+		{
+			out.write(buf, 0, count);
+		}
+	}
+}
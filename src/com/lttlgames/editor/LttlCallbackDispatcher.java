@@ -0,0 +1,245 @@
+package com.lttlgames.editor;
+
+import com.badlogic.gdx.utils.IdentityMap;
+import com.lttlgames.helpers.LttlProfiler;
+
+/**
+ * Flattened lists of the components to callback for each per frame callback type (early update, fixed update, late
+ * fixed update, update, late update, and debug draw), in the same order as walking the transform trees (transform, it's
+ * components, then it's children). Each list only has the components whose class overrides that callback (play or
+ * editor version), checked once per class. The lists are rebuilt only after the hierarchy changes ({@link #markDirty()}
+ * ), so a scene with many components that don't need updates does not walk every tree for every callback.<br>
+ * The enabled and destroy pending checks are still done for each component in
+ * {@link ComponentHelper#processCallBack(LttlComponent, ComponentCallBackType)}, which already check the ancestors.
+ * Components added during a callback are not called back until the next one.
+ */
+final class LttlCallbackDispatcher
+{
+	private static final ComponentCallBackType[] dispatchedTypes =
+	{ ComponentCallBackType.OnEarlyUpdate, ComponentCallBackType.onFixedUpdate,
+			ComponentCallBackType.onLateFixedUpdate,
+			ComponentCallBackType.onUpdate, ComponentCallBackType.onLateUpdate,
+			ComponentCallBackType.DebugDraw };
+	/**
+	 * the methods that are called for each of {@link #dispatchedTypes}, any of them being overridden adds the component
+	 */
+	private static final String[][] dispatchedMethods =
+	{
+	{ "onEarlyUpdate", "onEditorEarlyUpdate" },
+	{ "onFixedUpdate", "onEditorFixedUpdate" },
+	{ "onLateFixedUpdate", "onEditorLateFixedUpdate" },
+	{ "onUpdate", "onEditorUpdate" },
+	{ "onLateUpdate", "onEditorLateUpdate" },
+	{ "debugDraw" } };
+
+	/**
+	 * the bits (of {@link ComponentCallBackType#getValue()}) of the dispatched callbacks each class overrides
+	 */
+	private static final IdentityMap<Class<?>, Integer> overrideMasks = new IdentityMap<Class<?>, Integer>();
+
+	private final LttlComponent[][] lists = new LttlComponent[dispatchedTypes.length][];
+	private final int[] sizes = new int[dispatchedTypes.length];
+	/**
+	 * every component, only used for the profiler
+	 */
+	private LttlComponent[] all = new LttlComponent[64];
+	private int allSize = 0;
+	private boolean dirty = true;
+	private int dispatching = 0;
+
+	LttlCallbackDispatcher()
+	{
+		for (int i = 0; i < lists.length; i++)
+		{
+			lists[i] = new LttlComponent[64];
+		}
+	}
+
+	/**
+	 * @param type
+	 * @return if this callback type is dispatched from the flattened lists
+	 */
+	static boolean isDispatched(ComponentCallBackType type)
+	{
+		return getTypeIndex(type) != -1;
+	}
+
+	/**
+	 * Rebuilds the lists before the next callback, needs to be called whenever a component or transform is added,
+	 * removed, reordered, or reparented, or a scene is loaded or unloaded.
+	 */
+	void markDirty()
+	{
+		dirty = true;
+	}
+
+	/**
+	 * Callbacks all the components (that override it) in all the scenes and world.
+	 *
+	 * @param type
+	 *            must be {@link #isDispatched(ComponentCallBackType)}
+	 */
+	void dispatch(ComponentCallBackType type)
+	{
+		// don't rebuild while iterating, if a callback dispatches
+		if (dirty && dispatching == 0)
+		{
+			rebuild();
+		}
+
+		if (type == ComponentCallBackType.onUpdate)
+		{
+			countEnabled();
+		}
+
+		int typeIndex = getTypeIndex(type);
+		LttlComponent[] list = lists[typeIndex];
+		int size = sizes[typeIndex];
+		dispatching++;
+		try
+		{
+			for (int i = 0; i < size; i++)
+			{
+				ComponentHelper.processCallBack(list[i], type);
+			}
+		}
+		finally
+		{
+			dispatching--;
+		}
+	}
+
+	private void rebuild()
+	{
+		dirty = false;
+		for (int i = 0; i < sizes.length; i++)
+		{
+			clear(lists[i], sizes[i]);
+			sizes[i] = 0;
+		}
+		clear(all, allSize);
+		allSize = 0;
+
+		for (LttlSceneCore ls : Lttl.scenes.getScenesAndWorld())
+		{
+			for (LttlTransform lt : ls.transformHiearchy)
+			{
+				addTree(lt);
+			}
+		}
+	}
+
+	private void addTree(LttlTransform lt)
+	{
+		add(lt);
+		for (int i = 0, n = lt.components.size(); i < n; i++)
+		{
+			add(lt.components.get(i));
+		}
+		for (int i = 0, n = lt.children.size(); i < n; i++)
+		{
+			addTree(lt.children.get(i));
+		}
+	}
+
+	private void add(LttlComponent lc)
+	{
+		if (allSize == all.length)
+		{
+			all = grow(all);
+		}
+		all[allSize++] = lc;
+
+		int mask = getOverrideMask(lc.getClass());
+		if (mask == 0) return;
+		for (int i = 0; i < dispatchedTypes.length; i++)
+		{
+			if ((mask & dispatchedTypes[i].getValue()) == 0) continue;
+			if (sizes[i] == lists[i].length)
+			{
+				lists[i] = grow(lists[i]);
+			}
+			lists[i][sizes[i]++] = lc;
+		}
+	}
+
+	/**
+	 * Counts the enabled transforms and components for the profiler, since the lists don't have all of them.
+	 */
+	private void countEnabled()
+	{
+		if (!Lttl.game.inEditor() || Lttl.game.isSettingUp()
+				|| !Lttl.editor.getSettings().showProfilerData) return;
+
+		for (int i = 0; i < allSize; i++)
+		{
+			LttlComponent lc = all[i];
+			if (!lc.isEnabled() || lc.isDestroyPending()) continue;
+			if (lc.getClass() == LttlTransform.class)
+			{
+				LttlProfiler.enabledTransforms.add();
+			}
+			LttlProfiler.enabledComponents.add();
+		}
+	}
+
+	private static int getTypeIndex(ComponentCallBackType type)
+	{
+		for (int i = 0; i < dispatchedTypes.length; i++)
+		{
+			if (dispatchedTypes[i] == type) return i;
+		}
+		return -1;
+	}
+
+	private static int getOverrideMask(Class<?> type)
+	{
+		Integer mask = overrideMasks.get(type);
+		if (mask == null)
+		{
+			int bits = 0;
+			for (int i = 0; i < dispatchedTypes.length; i++)
+			{
+				for (String method : dispatchedMethods[i])
+				{
+					if (overrides(type, method))
+					{
+						bits |= dispatchedTypes[i].getValue();
+						break;
+					}
+				}
+			}
+			mask = bits;
+			overrideMasks.put(type, mask);
+		}
+		return mask;
+	}
+
+	private static boolean overrides(Class<?> type, String method)
+	{
+		try
+		{
+			return type.getMethod(method).getDeclaringClass() != LttlComponent.class;
+		}
+		catch (NoSuchMethodException e)
+		{
+			// can't tell, so always call it back
+			return true;
+		}
+	}
+
+	private static LttlComponent[] grow(LttlComponent[] array)
+	{
+		LttlComponent[] newArray = new LttlComponent[array.length * 2];
+		System.arraycopy(array, 0, newArray, 0, array.length);
+		return newArray;
+	}
+
+	private static void clear(LttlComponent[] array, int size)
+	{
+		for (int i = 0; i < size; i++)
+		{
+			array[i] = null;
+		}
+	}
+}
@@ -217,6 +217,8 @@ public class LttlCamera
 			// has this object already been updated at this zoom amount, if so skip it
 			if (lt.renderer.generator().getCameraZoomOnLastUpdateMesh() == targetZoom)
 				continue;
+			// shader AA is scaled by the shader, so it never needs to update on zoom
+			if (lt.renderer().getMesh().hasShaderAA()) continue;
 			// check if has any AA Settings, if camera zoom dependent, autoupdate enabled and if it's actual AA is not 0
 			if (lt.renderer.generator().aaSettings == null
 					|| !lt.renderer.generator().aaSettings.cameraZoomDependent
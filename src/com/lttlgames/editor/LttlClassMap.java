@@ -21,6 +21,7 @@ import com.lttlgames.components.LttlMeshCopier;
 import com.lttlgames.components.LttlMouseAdapter;
 import com.lttlgames.components.LttlParallax;
 import com.lttlgames.components.LttlParticleEmitter;
+import com.lttlgames.components.LttlParticleEmitterArrays;
 import com.lttlgames.components.LttlParticleEmitterBase;
 import com.lttlgames.components.LttlParticleEmitterMultiTex;
 import com.lttlgames.components.LttlParticleEmitterTexture;
@@ -254,5 +255,6 @@ public class LttlClassMap
 		classMap.put(-90142, VerticalAlignment.class);
 		classMap.put(-90143, AlternateSelectionBoundsComponent.class);
 		classMap.put(-90144, LttlSimpleGradient.class);
+		classMap.put(-90145, LttlParticleEmitterArrays.class);
 	}
 }
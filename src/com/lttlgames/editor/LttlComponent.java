@@ -233,6 +233,7 @@ public abstract class LttlComponent
 		boolean origState = isEnabled();
 		isEnabled = true;
 		boolean newState = isEnabled();
+		transform().markDirty();
 
 		// updates gui
 		if (Lttl.game.inEditor())
@@ -257,6 +258,7 @@ public abstract class LttlComponent
 		boolean origState = isEnabled();
 		isEnabled = false;
 		boolean newState = isEnabled();
+		transform().markDirty();
 
 		// updates gui
 		if (Lttl.game.inEditor())
@@ -493,6 +495,11 @@ public abstract class LttlComponent
 		// remove from scene and transform
 		transform().components.remove(this);
 		transform().getSceneCore().componentMap.remove(getId());
+		Lttl.scenes.unregisterComponent(getId());
+		if (this instanceof LttlRenderer)
+		{
+			Lttl.loop.spatialIndex.remove((LttlRenderer) this);
+		}
 	}
 
 	/**
@@ -1,7 +1,6 @@
 package com.lttlgames.editor;
 
 import java.lang.reflect.Array;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -108,15 +107,13 @@ public class LttlComponentCrawler
 			{
 				// all fields are expected to be within the callbackLevel because it is checked in BeforeObject
 
-				Field f = pft.getField();
-
 				if (LttlComponent.class.isAssignableFrom(pft.getCurrentClass()))
 				{
 					// get the object from field
 					Object o = null;
 					try
 					{
-						o = f.get(parentObject);
+						o = pft.getAccessor().get(parentObject);
 					}
 					catch (IllegalArgumentException | IllegalAccessException e1)
 					{
@@ -132,22 +129,9 @@ public class LttlComponentCrawler
 					// only set the response object if it is different from the original
 					if (response != o)
 					{
-						boolean isPrivate = false;
-						if (LttlObjectGraphCrawler
-								.isPrivateOrProtectedOrDefault(f))
-						{
-							isPrivate = true;
-							f.setAccessible(true);
-						}
-
 						try
 						{
-							f.set(parentObject, response);
-
-							if (isPrivate)
-							{
-								f.setAccessible(false);
-							}
+							pft.getAccessor().set(parentObject, response);
 							return false;
 						}
 						catch (IllegalArgumentException e)
@@ -158,11 +142,6 @@ public class LttlComponentCrawler
 						{
 							e.printStackTrace();
 						}
-
-						if (isPrivate)
-						{
-							f.setAccessible(false);
-						}
 					}
 
 					// crawl this component, if already at the callbackLevel it will not crawl, checks below in
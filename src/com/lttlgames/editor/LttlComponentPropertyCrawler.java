@@ -128,7 +128,7 @@ public class LttlComponentPropertyCrawler
 				Object o = null;
 				try
 				{
-					o = f.get(parentObject);
+					o = pft.getAccessor().get(parentObject);
 				}
 				catch (IllegalArgumentException e1)
 				{
@@ -144,21 +144,9 @@ public class LttlComponentPropertyCrawler
 				Object response = set(o);
 				if (response != o)
 				{
-					boolean isPrivate = false;
-					if (LttlObjectGraphCrawler.isPrivateOrProtectedOrDefault(f))
-					{
-						isPrivate = true;
-						f.setAccessible(true);
-					}
-
 					try
 					{
-						f.set(parentObject, response);
-
-						if (isPrivate)
-						{
-							f.setAccessible(false);
-						}
+						pft.getAccessor().set(parentObject, response);
 						return false;
 					}
 					catch (IllegalArgumentException e)
@@ -169,11 +157,6 @@ public class LttlComponentPropertyCrawler
 					{
 						e.printStackTrace();
 					}
-
-					if (isPrivate)
-					{
-						f.setAccessible(false);
-					}
 				}
 
 				// don't crawl LttlComponent references, just callback them as did above
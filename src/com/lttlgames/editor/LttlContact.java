@@ -0,0 +1,189 @@
+package com.lttlgames.editor;
+
+import java.lang.reflect.Field;
+
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.physics.box2d.WorldManifold;
+import com.lttlgames.components.interfaces.PhysicsListener;
+
+/**
+ * The contact given to the {@link PhysicsListener} callbacks and kept in {@link LttlPhysicsBody#getContacts()}. The
+ * World passes the same reused Contact to every callback, pointing at whichever native contact is being reported, so
+ * {@link PhysicsController} keeps one of these per native contact instead.<br>
+ * The fixtures and child indexes are saved when it begins. The native contact is freed after it ends, so the world
+ * manifold, enabled, friction, and restitution are saved when it ends and returned from then on, and changing it does
+ * nothing. This is also what lets contact callbacks from a threaded step be replayed after the step.
+ */
+final class LttlContact extends Contact
+{
+	private static final Field addrField;
+	static
+	{
+		try
+		{
+			addrField = Contact.class.getDeclaredField("addr");
+			addrField.setAccessible(true);
+		}
+		catch (NoSuchFieldException e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+
+	private final Fixture fixtureA;
+	private final Fixture fixtureB;
+	private final int childIndexA;
+	private final int childIndexB;
+
+	private boolean ended = false;
+	private boolean endedEnabled;
+	private float endedFriction;
+	private float endedRestitution;
+
+	/**
+	 * @param world
+	 * @param addr
+	 *            the native contact, must not have ended
+	 */
+	LttlContact(World world, long addr)
+	{
+		super(world, addr);
+		fixtureA = super.getFixtureA();
+		fixtureB = super.getFixtureB();
+		childIndexA = super.getChildIndexA();
+		childIndexB = super.getChildIndexB();
+	}
+
+	/**
+	 * @param contact
+	 * @return the address of the native contact the contact points at
+	 */
+	static long getAddr(Contact contact)
+	{
+		try
+		{
+			return addrField.getLong(contact);
+		}
+		catch (IllegalAccessException e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Saves the native contact's values, ran in it's endContact callback, before the native contact is freed.
+	 */
+	void end()
+	{
+		if (ended) return;
+		// fills worldManifold
+		super.getWorldManifold();
+		endedEnabled = super.isEnabled();
+		endedFriction = super.getFriction();
+		endedRestitution = super.getRestitution();
+		ended = true;
+	}
+
+	/**
+	 * @return if the native contact ended and no longer exists
+	 */
+	boolean isEnded()
+	{
+		return ended;
+	}
+
+	@Override
+	public WorldManifold getWorldManifold()
+	{
+		if (ended) return worldManifold;
+		return super.getWorldManifold();
+	}
+
+	@Override
+	public boolean isTouching()
+	{
+		return !ended && super.isTouching();
+	}
+
+	@Override
+	public void setEnabled(boolean flag)
+	{
+		if (ended) return;
+		super.setEnabled(flag);
+	}
+
+	@Override
+	public boolean isEnabled()
+	{
+		if (ended) return endedEnabled;
+		return super.isEnabled();
+	}
+
+	@Override
+	public Fixture getFixtureA()
+	{
+		return fixtureA;
+	}
+
+	@Override
+	public Fixture getFixtureB()
+	{
+		return fixtureB;
+	}
+
+	@Override
+	public int getChildIndexA()
+	{
+		return childIndexA;
+	}
+
+	@Override
+	public int getChildIndexB()
+	{
+		return childIndexB;
+	}
+
+	@Override
+	public void setFriction(float friction)
+	{
+		if (ended) return;
+		super.setFriction(friction);
+	}
+
+	@Override
+	public float getFriction()
+	{
+		if (ended) return endedFriction;
+		return super.getFriction();
+	}
+
+	@Override
+	public void resetFriction()
+	{
+		if (ended) return;
+		super.resetFriction();
+	}
+
+	@Override
+	public void setRestitution(float restitution)
+	{
+		if (ended) return;
+		super.setRestitution(restitution);
+	}
+
+	@Override
+	public float getRestitution()
+	{
+		if (ended) return endedRestitution;
+		return super.getRestitution();
+	}
+
+	@Override
+	public void ResetRestitution()
+	{
+		if (ended) return;
+		super.ResetRestitution();
+	}
+}
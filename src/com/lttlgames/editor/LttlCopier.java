@@ -2,6 +2,7 @@ package com.lttlgames.editor;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -244,6 +245,39 @@ public final class LttlCopier
 				container);
 	}
 
+	/**
+	 * Converts all object's persisted fields to the binary scene format, it is the same data as {@link #toJson(Object)}
+	 * .
+	 * 
+	 * @see LttlBinaryScene
+	 * @param object
+	 * @return
+	 */
+	public static byte[] toBinary(Object object)
+	{
+		return LttlBinaryScene.fromJson(toJson(object));
+	}
+
+	/**
+	 * Deseralizes the binary scene format, same as {@link #fromJson(String, Class, ArrayList, Object)}.
+	 * 
+	 * @param buffer
+	 *            reads from current position
+	 * @param binaryClass
+	 * @param compRefsList
+	 *            optional
+	 * @param container
+	 *            optional, can be null
+	 * @return
+	 */
+	public static <T extends Object> T fromBinary(ByteBuffer buffer,
+			Class<T> binaryClass, ArrayList<ComponentRef> compRefsList,
+			Object container)
+	{
+		return LttlBinaryDeserializer.deserialize(buffer, binaryClass,
+				compRefsList, container);
+	}
+
 	/**
 	 * Returns a copy of an object (hashmap, array, arraylist), abiding by annotation rules and saving all
 	 * LttlComponents (extends too) by reference, any other object will be recreated if it has a value. If the root
@@ -356,21 +390,14 @@ public final class LttlCopier
 				(pft != null) ? pft.getParam() : null))
 		{
 			Field f = pftI.getField();
-
-			// check if it's private so it can be accessed
-			boolean isPrivate = false;
-			if (LttlObjectGraphCrawler.isPrivateOrProtectedOrDefault(f))
-			{
-				isPrivate = true;
-				f.setAccessible(true);
-			}
+			LttlFieldAccessor accessor = pftI.getAccessor();
 
 			// get the object of the field from the "newObject" or container, this way can utilize the intial objects
 			// created, helps garbage collector and final fields
 			Object fieldObjectContainer = null;
 			try
 			{
-				fieldObjectContainer = f.get(newObject);
+				fieldObjectContainer = accessor.get(newObject);
 			}
 			catch (IllegalArgumentException | IllegalAccessException e1)
 			{
@@ -387,13 +414,13 @@ public final class LttlCopier
 						|| f.isAnnotationPresent(DoCopyByReference.class))
 				{
 					// copyByReference fields can't be persisted because of the nature of preserving unique data
-					fieldObject = f.get(object);
+					fieldObject = accessor.get(object);
 				}
 
 				// no reference was made so create it and use the fieldObejct's container if any
 				if (fieldObject == null)
 				{
-					fieldObject = copy(f.get(object), h, pftI,
+					fieldObject = copy(accessor.get(object), h, pftI,
 							fieldObjectContainer);
 				}
 
@@ -402,7 +429,7 @@ public final class LttlCopier
 				// primative this way finals should work and won't have a huge spike in garbage collecting
 				if (fieldObjectContainer != fieldObject)
 				{
-					f.set(newObject, fieldObject);
+					accessor.set(newObject, fieldObject);
 				}
 			}
 			catch (IllegalArgumentException e)
@@ -413,13 +440,6 @@ public final class LttlCopier
 			{
 				e.printStackTrace();
 			}
-
-			// if private return the accessibility to false
-			if (isPrivate)
-			{
-				f.setAccessible(false);
-			}
-
 		}
 
 		return (T) newObject;
@@ -54,6 +54,13 @@ public class LttlCustomLandscape extends LttlCustomShapeBase
 		// update the path if it has not been updated since modified
 		path.updatePathIfNecessary();
 
+		if (isMeshAsync())
+		{
+			LttlProfiler.meshUpdates.add();
+			submitLandscapeJob();
+			return;
+		}
+
 		LttlMesh mesh = getNewMesh(path.getPath().size());
 
 		// create mesh
@@ -71,32 +78,10 @@ public class LttlCustomLandscape extends LttlCustomShapeBase
 		float y = path.getPath().getMinMax()[1] - height;
 		if (linearTriangulation)
 		{
-			// vertices, add all bottom points
-			vectorArrayTemp.ensureCapacity(path.getPath().size());
-			for (int i = path.getPath().size() - 1; i >= 0; i--)
-			{
-				vectorArrayTemp.add(path.getPath().getX(i), y);
-			}
-			mesh.getVerticesArray().ensureCapacity(path.getPath().size() * 2);
-			LttlMeshFactory.GenerateVertices(vectorArrayTemp,
-					mesh.getVerticesArray());
+			generateLinear(mesh, path.getPath(), vectorArrayTemp, y);
 			if (fixedUV)
 			{
-				fixUV(r().getMesh());
-			}
-
-			// indices
-			mesh.getIndicesArray().ensureCapacity(
-					(path.getPath().size() * 2 - 2) * 3);
-			int e = vectorArrayTemp.size() - 1;
-			for (int i = 0, n = path.getPath().size(); i < n - 1; i++)
-			{
-				mesh.getIndicesArray().add(i);
-				mesh.getIndicesArray().add(i + 1);
-				mesh.getIndicesArray().add(e - i);
-				mesh.getIndicesArray().add(e - i);
-				mesh.getIndicesArray().add(i + 1);
-				mesh.getIndicesArray().add(e - i - 1);
+				fixUV(r().getMesh(), path.getPath().size());
 			}
 
 			finalizeMesh(mesh, (Vector2Array) null, true);
@@ -114,7 +99,7 @@ public class LttlCustomLandscape extends LttlCustomShapeBase
 						LttlMeshFactory.GeneratePolygon(r().getMesh(), new PolygonContainer(
 								vectorArrayTemp),
 								useDelaunay));
-				fixUV(r().getMesh());
+				fixUV(r().getMesh(), path.getPath().size());
 
 				finalizeMesh(r().getMesh(), (Vector2Array) null, true);
 			}
@@ -131,11 +116,93 @@ public class LttlCustomLandscape extends LttlCustomShapeBase
 		}
 	}
 
-	private void fixUV(LttlMesh mesh)
+	/**
+	 * Generates the mesh on the mesh worker from a snapshot of the path and settings.
+	 */
+	private void submitLandscapeJob()
+	{
+		final Vector2Array pathPoints = new Vector2Array(path.getPath());
+		final float y = pathPoints.getMinMax()[1] - height;
+		final boolean fixedUV = this.fixedUV;
+		final boolean linearTriangulation = this.linearTriangulation;
+		submitMeshJob(new ShapeMeshJob()
+		{
+			@Override
+			protected PolygonContainer generatePolygon()
+			{
+				// add the two bottom points
+				Vector2Array points = new Vector2Array(pathPoints);
+				points.add(pathPoints.getLastX(), y);
+				points.add(pathPoints.getFirstX(), y);
+				return new PolygonContainer(points);
+			}
+
+			@Override
+			protected LttlMesh generateMesh()
+			{
+				LttlMesh mesh;
+				if (linearTriangulation)
+				{
+					mesh = new LttlMesh(pathPoints.size() * 2);
+					generateLinear(mesh, pathPoints, new Vector2Array(
+							pathPoints.size() * 2), y);
+				}
+				else
+				{
+					mesh = super.generateMesh();
+				}
+				if (fixedUV)
+				{
+					fixUV(mesh, pathPoints.size());
+				}
+				return mesh;
+			}
+		});
+	}
+
+	/**
+	 * Each path point has a counter point at the bottom.
+	 * 
+	 * @param mesh
+	 * @param pathPoints
+	 * @param vertices
+	 *            temp array, has the path points
+	 * @param y
+	 *            the bottom
+	 */
+	private static void generateLinear(LttlMesh mesh, Vector2Array pathPoints,
+			Vector2Array vertices, float y)
+	{
+		// vertices, add all bottom points
+		vertices.clear();
+		vertices.addAll(pathPoints);
+		vertices.ensureCapacity(pathPoints.size());
+		for (int i = pathPoints.size() - 1; i >= 0; i--)
+		{
+			vertices.add(pathPoints.getX(i), y);
+		}
+		mesh.getVerticesArray().ensureCapacity(pathPoints.size() * 2);
+		LttlMeshFactory.GenerateVertices(vertices, mesh.getVerticesArray());
+
+		// indices
+		mesh.getIndicesArray().ensureCapacity((pathPoints.size() * 2 - 2) * 3);
+		int e = vertices.size() - 1;
+		for (int i = 0, n = pathPoints.size(); i < n - 1; i++)
+		{
+			mesh.getIndicesArray().add(i);
+			mesh.getIndicesArray().add(i + 1);
+			mesh.getIndicesArray().add(e - i);
+			mesh.getIndicesArray().add(e - i);
+			mesh.getIndicesArray().add(i + 1);
+			mesh.getIndicesArray().add(e - i - 1);
+		}
+	}
+
+	private static void fixUV(LttlMesh mesh, int pathPointCount)
 	{
 		for (int i = 0, n = mesh.getVertexCount(); i < n; i++)
 		{
-			mesh.setY(i, ((i < path.getPath().size()) ? 1 : 0));
+			mesh.setY(i, ((i < pathPointCount) ? 1 : 0));
 		}
 	}
 }
@@ -80,73 +80,129 @@ public class LttlCustomLine extends LttlCustomShapeBase
 		// create mesh
 		LttlProfiler.meshUpdates.add();
 
-		try
+		if (isMeshAsync())
 		{
-			PolygonContainer polyCont;
-			if (path.closed)
+			final LineSnapshot snapshot = new LineSnapshot(this,
+					new Vector2Array(path.getPath()));
+			submitMeshJob(new ShapeMeshJob()
 			{
-				Vector2Array points = path.getPath();
-				if (offset != 0)
+				@Override
+				protected PolygonContainer generatePolygon()
 				{
-					polyCont = LttlGeometryUtil.offsetPolygon(path.getPath(),
-							offset, Joint.MITER, roundSegments,
-							mitreRatioLimitOverride, null);
-					if (polyCont == null || polyCont.getHoles().size() > 0)
-					{
-						Lttl.logNote("Creating Line Mesh Failed");
-						r().setMesh(null);
-						return;
-					}
-					points = polyCont.getPoints();
+					return snapshot.generatePolygon(this);
 				}
+			});
+			return;
+		}
 
-				float w = (singleSided ? width < 0 ? 0 : width : LttlMath
-						.abs(width) / 2f);
-				polyCont = LttlGeometryUtil.offsetPolygon(points, w, jointType,
-						roundSegments, 0, null);
+		PolygonContainer polyCont = new LineSnapshot(this, path.getPath())
+				.generatePolygon(null);
+		if (polyCont == null)
+		{
+			r().setMesh(null);
+		}
+		else
+		{
+			finalizeMesh(getNewMesh(polyCont.getPointCount()), polyCont,
+					false);
+		}
+	}
 
-				w = (singleSided ? width < 0 ? width : 0
-						: -LttlMath.abs(width) / 2f);
-				PolygonContainer innerPolyCont = LttlGeometryUtil
-						.offsetPolygon(points, w, jointType, roundSegments,
-								mitreRatioLimitOverride, null);
-				if (innerPolyCont == null || polyCont == null)
-				{
-					Lttl.logNote("Creating Line Mesh Failed: because closed path was self intersecting.");
-					r().setMesh(null);
-					return;
-				}
+	/**
+	 * The line's settings and path, so the polygon can be generated on the mesh worker.
+	 */
+	private static final class LineSnapshot
+	{
+		private final Vector2Array points;
+		private final boolean closed;
+		private final float width;
+		private final boolean singleSided;
+		private final float offset;
+		private final Joint jointType;
+		private final Cap capType;
+		private final int roundSegments;
+		private final float mitreRatioLimitOverride;
+
+		LineSnapshot(LttlCustomLine line, Vector2Array points)
+		{
+			this.points = points;
+			closed = line.path.closed;
+			width = line.width;
+			singleSided = line.singleSided;
+			offset = line.offset;
+			jointType = line.jointType;
+			capType = line.capType;
+			roundSegments = line.roundSegments;
+			mitreRatioLimitOverride = line.mitreRatioLimitOverride;
+		}
 
-				Polygon p = (Polygon) polyCont.getPolygon().difference(
-						innerPolyCont.getPolygon());
-				polyCont = polyCont.set(p);
-			}
-			else
+		/**
+		 * @param job
+		 *            null if generating on the main thread
+		 * @return null if failed
+		 */
+		PolygonContainer generatePolygon(LttlMeshJob job)
+		{
+			try
 			{
-				if (offset != 0)
+				PolygonContainer polyCont;
+				if (closed)
 				{
-					// NOTE currently offset does not work with open paths
+					Vector2Array points = this.points;
+					if (offset != 0)
+					{
+						polyCont = LttlGeometryUtil.offsetPolygon(this.points,
+								offset, Joint.MITER, roundSegments,
+								mitreRatioLimitOverride, null);
+						if (polyCont == null || polyCont.getHoles().size() > 0)
+						{
+							logNote(job, "Creating Line Mesh Failed");
+							return null;
+						}
+						points = polyCont.getPoints();
+					}
+
+					float w = (singleSided ? width < 0 ? 0 : width : LttlMath
+							.abs(width) / 2f);
+					polyCont = LttlGeometryUtil.offsetPolygon(points, w,
+							jointType, roundSegments, 0, null);
+
+					w = (singleSided ? width < 0 ? width : 0 : -LttlMath
+							.abs(width) / 2f);
+					PolygonContainer innerPolyCont = LttlGeometryUtil
+							.offsetPolygon(points, w, jointType, roundSegments,
+									mitreRatioLimitOverride, null);
+					if (innerPolyCont == null || polyCont == null)
+					{
+						logNote(job,
+								"Creating Line Mesh Failed: because closed path was self intersecting.");
+						return null;
+					}
+
+					Polygon p = (Polygon) polyCont.getPolygon().difference(
+							innerPolyCont.getPolygon());
+					polyCont = polyCont.set(p);
 				}
+				else
+				{
+					if (offset != 0)
+					{
+						// NOTE currently offset does not work with open paths
+					}
 
-				polyCont = LttlGeometryUtil.bufferPath(path.getPath(),
-						singleSided ? width : width / 2f, jointType,
-						roundSegments, 0, capType, singleSided, null);
-			}
+					polyCont = LttlGeometryUtil.bufferPath(points,
+							singleSided ? width : width / 2f, jointType,
+							roundSegments, 0, capType, singleSided, null);
+				}
 
-			if (!polyCont.isValid())
-			{
-				r().setMesh(null);
+				return polyCont.isValid() ? polyCont : null;
 			}
-			else
+			catch (MultiplePolygonsException e)
 			{
-				finalizeMesh(getNewMesh(polyCont.getPointCount()), polyCont,
-						false);
+				logNote(job,
+						"Generating Line Mesh Failed: multiple polygons created");
+				return null;
 			}
 		}
-		catch (MultiplePolygonsException e)
-		{
-			Lttl.logNote("Generating Line Mesh Failed: multiple polygons created");
-			r().setMesh(null);
-		}
 	}
 }
@@ -63,8 +63,65 @@ public class LttlCustomShape extends LttlCustomShapeBase
 			}
 		}
 
+		// create mesh
+		LttlProfiler.meshUpdates.add();
+
+		if (isMeshAsync())
+		{
+			// snapshot the paths (the polygon container copies the points)
+			final PolygonContainer pathSnapshot = new PolygonContainer(
+					path.getPath());
+			final ArrayList<Vector2Array> cutoutsSnapshot = cutoutsList == null ? null
+					: new ArrayList<Vector2Array>(cutoutsList.size());
+			if (cutoutsList != null)
+			{
+				for (Vector2Array cut : cutoutsList)
+				{
+					cutoutsSnapshot.add(new Vector2Array(cut));
+				}
+			}
+			final boolean detectHoles = autoDetectHoles;
+			submitMeshJob(new ShapeMeshJob()
+			{
+				@Override
+				protected PolygonContainer generatePolygon()
+				{
+					return buildPolygon(pathSnapshot, cutoutsSnapshot,
+							detectHoles, this);
+				}
+			});
+			return;
+		}
+
 		// create a polygon container from path
-		PolygonContainer polyCont = new PolygonContainer(path.getPath());
+		PolygonContainer polyCont = buildPolygon(new PolygonContainer(
+				path.getPath()), cutoutsList, autoDetectHoles, null);
+		if (polyCont == null)
+		{
+			r().setMesh(null);
+			return;
+		}
+
+		finalizeMesh(getNewMesh(polyCont.getPointCount()), polyCont,
+				false);
+	}
+
+	/**
+	 * Detects holes and removes the cutouts.
+	 * 
+	 * @param polyCont
+	 *            the path's polygon, gets modified
+	 * @param cutoutsList
+	 *            can be null
+	 * @param autoDetectHoles
+	 * @param job
+	 *            null if generating on the main thread
+	 * @return null if failed
+	 */
+	private PolygonContainer buildPolygon(PolygonContainer polyCont,
+			ArrayList<Vector2Array> cutoutsList, boolean autoDetectHoles,
+			LttlMeshJob job)
+	{
 		// auto detect holes before processing cutouts
 		if (autoDetectHoles)
 		{
@@ -75,10 +132,9 @@ public class LttlCustomShape extends LttlCustomShapeBase
 			}
 			catch (MultiplePolygonsException e)
 			{
-				Lttl.logNote("Update Mesh failed on " + toString()
+				logNote(job, "Update Mesh failed on " + toString()
 						+ " mesh split into multiple seperate polygons.");
-				r().setMesh(null);
-				return;
+				return null;
 			}
 		}
 
@@ -98,31 +154,25 @@ public class LttlCustomShape extends LttlCustomShapeBase
 					// can not have multiple polygons
 					if (g instanceof MultiPolygon)
 					{
-						Lttl.logNote("Update Mesh failed on "
+						logNote(job, "Update Mesh failed on "
 								+ toString()
 								+ " because with cutouts it produced more than 1 mesh.");
 					}
 					else
 					{
-						Lttl.logNote("Update Mesh failed on " + toString()
+						logNote(job, "Update Mesh failed on " + toString()
 								+ " because of some Geometry error.");
 					}
-					r().setMesh(null);
-					return;
+					return null;
 				}
 			}
 			catch (TopologyException e)
 			{
-				Lttl.logNote("Processing Custom Shape Cutouts Failed: "
+				logNote(job, "Processing Custom Shape Cutouts Failed: "
 						+ e.getMessage());
 			}
 		}
-
-		// create mesh
-		LttlProfiler.meshUpdates.add();
-
-		finalizeMesh(getNewMesh(polyCont.getPointCount()), polyCont,
-				false);
+		return polyCont;
 	}
 
 	@Override
@@ -13,7 +13,7 @@ import com.lttlgames.helpers.LttlHelper;
 import com.lttlgames.helpers.LttlMath;
 import com.lttlgames.helpers.Vector2Array;
 
-//06
+//07
 @Persist(-9085)
 abstract public class LttlCustomShapeBase extends LttlMeshGenerator implements
 		LttlModifiedListener
@@ -75,6 +75,16 @@ abstract public class LttlCustomShapeBase extends LttlMeshGenerator implements
 	@Persist(908506)
 	public boolean useDelaunay = false;
 
+	/**
+	 * Generates the mesh on the mesh worker (see {@link LttlMeshGenerator#submitMeshJob(LttlMeshJob)}), so big or
+	 * often updated shapes don't stall the frame, the current mesh is shown until the new one is swapped in. The first
+	 * mesh and meshes that use custom UVs, custom alpha and colors, or uvMeshSettings are still generated on the main
+	 * thread.
+	 */
+	@Persist(908507)
+	@GuiGroup("Settings")
+	public boolean asyncMesh = false;
+
 	/* GUI */
 	private int prevPathId = -1;
 
@@ -131,6 +141,8 @@ abstract public class LttlCustomShapeBase extends LttlMeshGenerator implements
 
 	protected void processOnDestroyComp()
 	{
+		cancelMeshJob();
+
 		// cleanup remove as a listener
 		if (path != null)
 		{
@@ -263,6 +275,8 @@ abstract public class LttlCustomShapeBase extends LttlMeshGenerator implements
 	{
 		// should not be null, should have been generated before this
 		Lttl.Throw(mesh);
+		// this update replaces any mesh still being generated
+		cancelMeshJob();
 
 		// modify the UVs first?
 		if (alreadyGenerated || useCustomUVs || useCustomAlphaAndColors
@@ -460,6 +474,142 @@ abstract public class LttlCustomShapeBase extends LttlMeshGenerator implements
 		updateMeshAA();
 	}
 
+	/**
+	 * @return if {@link #asyncMesh} and this mesh update can be generated with a {@link ShapeMeshJob}
+	 */
+	protected boolean isMeshAsync()
+	{
+		return asyncMesh && r().getMesh() != null && !useCustomUVs
+				&& !useCustomAlphaAndColors && uvMeshSettings == null;
+	}
+
+	/**
+	 * Logs the note, or if generating on the mesh worker, adds it to the job to be logged when it is applied.
+	 * 
+	 * @param job
+	 *            null if generating on the main thread
+	 * @param note
+	 */
+	static void logNote(LttlMeshJob job, String note)
+	{
+		if (job == null)
+		{
+			Lttl.logNote(note);
+		}
+		else
+		{
+			job.logNote(note);
+		}
+	}
+
+	/**
+	 * Does the same as {@link #finalizeMesh(LttlMesh, PolygonContainer, boolean)} on the mesh worker (when
+	 * {@link #isMeshAsync()}). Created on the main thread, where it snapshots the texture region and the AA, subclasses
+	 * snapshot their paths and settings and build the polygon in {@link #generatePolygon()}.
+	 */
+	protected abstract class ShapeMeshJob extends LttlMeshJob
+	{
+		private final boolean delaunay = useDelaunay;
+		private final boolean textureUVs;
+		private float u, v, u2, v2;
+
+		private final float aa;
+		private final boolean aaSimple;
+		private final boolean aaCleanup;
+		private final float aaMitreRatioLimit;
+		/**
+		 * 0 if not shader AA
+		 */
+		private final float aaShaderZoom;
+
+		protected ShapeMeshJob()
+		{
+			textureUVs = useTextureUVs && r().getTex0().getAR() != null;
+			if (textureUVs)
+			{
+				u = r().getTex0().getAR().getU();
+				v = r().getTex0().getAR().getV();
+				u2 = r().getTex0().getAR().getU2();
+				v2 = r().getTex0().getAR().getV2();
+			}
+
+			aa = updateActualAA();
+			aaSimple = aa > 0 && aaSettings.useSimple;
+			aaCleanup = aa > 0 && aaSettings.simpleCleanup;
+			aaMitreRatioLimit = aa > 0 ? aaSettings.mitreRatioLimitOverride
+					: 0;
+			aaShaderZoom = aa > 0 && aaSettings.isShaderAA() ? Lttl.game
+					.getSettings().getTargetCamera().zoom : 0;
+		}
+
+		/**
+		 * Ran on the mesh worker thread, only use the snapshotted values.
+		 * 
+		 * @return null if failed, which sets no mesh
+		 */
+		protected abstract PolygonContainer generatePolygon();
+
+		/**
+		 * Ran on the mesh worker thread, generates the mesh of {@link #generatePolygon()}. Override to generate the
+		 * vertices and indices some other way, the texture UVs and AA are added after.
+		 * 
+		 * @return a new mesh, null if failed
+		 */
+		protected LttlMesh generateMesh()
+		{
+			PolygonContainer polyCont = generatePolygon();
+			if (polyCont == null) return null;
+			return LttlMeshFactory.GeneratePolygon(null, polyCont, delaunay);
+		}
+
+		@Override
+		protected final LttlMesh generate()
+		{
+			LttlMesh mesh = generateMesh();
+			if (mesh == null || isCancelled()) return null;
+
+			// modify the UVs to be for the texture's atlas region
+			if (textureUVs)
+			{
+				for (int i = 0, n = mesh.getVertexCount(); i < n; i++)
+				{
+					mesh.setUV(i, LttlMath.Lerp(u, u2, mesh.getU(i)),
+							LttlMath.Lerp(v, v2, mesh.getV(i)));
+				}
+			}
+
+			if (aa > 0)
+			{
+				if (aaShaderZoom > 0)
+				{
+					LttlAntiAliaser.AddAntiAliasingSimple(mesh, aa, aaCleanup,
+							aaMitreRatioLimit, aaShaderZoom);
+				}
+				else if (aaSimple)
+				{
+					LttlAntiAliaser.AddAntiAliasingSimple(mesh, aa, aaCleanup,
+							aaMitreRatioLimit);
+				}
+				else
+				{
+					LttlAntiAliaser.AddAntiAliasing(mesh, aa, aaMitreRatioLimit);
+				}
+			}
+			return mesh;
+		}
+
+		@Override
+		protected void apply(LttlMesh mesh)
+		{
+			super.apply(mesh);
+			// the AA changed (camera zoom or scale) while generating
+			if (mesh != null && getActualAA() != aa)
+			{
+				updateMeshAA(getActualAA());
+			}
+		}
+	}
+
 	@Override
 	final public void updateMeshAA(float calculatedAA)
 	{
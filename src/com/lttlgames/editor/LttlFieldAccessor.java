@@ -0,0 +1,79 @@
+package com.lttlgames.editor;
+
+import java.lang.reflect.Field;
+
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Gets and sets a field's value for the object graph crawlers, {@link LttlCopier}, and the serializers. Each accessor
+ * has it's own {@link Field} instance that is made accessible once when it is created, instead of toggling
+ * setAccessible() around every get and set, which does a security check each time and is not safe when another
+ * thread (ie. an async scene load) is using the same Field.<br>
+ * Get them from {@link ProcessedFieldType#getAccessor()}, they are cached per field.<br>
+ * This is still reflection, not MethodHandles or generated accessor classes, since the game also runs on Android which
+ * supports neither. The speed up is only from not toggling accessibility and the cached field tables, it has not been
+ * benchmarked (there is no benchmark setup).
+ */
+final class LttlFieldAccessor
+{
+	private static final ObjectMap<Field, LttlFieldAccessor> accessorMap = new ObjectMap<Field, LttlFieldAccessor>();
+
+	private final Field field;
+
+	private LttlFieldAccessor(Field field)
+	{
+		// use a Field instance no one else can change the accessibility of
+		Field own;
+		try
+		{
+			own = field.getDeclaringClass().getDeclaredField(field.getName());
+		}
+		catch (NoSuchFieldException e)
+		{
+			own = field;
+		}
+		// only non public fields, so public finals still can't be set (same as before)
+		if (LttlObjectGraphCrawler.isPrivateOrProtectedOrDefault(own))
+		{
+			own.setAccessible(true);
+		}
+		this.field = own;
+	}
+
+	/**
+	 * Returns the cached accessor for this field, creates it if first time.
+	 *
+	 * @param field
+	 * @return
+	 */
+	static LttlFieldAccessor get(Field field)
+	{
+		synchronized (accessorMap)
+		{
+			LttlFieldAccessor accessor = accessorMap.get(field);
+			if (accessor == null)
+			{
+				accessor = new LttlFieldAccessor(field);
+				accessorMap.put(field, accessor);
+			}
+			return accessor;
+		}
+	}
+
+	Field getField()
+	{
+		return field;
+	}
+
+	Object get(Object object) throws IllegalArgumentException,
+			IllegalAccessException
+	{
+		return field.get(object);
+	}
+
+	void set(Object object, Object value) throws IllegalArgumentException,
+			IllegalAccessException
+	{
+		field.set(object, value);
+	}
+}
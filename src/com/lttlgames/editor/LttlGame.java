@@ -162,6 +162,8 @@ public final class LttlGame
 		// Sound/Music object instead of reloading, can all work the same but right before loading the resource, check
 		// if it was already loaded previously and if so, don't load it
 		// NOTE after a few tests, doesn't appear to make a difference if there are lots of resources to load
+		// restore the regions first, so the scenes dispose their own textures, not the shared pages
+		Lttl.scenes.textureResidency.dispose();
 		for (LttlScene scene : Lttl.scenes.getAllLoaded(true))
 		{
 			scene.getAudioManager().dispose();
@@ -10,8 +10,9 @@ import com.lttlgames.editor.annotations.GuiHideArrayListControls;
 import com.lttlgames.editor.annotations.GuiMin;
 import com.lttlgames.editor.annotations.GuiToolTip;
 import com.lttlgames.editor.annotations.Persist;
+import com.lttlgames.helpers.LttlFrameProfiler;
 
-//21
+//34
 @Persist(-9010)
 public class LttlGameSettings
 {
@@ -108,6 +109,88 @@ public class LttlGameSettings
 	@GuiGroup("Rendering")
 	@Persist(9010017)
 	public boolean showBatchData = false;
+	/**
+	 * Renders from a queue that is sorted by z position, then shader, blend mode, and textures. Renderers with the same
+	 * world z position may be drawn in a different order than without it, but they will batch much better.
+	 */
+	@GuiGroup("Rendering")
+	@Persist(9010022)
+	public boolean useRenderQueue = false;
+	/**
+	 * Stages (updates transforms of) each top level transform tree in parallel. Mesh generation, texture refreshes,
+	 * and renderer callbacks are still done on the main thread afterwards.
+	 */
+	@GuiGroup("Rendering")
+	@Persist(9010023)
+	public boolean parallelStaging = false;
+	/**
+	 * Only iterates the renderers whose world bounds are in the camera's view (found with a spatial index) instead of
+	 * every transform. Only renderers with checkInCameraView are culled, the rest are always iterated. Not used when
+	 * the editor is marking non renders.
+	 */
+	@GuiGroup("Rendering")
+	@Persist(9010025)
+	public boolean useSpatialCulling = true;
+	/**
+	 * Renderers that are static ({@link LttlRenderer#staticBatch} or unchanged for {@link #staticBatchAutoFrames}) are
+	 * kept on the GPU in static batches, so their vertices are not uploaded every frame. Static renderers next to each
+	 * other in render order (see {@link #useRenderQueue}) with the same textures, shader, and blend mode share a batch.
+	 * Works best when the static renderers don't check if they are in camera view, since each change of what is
+	 * visible rebuilds a batch.
+	 */
+	@GuiGroup("Rendering")
+	@Persist(9010027)
+	public boolean useStaticBatching = false;
+	/**
+	 * If greater than 0, renderers that have not changed (mesh, transform, color, and alpha) for this many frames are
+	 * static batched even without {@link LttlRenderer#staticBatch}.
+	 */
+	@GuiGroup("Rendering")
+	@Persist(9010028)
+	@GuiMin(0)
+	public int staticBatchAutoFrames = 0;
+	/**
+	 * Before rendering each view, the world vertices of the pre multiplied renderers that need them are transformed in
+	 * parallel, split in chunks across all cores, instead of one at a time while rendering. Only when there are at
+	 * least this many vertices to transform, since it isn't worth it for a few, 0 disables it.
+	 */
+	@GuiGroup("Rendering")
+	@Persist(9010030)
+	@GuiMin(0)
+	public int parallelWorldVerticesMin = 8192;
+	/**
+	 * Packs the regions of all the loaded scenes on to shared pages at runtime, so renderers from different scenes
+	 * (ie. world and level) interleaved in render order don't flush the batch on each texture change. Only clamped,
+	 * non mip mapped regions are packed. Costs the extra memory of the pages, since each scene's own textures stay
+	 * loaded. Packing a scene reads back each of it's textures' pixels (TextureData.prepare(), which decodes the
+	 * image file again if the pixmap wasn't kept) on the main thread when the scene loads, so it adds to the load time.
+	 * See {@link LttlTextureResidency}.
+	 */
+	@GuiGroup("Rendering")
+	@Persist(9010031)
+	public boolean useTextureResidency = false;
+	/**
+	 * width and height of each shared texture page
+	 */
+	@GuiGroup("Rendering")
+	@Persist(9010032)
+	@GuiMin(64)
+	public int textureResidencyPageSize = 2048;
+	/**
+	 * When unloaded scenes have left this much (0-1) of the shared pages unused, the remaining regions are repacked.
+	 */
+	@GuiGroup("Rendering")
+	@Persist(9010033)
+	@GuiMin(0)
+	public float textureResidencyRepackWaste = .5f;
+
+	/**
+	 * When playing, a hard destroy checks each component's component fields directly and only crawls the components
+	 * that have lists, maps, or other objects that may hold components (see {@link LttlReferenceFields}), instead of
+	 * crawling every component in the game.
+	 */
+	@Persist(9010034)
+	public boolean indexedHardDestroy = true;
 
 	/**
 	 * A more reliable alternative to deltaTime. Use for {@link LttlComponent#onFixedUpdate()} and
@@ -136,6 +219,30 @@ public class LttlGameSettings
 	@Persist(9010014)
 	public float timeFactor = 1;
 
+	/**
+	 * Milliseconds each frame that scenes loading with
+	 * {@link ScenesManager#loadSceneAsync(int, LttlSceneLoad.SceneLoadCallback)} can spend on the main thread. At least
+	 * one load step is always done each frame.
+	 */
+	@Persist(9010024)
+	@GuiMin(0)
+	public float sceneLoadBudgetMs = 4;
+
+	/**
+	 * How many meshes generated on the mesh worker ({@link LttlMeshGenerator#submitMeshJob(LttlMeshJob)}) can be
+	 * swapped in each frame, the rest wait for the next frames.
+	 */
+	@Persist(9010026)
+	@GuiMin(1)
+	public int maxAsyncMeshSwapsPerFrame = 8;
+
+	/**
+	 * Records how long each phase of the frame and each component class's callbacks take, works in builds too. See
+	 * {@link LttlFrameProfiler}.
+	 */
+	@Persist(9010029)
+	public boolean recordFrameTimings = false;
+
 	/**
 	 * This limits the distance of the mitre point when expanding a path or polygon. The ratio is the mitre length /
 	 * abs(expand length)
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.NumberUtils;
 import com.lttlgames.editor.annotations.DoCopy;
 import com.lttlgames.editor.annotations.Persist;
 import com.lttlgames.helpers.LttlMath;
@@ -21,14 +22,65 @@ public class LttlGradient
 	}
 	@DoCopy
 	int guiSelectedIndex = 0;
+	/**
+	 * the rgb values at even steps from 0 to 1, if baked
+	 */
+	private float[] samples;
+	private int sampleCount;
 
 	/**
-	 * Needs to be called whenever colors are added and they could be not in order or values out of range (0-1)
+	 * Needs to be called whenever colors are added and they could be not in order or values out of range (0-1), also
+	 * resamples if baked.
 	 */
-	void modified()
+	public void modified()
 	{
 		// TODO not necessary because almost always going to be modifying this in Gui/Editor, which doesn't make
 		// mistakes, or put things out of order
+
+		if (samples != null)
+		{
+			sample();
+		}
+	}
+
+	/**
+	 * Samples the gradient at even steps, so {@link #lerp(float, Color)} interpolates between the two nearest samples in
+	 * constant time instead of searching the colors. Stays baked (resampled on {@link #modified()}) until
+	 * {@link #unbake()}.
+	 * 
+	 * @param resolution
+	 *            number of samples, at least 2
+	 */
+	public void bake(int resolution)
+	{
+		Lttl.Throw(resolution < 2);
+		if (samples != null && sampleCount == resolution) return;
+		sampleCount = resolution;
+		samples = new float[resolution * 3];
+		sample();
+	}
+
+	public void unbake()
+	{
+		samples = null;
+		sampleCount = 0;
+	}
+
+	public boolean isBaked()
+	{
+		return samples != null;
+	}
+
+	private void sample()
+	{
+		Color color = new Color(1, 1, 1, 1);
+		for (int i = 0, n = sampleCount; i < n; i++)
+		{
+			searchLerp(i / (n - 1f), color);
+			samples[i * 3] = color.r;
+			samples[i * 3 + 1] = color.g;
+			samples[i * 3 + 2] = color.b;
+		}
 	}
 
 	public FloatArray getTimeline()
@@ -51,6 +103,64 @@ public class LttlGradient
 	 * @return
 	 */
 	public Color lerp(float percent, Color output)
+	{
+		if (samples != null)
+		{
+			float position = LttlMath.Clamp01(percent) * (sampleCount - 1);
+			int i = (int) position;
+			if (i >= sampleCount - 1)
+			{
+				i = sampleCount - 1;
+				output.r = samples[i * 3];
+				output.g = samples[i * 3 + 1];
+				output.b = samples[i * 3 + 2];
+				return output;
+			}
+			float p = position - i;
+			i *= 3;
+			output.r = LttlMath.Lerp(samples[i], samples[i + 3], p);
+			output.g = LttlMath.Lerp(samples[i + 1], samples[i + 4], p);
+			output.b = LttlMath.Lerp(samples[i + 2], samples[i + 5], p);
+			return output;
+		}
+		return searchLerp(percent, output);
+	}
+
+	/**
+	 * Returns the packed color (like {@link Color#toFloatBits()}, alpha is 1) at the lerp position, interpolated the
+	 * same as {@link #lerp(float, Color)} but without creating a Color. Only if baked.
+	 * 
+	 * @param percent
+	 *            between 0 and 1, inclusive
+	 * @return
+	 */
+	public float lerpBits(float percent)
+	{
+		Lttl.Throw(samples == null);
+		float position = LttlMath.Clamp01(percent) * (sampleCount - 1);
+		int i = (int) position;
+		float r, g, b;
+		if (i >= sampleCount - 1)
+		{
+			i = (sampleCount - 1) * 3;
+			r = samples[i];
+			g = samples[i + 1];
+			b = samples[i + 2];
+		}
+		else
+		{
+			float p = position - i;
+			i *= 3;
+			r = LttlMath.Lerp(samples[i], samples[i + 3], p);
+			g = LttlMath.Lerp(samples[i + 1], samples[i + 4], p);
+			b = LttlMath.Lerp(samples[i + 2], samples[i + 5], p);
+		}
+		return NumberUtils.intToFloatColor(0xFF000000
+				| ((int) (255 * b) << 16) | ((int) (255 * g) << 8)
+				| ((int) (255 * r)));
+	}
+
+	private Color searchLerp(float percent, Color output)
 	{
 		// no colors
 		Lttl.Throw(colors.size() < 1 || times.size < 1
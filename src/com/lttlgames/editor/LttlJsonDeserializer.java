@@ -1,7 +1,6 @@
 package com.lttlgames.editor;
 
 import java.lang.reflect.Array;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -9,22 +8,22 @@ import java.util.Map;
 import java.util.Map.Entry;
 
 import com.lttlgames.editor.interfaces.Deserializable;
-import com.lttlgames.helpers.LttlMutatableBoolean;
 import com.lttlgames.helpers.LttlMututatableObject;
 
 public class LttlJsonDeserializer
 {
-	private LttlJsonDeserializer()
-	{
-	}
-
 	/**
 	 * used for not setting a field because the json does not match the field. Usually happens when changing the field
 	 * ids.
 	 */
-	private static LttlMutatableBoolean typeMismatch = new LttlMutatableBoolean(false);
+	private boolean typeMismatch = false;
 
-	private static Helper helper;
+	private final Helper helper;
+
+	private LttlJsonDeserializer(ArrayList<ComponentRef> compRefsList)
+	{
+		helper = new Helper(compRefsList);
+	}
 
 	/**
 	 * Returns object (no need for cast)
@@ -41,13 +40,31 @@ public class LttlJsonDeserializer
 	public static <T> T deserialize(String json, Class<T> c,
 			ArrayList<ComponentRef> compRefsList, Object container)
 	{
-		helper = new Helper(compRefsList);
-		T result = (T) preProcess(json, c, null, container);
-		helper = null;
-		return result;
+		return deserialize(json, c, compRefsList, container, null);
+	}
+
+	/**
+	 * @param json
+	 * @param c
+	 * @param compRefsList
+	 * @param container
+	 * @param deferredSceneComps
+	 *            optional, if not null, the components in a scene's component map are not deserialized, a runnable that
+	 *            deserializes and adds each one is added to it instead
+	 * @return
+	 * @see #deserialize(String, Class, ArrayList, Object)
+	 */
+	static <T> T deserialize(String json, Class<T> c,
+			ArrayList<ComponentRef> compRefsList, Object container,
+			ArrayList<Runnable> deferredSceneComps)
+	{
+		// new instance each time, so deserializing can be done on more than one thread
+		LttlJsonDeserializer d = new LttlJsonDeserializer(compRefsList);
+		d.helper.deferredSceneComps = deferredSceneComps;
+		return (T) d.preProcess(json, c, null, container);
 	}
 
-	private static Object preProcess(String json, Class<?> c, ProcessedFieldType pft,
+	private Object preProcess(String json, Class<?> c, ProcessedFieldType pft,
 			Object container)
 	{
 		if ((c == null && pft == null) || json == null || json.isEmpty())
@@ -91,7 +108,7 @@ public class LttlJsonDeserializer
 			if (json.indexOf("{") == -1)
 			{
 				// return deserializePrimative(json, null);
-				typeMismatch.value = true;
+				typeMismatch = true;
 				Lttl.logNote("Deserializing: Unexpected primative.");
 				return 0;
 			}
@@ -99,7 +116,7 @@ public class LttlJsonDeserializer
 		}
 	}
 
-	private static Object deserializeArray(ArrayList<String> parsedList, Class<?> c)
+	private Object deserializeArray(ArrayList<String> parsedList, Class<?> c)
 	{
 		if (parsedList == null) return null;
 
@@ -154,7 +171,7 @@ public class LttlJsonDeserializer
 		return newArray;
 	}
 
-	private static ArrayList<Object> deserializeArrayList(ArrayList<String> parsedList,
+	private ArrayList<Object> deserializeArrayList(ArrayList<String> parsedList,
 			ProcessedFieldType pft, ArrayList<Object> container)
 	{
 		if (parsedList == null) return null;
@@ -202,7 +219,7 @@ public class LttlJsonDeserializer
 		return newList;
 	}
 
-	private static HashMap<Object, Object> deserializeHashMap(HashMap<String, String> hm,
+	private HashMap<Object, Object> deserializeHashMap(HashMap<String, String> hm,
 			ProcessedFieldType pft, HashMap<Object, Object> container)
 	{
 		if (hm == null) return null;
@@ -295,6 +312,24 @@ public class LttlJsonDeserializer
 						}
 					});
 				}
+				else if (helper.inSceneCompMap && helper.primaryComp == null
+						&& helper.deferredSceneComps != null)
+				{
+					// deserialized later, one component at a time
+					final String valueJson = pairs.getValue();
+					final ProcessedFieldType valuePft = pft.getParam(1);
+					helper.deferredSceneComps.add(new Runnable()
+					{
+						@Override
+						public void run()
+						{
+							helper.inSceneCompMap = true;
+							finalNewHM.put(keyObject,
+									preProcess(valueJson, null, valuePft, null));
+							helper.inSceneCompMap = false;
+						}
+					});
+				}
 				else
 				{
 					// normal way
@@ -310,7 +345,7 @@ public class LttlJsonDeserializer
 
 	@SuppressWarnings(
 	{ "unchecked", "rawtypes" })
-	private static Object deserializePrimative(String json, Class<?> c)
+	private Object deserializePrimative(String json, Class<?> c)
 	{
 		if (c == Boolean.class || c.getName().equals("boolean"))
 		{
@@ -326,7 +361,7 @@ public class LttlJsonDeserializer
 			catch (NumberFormatException e)
 			{
 				Lttl.logNote("Deserializing: Can't parse to int: '" + json + "'");
-				typeMismatch.value = true;
+				typeMismatch = true;
 				return 0;
 			}
 		}
@@ -339,7 +374,7 @@ public class LttlJsonDeserializer
 			catch (NumberFormatException e)
 			{
 				Lttl.logNote("Deserializing: Can't parse to float: '" + json + "'");
-				typeMismatch.value = true;
+				typeMismatch = true;
 				return 0;
 			}
 		}
@@ -371,7 +406,7 @@ public class LttlJsonDeserializer
 						+ "'"
 						+ " in class: "
 						+ c.getCanonicalName());
-				typeMismatch.value = true;
+				typeMismatch = true;
 				return null;
 			}
 		}
@@ -384,7 +419,7 @@ public class LttlJsonDeserializer
 			catch (NumberFormatException e)
 			{
 				Lttl.logNote("Deserializing: Can't parse to double: '" + json + "'");
-				typeMismatch.value = true;
+				typeMismatch = true;
 				return 0;
 			}
 		}
@@ -397,7 +432,7 @@ public class LttlJsonDeserializer
 			catch (NumberFormatException e)
 			{
 				Lttl.logNote("Deserializing: Can't parse to long: '" + json + "'");
-				typeMismatch.value = true;
+				typeMismatch = true;
 				return 0;
 			}
 		}
@@ -410,7 +445,7 @@ public class LttlJsonDeserializer
 			catch (NumberFormatException e)
 			{
 				Lttl.logNote("Deserializing: Can't parse to short: '" + json + "'");
-				typeMismatch.value = true;
+				typeMismatch = true;
 				return 0;
 			}
 		}
@@ -423,7 +458,7 @@ public class LttlJsonDeserializer
 			catch (NumberFormatException e)
 			{
 				Lttl.logNote("Deserializing: Can't parse to byte: '" + json + "'");
-				typeMismatch.value = true;
+				typeMismatch = true;
 				return 0;
 			}
 		}
@@ -438,7 +473,7 @@ public class LttlJsonDeserializer
 	 *            can be null, will create new instance
 	 * @return
 	 */
-	private static Object deserializeObject(HashMap<String, String> hm, Class<?> c,
+	private Object deserializeObject(HashMap<String, String> hm, Class<?> c,
 			ProcessedFieldType pft, Object container)
 	{
 		if (hm == null) return null;
@@ -517,33 +552,14 @@ public class LttlJsonDeserializer
 					@Override
 					void set(LttlComponent component)
 					{
-						// check if field is private/protected, if it is, make it accessible
-						final boolean isPrivate;
-						Field f = pftI.getField();
-						if (LttlObjectGraphCrawler.isPrivateOrProtectedOrDefault(f))
-						{
-							isPrivate = true;
-							f.setAccessible(true);
-						}
-						else
-						{
-							isPrivate = false;
-						}
-
 						try
 						{
-							f.set(finalObject, component);
+							pftI.getAccessor().set(finalObject, component);
 						}
 						catch (IllegalArgumentException | IllegalAccessException e)
 						{
 							e.printStackTrace();
 						}
-
-						// set private/protected field's access back to what it was
-						if (isPrivate)
-						{
-							f.setAccessible(false);
-						}
 					}
 				});
 
@@ -553,25 +569,14 @@ public class LttlJsonDeserializer
 
 			/* NORMAL DESERIALIZE */
 
-			// check if field is private/protected, if it is, make it accessible
-			final boolean isPrivate;
-			final Field f = pftI.getField();
-			if (LttlObjectGraphCrawler.isPrivateOrProtectedOrDefault(f))
-			{
-				isPrivate = true;
-				f.setAccessible(true);
-			}
-			else
-			{
-				isPrivate = false;
-			}
+			final LttlFieldAccessor accessor = pftI.getAccessor();
 
 			// get the object of the field, this way can utilize the intial objects created, helps garbage collector and
 			// final fields
 			Object fieldObjectContainer = null;
 			try
 			{
-				fieldObjectContainer = f.get(object);
+				fieldObjectContainer = accessor.get(object);
 			}
 			catch (IllegalArgumentException | IllegalAccessException e1)
 			{
@@ -583,11 +588,11 @@ public class LttlJsonDeserializer
 			{
 				Object fieldObject = null;
 
-				typeMismatch.value = false;
+				typeMismatch = false;
 				fieldObject = preProcess(pairs.getValue(), pftI.getCurrentClass(), pftI,
 						fieldObjectContainer);
 
-				if (!typeMismatch.value)
+				if (!typeMismatch)
 				{
 					// only set the field if the fieldObject's container object is different than the created object
 					// the created object should be the same as the fieldObjectContainer if it was not null and not
@@ -596,7 +601,7 @@ public class LttlJsonDeserializer
 					{
 						try
 						{
-							f.set(object, fieldObject);
+							accessor.set(object, fieldObject);
 						}
 						catch (IllegalArgumentException e)
 						{
@@ -619,12 +624,6 @@ public class LttlJsonDeserializer
 				e.printStackTrace();
 			}
 
-			// set private/protected field's access back to what it was
-			if (isPrivate)
-			{
-				f.setAccessible(false);
-			}
-
 			// if was in scene component map field, and now leaving, then set to false
 			if (isSceneCompMapField)
 			{
@@ -839,7 +838,7 @@ public class LttlJsonDeserializer
 	 * entirely skipped in the case of a hashmap. Expects all LttlComponents inside another LttlComponent should only
 	 * have an id.
 	 */
-	private static boolean shouldDoComponentRef(Class<?> c)
+	private boolean shouldDoComponentRef(Class<?> c)
 	{
 		return LttlComponent.class.isAssignableFrom(c) && helper.compRefsList != null
 		// if outside scene component map, then always try and make references, if inside the scene component
@@ -860,6 +859,10 @@ public class LttlJsonDeserializer
 		 */
 		public LttlComponent primaryComp;
 		public boolean inSceneCompMap = false;
+		/**
+		 * if not null, the scene component map's components are deserialized later by these instead
+		 */
+		public ArrayList<Runnable> deferredSceneComps;
 
 		public Helper(ArrayList<ComponentRef> compRefsList)
 		{
@@ -894,6 +897,16 @@ public class LttlJsonDeserializer
 			id = Integer.parseInt(stringId);
 		}
 
+		/**
+		 * @param id
+		 *            if negative, the reference will be set to null
+		 */
+		public ComponentRef(int id)
+		{
+			this.id = id;
+			isNull = id < 0;
+		}
+
 		abstract void set(LttlComponent component);
 
 		public void set(LttlSceneCore scene)
@@ -123,15 +123,6 @@ public class LttlJsonSerializer
 		for (ProcessedFieldType pftI : LttlObjectGraphCrawler.getAllFields(c,
 				fieldsMode, (pft != null) ? pft.getParam(0) : null))
 		{
-			Field f = pftI.getField();
-
-			// check if it's private/protected so it can be accessed
-			boolean isPrivate = false;
-			if (LttlObjectGraphCrawler.isPrivateOrProtectedOrDefault(f))
-			{
-				isPrivate = true;
-				f.setAccessible(true);
-			}
 			try
 			{
 				if (getFieldJson(pftI, o))
@@ -143,13 +134,6 @@ public class LttlJsonSerializer
 			{
 				e.printStackTrace();
 			}
-
-			// if private, return the accessibility to false
-			if (isPrivate)
-			{
-				f.setAccessible(false);
-			}
-
 		}
 
 		// remove last comma
@@ -484,7 +468,7 @@ public class LttlJsonSerializer
 
 		Object fieldObject = null;
 
-		if ((fieldObject = f.get(sourceObject)) == null)
+		if ((fieldObject = pft.getAccessor().get(sourceObject)) == null)
 		{
 			sb.append("null");
 		}
@@ -35,6 +35,10 @@ abstract public class LttlMeshGenerator extends LttlComponent implements
 	public UVMeshSettings uvMeshSettings = null;
 
 	private float actualAA;
+	/**
+	 * the job generating this generator's mesh on the mesh worker, null if none
+	 */
+	private LttlMeshJob pendingMeshJob;
 
 	@Persist(901103)
 	@GuiGroup("Debug")
@@ -199,6 +203,55 @@ abstract public class LttlMeshGenerator extends LttlComponent implements
 		return cameraZoomOnLastUpdateMesh;
 	}
 
+	/**
+	 * Generates the mesh on the mesh worker instead of the main thread, cancelling the pending job if any. The renderer
+	 * keeps it's current mesh until the job's mesh is swapped in, at most
+	 * {@link LttlGameSettings#maxAsyncMeshSwapsPerFrame} each frame. Use this in {@link #updateMesh()}.
+	 * 
+	 * @param job
+	 *            created on the main thread, with it's inputs snapshotted
+	 */
+	protected void submitMeshJob(LttlMeshJob job)
+	{
+		cancelMeshJob();
+		job.generator = this;
+		pendingMeshJob = job;
+		Lttl.loop.meshWorker.submit(job);
+	}
+
+	/**
+	 * Cancels the pending mesh job, if any, so it's mesh is never swapped in. Should be called when the mesh is updated
+	 * on the main thread or the generator is destroyed.
+	 */
+	public void cancelMeshJob()
+	{
+		if (pendingMeshJob == null) return;
+		pendingMeshJob.cancel();
+		pendingMeshJob = null;
+	}
+
+	/**
+	 * @return if a mesh is being generated on the mesh worker and has not been swapped in yet
+	 */
+	public boolean isMeshJobPending()
+	{
+		return pendingMeshJob != null;
+	}
+
+	/**
+	 * Ran by the mesh worker on the main thread.
+	 * 
+	 * @param job
+	 * @return if the job's mesh was swapped in
+	 */
+	boolean finishMeshJob(LttlMeshJob job)
+	{
+		if (pendingMeshJob != job) return false;
+		pendingMeshJob = null;
+		job.finish();
+		return true;
+	}
+
 	/**
 	 * Called when any settings are modified in GUI that should trigger an update mesh
 	 */
@@ -0,0 +1,106 @@
+package com.lttlgames.editor;
+
+import java.util.ArrayList;
+
+import com.lttlgames.graphics.LttlMesh;
+
+/**
+ * A mesh generated on the mesh worker by {@link LttlMeshGenerator#submitMeshJob(LttlMeshJob)}. The job is created on
+ * the main thread and should copy (snapshot) everything {@link #generate()} needs, since the generator, it's paths, and
+ * it's renderer can change while it is running. The renderer keeps it's current mesh until the generated one is
+ * swapped in by {@link #apply(LttlMesh)} on the main thread.
+ */
+public abstract class LttlMeshJob
+{
+	LttlMeshGenerator generator;
+	private volatile boolean cancelled = false;
+
+	/* SET ON WORKER THREAD */
+	private LttlMesh result;
+	private RuntimeException exception;
+	private ArrayList<String> notes;
+
+	/**
+	 * Ran on the mesh worker thread. Must only use the snapshotted values and the thread safe helpers
+	 * (LttlMeshFactory, LttlTriangulator, LttlAntiAliaser, LttlGeometryUtil), and create a new mesh, since the
+	 * renderer's current mesh is still being rendered.
+	 *
+	 * @return the new mesh, null sets no mesh
+	 */
+	protected abstract LttlMesh generate();
+
+	/**
+	 * Ran on the main thread when the generated mesh is swapped in, sets it on the renderer.
+	 *
+	 * @param mesh
+	 *            can be null
+	 */
+	protected void apply(LttlMesh mesh)
+	{
+		generator.r().setMesh(mesh);
+	}
+
+	/**
+	 * Logs the note on the main thread when the job is applied, so the notes of cancelled jobs are dropped.
+	 *
+	 * @param note
+	 */
+	protected void logNote(String note)
+	{
+		if (notes == null)
+		{
+			notes = new ArrayList<String>(1);
+		}
+		notes.add(note);
+	}
+
+	/**
+	 * @return if a newer mesh update (or destroy) has replaced this job, {@link #generate()} can check this to stop
+	 *         early
+	 */
+	public boolean isCancelled()
+	{
+		return cancelled;
+	}
+
+	void cancel()
+	{
+		cancelled = true;
+	}
+
+	/**
+	 * Ran on the mesh worker thread.
+	 */
+	void run()
+	{
+		if (cancelled) return;
+		try
+		{
+			result = generate();
+		}
+		catch (RuntimeException e)
+		{
+			exception = e;
+		}
+	}
+
+	/**
+	 * Ran on the main thread.
+	 */
+	void finish()
+	{
+		if (notes != null)
+		{
+			for (String note : notes)
+			{
+				Lttl.logNote(note);
+			}
+		}
+		if (exception != null)
+		{
+			Lttl.Throw(new RuntimeException("Mesh Job: Failed generating mesh on "
+					+ generator.toString() + ".", exception));
+		}
+		apply(result);
+	}
+}
@@ -0,0 +1,95 @@
+package com.lttlgames.editor;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import com.lttlgames.helpers.LttlFrameProfiler;
+
+/**
+ * Runs the {@link LttlMeshJob}s submitted by {@link LttlMeshGenerator#submitMeshJob(LttlMeshJob)} on a pool of
+ * background threads, then swaps their meshes in on the main thread, at most
+ * {@link LttlGameSettings#maxAsyncMeshSwapsPerFrame} each frame. Jobs that are cancelled before they are swapped in
+ * are dropped.
+ */
+final class LttlMeshWorker
+{
+	private ExecutorService executor;
+	/**
+	 * jobs done generating, in the order they finished
+	 */
+	private final ConcurrentLinkedQueue<LttlMeshJob> completed = new ConcurrentLinkedQueue<LttlMeshJob>();
+
+	void submit(final LttlMeshJob job)
+	{
+		if (executor == null)
+		{
+			// leave a core for the main thread
+			executor = Executors.newFixedThreadPool(Math.max(1, Runtime
+					.getRuntime().availableProcessors() - 1),
+					new ThreadFactory()
+					{
+						private int count = 0;
+
+						@Override
+						public Thread newThread(Runnable r)
+						{
+							Thread thread = new Thread(r, "Mesh Generator "
+									+ count++);
+							thread.setDaemon(true);
+							return thread;
+						}
+					});
+		}
+		executor.execute(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				long start = LttlFrameProfiler.isRecording() ? System.nanoTime()
+						: 0;
+				job.run();
+				if (start != 0)
+				{
+					LttlFrameProfiler.record(job.generator.getClass(), start,
+							System.nanoTime());
+				}
+				completed.add(job);
+			}
+		});
+	}
+
+	/**
+	 * Swaps in the meshes of the completed jobs, ran once a frame before updates.
+	 */
+	void processCompleted()
+	{
+		if (completed.isEmpty()) return;
+
+		int swaps = 0;
+		int maxSwaps = Lttl.game.getSettings().maxAsyncMeshSwapsPerFrame;
+		LttlMeshJob job;
+		while (swaps < maxSwaps && (job = completed.poll()) != null)
+		{
+			if (job.isCancelled() || job.generator.isDestroyPending()) continue;
+			if (job.generator.finishMeshJob(job))
+			{
+				swaps++;
+			}
+		}
+	}
+
+	/**
+	 * Stops the threads and drops any jobs, should be called whenever editor reloads
+	 */
+	void dispose()
+	{
+		if (executor != null)
+		{
+			executor.shutdownNow();
+			executor = null;
+		}
+		completed.clear();
+	}
+}
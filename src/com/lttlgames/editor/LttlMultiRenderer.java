@@ -3,7 +3,9 @@ package com.lttlgames.editor;
 import com.badlogic.gdx.math.Matrix3;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.FloatArray;
 import com.badlogic.gdx.utils.ShortArray;
+import com.lttlgames.editor.LoopManager.RenderType;
 import com.lttlgames.editor.LoopManager.RenderView;
 import com.lttlgames.editor.annotations.GuiGroup;
 import com.lttlgames.editor.annotations.Persist;
@@ -158,6 +160,29 @@ abstract public class LttlMultiRenderer extends LttlRenderer
 		}
 	}
 
+	/**
+	 * Renders vertices that already have world values and are not this renderer's mesh, like many multi objects written
+	 * into one array. Uses this renderer's textures, shader, and blend mode. There is no {@link #checkEachMultiDraw} or
+	 * debug drawing, only the post processing callback is checked.
+	 * 
+	 * @param worldVertices
+	 *            needs to be the same vertex layout as {@link com.lttlgames.graphics.LttlMesh}
+	 * @param indices
+	 */
+	final protected void renderDraw(FloatArray worldVertices,
+			ShortArray indices)
+	{
+		if (!postProcessingCallbackEachDraw
+				|| Lttl.loop.getRenderView() == RenderView.Editor
+				|| Lttl.loop.getProcessing() == null
+				|| Lttl.loop.getProcessing().beforeMultiRenderDraw(t()))
+		{
+			Lttl.loop.renderDraw(RenderType.Renderer, blendMode, shader,
+					getTex0().getTex(), getTex1().getTex(), worldVertices,
+					indices, null, this);
+		}
+	}
+
 	/**
 	 * Returns the world render matrix using the precalcualted worldMatrix, this can be sent straight to graphics card.
 	 * 
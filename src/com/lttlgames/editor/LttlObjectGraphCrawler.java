@@ -13,6 +13,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
@@ -40,7 +41,6 @@ import com.badlogic.gdx.utils.FloatArray;
 import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.IntMap;
 import com.badlogic.gdx.utils.LongArray;
-import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.Pool;
 import com.badlogic.gdx.utils.Predicate;
 import com.lttlgames.editor.annotations.DoCopy;
@@ -63,13 +63,19 @@ public class LttlObjectGraphCrawler
 	private FieldsMode fieldsMode = FieldsMode.All;
 	private int maxTiers = -1; // -1 is all
 	private int currentTier = 0;
-	private static ObjectMap<FieldsMode, ObjectMap<Class<?>, ArrayList<ProcessedFieldType>>> fieldsCacheMap =
-			new ObjectMap<>(
-					3);
-	private static ObjectMap<Field, Persist> persisFieldtMap =
-			new ObjectMap<>();
-	private static ObjectMap<Class<?>, Persist> persisClasstMap =
-			new ObjectMap<>();
+	/**
+	 * concurrent maps, since scenes can be deserialized on a background thread
+	 */
+	private static final ConcurrentHashMap<FieldsMode, ConcurrentHashMap<Class<?>, List<ProcessedFieldType>>> fieldsCacheMap =
+			new ConcurrentHashMap<>(8);
+	private static final ConcurrentHashMap<Field, Object> persisFieldtMap =
+			new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<Class<?>, Object> persisClasstMap =
+			new ConcurrentHashMap<>();
+	/**
+	 * cached in the persist maps for no annotation, since they can't hold null
+	 */
+	private static final Object NO_PERSIST = new Object();
 
 	/**
 	 * These classes are GDX (and Java) classes that can't have the @Persisted Annotation on them, but they should still
@@ -231,14 +237,6 @@ public class LttlObjectGraphCrawler
 		for (ProcessedFieldType pftI : LttlObjectGraphCrawler.getAllFields(c, fieldsMode,
 				(pft != null) ? pft.getParam() : null))
 		{
-			Field f = pftI.getField();
-			// check if it's private/protected so it can be accessed
-			boolean isPrivate = false;
-			if (LttlObjectGraphCrawler.isPrivateOrProtectedOrDefault(f))
-			{
-				isPrivate = true;
-				f.setAccessible(true);
-			}
 			try
 			{
 				// crawl the field
@@ -252,12 +250,6 @@ public class LttlObjectGraphCrawler
 			{
 				e.printStackTrace();
 			}
-
-			// if private, return the accessibility to false
-			if (isPrivate)
-			{
-				f.setAccessible(false);
-			}
 		}
 	}
 
@@ -368,11 +360,9 @@ public class LttlObjectGraphCrawler
 			throws IllegalArgumentException, IllegalAccessException
 	{
 		// ///CHECK IF SHOULD SKIP FIELD OR NOT/////
-		// skip static variables
-		Field f = pft.getField();
 		// run custom check
 		if (!BeforeField(o, pft)) return;
-		preProcess(f.get(o), pft);
+		preProcess(pft.getAccessor().get(o), pft);
 		AfterField(o, pft);
 	}
 
@@ -524,7 +514,9 @@ public class LttlObjectGraphCrawler
 	// OPTIMIZE could run this on all LttlClassMap classes when game starts, but probbaly not necessary since it doesn't
 	// lag badly when doing getAllFields every so often
 	/**
-	 * Simply returns an unmodified list of fields
+	 * Simply returns an unmodified list of fields<br>
+	 * Thread safe, scenes can be deserialized on a background thread. If two threads generate the same class's fields
+	 * at once, the first one cached is used.
 	 * 
 	 * @param c
 	 * @param fieldsMode
@@ -535,39 +527,27 @@ public class LttlObjectGraphCrawler
 	public static List<ProcessedFieldType> getAllFields(Class<?> c, FieldsMode fieldsMode,
 			ProcessedFieldType... paramPfts)
 	{
-		ArrayList<ProcessedFieldType> fields;
-
 		// check if can get cached fields (only cache root classes with non params objects)
+		ConcurrentHashMap<Class<?>, List<ProcessedFieldType>> fieldModeMap = null;
 		if (paramPfts == null || paramPfts.length == 0 || paramPfts[0] == null)
 		{
-			ObjectMap<Class<?>, ArrayList<ProcessedFieldType>> fieldModeMap =
-					fieldsCacheMap.get(fieldsMode);
+			fieldModeMap = fieldsCacheMap.get(fieldsMode);
 			if (fieldModeMap == null)
 			{
 				// create and add field mode map since it hasn't been created yet
-				fieldModeMap = new ObjectMap<>();
-				fieldsCacheMap.put(fieldsMode, fieldModeMap);
+				fieldsCacheMap.putIfAbsent(fieldsMode,
+						new ConcurrentHashMap<Class<?>, List<ProcessedFieldType>>());
+				fieldModeMap = fieldsCacheMap.get(fieldsMode);
 			}
-			fields = fieldModeMap.get(c);
-			if (fields == null)
-			{
-				// create and add field list since it hasn't been created yet
-				fields = new ArrayList<>();
-				fieldModeMap.put(c, fields);
 
-				// don't return it yet, since it's new, need to populate it with fields first
-			}
-			else
-			{
-				// it has a cache
-				return Collections.unmodifiableList(fields);
-			}
-		}
-		else
-		{
-			fields = new ArrayList<>();
+			// it has a cache
+			List<ProcessedFieldType> cached = fieldModeMap.get(c);
+			if (cached != null) { return cached; }
 		}
 
+		// populate the list before caching it, so other threads never see it partially populated
+		ArrayList<ProcessedFieldType> fields = new ArrayList<>();
+
 		// Lttl.dump("Generating Class Field Map for " + fieldsMode.toString()
 		// + " - " + c.getSimpleName());
 
@@ -642,7 +622,14 @@ public class LttlObjectGraphCrawler
 			// go to next super class
 			currentClass = currentClass.getSuperclass();
 		}
-		return Collections.unmodifiableList(fields);
+
+		List<ProcessedFieldType> unmodifiable = Collections.unmodifiableList(fields);
+		if (fieldModeMap != null)
+		{
+			List<ProcessedFieldType> cached = fieldModeMap.putIfAbsent(c, unmodifiable);
+			if (cached != null) { return cached; }
+		}
+		return unmodifiable;
 	}
 
 	/**
@@ -1189,26 +1176,26 @@ public class LttlObjectGraphCrawler
 
 	public static Persist getPersistClassAnnotation(Class<?> clazz)
 	{
-		Persist persist = persisClasstMap.get(clazz, null);
+		Object persist = persisClasstMap.get(clazz);
 		if (persist == null)
 		{
 			persist = clazz.getAnnotation(Persist.class);
-			persisClasstMap.put(clazz, persist);
+			persisClasstMap.put(clazz, persist == null ? NO_PERSIST : persist);
 		}
 
-		return persist;
+		return persist == NO_PERSIST ? null : (Persist) persist;
 	}
 
 	public static Persist getPersistFieldAnnotation(Field field)
 	{
-		Persist persist = persisFieldtMap.get(field, null);
+		Object persist = persisFieldtMap.get(field);
 		if (persist == null)
 		{
 			persist = field.getAnnotation(Persist.class);
-			persisFieldtMap.put(field, persist);
+			persisFieldtMap.put(field, persist == null ? NO_PERSIST : persist);
 		}
 
-		return persist;
+		return persist == NO_PERSIST ? null : (Persist) persist;
 	}
 
 	/**
@@ -1269,6 +1256,32 @@ public class LttlObjectGraphCrawler
 		}
 	}
 
+	/**
+	 * Gets the processedClass object for the field on a clazz (any any super classes) based on it's persist id
+	 * 
+	 * @param fieldId
+	 * @param clazz
+	 * @param paramPfts
+	 *            all the param types (procesedfieldtypes) for clazz, if any
+	 * @return the ProcessedClass obejct of field if found, or null if not found
+	 */
+	public static ProcessedFieldType getFieldById(int fieldId, Class<?> clazz,
+			ProcessedFieldType... paramPfts)
+	{
+		for (ProcessedFieldType pft : getAllFields(clazz, FieldsMode.Persisted,
+				paramPfts))
+		{
+			Persist annotation = getPersistFieldAnnotation(pft.getField());
+			if (annotation != null && fieldId == annotation.value()) { return pft; }
+		}
+
+		// log it if it could never be found
+		Lttl.logNote("Deserializing: Could not find field " + fieldId
+				+ " on class "
+				+ clazz.getName());
+		return null;
+	}
+
 	/**
 	 * Gets the class based on the id (mapped) or the name
 	 * 
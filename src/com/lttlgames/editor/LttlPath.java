@@ -152,6 +152,11 @@ public class LttlPath extends LttlComponent implements AnimationCallback
 	private FloatArray pathLengthArray = null;
 	private boolean updatedSinceModified = false;
 	private boolean updatedLengthSinceModified = false;
+	/**
+	 * for nearest point queries, rebuilt the first query after updatePath()
+	 */
+	private LttlPathSegmentGrid segmentGrid = null;
+	private boolean segmentGridDirty = true;
 
 	/* Editing Stuff */
 	/**
@@ -1857,6 +1862,7 @@ public class LttlPath extends LttlComponent implements AnimationCallback
 		updatedSinceModified = true;
 		generatePath(pathArray);
 		pointsCount = pathArray.size();
+		segmentGridDirty = true;
 
 		// update path length always if not playing (and in editor) or if autoUpdateLength is true
 		if (!Lttl.game.isPlaying() || autoUpdateLength)
@@ -2163,7 +2169,7 @@ public class LttlPath extends LttlComponent implements AnimationCallback
 		float lerpLen = getPathLength() * percentage;
 		float innerLerp;
 
-		// iterate through the pathLengthArray til you find the the points the interpolation is between
+		// find the points in the pathLengthArray the interpolation is between
 		int index = -1;
 		float aLen = 0;
 		float bLen = 0;
@@ -2180,17 +2186,25 @@ public class LttlPath extends LttlComponent implements AnimationCallback
 		}
 		else
 		{
-			for (int i = 0, n = pathLengthArray.size - 1; i < n; i++)
+			// binary search for the first length (after the first) that is greater than or equal to lerpLen
+			// note: the first length is assumed to be 0
+			int low = 1;
+			int high = pathLengthArray.size - 1;
+			while (low < high)
 			{
-				// note: the first length is assumed to be 0
-				if (lerpLen <= pathLengthArray.get(i + 1))
+				int mid = (low + high) >>> 1;
+				if (lerpLen <= pathLengthArray.get(mid))
+				{
+					high = mid;
+				}
+				else
 				{
-					aLen = pathLengthArray.get(i);
-					bLen = pathLengthArray.get(i + 1);
-					index = i;
-					break;
+					low = mid + 1;
 				}
 			}
+			index = low - 1;
+			aLen = pathLengthArray.get(index);
+			bLen = pathLengthArray.get(low);
 
 			// calculate the innerLerp, what will be used to lerp between the two points
 			float over = lerpLen - aLen;
@@ -2247,9 +2261,10 @@ public class LttlPath extends LttlComponent implements AnimationCallback
 	/**
 	 * Get's the nearest point on the path (may be interpolated between 2 points) to the point given (relative to child
 	 * transform) and sets it to that Vector2.<br>
-	 * Efficiency: This finds the nearest point by comparing the distance to ALL the segment's nearest point. This is
-	 * the most accurate. Best for paths with not many curves or paths that gets very close to itself or whenever the
-	 * faster ones aren't working or when efficiency isn't a problem.
+	 * Efficiency: This finds the nearest point by comparing the distance to the segments' nearest points, same result as
+	 * checking ALL of them, but only the segments near the point are checked (via a grid that is rebuilt after
+	 * updatePath()). This is the most accurate. Best for paths with not many curves or paths that gets very close to
+	 * itself or whenever the faster ones aren't working or when efficiency isn't a problem.
 	 * 
 	 * @param pointResult
 	 *            the test point, and where the nearest point gets set to
@@ -2265,24 +2280,8 @@ public class LttlPath extends LttlComponent implements AnimationCallback
 	{
 		Lttl.Throw(pathArray.size() < 2);
 
-		float minDst2 = Float.MAX_VALUE;
-		int beginIndex = -1;
-
-		for (int i = 0; i < pathArray.size() - ((closed) ? 0 : 1); i++)
-		{
-			int npi = LttlMath.loopIndex(i + 1, pathArray.size());
-			Intersector.nearestSegmentPoint(pathArray.getX(i),
-					pathArray.getY(i), pathArray.getX(npi),
-					pathArray.getY(npi), pointResult.x, pointResult.y, tmp0);
-			float dst2 = pointResult.dst2(tmp0);
-			if (dst2 < minDst2)
-			{
-				beginIndex = i;
-				minDst2 = dst2;
-				// save the closest point to tmp2
-				tmp1.set(tmp0);
-			}
-		}
+		int beginIndex = getSegmentGrid().nearestSegment(pathArray,
+				pointResult.x, pointResult.y, tmp1);
 
 		// save result
 		pointResult.set(tmp1);
@@ -2298,8 +2297,8 @@ public class LttlPath extends LttlComponent implements AnimationCallback
 	/**
 	 * Get's the nearest point on the path (may be interpolated between 2 points) to the point given (relative to child
 	 * transform) and sets it to that Vector2.<br>
-	 * Efficiency: This checks every path point to find the closest, instead of narrowing them down by closest control
-	 * point. Then it finds two nearest points, one for each segment connected to closest point. Best for paths that do
+	 * Efficiency: This finds the closest path point (checking only the ones near the point via the same grid as
+	 * getNearestPoint()), instead of narrowing them down by closest control point. Then it finds two nearest points, one for each segment connected to closest point. Best for paths that do
 	 * not get close to itself or are linear (going in one direction mostly) or have drastic handles.
 	 * 
 	 * @param pointResult
@@ -2316,19 +2315,9 @@ public class LttlPath extends LttlComponent implements AnimationCallback
 	{
 		Lttl.Throw(pathArray.size() < 2);
 
-		float minDst2 = Float.MAX_VALUE;
-		int minIndex = -1;
-
 		// find the path point that is closest
-		for (int i = 0; i < pathArray.size(); i++)
-		{
-			float dst2 = pointResult.dst2(pathArray.getX(i), pathArray.getY(i));
-			if (dst2 < minDst2)
-			{
-				minIndex = i;
-				minDst2 = dst2;
-			}
-		}
+		int minIndex = getSegmentGrid().nearestPoint(pathArray, pointResult.x,
+				pointResult.y);
 		return getNearestPointInternal(pointResult, percentageResult, minIndex);
 	}
 
@@ -2413,6 +2402,21 @@ public class LttlPath extends LttlComponent implements AnimationCallback
 		return getNearestPointInternal(pointResult, percentageResult, minIndex);
 	}
 
+	/**
+	 * Returns the segment grid for the current path array, rebuilds it if the path has been updated since.
+	 */
+	private LttlPathSegmentGrid getSegmentGrid()
+	{
+		if (segmentGrid == null)
+		{
+			segmentGrid = new LttlPathSegmentGrid();
+		}
+		else if (!segmentGridDirty && segmentGrid.isClosed() == closed) { return segmentGrid; }
+		segmentGrid.build(pathArray, closed);
+		segmentGridDirty = false;
+		return segmentGrid;
+	}
+
 	private int getNearestPointInternal(Vector2 point,
 			LttlMutatableFloat percentageResult, int minIndex)
 	{
@@ -0,0 +1,308 @@
+package com.lttlgames.editor;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.Vector2;
+import com.lttlgames.helpers.Vector2Array;
+
+/**
+ * A uniform grid over the segments of a {@link LttlPath}'s path array, so nearest point queries only check the segments
+ * in the cells around the query point (searching outward ring by ring until no closer segment can exist) instead of
+ * every segment. Built lazily by the path after {@link LttlPath#updatePath()}.
+ */
+final class LttlPathSegmentGrid
+{
+	private static final int MAX_CELLS_PER_AXIS = 128;
+
+	private float minX, minY, cellSize;
+	private int columns, rows;
+	private int pointCount, segmentCount;
+	private boolean closed;
+	/**
+	 * the start index in cellSegments for each cell, the last index is the total
+	 */
+	private int[] cellStart = new int[1];
+	/**
+	 * the segments (their begin path index) in each cell, a segment is in every cell it's bounding box overlaps
+	 */
+	private int[] cellSegments = new int[0];
+	/**
+	 * so a segment in multiple cells is only checked once per query
+	 */
+	private int[] segmentStamp = new int[0];
+	private int stamp = 0;
+
+	/* TEMP */
+	private final Vector2 tmp = new Vector2();
+
+	/**
+	 * @param path
+	 * @param closed
+	 *            if closed, there is a segment from the last point to the first
+	 */
+	void build(Vector2Array path, boolean closed)
+	{
+		this.closed = closed;
+		pointCount = path.size();
+		segmentCount = pointCount < 2 ? 0 : (closed ? pointCount
+				: pointCount - 1);
+
+		// bounds
+		float maxX, maxY;
+		minX = maxX = pointCount > 0 ? path.getX(0) : 0;
+		minY = maxY = pointCount > 0 ? path.getY(0) : 0;
+		for (int i = 1; i < pointCount; i++)
+		{
+			float x = path.getX(i), y = path.getY(i);
+			if (x < minX) minX = x;
+			else if (x > maxX) maxX = x;
+			if (y < minY) minY = y;
+			else if (y > maxY) maxY = y;
+		}
+
+		// about one segment per cell
+		float width = maxX - minX, height = maxY - minY;
+		int targetCells = Math.max(1, segmentCount);
+		float area = width * height;
+		cellSize = area > 0 ? (float) Math.sqrt(area / targetCells)
+				: Math.max(width, height) / targetCells;
+		cellSize = Math.max(cellSize, Math.max(
+				Math.max(width, height) / MAX_CELLS_PER_AXIS, .0001f));
+		columns = Math.min(MAX_CELLS_PER_AXIS, (int) (width / cellSize) + 1);
+		rows = Math.min(MAX_CELLS_PER_AXIS, (int) (height / cellSize) + 1);
+
+		// count segments in each cell
+		int cellCount = columns * rows;
+		if (cellStart.length < cellCount + 1)
+		{
+			cellStart = new int[cellCount + 1];
+		}
+		else
+		{
+			Arrays.fill(cellStart, 0, cellCount + 1, 0);
+		}
+		for (int s = 0; s < segmentCount; s++)
+		{
+			int e = s + 1 == pointCount ? 0 : s + 1;
+			int cx0 = cellX(Math.min(path.getX(s), path.getX(e)));
+			int cx1 = cellX(Math.max(path.getX(s), path.getX(e)));
+			int cy0 = cellY(Math.min(path.getY(s), path.getY(e)));
+			int cy1 = cellY(Math.max(path.getY(s), path.getY(e)));
+			for (int cy = cy0; cy <= cy1; cy++)
+			{
+				for (int cx = cx0; cx <= cx1; cx++)
+				{
+					cellStart[cy * columns + cx + 1]++;
+				}
+			}
+		}
+		for (int c = 0; c < cellCount; c++)
+		{
+			cellStart[c + 1] += cellStart[c];
+		}
+
+		// fill, using the start indexes as write positions and then shifting them back
+		if (cellSegments.length < cellStart[cellCount])
+		{
+			cellSegments = new int[cellStart[cellCount]];
+		}
+		for (int s = 0; s < segmentCount; s++)
+		{
+			int e = s + 1 == pointCount ? 0 : s + 1;
+			int cx0 = cellX(Math.min(path.getX(s), path.getX(e)));
+			int cx1 = cellX(Math.max(path.getX(s), path.getX(e)));
+			int cy0 = cellY(Math.min(path.getY(s), path.getY(e)));
+			int cy1 = cellY(Math.max(path.getY(s), path.getY(e)));
+			for (int cy = cy0; cy <= cy1; cy++)
+			{
+				for (int cx = cx0; cx <= cx1; cx++)
+				{
+					cellSegments[cellStart[cy * columns + cx]++] = s;
+				}
+			}
+		}
+		for (int c = cellCount; c > 0; c--)
+		{
+			cellStart[c] = cellStart[c - 1];
+		}
+		cellStart[0] = 0;
+
+		if (segmentStamp.length < segmentCount)
+		{
+			segmentStamp = new int[segmentCount];
+		}
+		Arrays.fill(segmentStamp, 0);
+		stamp = 0;
+	}
+
+	boolean isClosed()
+	{
+		return closed;
+	}
+
+	private int cellX(float x)
+	{
+		return Math.min(Math.max((int) ((x - minX) / cellSize), 0), columns - 1);
+	}
+
+	private int cellY(float y)
+	{
+		return Math.min(Math.max((int) ((y - minY) / cellSize), 0), rows - 1);
+	}
+
+	/**
+	 * Finds the nearest point on any segment, same result as checking every segment (lowest segment index wins ties).
+	 *
+	 * @param path
+	 *            the same path array this was built with
+	 * @param x
+	 * @param y
+	 * @param pointResult
+	 *            set to the nearest point
+	 * @return the index of the path point that begins the nearest segment, -1 if there are no segments
+	 */
+	int nearestSegment(Vector2Array path, float x, float y,
+			Vector2 pointResult)
+	{
+		return query(path, x, y, pointResult, false);
+	}
+
+	/**
+	 * Finds the nearest path point, same result as checking every point (lowest index wins ties).
+	 *
+	 * @param path
+	 *            the same path array this was built with
+	 * @param x
+	 * @param y
+	 * @return the index of the nearest path point, -1 if there are no segments
+	 */
+	int nearestPoint(Vector2Array path, float x, float y)
+	{
+		return query(path, x, y, null, true);
+	}
+
+	private int query(Vector2Array path, float x, float y,
+			Vector2 pointResult, boolean pointsOnly)
+	{
+		if (segmentCount == 0) return -1;
+
+		if (++stamp == Integer.MAX_VALUE)
+		{
+			Arrays.fill(segmentStamp, 0);
+			stamp = 1;
+		}
+
+		int centerX = cellX(x);
+		int centerY = cellY(y);
+		float bestDst2 = Float.POSITIVE_INFINITY;
+		int bestIndex = -1;
+		for (int r = 0;; r++)
+		{
+			// check all the cells in this ring
+			int x0 = centerX - r, x1 = centerX + r;
+			int y0 = centerY - r, y1 = centerY + r;
+			for (int cy = Math.max(y0, 0), cyMax = Math.min(y1, rows - 1); cy <= cyMax; cy++)
+			{
+				boolean edgeRow = cy == y0 || cy == y1;
+				for (int cx = Math.max(x0, 0), cxMax = Math.min(x1,
+						columns - 1); cx <= cxMax; cx++)
+				{
+					// only the outside of the ring
+					if (!edgeRow && cx != x0 && cx != x1)
+					{
+						cx = x1 - 1;
+						continue;
+					}
+
+					int cell = cy * columns + cx;
+					for (int i = cellStart[cell], n = cellStart[cell + 1]; i < n; i++)
+					{
+						int s = cellSegments[i];
+						if (segmentStamp[s] == stamp) continue;
+						segmentStamp[s] = stamp;
+
+						int e = s + 1 == pointCount ? 0 : s + 1;
+						if (pointsOnly)
+						{
+							float dst2 = Vector2.dst2(x, y, path.getX(s),
+									path.getY(s));
+							if (dst2 < bestDst2
+									|| (dst2 == bestDst2 && s < bestIndex))
+							{
+								bestDst2 = dst2;
+								bestIndex = s;
+							}
+							dst2 = Vector2.dst2(x, y, path.getX(e),
+									path.getY(e));
+							if (dst2 < bestDst2
+									|| (dst2 == bestDst2 && e < bestIndex))
+							{
+								bestDst2 = dst2;
+								bestIndex = e;
+							}
+						}
+						else
+						{
+							Intersector.nearestSegmentPoint(path.getX(s),
+									path.getY(s), path.getX(e), path.getY(e),
+									x, y, tmp);
+							float dst2 = tmp.dst2(x, y);
+							if (dst2 < bestDst2
+									|| (dst2 == bestDst2 && s < bestIndex))
+							{
+								bestDst2 = dst2;
+								bestIndex = s;
+								pointResult.set(tmp);
+							}
+						}
+					}
+				}
+			}
+
+			// searched whole grid
+			if (x0 <= 0 && y0 <= 0 && x1 >= columns - 1 && y1 >= rows - 1)
+			{
+				break;
+			}
+			// done if nothing in the next ring could be closer
+			if (bestDst2 < nextRingDst2(x, y, centerX, centerY, r + 1))
+			{
+				break;
+			}
+		}
+		return bestIndex;
+	}
+
+	/**
+	 * The closest any cell in the ring (that is in the grid) is to the point.
+	 */
+	private float nextRingDst2(float x, float y, int centerX, int centerY,
+			int r)
+	{
+		float min = Float.POSITIVE_INFINITY;
+		int x0 = centerX - r, x1 = centerX + r;
+		int y0 = centerY - r, y1 = centerY + r;
+		for (int cy = Math.max(y0, 0), cyMax = Math.min(y1, rows - 1); cy <= cyMax; cy++)
+		{
+			boolean edgeRow = cy == y0 || cy == y1;
+			for (int cx = Math.max(x0, 0), cxMax = Math.min(x1,
+					columns - 1); cx <= cxMax; cx++)
+			{
+				if (!edgeRow && cx != x0 && cx != x1)
+				{
+					cx = x1 - 1;
+					continue;
+				}
+				float cellMinX = minX + cx * cellSize;
+				float cellMinY = minY + cy * cellSize;
+				float dx = Math.max(0, Math.max(cellMinX - x, x
+						- (cellMinX + cellSize)));
+				float dy = Math.max(0, Math.max(cellMinY - y, y
+						- (cellMinY + cellSize)));
+				min = Math.min(min, dx * dx + dy * dy);
+			}
+		}
+		return min;
+	}
+}
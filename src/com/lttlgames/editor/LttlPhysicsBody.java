@@ -231,6 +231,19 @@ public class LttlPhysicsBody extends LttlPhysicsFixtureBodyBase
 	private ArrayList<LttlPhysicsBody> touchingBodyComps = new ArrayList<LttlPhysicsBody>(
 			1);
 
+	/* INTERPOLATION */
+	/**
+	 * world position and rotation (radians) after the last two steps, see {@link PhysicsController#interpolate}
+	 */
+	private float prevStepX, prevStepY, prevStepAngle;
+	private float stepX, stepY, stepAngle;
+	private boolean hasStepState = false;
+	/**
+	 * if the transform is already at the step state (not moving), so it doesn't need to be set
+	 */
+	private boolean interpolationSettled = false;
+	int interpolationDepth;
+
 	/* STATIC */
 	static private Array<LttlPhysicsBase> physicsBaseList = new Array<LttlPhysicsBase>(
 			false, 2);
@@ -333,7 +346,7 @@ public class LttlPhysicsBody extends LttlPhysicsFixtureBodyBase
 		if (isInit())
 		{
 			// set the joints to reinit in the earlyUpdate
-			for (JointEdge j : body.getJointList())
+			for (JointEdge j : getBody().getJointList())
 			{
 				LttlPhysicsJointBase<?> jointComp = LttlPhysicsHelper
 						.getJointComp(j.joint);
@@ -524,7 +537,7 @@ public class LttlPhysicsBody extends LttlPhysicsFixtureBodyBase
 				// revert rotation since ending early
 				if (originalWorldRotation != 0)
 				{
-					t().rotation = originalWorldRotation;
+					t().setWorldRotation(originalWorldRotation);
 					t().updateWorldValuesTree();
 				}
 				Lttl.logNote("Unable to create LttlPhysicsBody "
@@ -593,7 +606,7 @@ public class LttlPhysicsBody extends LttlPhysicsFixtureBodyBase
 
 		Vector2Array array = new Vector2Array();
 
-		for (Fixture f : body.getFixtureList())
+		for (Fixture f : getBody().getFixtureList())
 		{
 			switch (f.getType())
 			{
@@ -642,7 +655,7 @@ public class LttlPhysicsBody extends LttlPhysicsFixtureBodyBase
 	private void activateToggle()
 	{
 		if (!isInit()) return;
-		body.setActive(!body.isActive());
+		getBody().setActive(!getBody().isActive());
 	}
 
 	@Override
@@ -650,6 +663,9 @@ public class LttlPhysicsBody extends LttlPhysicsFixtureBodyBase
 	{
 		if (!isInit()) return;
 
+		// contacts from a threaded step need to be processed before destroying ends them
+		Lttl.game.getPhysics().flushThreadedStep();
+
 		// get listeners once
 		ArrayList<PhysicsListener> listeners = t().getComponentsInTree(
 				PhysicsListener.class, true);
@@ -663,7 +679,7 @@ public class LttlPhysicsBody extends LttlPhysicsFixtureBodyBase
 		// clean up and process onDestroyPhysics callbacks
 		// fixtures
 		physicsBaseList.clear();
-		for (Fixture f : body.getFixtureList())
+		for (Fixture f : getBody().getFixtureList())
 		{
 			// clean up each fixtureComp only once, since there could be multiple fixtures all pointing to the same
 			// fixture component
@@ -688,7 +704,7 @@ public class LttlPhysicsBody extends LttlPhysicsFixtureBodyBase
 
 		// clean up and process onDestroyPhysics callbacks
 		// joints
-		for (JointEdge j : body.getJointList())
+		for (JointEdge j : getBody().getJointList())
 		{
 			LttlPhysicsJointBase<?> jointComp = LttlPhysicsHelper
 					.getJointComp(j.joint);
@@ -721,6 +737,7 @@ public class LttlPhysicsBody extends LttlPhysicsFixtureBodyBase
 			guiTransformListener = null;
 		}
 		body = null;
+		hasStepState = false;
 	}
 
 	/**
@@ -731,9 +748,90 @@ public class LttlPhysicsBody extends LttlPhysicsFixtureBodyBase
 	 */
 	public Body getBody()
 	{
+		// the body can't be used while a threaded step is running
+		Lttl.game.getPhysics().waitForStep();
 		return body;
 	}
 
+	/**
+	 * @return if this body's transform is interpolated after steps, see {@link PhysicsController#interpolate}
+	 */
+	public boolean isInterpolated()
+	{
+		return Lttl.game.getPhysics().interpolate && bodyToTransform
+				&& !transformToBody;
+	}
+
+	boolean hasStepState()
+	{
+		return hasStepState;
+	}
+
+	/**
+	 * Saves the body's state after a step, the previous step state is what the transform interpolates from.
+	 */
+	void recordStepState()
+	{
+		if (!isInit() || !getBody().isActive()) return;
+
+		float scaling = Lttl.game.getPhysics().scaling;
+		Vector2 pos = getBody().getPosition();
+		float x = pos.x / scaling;
+		float y = pos.y / scaling;
+		float angle = getBody().getAngle();
+		if (!hasStepState)
+		{
+			prevStepX = x;
+			prevStepY = y;
+			prevStepAngle = angle;
+			hasStepState = true;
+		}
+		else
+		{
+			prevStepX = stepX;
+			prevStepY = stepY;
+			prevStepAngle = stepAngle;
+		}
+		stepX = x;
+		stepY = y;
+		stepAngle = angle;
+		interpolationSettled = false;
+	}
+
+	/**
+	 * Makes the transform jump straight to the body's current state instead of interpolating from it's last step, ran
+	 * when the body is moved by setting it's transform. Should be called after teleporting the body.
+	 */
+	public void resetInterpolation()
+	{
+		hasStepState = false;
+		recordStepState();
+	}
+
+	/**
+	 * Sets the transform between the last two step states.
+	 * 
+	 * @param alpha
+	 *            0 is the previous step and 1 is the last step
+	 */
+	void interpolate(float alpha)
+	{
+		if (interpolationSettled) return;
+		if (prevStepX == stepX && prevStepY == stepY
+				&& prevStepAngle == stepAngle)
+		{
+			// not moving, set it once
+			interpolationSettled = true;
+			alpha = 1;
+		}
+
+		t().setWorldPosition(
+				tmp0.set(prevStepX + (stepX - prevStepX) * alpha, prevStepY
+						+ (stepY - prevStepY) * alpha));
+		t().setWorldRotation(LttlMath.radiansToDegrees
+				* (prevStepAngle + (stepAngle - prevStepAngle) * alpha));
+	}
+
 	/**
 	 * Should never need to call, since after all the steps, it is automatically called on all bodies that have
 	 * {@link #bodyToTransform} enabled.<br>
@@ -800,6 +898,7 @@ public class LttlPhysicsBody extends LttlPhysicsFixtureBodyBase
 		{
 			// change found, so set transform and return true
 			getBody().setTransform(newX, newY, newRot);
+			hasStepState = false;
 			// need to clear angular and linear velocity otherwise it'll keep on moving
 			getBody().setLinearVelocity(0, 0);
 			getBody().setAngularVelocity(0);
@@ -881,7 +980,7 @@ public class LttlPhysicsBody extends LttlPhysicsFixtureBodyBase
 
 		// best to use the actual physics list not the component list since it could have been modified since physics
 		// objects were initially created
-		for (Fixture f : body.getFixtureList())
+		for (Fixture f : getBody().getFixtureList())
 		{
 			if (f.testPoint(x, y)) { return f; }
 		}
@@ -1125,7 +1224,7 @@ public class LttlPhysicsBody extends LttlPhysicsFixtureBodyBase
 		if (!isInit()) return null;
 
 		aabbTempArray.clear();
-		for (Fixture f : body.getFixtureList())
+		for (Fixture f : getBody().getFixtureList())
 		{
 			LttlPhysicsHelper.getShapePoints(f.getShape(), aabbTempArray);
 		}
@@ -1195,8 +1294,9 @@ public class LttlPhysicsBody extends LttlPhysicsFixtureBodyBase
 			jointCount = getBody().getJointList().size;
 		}
 
+		// interpolated bodies update their transforms every frame instead
 		if (Lttl.game.getPhysics().shouldUpdateBodyToTransform() && isInit()
-				&& bodyToTransform && isEnabled())
+				&& bodyToTransform && isEnabled() && !isInterpolated())
 		{
 			bodyToTransform();
 		}
@@ -229,6 +229,7 @@ public abstract class LttlPhysicsFixture extends LttlPhysicsFixtureBodyBase
 	void onGuiChange()
 	{
 		if (!isInit()) return;
+		Lttl.game.getPhysics().waitForStep();
 
 		for (Fixture f : fixtures)
 		{
@@ -360,6 +361,9 @@ public abstract class LttlPhysicsFixture extends LttlPhysicsFixtureBodyBase
 		// if not initialized, then just skip destroying
 		if (!isInit()) return;
 
+		// contacts from a threaded step need to be processed before destroying ends them
+		Lttl.game.getPhysics().flushThreadedStep();
+
 		getBodyComp().processDestroyCallbacks(this);
 
 		Body body = getBody();
@@ -402,6 +406,8 @@ public abstract class LttlPhysicsFixture extends LttlPhysicsFixtureBodyBase
 	public Body getBody()
 	{
 		if (!isInit()) return null;
+		// the body can't be used while a threaded step is running
+		Lttl.game.getPhysics().waitForStep();
 		Fixture f = getFixtures().get(0);
 		return f.getBody();
 	}
@@ -528,6 +534,7 @@ public abstract class LttlPhysicsFixture extends LttlPhysicsFixtureBodyBase
 
 		x *= Lttl.game.getPhysics().scaling;
 		y *= Lttl.game.getPhysics().scaling;
+		Lttl.game.getPhysics().waitForStep();
 
 		for (Fixture f : fixtures)
 		{
@@ -556,6 +563,7 @@ public abstract class LttlPhysicsFixture extends LttlPhysicsFixtureBodyBase
 	{
 		if (!isInit()) return null;
 
+		Lttl.game.getPhysics().waitForStep();
 		aabbTempArray.clear();
 		for (Fixture f : fixtures)
 		{
@@ -0,0 +1,746 @@
+package com.lttlgames.editor;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.ChainShape;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.EdgeShape;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.QueryCallback;
+import com.badlogic.gdx.physics.box2d.RayCastCallback;
+import com.badlogic.gdx.physics.box2d.Shape;
+import com.badlogic.gdx.physics.box2d.Transform;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.IntMap;
+import com.lttlgames.editor.LttlPhysicsQuery.QueryType;
+import com.lttlgames.helpers.LttlFrameProfiler;
+
+/**
+ * Runs {@link LttlPhysicsQuery} batches for the {@link PhysicsController} with reused callbacks and buffers.<br>
+ * The overlap queries in a batch that are close together share a single broadphase query over their combined bounds,
+ * otherwise each does it's own. Either way each fixture found is only read from Box2D (component, body, and world
+ * shape) once per batch, then tested against every query it could overlap. Rays are cast one at a time, since Box2D
+ * can't batch them, but share the callback.<br>
+ * If {@link PhysicsController#cacheQueries}, the results of each query are kept until the next step, so an identical
+ * query only copies them. They are looked up by a hash of the query, so it stays cheap with many queries per step.
+ */
+final class LttlPhysicsQueries
+{
+	/**
+	 * the combined bounds can be this many times bigger than all the query bounds added up and still be one
+	 * broadphase query
+	 */
+	private static final float UNION_AREA_RATIO = 2;
+	/**
+	 * area given to points and thin bounds when comparing
+	 */
+	private static final float MIN_AREA = .0001f;
+
+	private static final class Candidate
+	{
+		Fixture fixture;
+		LttlPhysicsFixture comp;
+		LttlPhysicsBody bodyComp;
+		boolean loaded;
+		/**
+		 * the first candidate found with the same fixture component, it tracks if the component was added to a
+		 * query's results
+		 */
+		Candidate compOwner;
+		LttlPhysicsQuery addedTo;
+		/**
+		 * if the shape is a circle, if not, points is a convex polygon (3+) or a chain of segments (2+)
+		 */
+		boolean isCircle;
+		boolean isChain;
+		float cx;
+		float cy;
+		float radius;
+		float[] points = new float[16];
+		int pointCount;
+		float minX;
+		float minY;
+		float maxX;
+		float maxY;
+
+		void reset(Fixture fixture)
+		{
+			this.fixture = fixture;
+			comp = LttlPhysicsHelper.getFixtureComp(fixture);
+			bodyComp = LttlPhysicsHelper.getBodyComp(fixture);
+			loaded = false;
+			compOwner = null;
+			addedTo = null;
+		}
+
+		void addPoint(float x, float y)
+		{
+			if (pointCount * 2 == points.length)
+			{
+				float[] newPoints = new float[points.length * 2];
+				System.arraycopy(points, 0, newPoints, 0, points.length);
+				points = newPoints;
+			}
+			points[pointCount * 2] = x;
+			points[pointCount * 2 + 1] = y;
+			pointCount++;
+			minX = Math.min(minX, x);
+			minY = Math.min(minY, y);
+			maxX = Math.max(maxX, x);
+			maxY = Math.max(maxY, y);
+		}
+	}
+
+	private final PhysicsController controller;
+
+	/* BATCH */
+	private final Array<Candidate> candidatePool = new Array<Candidate>(false,
+			16);
+	private int candidatePoolUsed = 0;
+	private final IdentityMap<Fixture, Candidate> candidates = new IdentityMap<Fixture, Candidate>();
+	/**
+	 * the first candidate of each fixture component, so components with multiple fixtures are only added once per
+	 * query
+	 */
+	private final IdentityMap<LttlPhysicsFixture, Candidate> compOwners = new IdentityMap<LttlPhysicsFixture, Candidate>();
+	/**
+	 * the candidates found by the current broadphase query
+	 */
+	private final Array<Candidate> found = new Array<Candidate>(false, 16);
+	private final Array<LttlPhysicsQuery> overlapQueries = new Array<LttlPhysicsQuery>(
+			false, 16);
+	private final Array<LttlPhysicsQuery> singleBatch = new Array<LttlPhysicsQuery>(
+			false, 1);
+	private final Array<LttlPhysicsQuery> queued = new Array<LttlPhysicsQuery>(
+			false, 16);
+	private final float[] aabbPoints = new float[8];
+	private float[] polygonPoints = new float[8];
+	private final Vector2 tmp = new Vector2();
+	private final Vector2 rayStart = new Vector2();
+	private final Vector2 rayEnd = new Vector2();
+	private float scaling;
+
+	/* CACHE */
+	private final Array<LttlPhysicsQuery> cached = new Array<LttlPhysicsQuery>(
+			false, 16);
+	/**
+	 * the cached queries by {@link LttlPhysicsQuery#requestHash()}, chained by {@link LttlPhysicsQuery#cacheNext}
+	 */
+	private final IntMap<LttlPhysicsQuery> cacheMap = new IntMap<LttlPhysicsQuery>();
+	private final Array<LttlPhysicsQuery> cachePool = new Array<LttlPhysicsQuery>(
+			false, 16);
+
+	private final QueryCallback foundCallback = new QueryCallback()
+	{
+		@Override
+		public boolean reportFixture(Fixture fixture)
+		{
+			found.add(getCandidate(fixture));
+			return true;
+		}
+	};
+
+	private LttlPhysicsQuery rayQuery;
+	private final RayCastCallback rayCallback = new RayCastCallback()
+	{
+		@Override
+		public float reportRayFixture(Fixture fixture, Vector2 point,
+				Vector2 normal, float fraction)
+		{
+			LttlPhysicsFixture comp = LttlPhysicsHelper.getFixtureComp(fixture);
+			// -1 ignores this fixture and continues
+			if (!rayQuery.accepts(comp, LttlPhysicsHelper.getBodyComp(fixture))) return -1;
+
+			float x = point.x / scaling;
+			float y = point.y / scaling;
+			switch (rayQuery.rayMode)
+			{
+				case Any:
+					addHit(rayQuery, 0, comp, fixture, x, y, normal, fraction);
+					// stop
+					return 0;
+				case Closest:
+					rayQuery.clearResults();
+					addHit(rayQuery, 0, comp, fixture, x, y, normal, fraction);
+					// only look for closer hits
+					return fraction;
+				default:
+					// keep them sorted by fraction
+					int index = rayQuery.hitFractions.size;
+					while (index > 0
+							&& rayQuery.hitFractions.get(index - 1) > fraction)
+					{
+						index--;
+					}
+					addHit(rayQuery, index, comp, fixture, x, y, normal,
+							fraction);
+					return 1;
+			}
+		}
+	};
+
+	/* LEGACY */
+	private Array<Fixture> fixturesOutput;
+	private boolean fixturesIsPoint;
+	private float fixturesX;
+	private float fixturesY;
+	private final QueryCallback fixturesCallback = new QueryCallback()
+	{
+		@Override
+		public boolean reportFixture(Fixture fixture)
+		{
+			// test point if actually in fixture, since the query just checks fixture's AABB with the point given
+			if (fixturesIsPoint && !fixture.testPoint(fixturesX, fixturesY)) return true;
+			fixturesOutput.add(fixture);
+			return true;
+		}
+	};
+
+	LttlPhysicsQueries(PhysicsController controller)
+	{
+		this.controller = controller;
+	}
+
+	/**
+	 * @see PhysicsController#query(LttlPhysicsQuery)
+	 */
+	LttlPhysicsQuery run(LttlPhysicsQuery query)
+	{
+		singleBatch.add(query);
+		try
+		{
+			run(singleBatch);
+		}
+		finally
+		{
+			singleBatch.clear();
+		}
+		return query;
+	}
+
+	void queue(LttlPhysicsQuery query)
+	{
+		queued.add(query);
+	}
+
+	void runQueued()
+	{
+		try
+		{
+			run(queued);
+		}
+		finally
+		{
+			queued.clear();
+		}
+	}
+
+	/**
+	 * @see PhysicsController#runQueries(Array)
+	 */
+	void run(Array<LttlPhysicsQuery> queries)
+	{
+		World world = controller.getWorld();
+		scaling = controller.scaling;
+		boolean useCache = controller.cacheQueries;
+		LttlFrameProfiler.begin("Physics Queries");
+		try
+		{
+			for (int i = 0; i < queries.size; i++)
+			{
+				LttlPhysicsQuery query = queries.get(i);
+				query.clearResults();
+				if (world == null) continue;
+				if (useCache && query.useCache && copyCached(query)) continue;
+
+				if (query.type == QueryType.Ray)
+				{
+					castRay(world, query);
+					if (useCache && query.useCache)
+					{
+						addCached(query);
+					}
+				}
+				else
+				{
+					overlapQueries.add(query);
+				}
+			}
+
+			if (overlapQueries.size > 0)
+			{
+				runOverlapQueries(world);
+				if (useCache)
+				{
+					for (int i = 0; i < overlapQueries.size; i++)
+					{
+						LttlPhysicsQuery query = overlapQueries.get(i);
+						if (query.useCache && !hasCached(query))
+						{
+							addCached(query);
+						}
+					}
+				}
+			}
+		}
+		finally
+		{
+			overlapQueries.clear();
+			found.clear();
+			candidates.clear();
+			compOwners.clear();
+			candidatePoolUsed = 0;
+			rayQuery = null;
+			LttlFrameProfiler.end();
+		}
+	}
+
+	private void castRay(World world, LttlPhysicsQuery query)
+	{
+		// a zero length ray asserts in Box2D
+		if (query.x1 == query.x2 && query.y1 == query.y2) return;
+
+		rayQuery = query;
+		rayStart.set(query.x1 * scaling, query.y1 * scaling);
+		rayEnd.set(query.x2 * scaling, query.y2 * scaling);
+		world.rayCast(rayCallback, rayStart, rayEnd);
+		rayQuery = null;
+	}
+
+	private void addHit(LttlPhysicsQuery query, int index,
+			LttlPhysicsFixture comp, Fixture fixture, float x, float y,
+			Vector2 normal, float fraction)
+	{
+		query.components.insert(index, comp);
+		query.hitFixtures.insert(index, fixture);
+		query.hitPoints.insert(index, x, y);
+		query.hitNormals.insert(index, normal.x, normal.y);
+		query.hitFractions.insert(index, fraction);
+	}
+
+	private void runOverlapQueries(World world)
+	{
+		// check if the queries are close enough to share one broadphase query
+		float minX = Float.POSITIVE_INFINITY;
+		float minY = Float.POSITIVE_INFINITY;
+		float maxX = Float.NEGATIVE_INFINITY;
+		float maxY = Float.NEGATIVE_INFINITY;
+		float areaSum = 0;
+		for (int i = 0; i < overlapQueries.size; i++)
+		{
+			LttlPhysicsQuery query = overlapQueries.get(i);
+			minX = Math.min(minX, query.x1);
+			minY = Math.min(minY, query.y1);
+			maxX = Math.max(maxX, query.x2);
+			maxY = Math.max(maxY, query.y2);
+			areaSum += Math.max((query.x2 - query.x1) * (query.y2 - query.y1),
+					MIN_AREA);
+		}
+		boolean union = overlapQueries.size > 1
+				&& Math.max((maxX - minX) * (maxY - minY), MIN_AREA) <= areaSum
+						* UNION_AREA_RATIO;
+
+		if (union)
+		{
+			world.QueryAABB(foundCallback, minX * scaling, minY * scaling,
+					maxX * scaling, maxY * scaling);
+			for (int i = 0; i < overlapQueries.size; i++)
+			{
+				testFound(overlapQueries.get(i));
+			}
+		}
+		else
+		{
+			for (int i = 0; i < overlapQueries.size; i++)
+			{
+				LttlPhysicsQuery query = overlapQueries.get(i);
+				found.clear();
+				world.QueryAABB(foundCallback, query.x1 * scaling, query.y1
+						* scaling, query.x2 * scaling, query.y2 * scaling);
+				testFound(query);
+			}
+		}
+	}
+
+	private Candidate getCandidate(Fixture fixture)
+	{
+		Candidate candidate = candidates.get(fixture);
+		if (candidate == null)
+		{
+			if (candidatePoolUsed == candidatePool.size)
+			{
+				candidatePool.add(new Candidate());
+			}
+			candidate = candidatePool.get(candidatePoolUsed++);
+			candidate.reset(fixture);
+			candidates.put(fixture, candidate);
+			if (candidate.comp != null)
+			{
+				candidate.compOwner = compOwners.get(candidate.comp);
+				if (candidate.compOwner == null)
+				{
+					candidate.compOwner = candidate;
+					compOwners.put(candidate.comp, candidate);
+				}
+			}
+		}
+		return candidate;
+	}
+
+	/**
+	 * Tests the query against all the found candidates.
+	 */
+	private void testFound(LttlPhysicsQuery query)
+	{
+		float qx1 = query.x1 * scaling;
+		float qy1 = query.y1 * scaling;
+		float qx2 = query.x2 * scaling;
+		float qy2 = query.y2 * scaling;
+		for (int i = 0; i < found.size; i++)
+		{
+			Candidate candidate = found.get(i);
+			if (!query.accepts(candidate.comp, candidate.bodyComp)) continue;
+
+			if (query.type == QueryType.Point)
+			{
+				if (!candidate.fixture.testPoint(qx1, qy1)) continue;
+			}
+			else
+			{
+				load(candidate);
+				if (candidate.maxX < qx1 || candidate.minX > qx2
+						|| candidate.maxY < qy1 || candidate.minY > qy2) continue;
+				if (!overlaps(query, candidate, qx1, qy1, qx2, qy2)) continue;
+			}
+
+			query.hitFixtures.add(candidate.fixture);
+			if (candidate.compOwner.addedTo != query)
+			{
+				candidate.compOwner.addedTo = query;
+				query.components.add(candidate.comp);
+			}
+		}
+	}
+
+	/**
+	 * Reads the fixture's shape in world (Box2D) coordinates, only once per batch.
+	 */
+	private void load(Candidate c)
+	{
+		if (c.loaded) return;
+		c.loaded = true;
+		c.isCircle = false;
+		c.isChain = false;
+		c.pointCount = 0;
+		c.minX = c.minY = Float.POSITIVE_INFINITY;
+		c.maxX = c.maxY = Float.NEGATIVE_INFINITY;
+
+		Transform transform = c.fixture.getBody().getTransform();
+		Shape shape = c.fixture.getShape();
+		switch (shape.getType())
+		{
+			case Circle:
+			{
+				CircleShape s = (CircleShape) shape;
+				transform.mul(tmp.set(s.getPosition()));
+				c.isCircle = true;
+				c.cx = tmp.x;
+				c.cy = tmp.y;
+				c.radius = s.getRadius();
+				c.minX = c.cx - c.radius;
+				c.minY = c.cy - c.radius;
+				c.maxX = c.cx + c.radius;
+				c.maxY = c.cy + c.radius;
+				break;
+			}
+			case Polygon:
+			{
+				PolygonShape s = (PolygonShape) shape;
+				for (int i = 0, n = s.getVertexCount(); i < n; i++)
+				{
+					s.getVertex(i, tmp);
+					transform.mul(tmp);
+					c.addPoint(tmp.x, tmp.y);
+				}
+				break;
+			}
+			case Edge:
+			{
+				EdgeShape s = (EdgeShape) shape;
+				s.getVertex1(tmp);
+				transform.mul(tmp);
+				c.addPoint(tmp.x, tmp.y);
+				s.getVertex2(tmp);
+				transform.mul(tmp);
+				c.addPoint(tmp.x, tmp.y);
+				break;
+			}
+			case Chain:
+			{
+				// loops already repeat the first vertex at the end
+				ChainShape s = (ChainShape) shape;
+				c.isChain = true;
+				for (int i = 0, n = s.getVertexCount(); i < n; i++)
+				{
+					s.getVertex(i, tmp);
+					transform.mul(tmp);
+					c.addPoint(tmp.x, tmp.y);
+				}
+				break;
+			}
+		}
+	}
+
+	private boolean overlaps(LttlPhysicsQuery query, Candidate c, float qx1,
+			float qy1, float qx2, float qy2)
+	{
+		float[] queryPoints;
+		int queryCount;
+		if (query.type == QueryType.AABB)
+		{
+			aabbPoints[0] = qx1;
+			aabbPoints[1] = qy1;
+			aabbPoints[2] = qx2;
+			aabbPoints[3] = qy1;
+			aabbPoints[4] = qx2;
+			aabbPoints[5] = qy2;
+			aabbPoints[6] = qx1;
+			aabbPoints[7] = qy2;
+			queryPoints = aabbPoints;
+			queryCount = 4;
+		}
+		else if (query.radius > 0)
+		{
+			float qcx = (qx1 + qx2) / 2;
+			float qcy = (qy1 + qy2) / 2;
+			float qr = query.radius * scaling;
+			if (c.isCircle)
+			{
+				float dx = c.cx - qcx;
+				float dy = c.cy - qcy;
+				float r = c.radius + qr;
+				return dx * dx + dy * dy <= r * r;
+			}
+			return overlapsCircle(c, qcx, qcy, qr);
+		}
+		else
+		{
+			// polygon needs to be scaled to Box2D
+			queryCount = query.polygonCount;
+			if (polygonPoints.length < queryCount * 2)
+			{
+				polygonPoints = new float[queryCount * 2];
+			}
+			for (int i = 0, n = queryCount * 2; i < n; i++)
+			{
+				polygonPoints[i] = query.polygon[i] * scaling;
+			}
+			queryPoints = polygonPoints;
+		}
+
+		if (c.isCircle) return overlapsCircle(queryPoints, 0, queryCount, c.cx,
+				c.cy, c.radius);
+		if (c.isChain)
+		{
+			for (int i = 0; i < c.pointCount - 1; i++)
+			{
+				if (overlapsConvex(queryPoints, 0, queryCount, c.points, i, 2)) return true;
+			}
+			return false;
+		}
+		return overlapsConvex(queryPoints, 0, queryCount, c.points, 0,
+				c.pointCount);
+	}
+
+	private boolean overlapsCircle(Candidate c, float cx, float cy, float r)
+	{
+		if (c.isChain)
+		{
+			for (int i = 0; i < c.pointCount - 1; i++)
+			{
+				if (overlapsCircle(c.points, i, 2, cx, cy, r)) return true;
+			}
+			return false;
+		}
+		return overlapsCircle(c.points, 0, c.pointCount, cx, cy, r);
+	}
+
+	/**
+	 * Separating axis test of two convex polygons, a count of 2 is a segment.
+	 *
+	 * @param a
+	 *            points (x, y...)
+	 * @param aStart
+	 *            first point index
+	 * @param aCount
+	 *            number of points
+	 */
+	private static boolean overlapsConvex(float[] a, int aStart, int aCount,
+			float[] b, int bStart, int bCount)
+	{
+		return !hasSeparatingAxis(a, aStart, aCount, b, bStart, bCount)
+				&& !hasSeparatingAxis(b, bStart, bCount, a, aStart, aCount);
+	}
+
+	/**
+	 * @return if any edge normal of a separates a and b
+	 */
+	private static boolean hasSeparatingAxis(float[] a, int aStart,
+			int aCount, float[] b, int bStart, int bCount)
+	{
+		// a segment only has one edge
+		int edges = aCount == 2 ? 1 : aCount;
+		for (int i = 0; i < edges; i++)
+		{
+			int i0 = (aStart + i) * 2;
+			int i1 = (aStart + (i + 1) % aCount) * 2;
+			float axisX = a[i0 + 1] - a[i1 + 1];
+			float axisY = a[i1] - a[i0];
+
+			float aMin = Float.POSITIVE_INFINITY;
+			float aMax = Float.NEGATIVE_INFINITY;
+			for (int j = 0; j < aCount; j++)
+			{
+				int k = (aStart + j) * 2;
+				float p = a[k] * axisX + a[k + 1] * axisY;
+				aMin = Math.min(aMin, p);
+				aMax = Math.max(aMax, p);
+			}
+			float bMin = Float.POSITIVE_INFINITY;
+			float bMax = Float.NEGATIVE_INFINITY;
+			for (int j = 0; j < bCount; j++)
+			{
+				int k = (bStart + j) * 2;
+				float p = b[k] * axisX + b[k + 1] * axisY;
+				bMin = Math.min(bMin, p);
+				bMax = Math.max(bMax, p);
+			}
+			if (aMax < bMin || bMax < aMin) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return if the circle overlaps the convex polygon, a count of 2 is a segment
+	 */
+	private static boolean overlapsCircle(float[] points, int start,
+			int count, float cx, float cy, float r)
+	{
+		int edges = count == 2 ? 1 : count;
+		boolean inside = count > 2;
+		float sign = 0;
+		for (int i = 0; i < edges; i++)
+		{
+			int i0 = (start + i) * 2;
+			int i1 = (start + (i + 1) % count) * 2;
+			float x0 = points[i0];
+			float y0 = points[i0 + 1];
+			float ex = points[i1] - x0;
+			float ey = points[i1 + 1] - y0;
+
+			// closest point on the edge
+			float lengthSq = ex * ex + ey * ey;
+			float t = lengthSq == 0 ? 0 : ((cx - x0) * ex + (cy - y0) * ey)
+					/ lengthSq;
+			t = Math.max(0, Math.min(1, t));
+			float dx = cx - (x0 + ex * t);
+			float dy = cy - (y0 + ey * t);
+			if (dx * dx + dy * dy <= r * r) return true;
+
+			// the center is inside if it is on the same side of every edge
+			if (inside)
+			{
+				float cross = ex * (cy - y0) - ey * (cx - x0);
+				if (sign == 0)
+				{
+					sign = cross;
+				}
+				else if (cross * sign < 0)
+				{
+					inside = false;
+				}
+			}
+		}
+		return inside;
+	}
+
+	/* CACHE */
+
+	/**
+	 * Clears the cached query results, ran whenever the world steps or changes.
+	 */
+	void clearCache()
+	{
+		for (int i = 0; i < cached.size; i++)
+		{
+			LttlPhysicsQuery query = cached.get(i);
+			query.clearResults();
+			query.ignoreBody = null;
+			query.fixtureType = null;
+			query.cacheNext = null;
+			cachePool.add(query);
+		}
+		cached.clear();
+		cacheMap.clear();
+	}
+
+	private boolean hasCached(LttlPhysicsQuery query)
+	{
+		return getCached(query) != null;
+	}
+
+	private LttlPhysicsQuery getCached(LttlPhysicsQuery query)
+	{
+		LttlPhysicsQuery cachedQuery = cacheMap.get(query.requestHash());
+		while (cachedQuery != null)
+		{
+			if (cachedQuery.isSame(query)) return cachedQuery;
+			cachedQuery = cachedQuery.cacheNext;
+		}
+		return null;
+	}
+
+	private boolean copyCached(LttlPhysicsQuery query)
+	{
+		LttlPhysicsQuery cachedQuery = getCached(query);
+		if (cachedQuery == null) return false;
+		query.setResults(cachedQuery);
+		return true;
+	}
+
+	private void addCached(LttlPhysicsQuery query)
+	{
+		LttlPhysicsQuery cachedQuery = cachePool.size > 0 ? cachePool.pop()
+				: new LttlPhysicsQuery();
+		cachedQuery.setRequest(query);
+		cachedQuery.setResults(query);
+		cached.add(cachedQuery);
+		int hash = cachedQuery.requestHash();
+		cachedQuery.cacheNext = cacheMap.get(hash);
+		cacheMap.put(hash, cachedQuery);
+	}
+
+	/* LEGACY */
+
+	/**
+	 * @see PhysicsController#getFixturesOverlap(float, float, float, float, Array)
+	 */
+	void getFixturesOverlap(World world, float x1, float y1, float x2,
+			float y2, boolean isPoint, Array<Fixture> output)
+	{
+		fixturesOutput = output;
+		fixturesIsPoint = isPoint;
+		fixturesX = x1;
+		fixturesY = y1;
+		try
+		{
+			world.QueryAABB(fixturesCallback, x1, y1, x2, y2);
+		}
+		finally
+		{
+			fixturesOutput = null;
+		}
+	}
+}
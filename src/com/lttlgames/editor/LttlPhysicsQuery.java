@@ -0,0 +1,375 @@
+package com.lttlgames.editor;
+
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.lttlgames.helpers.Vector2Array;
+
+/**
+ * A reusable physics query (AABB, point, ray, or shape overlap) with a filter and it's own result buffers, ran by
+ * {@link PhysicsController#query(LttlPhysicsQuery)} or batched with {@link PhysicsController#queueQuery(LttlPhysicsQuery)}
+ * and {@link PhysicsController#runQueries()}. Keep the query (ie. as a member of the component) and set it up again
+ * each time, so nothing is allocated per query.<br>
+ * All positions are world units. The results are only valid until the query is ran again.
+ */
+public final class LttlPhysicsQuery
+{
+	public enum QueryType
+	{
+		/**
+		 * fixtures that overlap the rectangle
+		 */
+		AABB,
+		/**
+		 * fixtures that contain the point
+		 */
+		Point,
+		/**
+		 * fixtures hit by the ray, see {@link RayMode}
+		 */
+		Ray,
+		/**
+		 * fixtures that overlap the circle or convex polygon
+		 */
+		Shape
+	}
+
+	public enum RayMode
+	{
+		/**
+		 * only the closest hit
+		 */
+		Closest,
+		/**
+		 * every hit, closest first
+		 */
+		All,
+		/**
+		 * stops at the first hit found, which is not necessarily the closest, fastest way to check line of sight
+		 */
+		Any
+	}
+
+	/* REQUEST */
+	QueryType type = QueryType.Point;
+	RayMode rayMode = RayMode.Closest;
+	float x1;
+	float y1;
+	float x2;
+	float y2;
+	/**
+	 * greater than 0 if the shape is a circle, centered in the bounds
+	 */
+	float radius;
+	/**
+	 * convex polygon points (x, y...) for shape queries
+	 */
+	float[] polygon = new float[0];
+	int polygonCount;
+
+	/* FILTER */
+	/**
+	 * Only fixtures whose transform has a tag in this mask. -1 (default) is any, including fixtures with no tags.
+	 */
+	public short tagMask = -1;
+	/**
+	 * If not 0, only fixtures that would collide with this category, meaning their
+	 * {@link LttlPhysicsFixture#tagMaskBits} has one of these bits, like a fixture with these tags would.
+	 */
+	public short category = 0;
+	public boolean includeSensors = true;
+	/**
+	 * if not null, only fixture components of this class (or subclass)
+	 */
+	public Class<? extends LttlPhysicsFixture> fixtureType;
+	/**
+	 * fixtures on this body are skipped, usually the body doing the query
+	 */
+	public LttlPhysicsBody ignoreBody;
+	/**
+	 * If {@link PhysicsController#cacheQueries} is enabled, an identical query that was already ran this fixed step
+	 * will copy it's results instead. Disable if the query needs to see bodies that were moved since the last step.
+	 */
+	public boolean useCache = true;
+
+	/* RESULTS */
+	/**
+	 * For overlap queries, the unique fixture components, in no specific order.<br>
+	 * For ray queries, the fixture component of each hit, so same size as {@link #hitFixtures}.
+	 */
+	public final Array<LttlPhysicsFixture> components = new Array<LttlPhysicsFixture>(
+			false, 4);
+	/**
+	 * For overlap queries, every Box2D fixture, in no specific order.<br>
+	 * For ray queries, each fixture hit, closest first.
+	 */
+	public final Array<Fixture> hitFixtures = new Array<Fixture>(false, 4);
+	/**
+	 * ray queries only, the world point of each hit
+	 */
+	public final Vector2Array hitPoints = new Vector2Array(1);
+	/**
+	 * ray queries only, the normal of each hit
+	 */
+	public final Vector2Array hitNormals = new Vector2Array(1);
+	/**
+	 * ray queries only, how far along the ray (0-1) each hit is
+	 */
+	public final FloatArray hitFractions = new FloatArray(1);
+
+	/* CACHE */
+	/**
+	 * the next cached query with the same {@link #requestHash()}
+	 */
+	LttlPhysicsQuery cacheNext;
+
+	/**
+	 * @return the fixture components found
+	 */
+	public Array<LttlPhysicsFixture> getComponents()
+	{
+		return components;
+	}
+
+	/**
+	 * @return if anything was found
+	 */
+	public boolean hasHit()
+	{
+		return hitFixtures.size > 0;
+	}
+
+	public QueryType getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Queries the fixtures that overlap the rectangle.
+	 *
+	 * @return self for chaining
+	 */
+	public LttlPhysicsQuery setAABB(float x1, float y1, float x2, float y2)
+	{
+		type = QueryType.AABB;
+		this.x1 = Math.min(x1, x2);
+		this.y1 = Math.min(y1, y2);
+		this.x2 = Math.max(x1, x2);
+		this.y2 = Math.max(y1, y2);
+		return this;
+	}
+
+	/**
+	 * Queries the fixtures that contain the point.
+	 *
+	 * @return self for chaining
+	 */
+	public LttlPhysicsQuery setPoint(float x, float y)
+	{
+		type = QueryType.Point;
+		x1 = x2 = x;
+		y1 = y2 = y;
+		return this;
+	}
+
+	/**
+	 * Casts a ray from (x1, y1) to (x2, y2).
+	 *
+	 * @param mode
+	 * @return self for chaining
+	 */
+	public LttlPhysicsQuery setRay(float x1, float y1, float x2, float y2,
+			RayMode mode)
+	{
+		type = QueryType.Ray;
+		rayMode = mode;
+		this.x1 = x1;
+		this.y1 = y1;
+		this.x2 = x2;
+		this.y2 = y2;
+		return this;
+	}
+
+	/**
+	 * Queries the fixtures that overlap the circle.
+	 *
+	 * @return self for chaining
+	 */
+	public LttlPhysicsQuery setCircle(float x, float y, float radius)
+	{
+		type = QueryType.Shape;
+		this.radius = radius;
+		polygonCount = 0;
+		x1 = x - radius;
+		y1 = y - radius;
+		x2 = x + radius;
+		y2 = y + radius;
+		return this;
+	}
+
+	/**
+	 * Queries the fixtures that overlap the polygon.
+	 *
+	 * @param points
+	 *            world points, must be convex, copied
+	 * @return self for chaining
+	 */
+	public LttlPhysicsQuery setPolygon(Vector2Array points)
+	{
+		Lttl.Throw(points.size() < 2);
+		type = QueryType.Shape;
+		radius = 0;
+		polygonCount = points.size();
+		if (polygon.length < polygonCount * 2)
+		{
+			polygon = new float[polygonCount * 2];
+		}
+		x1 = y1 = Float.POSITIVE_INFINITY;
+		x2 = y2 = Float.NEGATIVE_INFINITY;
+		for (int i = 0; i < polygonCount; i++)
+		{
+			float x = points.getX(i);
+			float y = points.getY(i);
+			polygon[i * 2] = x;
+			polygon[i * 2 + 1] = y;
+			x1 = Math.min(x1, x);
+			y1 = Math.min(y1, y);
+			x2 = Math.max(x2, x);
+			y2 = Math.max(y2, y);
+		}
+		return this;
+	}
+
+	/**
+	 * Resets the filter to accept every fixture.
+	 *
+	 * @return self for chaining
+	 */
+	public LttlPhysicsQuery clearFilter()
+	{
+		tagMask = -1;
+		category = 0;
+		includeSensors = true;
+		fixtureType = null;
+		ignoreBody = null;
+		return this;
+	}
+
+	void clearResults()
+	{
+		components.clear();
+		hitFixtures.clear();
+		hitPoints.clear();
+		hitNormals.clear();
+		hitFractions.clear();
+	}
+
+	/**
+	 * @return if the fixture component passes the filter
+	 */
+	boolean accepts(LttlPhysicsFixture comp, LttlPhysicsBody bodyComp)
+	{
+		if (comp == null) return false;
+		if (!includeSensors && comp.isSensor) return false;
+		if (bodyComp != null && bodyComp == ignoreBody) return false;
+		if (tagMask != -1 && (comp.t().getTagsBit() & tagMask) == 0) return false;
+		if (category != 0 && (comp.tagMaskBits & category) == 0) return false;
+		if (fixtureType != null && !fixtureType.isInstance(comp)) return false;
+		return true;
+	}
+
+	/**
+	 * @return if the other query has the same request and filter, so would have the same results
+	 */
+	boolean isSame(LttlPhysicsQuery other)
+	{
+		if (type != other.type || x1 != other.x1 || y1 != other.y1
+				|| x2 != other.x2 || y2 != other.y2
+				|| radius != other.radius
+				|| polygonCount != other.polygonCount
+				|| tagMask != other.tagMask || category != other.category
+				|| includeSensors != other.includeSensors
+				|| fixtureType != other.fixtureType
+				|| ignoreBody != other.ignoreBody) { return false; }
+		if (type == QueryType.Ray && rayMode != other.rayMode) return false;
+		for (int i = 0, n = polygonCount * 2; i < n; i++)
+		{
+			if (polygon[i] != other.polygon[i]) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return a hash of the request and filter, equal for queries that are {@link #isSame(LttlPhysicsQuery)}
+	 */
+	int requestHash()
+	{
+		int h = type.ordinal();
+		h = 31 * h + hash(x1);
+		h = 31 * h + hash(y1);
+		h = 31 * h + hash(x2);
+		h = 31 * h + hash(y2);
+		h = 31 * h + hash(radius);
+		h = 31 * h + polygonCount;
+		h = 31 * h + tagMask;
+		h = 31 * h + category;
+		h = 31 * h + (includeSensors ? 1 : 0);
+		h = 31 * h + System.identityHashCode(fixtureType);
+		h = 31 * h + System.identityHashCode(ignoreBody);
+		if (type == QueryType.Ray)
+		{
+			h = 31 * h + rayMode.ordinal();
+		}
+		for (int i = 0, n = polygonCount * 2; i < n; i++)
+		{
+			h = 31 * h + hash(polygon[i]);
+		}
+		return h;
+	}
+
+	/**
+	 * @return the float's bits, with -0 the same as 0, since they are equal
+	 */
+	private static int hash(float f)
+	{
+		return f == 0 ? 0 : Float.floatToIntBits(f);
+	}
+
+	/**
+	 * Copies the request and filter of the other query.
+	 */
+	void setRequest(LttlPhysicsQuery other)
+	{
+		type = other.type;
+		rayMode = other.rayMode;
+		x1 = other.x1;
+		y1 = other.y1;
+		x2 = other.x2;
+		y2 = other.y2;
+		radius = other.radius;
+		polygonCount = other.polygonCount;
+		if (polygon.length < polygonCount * 2)
+		{
+			polygon = new float[polygonCount * 2];
+		}
+		System.arraycopy(other.polygon, 0, polygon, 0, polygonCount * 2);
+		tagMask = other.tagMask;
+		category = other.category;
+		includeSensors = other.includeSensors;
+		fixtureType = other.fixtureType;
+		ignoreBody = other.ignoreBody;
+	}
+
+	/**
+	 * Copies the results of the other query.
+	 */
+	void setResults(LttlPhysicsQuery other)
+	{
+		clearResults();
+		components.addAll(other.components);
+		hitFixtures.addAll(other.hitFixtures);
+		hitPoints.addAll(other.hitPoints);
+		hitNormals.addAll(other.hitNormals);
+		hitFractions.addAll(other.hitFractions);
+	}
+}
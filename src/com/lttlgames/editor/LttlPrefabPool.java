@@ -0,0 +1,525 @@
+package com.lttlgames.editor;
+
+import java.util.ArrayList;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.lttlgames.components.interfaces.SpawnListener;
+import com.lttlgames.helpers.LttlProfiler;
+
+/**
+ * A pool of copies (instances) of a prefab transform tree, for objects that are spawned and despawned often (ie.
+ * bullets and enemies). The instances are copied up front and wait disabled, so spawning only resets an instance and
+ * enables it, and despawning disables it, no copying, new component ids, or destroying.<br>
+ * <br>
+ * Right after an instance is copied, the state the pool resets is snapshotted: every transform's local values
+ * (position, zPos, scale, rotation, origin, and shear), renderer's color and alpha, and every transform's and
+ * component's enabled state. Everything else a component changes while spawned should be reset by the component in
+ * {@link SpawnListener#onSpawn(LttlPrefabPool)}. Components or children added to an instance after it was copied are
+ * not reset.<br>
+ * <br>
+ * Instances should be despawned, not destroyed. If one is destroyed (ie. it's scene unloads) the pool drops it.
+ */
+public final class LttlPrefabPool
+{
+	/**
+	 * floats snapshotted per transform: position (2), zPos, scale (2), rotation, origin (2), shear (2), renderer
+	 * color (4) and alpha
+	 */
+	private static final int STATE_SIZE = 15;
+
+	private static final class Instance
+	{
+		final LttlTransform root;
+		/**
+		 * the root and all it's descendants
+		 */
+		final LttlTransform[] transforms;
+		/**
+		 * all the non transform components
+		 */
+		final LttlComponent[] components;
+		final SpawnListener[] listeners;
+		final float[] state;
+		final boolean[] transformsEnabled;
+		final boolean[] componentsEnabled;
+
+		Instance(LttlTransform root)
+		{
+			this.root = root;
+
+			ArrayList<LttlTransform> transformList = new ArrayList<LttlTransform>();
+			ArrayList<LttlComponent> componentList = new ArrayList<LttlComponent>();
+			ArrayList<SpawnListener> listenerList = new ArrayList<SpawnListener>();
+			addTree(root, transformList, componentList, listenerList);
+			transforms = transformList
+					.toArray(new LttlTransform[transformList.size()]);
+			components = componentList
+					.toArray(new LttlComponent[componentList.size()]);
+			listeners = listenerList.toArray(new SpawnListener[listenerList
+					.size()]);
+
+			state = new float[transforms.length * STATE_SIZE];
+			transformsEnabled = new boolean[transforms.length];
+			componentsEnabled = new boolean[components.length];
+			for (int i = 0; i < transforms.length; i++)
+			{
+				LttlTransform lt = transforms[i];
+				int s = i * STATE_SIZE;
+				state[s] = lt.position.x;
+				state[s + 1] = lt.position.y;
+				state[s + 2] = lt.zPos;
+				state[s + 3] = lt.scale.x;
+				state[s + 4] = lt.scale.y;
+				state[s + 5] = lt.rotation;
+				state[s + 6] = lt.originRenderMesh.x;
+				state[s + 7] = lt.originRenderMesh.y;
+				state[s + 8] = lt.shear.x;
+				state[s + 9] = lt.shear.y;
+				if (lt.renderer != null)
+				{
+					state[s + 10] = lt.renderer.color.r;
+					state[s + 11] = lt.renderer.color.g;
+					state[s + 12] = lt.renderer.color.b;
+					state[s + 13] = lt.renderer.color.a;
+					state[s + 14] = lt.renderer.alpha;
+				}
+				transformsEnabled[i] = lt.isEnabled;
+			}
+			for (int i = 0; i < components.length; i++)
+			{
+				componentsEnabled[i] = components[i].isEnabled;
+			}
+		}
+
+		private static void addTree(LttlTransform lt,
+				ArrayList<LttlTransform> transformList,
+				ArrayList<LttlComponent> componentList,
+				ArrayList<SpawnListener> listenerList)
+		{
+			transformList.add(lt);
+			for (LttlComponent lc : lt.components)
+			{
+				componentList.add(lc);
+				if (lc instanceof SpawnListener)
+				{
+					listenerList.add((SpawnListener) lc);
+				}
+			}
+			for (LttlTransform child : lt.children)
+			{
+				addTree(child, transformList, componentList, listenerList);
+			}
+		}
+
+		/**
+		 * Resets the snapshotted state, the root needs to be disabled, so the enabled states can be set without
+		 * callbacks.
+		 */
+		void reset()
+		{
+			for (int i = 0; i < transforms.length; i++)
+			{
+				LttlTransform lt = transforms[i];
+				int s = i * STATE_SIZE;
+				lt.position.set(state[s], state[s + 1]);
+				lt.zPos = state[s + 2];
+				lt.scale.set(state[s + 3], state[s + 4]);
+				lt.rotation = state[s + 5];
+				lt.originRenderMesh.set(state[s + 6], state[s + 7]);
+				lt.shear.set(state[s + 8], state[s + 9]);
+				if (lt.renderer != null)
+				{
+					lt.renderer.color.set(state[s + 10], state[s + 11],
+							state[s + 12], state[s + 13]);
+					lt.renderer.alpha = state[s + 14];
+				}
+				lt.markDirty();
+				// the root is enabled by spawning
+				if (i > 0)
+				{
+					lt.isEnabled = transformsEnabled[i];
+				}
+			}
+			for (int i = 0; i < components.length; i++)
+			{
+				components[i].isEnabled = componentsEnabled[i];
+			}
+		}
+
+		boolean isDestroyed()
+		{
+			return root.isDestroyPending();
+		}
+	}
+
+	private final LttlTransform prefab;
+	private final LttlTransform parent;
+	private final int maxCapacity;
+	/**
+	 * if true, the tweens on each component (host or target) of an instance are killed when it despawns
+	 */
+	public boolean killTweensOnDespawn = true;
+
+	private final Array<Instance> free = new Array<Instance>(false, 16);
+	private final IdentityMap<LttlTransform, Instance> active = new IdentityMap<LttlTransform, Instance>();
+	private final Array<Instance> despawnList = new Array<Instance>(false, 16);
+	private final Array<Instance> dropList = new Array<Instance>(false, 4);
+
+	/* STATS */
+	private int capacity = 0;
+	private int peakActive = 0;
+	private int spawnCount = 0;
+	private int instantiateCount = 0;
+	private int growCount = 0;
+	private int missCount = 0;
+	private int droppedCount = 0;
+
+	/**
+	 * Creates a pool and copies it's first instances. Should be created in {@link LttlComponent#onStart()} or later,
+	 * since it copies the prefab.
+	 *
+	 * @param prefab
+	 *            the transform tree to copy, usually disabled so it isn't in the game itself
+	 * @param parent
+	 *            the parent of the instances, if null then the prefab's parent
+	 * @param capacity
+	 *            the number of instances to copy now
+	 * @param maxCapacity
+	 *            the most instances the pool can grow to when spawning with no free instance, -1 is no limit, and the
+	 *            same as capacity never grows
+	 */
+	public LttlPrefabPool(LttlTransform prefab, LttlTransform parent,
+			int capacity, int maxCapacity)
+	{
+		Lttl.Throw(prefab);
+		Lttl.Throw(maxCapacity != -1 && maxCapacity < capacity);
+		this.prefab = prefab;
+		this.parent = parent;
+		this.maxCapacity = maxCapacity;
+		prewarm(capacity);
+	}
+
+	/**
+	 * Copies instances until there are at least this many free.
+	 *
+	 * @param count
+	 */
+	public void prewarm(int count)
+	{
+		while (free.size < count && canGrow())
+		{
+			free.add(instantiate());
+		}
+	}
+
+	/**
+	 * @return if the pool can copy another instance
+	 */
+	public boolean canGrow()
+	{
+		return maxCapacity == -1 || capacity < maxCapacity;
+	}
+
+	private Instance instantiate()
+	{
+		LttlTransform root = parent == null ? prefab.duplicate(true) : parent
+				.addTransformCopyAsChild(prefab, true);
+		if (root.isEnabledSelf())
+		{
+			root.disable();
+		}
+		instantiateCount++;
+		capacity++;
+		LttlProfiler.poolInstantiations.add();
+		return new Instance(root);
+	}
+
+	/**
+	 * Spawns an instance where it was on the prefab.
+	 *
+	 * @return the instance's root transform, null if none are free and the pool is at max capacity
+	 */
+	public LttlTransform spawn()
+	{
+		Instance instance = obtain();
+		if (instance == null) return null;
+		instance.reset();
+		return activate(instance);
+	}
+
+	/**
+	 * Spawns an instance at the world position.
+	 *
+	 * @param x
+	 * @param y
+	 * @return the instance's root transform, null if none are free and the pool is at max capacity
+	 */
+	public LttlTransform spawn(float x, float y)
+	{
+		Instance instance = obtain();
+		if (instance == null) return null;
+		instance.reset();
+		instance.root.setWorldPosition(x, y);
+		return activate(instance);
+	}
+
+	private Instance obtain()
+	{
+		while (free.size > 0)
+		{
+			Instance instance = free.pop();
+			if (!instance.isDestroyed()) return instance;
+			drop();
+		}
+		// spawned instances that were destroyed instead of despawned still count towards the capacity
+		dropDestroyedActive();
+		if (!canGrow())
+		{
+			missCount++;
+			return null;
+		}
+		growCount++;
+		return instantiate();
+	}
+
+	private LttlTransform activate(Instance instance)
+	{
+		active.put(instance.root, instance);
+		peakActive = Math.max(peakActive, active.size);
+		spawnCount++;
+		LttlProfiler.poolSpawns.add();
+
+		instance.root.enable();
+		for (SpawnListener listener : instance.listeners)
+		{
+			listener.onSpawn(this);
+		}
+		return instance.root;
+	}
+
+	/**
+	 * Returns the spawned instance to the pool, disabling it.
+	 *
+	 * @param instanceRoot
+	 *            returned by spawn
+	 */
+	public void despawn(LttlTransform instanceRoot)
+	{
+		Instance instance = active.remove(instanceRoot);
+		if (instance == null)
+		{
+			Lttl.logNote("Prefab Pool: " + instanceRoot.getName()
+					+ " is not a spawned instance of " + prefab.getName()
+					+ "'s pool.");
+			return;
+		}
+		despawn(instance);
+	}
+
+	private void despawn(Instance instance)
+	{
+		if (instance.isDestroyed())
+		{
+			drop();
+			return;
+		}
+
+		for (SpawnListener listener : instance.listeners)
+		{
+			listener.onDespawn(this);
+		}
+		if (killTweensOnDespawn)
+		{
+			for (LttlTransform lt : instance.transforms)
+			{
+				killTweens(lt);
+			}
+			for (LttlComponent lc : instance.components)
+			{
+				killTweens(lc);
+			}
+		}
+		instance.root.disable();
+		free.add(instance);
+	}
+
+	/**
+	 * Removes the spawned instances that were destroyed instead of despawned.
+	 */
+	private void dropDestroyedActive()
+	{
+		for (Instance instance : active.values())
+		{
+			if (instance.isDestroyed())
+			{
+				dropList.add(instance);
+			}
+		}
+		for (int i = 0; i < dropList.size; i++)
+		{
+			active.remove(dropList.get(i).root);
+			drop();
+		}
+		dropList.clear();
+	}
+
+	private void killTweens(LttlComponent lc)
+	{
+		Lttl.tween.getManager().killHost(lc);
+		Lttl.tween.getManager().killTarget(lc);
+	}
+
+	/**
+	 * Despawns all the spawned instances.
+	 */
+	public void despawnAll()
+	{
+		for (Instance instance : active.values())
+		{
+			despawnList.add(instance);
+		}
+		active.clear();
+		for (int i = 0; i < despawnList.size; i++)
+		{
+			despawn(despawnList.get(i));
+		}
+		despawnList.clear();
+	}
+
+	/**
+	 * @param transform
+	 * @return if the transform is the root of a spawned instance of this pool
+	 */
+	public boolean isSpawned(LttlTransform transform)
+	{
+		Instance instance = active.get(transform);
+		if (instance == null) return false;
+		if (instance.isDestroyed())
+		{
+			active.remove(transform);
+			drop();
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Destroys all the instances, spawned or not. The pool can still be used after, it will copy new instances.
+	 */
+	public void destroy()
+	{
+		for (Instance instance : active.values())
+		{
+			despawnList.add(instance);
+		}
+		despawnList.addAll(free);
+		active.clear();
+		free.clear();
+		for (int i = 0; i < despawnList.size; i++)
+		{
+			Instance instance = despawnList.get(i);
+			if (!instance.isDestroyed())
+			{
+				instance.root.destroyComp();
+			}
+		}
+		despawnList.clear();
+		capacity = 0;
+	}
+
+	private void drop()
+	{
+		capacity--;
+		droppedCount++;
+	}
+
+	public LttlTransform getPrefab()
+	{
+		return prefab;
+	}
+
+	/**
+	 * @return the number of instances, spawned and free
+	 */
+	public int getCapacity()
+	{
+		return capacity;
+	}
+
+	/**
+	 * @return the most instances this pool can have, -1 is no limit
+	 */
+	public int getMaxCapacity()
+	{
+		return maxCapacity;
+	}
+
+	public int getActiveCount()
+	{
+		dropDestroyedActive();
+		return active.size;
+	}
+
+	public int getFreeCount()
+	{
+		return free.size;
+	}
+
+	/**
+	 * @return the most instances spawned at once
+	 */
+	public int getPeakActive()
+	{
+		return peakActive;
+	}
+
+	public int getSpawnCount()
+	{
+		return spawnCount;
+	}
+
+	/**
+	 * @return the number of instances copied, including prewarming
+	 */
+	public int getInstantiateCount()
+	{
+		return instantiateCount;
+	}
+
+	/**
+	 * @return the number of times a spawn had to copy a new instance, prewarm more if not 0
+	 */
+	public int getGrowCount()
+	{
+		return growCount;
+	}
+
+	/**
+	 * @return the number of spawns that returned null because the pool was at max capacity
+	 */
+	public int getMissCount()
+	{
+		return missCount;
+	}
+
+	/**
+	 * @return the number of instances that were destroyed instead of despawned
+	 */
+	public int getDroppedCount()
+	{
+		return droppedCount;
+	}
+
+	/**
+	 * Logs the stats of this pool.
+	 */
+	public void logStats()
+	{
+		Lttl.logNote("Prefab Pool - " + prefab.getName() + ": " + capacity
+				+ " capacity [" + (maxCapacity == -1 ? "no max" : maxCapacity)
+				+ "] " + active.size + " active [" + peakActive + " peak] "
+				+ spawnCount + " spawns " + growCount + " grows " + missCount
+				+ " misses " + droppedCount + " dropped");
+	}
+}
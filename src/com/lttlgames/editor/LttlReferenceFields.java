@@ -0,0 +1,120 @@
+package com.lttlgames.editor;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import com.badlogic.gdx.utils.IdentityMap;
+import com.lttlgames.editor.LttlObjectGraphCrawler.FieldsMode;
+
+/**
+ * Which of a component class's fields can hold component references, cached per class, so a hard destroy (see
+ * {@link ComponentHelper#removeComponentReferencesGlobal(ArrayList)}) can check the component fields directly and only
+ * crawl the components that may hold references deeper (lists, maps, arrays, and other objects).<br>
+ * It goes by the declared field types, the same fields {@link LttlComponentCrawler} crawls
+ * ({@link FieldsMode#AllButIgnore}). Object, interface, and abstract types, and lists and maps without a known
+ * parameter type, are assumed to be able to hold components. Since it only depends on the classes, every reference is
+ * found no matter how it was set.
+ */
+final class LttlReferenceFields
+{
+	private static final IdentityMap<Class<?>, LttlReferenceFields> cacheMap = new IdentityMap<Class<?>, LttlReferenceFields>();
+
+	/**
+	 * the fields that are a component type, their value can be checked directly
+	 */
+	final ArrayList<ProcessedFieldType> componentFields = new ArrayList<ProcessedFieldType>();
+	/**
+	 * if true, the component has other fields that may hold components, so it needs to be crawled
+	 */
+	final boolean crawl;
+
+	private LttlReferenceFields(Class<?> componentClass)
+	{
+		boolean crawl = false;
+		for (ProcessedFieldType pft : LttlObjectGraphCrawler.getAllFields(
+				componentClass, FieldsMode.AllButIgnore))
+		{
+			if (LttlComponent.class.isAssignableFrom(pft.getCurrentClass()))
+			{
+				componentFields.add(pft);
+			}
+			else if (!crawl
+					&& mayHoldComponents(pft, new IdentityMap<Class<?>, Boolean>()))
+			{
+				crawl = true;
+			}
+		}
+		this.crawl = crawl;
+	}
+
+	/**
+	 * Returns the cached reference fields for this component class, creates it if first time. Main thread only.
+	 *
+	 * @param componentClass
+	 * @return
+	 */
+	static LttlReferenceFields get(Class<? extends LttlComponent> componentClass)
+	{
+		LttlReferenceFields referenceFields = cacheMap.get(componentClass);
+		if (referenceFields == null)
+		{
+			referenceFields = new LttlReferenceFields(componentClass);
+			cacheMap.put(componentClass, referenceFields);
+		}
+		return referenceFields;
+	}
+
+	/**
+	 * @param pft
+	 *            null if the type is not known
+	 * @param visited
+	 *            the classes already being checked, so recursive types end
+	 * @return if the field or parameter's value may be or contain a component
+	 */
+	private static boolean mayHoldComponents(ProcessedFieldType pft,
+			IdentityMap<Class<?>, Boolean> visited)
+	{
+		if (pft == null || pft.getCurrentClass() == null) return true;
+
+		Class<?> c = pft.getCurrentClass();
+		if (c == ArrayList.class) { return mayHoldComponents(pft.getParam(0),
+				visited); }
+		if (c == HashMap.class) { return mayHoldComponents(pft.getParam(0),
+				visited) || mayHoldComponents(pft.getParam(1), visited); }
+		return mayHoldComponents(c, pft.getParam(), visited);
+	}
+
+	/**
+	 * @param c
+	 * @param param
+	 *            the class's parameter type, if any
+	 * @param visited
+	 * @return
+	 */
+	private static boolean mayHoldComponents(Class<?> c,
+			ProcessedFieldType param, IdentityMap<Class<?>, Boolean> visited)
+	{
+		// array items are crawled by their own class, so only the item type matters
+		while (c.isArray())
+		{
+			c = c.getComponentType();
+		}
+
+		if (LttlObjectGraphCrawler.isPrimative(c)) return false;
+		// anything could be assigned to these
+		if (LttlComponent.class.isAssignableFrom(c) || c == Object.class
+				|| c.isInterface() || Modifier.isAbstract(c.getModifiers())) { return true; }
+
+		// already being checked higher up
+		if (visited.containsKey(c)) return false;
+		visited.put(c, true);
+
+		for (ProcessedFieldType pft : LttlObjectGraphCrawler.getAllFields(c,
+				FieldsMode.AllButIgnore, param))
+		{
+			if (mayHoldComponents(pft, visited)) return true;
+		}
+		return false;
+	}
+}
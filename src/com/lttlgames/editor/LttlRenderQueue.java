@@ -0,0 +1,174 @@
+package com.lttlgames.editor;
+
+import java.util.ArrayList;
+
+import com.badlogic.gdx.graphics.Texture;
+
+/**
+ * Holds all the renderable transforms for a frame sorted by a 64 bit key (z layer, shader, blend mode, texture0,
+ * texture1). Transforms that share the same world z position are in the same layer, and only inside of a layer are they
+ * reordered, so z order is always respected but renderers using the same render state end up next to each other and
+ * can be batched together.<br>
+ * The keys are radix sorted (stable) once per frame, which is O(n).
+ */
+final class LttlRenderQueue
+{
+	// key layout (high to low): layer 24 bits, shader 6 bits, blend 4 bits, texture0 15 bits, texture1 15 bits
+	private static final int LAYER_SHIFT = 40;
+	private static final int SHADER_SHIFT = 34;
+	private static final int BLEND_SHIFT = 30;
+	private static final int TEX0_SHIFT = 15;
+	private static final long LAYER_MAX = 0xFFFFFF;
+	private static final long SHADER_MASK = 0x3F;
+	private static final long BLEND_MASK = 0xF;
+	private static final long TEX_MASK = 0x7FFF;
+
+	private LttlTransform[] transforms = new LttlTransform[64];
+	private LttlTransform[] transformsTmp = new LttlTransform[64];
+	private long[] keys = new long[64];
+	private long[] keysTmp = new long[64];
+	private final int[] counts = new int[256];
+	private int size = 0;
+
+	/**
+	 * Clears the queue and adds every transform that has a renderer that can render, from the already z ordered list,
+	 * then sorts them by their keys.
+	 *
+	 * @param transformsOrdered
+	 *            should already be sorted by world z position (highest first)
+	 */
+	void build(ArrayList<LttlTransform> transformsOrdered)
+	{
+		clear();
+
+		long layer = -1;
+		float lastZ = 0;
+		for (int i = 0, n = transformsOrdered.size(); i < n; i++)
+		{
+			LttlTransform lt = transformsOrdered.get(i);
+			LttlRenderer r = lt.r();
+			if (r == null || r.doNotRender || !r.canRender()) continue;
+
+			// a new layer everytime the z position changes, if run out of layers then they all share the last one
+			if (layer < 0 || (lt.worldZpos != lastZ && layer < LAYER_MAX))
+			{
+				layer++;
+				lastZ = lt.worldZpos;
+			}
+
+			add(lt, createKey(layer, r));
+		}
+
+		sort();
+	}
+
+	private long createKey(long layer, LttlRenderer r)
+	{
+		return (layer << LAYER_SHIFT)
+				| ((r.shader.ordinal() & SHADER_MASK) << SHADER_SHIFT)
+				| ((r.blendMode == null ? 0 : (r.blendMode.ordinal() + 1)
+						& BLEND_MASK) << BLEND_SHIFT)
+				| (getTextureId(r.getTex0().getTex()) << TEX0_SHIFT)
+				| getTextureId(r.getTex1().getTex());
+	}
+
+	/**
+	 * Uses the GL handle, which is unique for each loaded texture. If two handles collide after masking they just won't
+	 * be grouped as well.
+	 */
+	private long getTextureId(Texture tex)
+	{
+		return tex == null ? 0 : tex.getTextureObjectHandle() & TEX_MASK;
+	}
+
+	private void add(LttlTransform lt, long key)
+	{
+		if (size == keys.length)
+		{
+			int newSize = size * 2;
+			LttlTransform[] newTransforms = new LttlTransform[newSize];
+			System.arraycopy(transforms, 0, newTransforms, 0, size);
+			transforms = newTransforms;
+			transformsTmp = new LttlTransform[newSize];
+			long[] newKeys = new long[newSize];
+			System.arraycopy(keys, 0, newKeys, 0, size);
+			keys = newKeys;
+			keysTmp = new long[newSize];
+		}
+		transforms[size] = lt;
+		keys[size] = key;
+		size++;
+	}
+
+	/**
+	 * LSD radix sort, one byte per pass. Passes where every key has the same byte are skipped, which is common for the
+	 * high layer bits.
+	 */
+	private void sort()
+	{
+		if (size < 2) return;
+
+		for (int shift = 0; shift < 64; shift += 8)
+		{
+			for (int i = 0; i < 256; i++)
+			{
+				counts[i] = 0;
+			}
+			for (int i = 0; i < size; i++)
+			{
+				counts[(int) ((keys[i] >>> shift) & 0xFF)]++;
+			}
+
+			// all in one bucket, this pass would not change the order
+			if (counts[(int) ((keys[0] >>> shift) & 0xFF)] == size)
+			{
+				continue;
+			}
+
+			int total = 0;
+			for (int i = 0; i < 256; i++)
+			{
+				int c = counts[i];
+				counts[i] = total;
+				total += c;
+			}
+			for (int i = 0; i < size; i++)
+			{
+				int dest = counts[(int) ((keys[i] >>> shift) & 0xFF)]++;
+				keysTmp[dest] = keys[i];
+				transformsTmp[dest] = transforms[i];
+			}
+
+			// swap
+			long[] tmpKeys = keys;
+			keys = keysTmp;
+			keysTmp = tmpKeys;
+			LttlTransform[] tmpTransforms = transforms;
+			transforms = transformsTmp;
+			transformsTmp = tmpTransforms;
+		}
+	}
+
+	/**
+	 * Clears the queue, nulls the references so destroyed transforms can be collected.
+	 */
+	void clear()
+	{
+		for (int i = 0; i < size; i++)
+		{
+			transforms[i] = null;
+			transformsTmp[i] = null;
+		}
+		size = 0;
+	}
+
+	int size()
+	{
+		return size;
+	}
+
+	LttlTransform get(int index)
+	{
+		return transforms[index];
+	}
+}
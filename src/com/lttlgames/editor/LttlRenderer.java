@@ -18,6 +18,7 @@ import com.lttlgames.editor.annotations.ComponentLimitOne;
 import com.lttlgames.editor.annotations.DoNotCopy;
 import com.lttlgames.editor.annotations.DoNotExport;
 import com.lttlgames.editor.annotations.GuiButton;
+import com.lttlgames.editor.annotations.GuiCallback;
 import com.lttlgames.editor.annotations.GuiCallbackDescendants;
 import com.lttlgames.editor.annotations.GuiCanNull;
 import com.lttlgames.editor.annotations.GuiGroup;
@@ -35,7 +36,7 @@ import com.lttlgames.helpers.Vector2Array;
 import com.lttlgames.tweenengine.Tween;
 import com.lttlgames.tweenengine.TweenGetterSetter;
 
-//26
+//27
 @ComponentLimitOne
 @Persist(-9015)
 public class LttlRenderer extends LttlComponent implements LttlAnimated
@@ -88,7 +89,7 @@ public class LttlRenderer extends LttlComponent implements LttlAnimated
 
 	private float oldAlpha = 1;
 	private boolean oldInheritAlpha = false;
-	private boolean parentAlphaChanged = false;
+	boolean parentAlphaChanged = false;
 
 	/**
 	 * <b>No guarantee this is here<b><br>
@@ -159,21 +160,33 @@ public class LttlRenderer extends LttlComponent implements LttlAnimated
 	 */
 	@Persist(9015021)
 	public boolean preMultiplyWorldMesh = true;
+	/**
+	 * The renderer does not change (mesh, transform, color, and alpha), so it can be kept on the GPU in a static batch
+	 * with the static renderers next to it in render order instead of being uploaded with the batch every frame. Needs
+	 * {@link LttlGameSettings#useStaticBatching} and {@link #preMultiplyWorldMesh}. If it does change, the static batch
+	 * it is in is rebuilt.
+	 */
+	@Persist(9015027)
+	public boolean staticBatch = false;
 	/**
 	 * Checks if the axis aligned transformed mesh bounding rect is in the the camera's axis aligned transformed rect
-	 * before rendering. If multiRenderer, needs custom bounding rect.
+	 * before rendering. If multiRenderer, needs custom bounding rect. If changed while playing, use
+	 * {@link #setCheckInCameraView(boolean)}.
 	 */
 	@Persist(9015022)
 	@GuiGroup("Render Check")
+	@GuiCallback("onGuiRenderCheck")
 	public boolean checkInCameraView = false;
 	/**
 	 * If set, this will be used instead of a mesh bounding rect to determine if should render or not, useful for things
 	 * like particle emitters where you want to check the region and not each individual particle, this will act as a
-	 * child of the transform.
+	 * child of the transform. If changed while playing, use {@link #setCustomBoundingRect(Rectangle)}.
 	 */
 	@Persist(9015023)
 	@GuiGroup("Render Check")
 	@GuiCanNull
+	@GuiCallback("onGuiRenderCheck")
+	@GuiCallbackDescendants("onGuiRenderCheck")
 	public Rectangle customBoundingRect;
 	private Rectangle customBoundingRectTransformedAxisAligned;
 	@Persist(9015024)
@@ -221,9 +234,29 @@ public class LttlRenderer extends LttlComponent implements LttlAnimated
 	 * only set when successfully rendered in play view (naturally, not by post processing)
 	 */
 	boolean hasRendered = false;
-	boolean hasUpdatedCanRender = false;
+	/**
+	 * the raw frame canRender was last updated, so it does not need to be reset when staging skips this renderer
+	 */
+	int canRenderFrame = -1;
 	private boolean canRender = false;
 
+	/* Static Batching - see LttlStaticBatcher */
+	/**
+	 * increased whenever the mesh, transform, color, or alpha changed since the last render
+	 */
+	int staticVersion = 0;
+	int staticUnchangedFrames = 0;
+	int staticFrame = -1;
+	LttlMesh staticMesh;
+	int staticMeshUpdateId = -1;
+	int staticModifiedId = -1;
+
+	/* Spatial Index - see LttlSpatialIndex */
+	int spatialProxy = -1;
+	boolean spatialDirty = false;
+	boolean spatialUnculled = false;
+	int spatialStamp = 0;
+
 	@Override
 	public void onStart()
 	{
@@ -238,6 +271,9 @@ public class LttlRenderer extends LttlComponent implements LttlAnimated
 
 	private void refreshTextures()
 	{
+		// add to the spatial index
+		Lttl.loop.spatialIndex.markDirty(this);
+
 		// auto refreshes the textures on start
 		// this means all objects, even if not rendering on screen will get their textures
 		getTex0().refresh(this);
@@ -675,6 +711,42 @@ public class LttlRenderer extends LttlComponent implements LttlAnimated
 		{
 			meshBoundingRectTransformedAxisAligned.set(0, 0, 0, 0);
 		}
+		// bounds changed
+		Lttl.loop.spatialIndex.markDirty(this);
+	}
+
+	/**
+	 * Sets {@link #checkInCameraView} and updates this renderer's bounds in the spatial index.
+	 * 
+	 * @param checkInCameraView
+	 */
+	public void setCheckInCameraView(boolean checkInCameraView)
+	{
+		this.checkInCameraView = checkInCameraView;
+		onGuiRenderCheck();
+	}
+
+	/**
+	 * Sets {@link #customBoundingRect} and updates this renderer's bounds in the spatial index. Also needs to be called
+	 * after modifying the rectangle.
+	 * 
+	 * @param customBoundingRect
+	 *            can be null
+	 */
+	public void setCustomBoundingRect(Rectangle customBoundingRect)
+	{
+		this.customBoundingRect = customBoundingRect;
+		onGuiRenderCheck();
+	}
+
+	private void onGuiRenderCheck()
+	{
+		// the cached transformed rect is for the old rect
+		if (customBoundingRectTransformedAxisAligned != null)
+		{
+			customBoundingRectTransformedAxisAligned.set(0, 0, 0, 0);
+		}
+		Lttl.loop.spatialIndex.markDirty(this);
 	}
 
 	/**
@@ -810,6 +882,7 @@ public class LttlRenderer extends LttlComponent implements LttlAnimated
 			public void set(float[] values)
 			{
 				thisThis.alpha = values[0];
+				thisThis.t().markDirty();
 			}
 
 			@Override
@@ -924,12 +997,11 @@ public class LttlRenderer extends LttlComponent implements LttlAnimated
 	 */
 	public boolean canRender()
 	{
-		// check this before cached one because it does not set it's hasUpdatedCanRender to false unless it's enabled
-		// this frame
+		// check this before cached one because it is only cached when it's enabled this frame
 		if (!t().enabledThisFrame) { return canRender = false; }
 
 		// return cached canRender
-		if (hasUpdatedCanRender) { return canRender; }
+		if (canRenderFrame == Lttl.game.getRawFrameCount()) { return canRender; }
 
 		/* update canRender */
 		// transform not enabled this frame
@@ -1003,6 +1075,7 @@ public class LttlRenderer extends LttlComponent implements LttlAnimated
 					.isAutoUpdatingMeshesOnZoom() && generator().aaSettings != null
 					&& generator().aaSettings.cameraZoomDependent
 					&& generator().aaSettings.autoUpdateOnCameraZoom
+					&& !getMesh().hasShaderAA()
 					&& generator().getCameraZoomOnLastUpdateMesh() != Lttl.game
 							.getSettings().getTargetCamera().zoom)
 			{
@@ -1020,7 +1093,7 @@ public class LttlRenderer extends LttlComponent implements LttlAnimated
 		generatorWarning = false;
 
 		// mark that has updated canRender this frame
-		hasUpdatedCanRender = true;
+		canRenderFrame = Lttl.game.getRawFrameCount();
 
 		// finally
 		return canRender = true;
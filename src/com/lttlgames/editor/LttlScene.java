@@ -790,6 +790,7 @@ public final class LttlScene
 	public void moveTopLevelTransformsOrder(int start, int dest)
 	{
 		LttlHelper.MoveItemArrayList(getRef().transformHiearchy, start, dest);
+		Lttl.scenes.callbackDispatcher.markDirty();
 	}
 
 	/**
@@ -31,6 +31,7 @@ public class LttlSceneCore
 	// iterators. HashMap is more RELIABLE for now and already DONE and WORKING, and maybe performance isn't a huge
 	// deal. If you do want to change to IntMap, will need to use interfaces serializable and deserializable... but you
 	// don't want to because you don't have the time!!!
+	// Lookups by id in any scene use the IntMap directory in ScenesManager (findComponentByIdAllScenes) instead.
 	@Persist(904403)
 	@GuiHide
 	HashMap<Integer, LttlComponent> componentMap = new HashMap<Integer, LttlComponent>();
@@ -60,6 +61,18 @@ public class LttlSceneCore
 	 * Sets up scene Texture, Audio, and Music managers.
 	 */
 	void setupResources()
+	{
+		setupResourceFolders();
+
+		// Manager processes
+		textureManager.initialLoad();
+		audioManager.initialLoad();
+	}
+
+	/**
+	 * Sets up the resource managers without loading anything.
+	 */
+	void setupResourceFolders()
 	{
 		// Manager setups
 		textureManager.setup(this);
@@ -70,10 +83,6 @@ public class LttlSceneCore
 		{
 			checkDirectories();
 		}
-
-		// Manager processes
-		textureManager.initialLoad();
-		audioManager.initialLoad();
 	}
 
 	/**
@@ -0,0 +1,257 @@
+package com.lttlgames.editor;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+import com.badlogic.gdx.utils.TimeUtils;
+import com.lttlgames.editor.LttlJsonDeserializer.ComponentRef;
+
+/**
+ * A scene being loaded by {@link ScenesManager#loadSceneAsync(int, SceneLoadCallback)}. The scene file is read on a
+ * background thread, then the rest (deserializing, resources, component references, initial transform preps) is done
+ * a little each frame on the main thread within {@link LttlGameSettings#sceneLoadBudgetMs}, since deserializing creates
+ * components. The scene is not
+ * added to the game (updated or rendered) until it is completely loaded, then it's onStart callbacks are ran.
+ */
+public final class LttlSceneLoad
+{
+	public static abstract class SceneLoadCallback
+	{
+		/**
+		 * Called each frame some of the load was processed.
+		 *
+		 * @param progress
+		 *            0 to 1
+		 */
+		public void onProgress(float progress)
+		{
+		}
+
+		/**
+		 * Called after the scene has been added to the game and it's onStart callbacks have been ran.
+		 *
+		 * @param scene
+		 *            null if the load failed (no scene file found)
+		 */
+		public void onComplete(LttlScene scene)
+		{
+		}
+	}
+
+	/**
+	 * how much of the progress is the background read (it's progress can't be measured)
+	 */
+	private static final float READ_PROGRESS = .25f;
+
+	private enum Step
+	{
+		Read, Deserialize, DeserializeComponents, SetupFolders, LoadTextures, LoadAudio, ComponentRefs, PrepTransforms, Finish, Done
+	}
+
+	private final int sceneId;
+	private final SceneLoadCallback callback;
+
+	/* SET ON BACKGROUND THREAD */
+	private volatile boolean isRead = false;
+	private volatile RuntimeException readException;
+	private ByteBuffer binary;
+	private String json;
+
+	/* MAIN THREAD */
+	private LttlSceneCore scene;
+	private final ArrayList<ComponentRef> compRefsList = new ArrayList<ComponentRef>(
+			50);
+	/**
+	 * deserializes each of the scene's components, ran one per step
+	 */
+	private final ArrayList<Runnable> deferredComponents = new ArrayList<Runnable>();
+	private Step step = Step.Read;
+	private int stepIndex = 0;
+	private int stepsDone = 0;
+	private int stepsTotal = 0;
+	/**
+	 * so the progress never goes backwards when stepsTotal is corrected
+	 */
+	private float lastProgress = 0;
+	/**
+	 * the loaded transforms, added to the z ordered list all at once when the scene is added to the game
+	 */
+	private final ArrayList<LttlTransform> zOrderList = new ArrayList<LttlTransform>();
+
+	LttlSceneLoad(int sceneId, SceneLoadCallback callback)
+	{
+		this.sceneId = sceneId;
+		this.callback = callback;
+	}
+
+	/**
+	 * Ran on the background thread.
+	 */
+	void read()
+	{
+		try
+		{
+			binary = Lttl.scenes.readSceneBinary(sceneId);
+			if (binary == null)
+			{
+				json = Lttl.scenes.readSceneJson(sceneId);
+			}
+		}
+		catch (RuntimeException e)
+		{
+			readException = e;
+		}
+		// volatile write last, so binary and json are visible to the main thread once this is true
+		isRead = true;
+	}
+
+	public int getSceneId()
+	{
+		return sceneId;
+	}
+
+	public boolean isDone()
+	{
+		return step == Step.Done;
+	}
+
+	/**
+	 * @return 0 to 1
+	 */
+	public float getProgress()
+	{
+		if (step == Step.Done) return 1;
+		if (stepsTotal == 0) return 0;
+		lastProgress = Math.max(lastProgress, READ_PROGRESS
+				+ (1 - READ_PROGRESS) * stepsDone / stepsTotal);
+		return lastProgress;
+	}
+
+	/**
+	 * Processes steps until the deadline has passed, always does at least one step if it can.
+	 *
+	 * @param deadline
+	 *            {@link TimeUtils#nanoTime()} to stop at
+	 * @return if done
+	 */
+	boolean update(long deadline)
+	{
+		boolean processed = false;
+		do
+		{
+			if (!step())
+			{
+				// still reading
+				break;
+			}
+			processed = true;
+		}
+		while (step != Step.Done && TimeUtils.nanoTime() < deadline);
+
+		if (processed && step != Step.Done && callback != null)
+		{
+			callback.onProgress(getProgress());
+		}
+		return step == Step.Done;
+	}
+
+	/**
+	 * @return false if nothing could be done (waiting on background read)
+	 */
+	private boolean step()
+	{
+		switch (step)
+		{
+			case Read:
+				if (!isRead) return false;
+				if (readException != null)
+				{
+					complete(null);
+					Lttl.Throw(new RuntimeException("Loading Scene: Failed reading scene id "
+							+ sceneId + ".", readException));
+				}
+				step = Step.Deserialize;
+				// no step done
+				return true;
+			case Deserialize:
+				scene = Lttl.scenes.createScene(sceneId, binary, json,
+						LttlSceneCore.class, compRefsList, deferredComponents);
+				binary = null;
+				json = null;
+				if (scene == null)
+				{
+					complete(null);
+					return true;
+				}
+				// the component references are not known until the components are deserialized, estimate one each
+				stepsTotal = 4 + deferredComponents.size() * 2
+						+ compRefsList.size() + scene.transformHiearchy.size();
+				step = Step.DeserializeComponents;
+				break;
+			case DeserializeComponents:
+				if (stepIndex < deferredComponents.size())
+				{
+					deferredComponents.get(stepIndex++).run();
+					break;
+				}
+				stepIndex = 0;
+				deferredComponents.clear();
+				// now the actual count
+				stepsTotal = stepsDone + 3 + compRefsList.size()
+						+ scene.transformHiearchy.size();
+				step = Step.SetupFolders;
+				// no step done
+				return true;
+			case SetupFolders:
+				scene.setupResourceFolders();
+				step = Step.LoadTextures;
+				break;
+			case LoadTextures:
+				scene.textureManager.initialLoad();
+				step = Step.LoadAudio;
+				break;
+			case LoadAudio:
+				scene.audioManager.initialLoad();
+				step = Step.ComponentRefs;
+				break;
+			case ComponentRefs:
+				if (stepIndex < compRefsList.size())
+				{
+					compRefsList.get(stepIndex++).set(scene);
+					break;
+				}
+				stepIndex = 0;
+				step = Step.PrepTransforms;
+				// no step done
+				return true;
+			case PrepTransforms:
+				if (stepIndex < scene.transformHiearchy.size())
+				{
+					ComponentHelper.initialPrepTree(
+							scene.transformHiearchy.get(stepIndex++),
+							zOrderList);
+					break;
+				}
+				step = Step.Finish;
+				// no step done
+				return true;
+			case Finish:
+				Lttl.scenes.loadSceneAsyncFinish(scene, zOrderList);
+				complete(scene);
+				return true;
+			case Done:
+				return false;
+		}
+		stepsDone++;
+		return true;
+	}
+
+	private void complete(LttlSceneCore scene)
+	{
+		step = Step.Done;
+		if (callback != null)
+		{
+			callback.onComplete(scene == null ? null : scene.getLttlScene());
+		}
+	}
+}
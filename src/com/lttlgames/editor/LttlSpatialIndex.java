@@ -0,0 +1,261 @@
+package com.lttlgames.editor;
+
+import java.util.ArrayList;
+
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * Broad phase index of every renderer's world bounds (its mesh and custom bounding rect, axis aligned), used for
+ * camera culling, editor selection, and {@link LoopManager#getTransformsInRect(Rectangle, ArrayList)}.<br>
+ * A renderer is marked dirty whenever {@link LttlRenderer#onWorldTransformChange()} runs (world transform or mesh
+ * changed), and only the dirty ones are updated, at the end of staging or before a query. Renderers that are not
+ * checked in camera view (or multi renderers without a custom bounding rect) are always render candidates, since they
+ * render no matter their bounds.
+ */
+final class LttlSpatialIndex
+{
+	private final LttlAABBTree<LttlRenderer> tree = new LttlAABBTree<LttlRenderer>();
+	private final ArrayList<LttlRenderer> dirty = new ArrayList<LttlRenderer>();
+	/**
+	 * renderers that are always render candidates
+	 */
+	private final ArrayList<LttlRenderer> unculled = new ArrayList<LttlRenderer>();
+	/**
+	 * transforms with {@link AlternateSelectionBounds}, always selection candidates (editor only)
+	 */
+	private final ArrayList<LttlTransform> alternateSelection = new ArrayList<LttlTransform>();
+	/**
+	 * increased each query, so results are only added once
+	 */
+	private int stamp = 0;
+
+	/* TEMP */
+	private final ArrayList<LttlRenderer> queryResults = new ArrayList<LttlRenderer>();
+	private final Rectangle tmpRect = new Rectangle();
+
+	void markDirty(LttlRenderer r)
+	{
+		if (r.spatialDirty) return;
+		r.spatialDirty = true;
+		dirty.add(r);
+	}
+
+	/**
+	 * Removes the renderer from the index, ran when destroyed.
+	 *
+	 * @param r
+	 */
+	void remove(LttlRenderer r)
+	{
+		if (r.spatialProxy != -1)
+		{
+			tree.destroyProxy(r.spatialProxy);
+			r.spatialProxy = -1;
+		}
+		if (r.spatialUnculled)
+		{
+			unculled.remove(r);
+			r.spatialUnculled = false;
+		}
+		// if it is in dirty list it is skipped by update()
+	}
+
+	void setAlternateSelection(LttlTransform lt, boolean hasAlternate)
+	{
+		if (hasAlternate)
+		{
+			if (!alternateSelection.contains(lt)) alternateSelection.add(lt);
+		}
+		else
+		{
+			alternateSelection.remove(lt);
+		}
+	}
+
+	/**
+	 * Updates the bounds of all the renderers that have changed.
+	 */
+	void update()
+	{
+		// more may be added while updating (getting bounds can update world transforms)
+		for (int i = 0; i < dirty.size(); i++)
+		{
+			LttlRenderer r = dirty.get(i);
+			if (isRemoved(r))
+			{
+				r.spatialDirty = false;
+				remove(r);
+				continue;
+			}
+			updateRenderer(r);
+			r.spatialDirty = false;
+		}
+		dirty.clear();
+	}
+
+	private boolean isRemoved(LttlRenderer r)
+	{
+		return r.t() == null || r.t().r() != r || r.isDestroyPending();
+	}
+
+	private void updateRenderer(LttlRenderer r)
+	{
+		boolean hasBounds = false;
+		if (r.customBoundingRect != null)
+		{
+			tmpRect.set(r.getRenderCheckRect());
+			hasBounds = true;
+		}
+		if (r.getMesh() != null)
+		{
+			if (hasBounds)
+			{
+				tmpRect.merge(r.getMeshBoundingRectTransformedAxisAligned());
+			}
+			else
+			{
+				tmpRect.set(r.getMeshBoundingRectTransformedAxisAligned());
+				hasBounds = true;
+			}
+		}
+
+		if (hasBounds)
+		{
+			if (r.spatialProxy == -1)
+			{
+				r.spatialProxy = tree.createProxy(tmpRect, r);
+			}
+			else
+			{
+				tree.moveProxy(r.spatialProxy, tmpRect);
+			}
+		}
+		else if (r.spatialProxy != -1)
+		{
+			tree.destroyProxy(r.spatialProxy);
+			r.spatialProxy = -1;
+		}
+
+		// same as the render loop's camera check
+		boolean cullable = hasBounds
+				&& r.checkInCameraView
+				&& (r.customBoundingRect != null || !LttlMultiRenderer.class
+						.isAssignableFrom(r.getClass()));
+		if (cullable == r.spatialUnculled)
+		{
+			r.spatialUnculled = !cullable;
+			if (cullable)
+			{
+				unculled.remove(r);
+			}
+			else
+			{
+				unculled.add(r);
+			}
+		}
+	}
+
+	/**
+	 * Adds the transforms of the renderers that may render in the view (overlaps or not culled) to the result, each
+	 * transform is only added once until append is false. The render loop still does the exact checks.
+	 *
+	 * @param view
+	 * @param append
+	 *            if false, clears the result and starts a new query
+	 * @param result
+	 */
+	void collectRenderCandidates(Rectangle view, boolean append,
+			ArrayList<LttlTransform> result)
+	{
+		update();
+		if (!append)
+		{
+			result.clear();
+			stamp++;
+		}
+
+		queryResults.clear();
+		tree.query(view, queryResults);
+		for (int i = 0, n = queryResults.size(); i < n; i++)
+		{
+			add(queryResults.get(i), result);
+		}
+		for (int i = 0, n = unculled.size(); i < n; i++)
+		{
+			add(unculled.get(i), result);
+		}
+		queryResults.clear();
+	}
+
+	private void add(LttlRenderer r, ArrayList<LttlTransform> result)
+	{
+		if (r.spatialStamp == stamp) return;
+		r.spatialStamp = stamp;
+		result.add(r.t());
+	}
+
+	/**
+	 * Adds the transforms that may be selected in the rect (their renderer's bounds overlap, or they have alternate
+	 * selection bounds) to the result, does not clear it. Callers check the exact selection bounds.
+	 *
+	 * @param rect
+	 * @param result
+	 */
+	void collectSelectionCandidates(Rectangle rect,
+			ArrayList<LttlTransform> result)
+	{
+		update();
+		stamp++;
+
+		queryResults.clear();
+		tree.query(rect, queryResults);
+		for (int i = 0, n = queryResults.size(); i < n; i++)
+		{
+			add(queryResults.get(i), result);
+		}
+		queryResults.clear();
+
+		for (int i = alternateSelection.size() - 1; i >= 0; i--)
+		{
+			LttlTransform lt = alternateSelection.get(i);
+			if (lt.isDestroyPending())
+			{
+				alternateSelection.remove(i);
+				continue;
+			}
+			if (lt.r() != null && lt.r().spatialStamp == stamp) continue;
+			result.add(lt);
+		}
+	}
+
+	/**
+	 * Adds the transforms whose renderer's world bounds overlap the rect to the result, does not clear it.
+	 *
+	 * @param rect
+	 * @param result
+	 */
+	void collectOverlapping(Rectangle rect, ArrayList<LttlTransform> result)
+	{
+		update();
+
+		queryResults.clear();
+		tree.query(rect, queryResults);
+		for (int i = 0, n = queryResults.size(); i < n; i++)
+		{
+			LttlRenderer r = queryResults.get(i);
+			if (overlapsBounds(r, rect))
+			{
+				result.add(r.t());
+			}
+		}
+		queryResults.clear();
+	}
+
+	private boolean overlapsBounds(LttlRenderer r, Rectangle rect)
+	{
+		if (r.customBoundingRect != null
+				&& r.getRenderCheckRect().overlaps(rect)) { return true; }
+		return r.getMesh() != null
+				&& r.getMeshBoundingRectTransformedAxisAligned().overlaps(rect);
+	}
+}
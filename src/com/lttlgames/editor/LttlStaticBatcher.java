@@ -0,0 +1,281 @@
+package com.lttlgames.editor;
+
+import java.util.ArrayList;
+
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.IntArray;
+import com.lttlgames.editor.LoopManager.RenderView;
+import com.lttlgames.graphics.LttlBlendMode;
+import com.lttlgames.graphics.LttlMesh;
+import com.lttlgames.graphics.LttlShader;
+import com.lttlgames.helpers.LttlProfiler;
+
+/**
+ * Keeps the vertices of static renderers on the GPU, so they are not copied into the batch and uploaded every frame.
+ * Static renderers that render one after another with the same render state (textures, shader, blend mode) are a run,
+ * which is merged into a chunk with it's own static vertex and index buffers. A chunk is only rebuilt when it's
+ * members change (a different renderer, or a member's mesh, world transform, color, or alpha changed), everything else
+ * still uses the dynamic batch. Since runs are only made of renderers that are next to each other in render order, z
+ * order is always respected (the render queue puts the renderers with the same render state next to each other).<br>
+ * See {@link LttlGameSettings#useStaticBatching}.
+ */
+final class LttlStaticBatcher
+{
+	private static final class Chunk
+	{
+		Mesh mesh;
+		final ArrayList<LttlRenderer> members = new ArrayList<LttlRenderer>();
+		/**
+		 * the {@link LttlRenderer#staticVersion} of each member when built
+		 */
+		final IntArray versions = new IntArray();
+		int viewStamp;
+
+		boolean matches(ArrayList<LttlRenderer> run)
+		{
+			if (members.size() != run.size()) return false;
+			for (int i = 0, n = run.size(); i < n; i++)
+			{
+				LttlRenderer r = run.get(i);
+				if (members.get(i) != r || versions.get(i) != r.staticVersion) { return false; }
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * chunks by their first member, the views have their own since they can cull differently
+	 */
+	private final IdentityMap<LttlRenderer, Chunk> playChunks = new IdentityMap<LttlRenderer, Chunk>();
+	private final IdentityMap<LttlRenderer, Chunk> editorChunks = new IdentityMap<LttlRenderer, Chunk>();
+	private IdentityMap<LttlRenderer, Chunk> chunks = playChunks;
+	private int frame = 0;
+	private int viewStamp = 0;
+
+	/* CURRENT RUN */
+	private final ArrayList<LttlRenderer> run = new ArrayList<LttlRenderer>();
+	private int runVertexCount;
+	private int runIndiceCount;
+	private Texture runTex0;
+	private Texture runTex1;
+	private LttlShader runShader;
+	private LttlBlendMode runBlendMode;
+
+	/* TEMP */
+	private final LttlMesh buildMesh = new LttlMesh();
+	private final ArrayList<LttlRenderer> removeList = new ArrayList<LttlRenderer>();
+
+	/**
+	 * Ran at the beginning of each render loop.
+	 */
+	void beginFrame()
+	{
+		frame++;
+	}
+
+	/**
+	 * Ran before rendering a view.
+	 *
+	 * @param view
+	 */
+	void beginView(RenderView view)
+	{
+		chunks = view == RenderView.Editor ? editorChunks : playChunks;
+		viewStamp++;
+	}
+
+	/**
+	 * Disposes the chunks that were not drawn in the view, ran after rendering it (and it's run has ended).
+	 */
+	void endView()
+	{
+		for (Chunk chunk : chunks.values())
+		{
+			if (chunk.viewStamp != viewStamp)
+			{
+				removeList.add(chunk.members.get(0));
+			}
+		}
+		for (int i = 0, n = removeList.size(); i < n; i++)
+		{
+			chunks.remove(removeList.get(i)).mesh.dispose();
+		}
+		removeList.clear();
+	}
+
+	/**
+	 * Updates the renderer's {@link LttlRenderer#staticVersion} if it changed, ran each time it renders before it is
+	 * added to a run.
+	 *
+	 * @param r
+	 *            a normal renderer with world vertices
+	 * @param colorAlphaChanged
+	 *            if the mesh's color or alpha was just updated
+	 * @param max
+	 *            the max triangle batch
+	 * @return if it should be static batched
+	 */
+	boolean check(LttlRenderer r, boolean colorAlphaChanged, int max)
+	{
+		LttlMesh mesh = r.getMesh();
+		if (colorAlphaChanged || mesh != r.staticMesh
+				|| mesh.getUpdateId() != r.staticMeshUpdateId
+				|| r.t().getModifiedId() != r.staticModifiedId)
+		{
+			r.staticVersion++;
+			r.staticMesh = mesh;
+			r.staticMeshUpdateId = mesh.getUpdateId();
+			r.staticModifiedId = r.t().getModifiedId();
+			r.staticUnchangedFrames = 0;
+		}
+		else if (r.staticFrame != frame)
+		{
+			r.staticUnchangedFrames++;
+		}
+		r.staticFrame = frame;
+
+		int autoFrames = Lttl.game.getSettings().staticBatchAutoFrames;
+		if (!r.staticBatch
+				&& (autoFrames <= 0 || r.staticUnchangedFrames < autoFrames)) { return false; }
+
+		// needs to be able to share the camera matrix and shader with the rest of the chunk, too big meshes are left to
+		// the dynamic batch's error
+		return !r.shader.hasDefaultUniforms() && !r.hasCustomUniforms()
+				&& !mesh.hasShaderAA() && mesh.getVertexCount() <= max
+				&& mesh.getIndiceCount() <= max * 3;
+	}
+
+	boolean hasRun()
+	{
+		return run.size() > 0;
+	}
+
+	LttlRenderer getRunFirst()
+	{
+		return run.get(0);
+	}
+
+	int getRunSize()
+	{
+		return run.size();
+	}
+
+	/**
+	 * @param r
+	 * @param max
+	 *            the max triangle batch
+	 * @return if the renderer can be added to the current run, if not the run needs to be ended first
+	 */
+	boolean canAdd(LttlRenderer r, int max)
+	{
+		if (run.isEmpty()) return true;
+		LttlMesh mesh = r.getMesh();
+		return r.getTex0().getTex() == runTex0
+				&& r.getTex1().getTex() == runTex1 && r.shader == runShader
+				&& r.blendMode == runBlendMode
+				&& runVertexCount + mesh.getVertexCount() <= max
+				&& runIndiceCount + mesh.getIndiceCount() <= max * 3;
+	}
+
+	void add(LttlRenderer r)
+	{
+		if (run.isEmpty())
+		{
+			runTex0 = r.getTex0().getTex();
+			runTex1 = r.getTex1().getTex();
+			runShader = r.shader;
+			runBlendMode = r.blendMode;
+		}
+		run.add(r);
+		runVertexCount += r.getMesh().getVertexCount();
+		runIndiceCount += r.getMesh().getIndiceCount();
+	}
+
+	/**
+	 * Ends the current run.
+	 *
+	 * @param max
+	 *            the max triangle batch
+	 * @return the run's chunk mesh, rebuilt if any member changed
+	 */
+	Mesh endRun(int max)
+	{
+		Chunk chunk = chunks.get(run.get(0));
+		if (chunk == null)
+		{
+			chunk = new Chunk();
+			chunks.put(run.get(0), chunk);
+		}
+		if (chunk.mesh == null || !chunk.matches(run))
+		{
+			build(chunk, max);
+		}
+		chunk.viewStamp = viewStamp;
+
+		run.clear();
+		runVertexCount = 0;
+		runIndiceCount = 0;
+		runTex0 = null;
+		runTex1 = null;
+		return chunk.mesh;
+	}
+
+	private void build(Chunk chunk, int max)
+	{
+		LttlProfiler.staticBatchRebuilds.add();
+
+		chunk.members.clear();
+		chunk.versions.clear();
+		buildMesh.clear();
+		for (int i = 0, n = run.size(); i < n; i++)
+		{
+			LttlRenderer r = run.get(i);
+			chunk.members.add(r);
+			chunk.versions.add(r.staticVersion);
+			buildMesh.add(r.getMesh().getWorldVerticesArray(), r.getMesh()
+					.getIndicesArray());
+		}
+
+		// some room to grow, so small changes don't need a new buffer
+		int vertexCount = buildMesh.getVertexCount();
+		int indiceCount = buildMesh.getIndiceCount();
+		if (chunk.mesh == null || chunk.mesh.getMaxVertices() < vertexCount
+				|| chunk.mesh.getMaxIndices() < indiceCount)
+		{
+			if (chunk.mesh != null)
+			{
+				chunk.mesh.dispose();
+			}
+			chunk.mesh = new Mesh(true, Math.min(
+					MathUtils.nextPowerOfTwo(vertexCount), max), Math.min(
+					MathUtils.nextPowerOfTwo(indiceCount), max * 3),
+					LttlMesh.VERTEX_ATTRIBUTES);
+		}
+		chunk.mesh.setVertices(buildMesh.getVerticesArray().items, 0,
+				buildMesh.getVerticesArray().size);
+		chunk.mesh.setIndices(buildMesh.getIndicesArray().items, 0,
+				buildMesh.getIndicesArray().size);
+		buildMesh.clear();
+	}
+
+	/**
+	 * disposes all the chunks, should be called whenever editor reloads
+	 */
+	void dispose()
+	{
+		for (Chunk chunk : playChunks.values())
+		{
+			chunk.mesh.dispose();
+		}
+		for (Chunk chunk : editorChunks.values())
+		{
+			chunk.mesh.dispose();
+		}
+		playChunks.clear();
+		editorChunks.clear();
+		run.clear();
+	}
+}
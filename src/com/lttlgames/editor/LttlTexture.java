@@ -30,6 +30,7 @@ public class LttlTexture extends LttlTextureBase
 	public void setAR(AtlasRegion ar)
 	{
 		this.refAtlasRegion = ar;
+		clearResolved();
 	}
 
 	/**
@@ -60,7 +61,8 @@ public class LttlTexture extends LttlTextureBase
 
 	/**
 	 * Finds a texture with set name (from atlas or not), sets it for a quicker reference via get(), returns it.<br>
-	 * You don't want to use this every frame since it is doing a string comparison.<br>
+	 * Only searches if textures were loaded or unloaded or the name changed since the last refresh, otherwise keeps the
+	 * same reference.<br>
 	 * <br>
 	 * <b>Note:</b> This automatically is ran during staging, if the texture is null and but there is a region name.
 	 * 
@@ -69,6 +71,9 @@ public class LttlTexture extends LttlTextureBase
 	@GuiButton
 	public AtlasRegion refresh()
 	{
+		if (isResolved()) return refAtlasRegion;
+		AtlasRegion lastAtlasRegion = refAtlasRegion;
+
 		if (textureRegionName != null && !textureRegionName.isEmpty())
 		{
 			// search all loaded scenes
@@ -100,9 +105,11 @@ public class LttlTexture extends LttlTextureBase
 		{
 			refAtlasRegion = null;
 		}
+		setResolved();
 
 		// if this texture is on a renderer and the texture just changed, force mesh to update by clearing it
-		if (hostRenderer != null) hostRenderer.clearMesh();
+		if (hostRenderer != null && refAtlasRegion != lastAtlasRegion) hostRenderer
+				.clearMesh();
 
 		return refAtlasRegion;
 	}
@@ -165,5 +172,6 @@ public class LttlTexture extends LttlTextureBase
 	public void clearReference()
 	{
 		refAtlasRegion = null;
+		clearResolved();
 	}
 }
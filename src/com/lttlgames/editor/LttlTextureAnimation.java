@@ -26,18 +26,22 @@ public class LttlTextureAnimation extends LttlTextureBase
 	public void setARs(ArrayList<AtlasRegion> ars)
 	{
 		this.refAtlasRegions = ars;
+		clearResolved();
 	}
 
 	/**
 	 * Finds textures with set name (from atlas) in all loaded scenes, sets it for a quicker reference via get(),
 	 * returns it.<br>
-	 * You don't want to use this too often since it can be slow.
+	 * Only searches if textures were loaded or unloaded or the name changed since the last refresh. The list is shared
+	 * with the texture manager, don't modify it.
 	 * 
 	 * @return
 	 */
 	@GuiButton
 	public ArrayList<AtlasRegion> refresh()
 	{
+		if (isResolved()) return refAtlasRegions;
+
 		if (textureRegionName != null && !textureRegionName.isEmpty())
 		{
 			// always search all loaded scenes
@@ -60,6 +64,7 @@ public class LttlTextureAnimation extends LttlTextureBase
 		{
 			refAtlasRegions = null;
 		}
+		setResolved();
 		return refAtlasRegions;
 	}
 
@@ -100,5 +105,6 @@ public class LttlTextureAnimation extends LttlTextureBase
 	public void clearReference()
 	{
 		refAtlasRegions = null;
+		clearResolved();
 	}
 }
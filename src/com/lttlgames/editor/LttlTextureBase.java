@@ -15,5 +15,37 @@ abstract class LttlTextureBase
 	@Persist(901901)
 	public String textureRegionName = "";
 
+	/**
+	 * The {@link LttlTextureManager#getGeneration()} and name the reference was last resolved with (found or not), so
+	 * refreshing is skipped until textures are loaded or unloaded, or the name changes.
+	 */
+	private int resolvedGeneration = -1;
+	private String resolvedName;
+
+	/**
+	 * @return if the reference was resolved with the current name and textures, so doesn't need to be searched for
+	 */
+	boolean isResolved()
+	{
+		return resolvedGeneration == LttlTextureManager.getGeneration()
+				&& textureRegionName != null
+				&& textureRegionName.equals(resolvedName);
+	}
+
+	void setResolved()
+	{
+		resolvedGeneration = LttlTextureManager.getGeneration();
+		resolvedName = textureRegionName;
+	}
+
+	/**
+	 * Forces the next refresh to search for the reference.
+	 */
+	void clearResolved()
+	{
+		resolvedGeneration = -1;
+		resolvedName = null;
+	}
+
 	public abstract void clearReference();
 }
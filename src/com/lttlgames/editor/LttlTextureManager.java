@@ -1,7 +1,15 @@
 package com.lttlgames.editor;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import com.badlogic.gdx.Files.FileType;
 import com.badlogic.gdx.Gdx;
@@ -12,7 +20,6 @@ import com.badlogic.gdx.graphics.Texture.TextureFilter;
 import com.badlogic.gdx.graphics.Texture.TextureWrap;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
-import com.badlogic.gdx.tools.texturepacker.TexturePacker;
 import com.lttlgames.editor.LttlObjectGraphCrawler.FieldsMode;
 import com.lttlgames.editor.annotations.Persist;
 import com.lttlgames.helpers.LttlHelper;
@@ -37,6 +44,12 @@ public final class LttlTextureManager extends LttlResourceManager
 	private HashMap<String, AtlasRegion> nonAtlasTexturesMap;
 	private HashMap<String, AtlasRegion> atlasTexturesMap;
 	private HashMap<String, ArrayList<AtlasRegion>> atlasAnimationTexturesMap;
+	/**
+	 * Incremented whenever any scene's textures are disposed (unload or before loading new ones) and whenever a scene is
+	 * added to or removed from the loaded scenes, so references resolved with an older generation (including ones that
+	 * found nothing) know to search again. See {@link LttlTextureBase#isResolved()}.
+	 */
+	private static int generation = 0;
 
 	/**
 	 * This is for editor use only.
@@ -57,24 +70,31 @@ public final class LttlTextureManager extends LttlResourceManager
 	FileHandle nonAtlasTexturesDirRelative;
 	private String packFileName = "pack";
 	/**
-	 * This is persisted so when game loads (in editor) and there are no changes to textures, it doesn't process atlas
-	 * again
+	 * This is persisted so when game loads (in editor) and there are no changes to textures, it doesn't load them
+	 * again. Atlas changes are found with the {@link LttlAtlasBuilder} manifest instead.
 	 */
-	@Persist(904501)
-	private long lastTexturesToAtlasFolderSize = 0;
 	@Persist(904502)
 	private long lastNonAtlasTexturesFolderSize = 0;
-	/**
-	 * Used for detecting file name changes in a folder
-	 */
-	@Persist(904503)
-	private int lastAtlasFilenameSum = 0;
 	/**
 	 * Used for detecting file name changes in a folder
 	 */
 	@Persist(904504)
 	private int lastNonAtlasFilenameSum = 0;
 
+	/**
+	 * packs atlases in the background when the editor auto refreshes textures, one at a time
+	 */
+	private static ExecutorService atlasBuildExecutor;
+	/**
+	 * output folder (absolute path) -> the atlas being packed there in the background, shared by every texture manager
+	 * since more than one can pack to the same folder
+	 */
+	private static final HashMap<String, Future<Boolean>> pendingAtlasBuilds = new HashMap<String, Future<Boolean>>();
+	/**
+	 * the atlas this texture manager is packing in the background, if any
+	 */
+	private Future<Boolean> atlasBuild;
+
 	LttlTextureManager()
 	{
 	}
@@ -94,6 +114,8 @@ public final class LttlTextureManager extends LttlResourceManager
 			// update names
 			getTextureNamesUpdate();
 			getAnimationTextureNamesUpdate();
+
+			Lttl.scenes.textureResidency.add(this);
 		}
 		else
 		{
@@ -257,7 +279,8 @@ public final class LttlTextureManager extends LttlResourceManager
 	 * updates names afterward.
 	 * 
 	 * @param checkAtlas
-	 *            to see if files changed
+	 *            to see if files changed, after the first load this packs the atlas in the background and the changes
+	 *            are only loaded (and returned) by a later call once it's done
 	 * @param checkNonAtlas
 	 *            to see if files changed
 	 * @return if found changes, may not find changes but still load because first time
@@ -266,7 +289,18 @@ public final class LttlTextureManager extends LttlResourceManager
 	{
 		boolean modified = false;
 
-		if (rebuildTexturePacker(checkAtlas))
+		if (checkAtlas && !firstLoad)
+		{
+			// auto refresh packs in the background so the editor doesn't freeze, the new atlas is loaded once it's done
+			if (pollAtlasBuild())
+			{
+				Lttl.logNote("Building Atlas: atlas textures built on scene "
+						+ scene.toString());
+				loadTextureAtlas();
+				modified = true;
+			}
+		}
+		else if (rebuildTexturePacker(checkAtlas))
 		{
 			Lttl.logNote(
 					"Building Atlas: atlas textures built on scene " + scene.toString());
@@ -300,6 +334,9 @@ public final class LttlTextureManager extends LttlResourceManager
 			animationTextureNames = null;
 			getTextureNamesUpdate();
 			getAnimationTextureNamesUpdate();
+
+			// pack on to the shared pages (was removed when the old textures were disposed)
+			Lttl.scenes.textureResidency.add(this);
 		}
 
 		firstLoad = false;
@@ -310,36 +347,132 @@ public final class LttlTextureManager extends LttlResourceManager
 	 * Checks and if changes rebuilds the texturePacker, does not load texures ONLY RAN IN EDITOR
 	 * 
 	 * @param checkIfModified
-	 *            compares the size of the folder since the last run, if different, then runs again
+	 *            only repacks the groups whose files' contents changed since the last run, see {@link LttlAtlasBuilder}
 	 * @return true if change (or if checkIfModified was false)
 	 */
 	private boolean rebuildTexturePacker(boolean checkIfModified)
 	{
-		if (!inputAtlasTexturesDirRelative.exists()
-				|| !outputAtlasTexturesDirRelative.exists())
+		if (!checkAtlasDirectories()) return false;
+
+		// wait for any background build using the same output folder, from this or another texture manager
+		Future<Boolean> pending = pendingAtlasBuilds
+				.remove(getAtlasBuildKey());
+		if (pending != null)
 		{
-			Lttl.Throw(
-					"The Input our Output Directory does not exist for atlas textures on scene "
-							+ scene.getId());
+			try
+			{
+				pending.get();
+			}
+			catch (InterruptedException | ExecutionException e)
+			{
+				// the build below will have the same problem
+			}
+		}
+		if (atlasBuild == pending)
+		{
+			atlasBuild = null;
+		}
+
+		try
+		{
+			return newAtlasBuilder().build(checkIfModified);
+		}
+		catch (IOException e)
+		{
+			Lttl.Throw(new RuntimeException(e));
 			return false;
 		}
+	}
 
-		int currentAtlasFilenameSum =
-				LttlResourceManager.getFolderFileNamesSum(inputAtlasTexturesDirRelative);
-		long currentInputDirectorySize =
-				getFolderSize(inputAtlasTexturesDirRelative.path());
-		if (checkIfModified && currentAtlasFilenameSum == lastAtlasFilenameSum
-				&& currentInputDirectorySize == lastTexturesToAtlasFolderSize)
+	/**
+	 * Starts packing the atlas in the background if it isn't already, if it already was and is done, returns if it
+	 * changed. ONLY RAN IN EDITOR
+	 * 
+	 * @return if the atlas was packed since the last poll and needs to be loaded
+	 */
+	private boolean pollAtlasBuild()
+	{
+		String key = getAtlasBuildKey();
+		if (atlasBuild == null)
+		{
+			if (!checkAtlasDirectories()) return false;
+
+			// another texture manager is packing to the same folder, start once it's done
+			Future<Boolean> pending = pendingAtlasBuilds.get(key);
+			if (pending != null)
+			{
+				if (!pending.isDone()) return false;
+				pendingAtlasBuilds.remove(key);
+			}
+
+			if (atlasBuildExecutor == null)
+			{
+				atlasBuildExecutor = Executors
+						.newSingleThreadExecutor(new ThreadFactory()
+						{
+							@Override
+							public Thread newThread(Runnable r)
+							{
+								Thread thread = new Thread(r, "Atlas Builder");
+								thread.setDaemon(true);
+								return thread;
+							}
+						});
+			}
+			final LttlAtlasBuilder builder = newAtlasBuilder();
+			atlasBuild = atlasBuildExecutor.submit(new Callable<Boolean>()
+			{
+				@Override
+				public Boolean call() throws Exception
+				{
+					return builder.build(true);
+				}
+			});
+			pendingAtlasBuilds.put(key, atlasBuild);
+			return false;
+		}
+		if (!atlasBuild.isDone()) return false;
+
+		Future<Boolean> build = atlasBuild;
+		atlasBuild = null;
+		if (pendingAtlasBuilds.get(key) == build)
+		{
+			pendingAtlasBuilds.remove(key);
+		}
+		try
+		{
+			return build.get();
+		}
+		catch (InterruptedException | ExecutionException e)
 		{
-			lastAtlasFilenameSum = currentAtlasFilenameSum;
-			lastTexturesToAtlasFolderSize = currentInputDirectorySize;
+			Lttl.logNote("Building Atlas: failed on scene " + scene.toString()
+					+ " " + e.getCause());
 			return false;
 		}
-		lastAtlasFilenameSum = currentAtlasFilenameSum;
-		lastTexturesToAtlasFolderSize = currentInputDirectorySize;
+	}
+
+	private String getAtlasBuildKey()
+	{
+		return new File(outputAtlasTexturesDirRelative.path())
+				.getAbsolutePath();
+	}
+
+	private LttlAtlasBuilder newAtlasBuilder()
+	{
+		return new LttlAtlasBuilder(new File(inputAtlasTexturesDirRelative.path()),
+				new File(outputAtlasTexturesDirRelative.path()), packFileName);
+	}
 
-		TexturePacker.process(inputAtlasTexturesDirRelative.path(),
-				outputAtlasTexturesDirRelative.path(), packFileName);
+	private boolean checkAtlasDirectories()
+	{
+		if (!inputAtlasTexturesDirRelative.exists()
+				|| !outputAtlasTexturesDirRelative.exists())
+		{
+			Lttl.Throw(
+					"The Input our Output Directory does not exist for atlas textures on scene "
+							+ scene.getId());
+			return false;
+		}
 		return true;
 	}
 
@@ -474,6 +607,9 @@ public final class LttlTextureManager extends LttlResourceManager
 	 */
 	private void disposeNonAtlasTextures()
 	{
+		generation++;
+		// restore the regions to their own textures before disposing them
+		Lttl.scenes.textureResidency.remove(this);
 		if (nonAtlasTexturesMap != null)
 		{
 			for (AtlasRegion ar : nonAtlasTexturesMap.values())
@@ -488,6 +624,9 @@ public final class LttlTextureManager extends LttlResourceManager
 	 */
 	private void disposeAtlasTextures()
 	{
+		generation++;
+		// restore the regions to their own textures before disposing them
+		Lttl.scenes.textureResidency.remove(this);
 		if (atlas != null)
 		{
 			atlas.dispose();
@@ -586,10 +725,19 @@ public final class LttlTextureManager extends LttlResourceManager
 
 		AtlasRegion ar = null;
 
-		// search atlas
-		if (ar == null && atlas != null)
+		// search atlas, same result as TextureAtlas.findRegion() without iterating all the regions, an animation's
+		// first frame if the name is an animation
+		if (atlasTexturesMap != null)
 		{
-			ar = atlas.findRegion(name);
+			ar = atlasTexturesMap.get(name);
+			if (ar == null)
+			{
+				ArrayList<AtlasRegion> ars = atlasAnimationTexturesMap.get(name);
+				if (ars != null && ars.size() > 0)
+				{
+					ar = ars.get(0);
+				}
+			}
 		}
 		// search the nonAtlasTextures
 		if (ar == null && nonAtlasTexturesMap != null)
@@ -612,7 +760,7 @@ public final class LttlTextureManager extends LttlResourceManager
 	 *            up to first underscore
 	 * @param checkWorld
 	 *            should the world scene be checked if unable to find it on this scene?
-	 * @return
+	 * @return the list shared by all references, don't modify it
 	 */
 	ArrayList<AtlasRegion> findAtlasRegions(String name, boolean checkWorld)
 	{
@@ -628,8 +776,6 @@ public final class LttlTextureManager extends LttlResourceManager
 					false);
 		}
 
-		list = (list == null) ? null : new ArrayList<>(list);
-
 		return list;
 	}
 
@@ -883,6 +1029,24 @@ public final class LttlTextureManager extends LttlResourceManager
 		Lttl.logNote("Done.");
 	}
 
+	/**
+	 * @see #generation
+	 */
+	static int getGeneration()
+	{
+		return generation;
+	}
+
+	/**
+	 * Makes all resolved references search again, ran when a scene is added to or removed from the loaded scenes.
+	 * 
+	 * @see #generation
+	 */
+	static void incrementGeneration()
+	{
+		generation++;
+	}
+
 	HashMap<String, ArrayList<AtlasRegion>> getAtlasAnimationTexturesHashmap()
 	{
 		return atlasAnimationTexturesMap;
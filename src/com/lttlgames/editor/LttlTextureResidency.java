@@ -0,0 +1,552 @@
+package com.lttlgames.editor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Blending;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.Texture.TextureWrap;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.TextureData.TextureDataType;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+
+/**
+ * Packs the regions of every loaded scene's {@link LttlTextureManager} on to shared pages, so renderers from different
+ * scenes (ie. world and level) use the same texture and don't flush the batch on each texture change. Enabled with
+ * {@link LttlGameSettings#useTextureResidency}.<br>
+ * The scene's AtlasRegion objects are retargeted in place to their spot on a page, so {@link LttlTexture} references
+ * don't change. A scene's regions are appended to the pages when it's textures load, and restored to their own textures
+ * when they are disposed (scene unload or editor rebuild), leaving a hole that is only reclaimed by repacking all the
+ * regions once the holes are more than {@link LttlGameSettings#textureResidencyRepackWaste} of the pages.<br>
+ * Only clamped, non mip mapped, non rotated regions that fit on a page are packed, the others keep their own texture.
+ * Regions are grouped on pages by filter. The scenes' own textures stay loaded, and each page keeps it's pixmap, so
+ * regions can be restored and repacked without reading any files.
+ */
+final class LttlTextureResidency
+{
+	/**
+	 * each region gets a 1 pixel border that duplicates it's edge pixels, so linear filtering doesn't bleed
+	 */
+	private static final int BORDER = 1;
+
+	private final ArrayList<Group> groups = new ArrayList<Group>();
+	private final HashMap<LttlTextureManager, ArrayList<Entry>> managerEntries = new HashMap<LttlTextureManager, ArrayList<Entry>>();
+	/**
+	 * regions that were moved by the last add, remove, or repack, used to update meshes
+	 */
+	private final HashSet<AtlasRegion> moved = new HashSet<AtlasRegion>();
+
+	private static class Entry
+	{
+		AtlasRegion region;
+		Texture origTexture;
+		int origX;
+		int origY;
+		int width;
+		int height;
+
+		Page page;
+		/**
+		 * top left of the region on the page, excluding the border
+		 */
+		int x;
+		int y;
+	}
+
+	private static class Page
+	{
+		Pixmap pixmap;
+		Texture texture;
+		/**
+		 * y, height, and next x of each shelf
+		 */
+		final ArrayList<int[]> shelves = new ArrayList<int[]>();
+		int nextShelfY = 0;
+		int liveEntries = 0;
+		boolean dirty = false;
+	}
+
+	private static class Group
+	{
+		TextureFilter minFilter;
+		TextureFilter magFilter;
+		final ArrayList<Page> pages = new ArrayList<Page>();
+		/**
+		 * area (with borders) of the regions that were removed but are still on the pages
+		 */
+		long wastedArea = 0;
+	}
+
+	private static final Comparator<Entry> heightComparator = new Comparator<Entry>()
+	{
+		@Override
+		public int compare(Entry o1, Entry o2)
+		{
+			return o2.height - o1.height;
+		}
+	};
+
+	/**
+	 * Packs all of the texture manager's eligible regions on to the pages and retargets them. Does nothing if disabled
+	 * or it's already added.
+	 *
+	 * @param manager
+	 */
+	void add(LttlTextureManager manager)
+	{
+		if (!Lttl.game.getSettings().useTextureResidency
+				|| managerEntries.containsKey(manager)) return;
+
+		int pageSize = Lttl.game.getSettings().textureResidencyPageSize;
+
+		// find all the eligible regions
+		ArrayList<Entry> entries = new ArrayList<Entry>();
+		HashSet<AtlasRegion> regions = new HashSet<AtlasRegion>(
+				manager.getAllTextures(false));
+		for (ArrayList<AtlasRegion> ars : manager.getAllTextureAnimations(false))
+		{
+			regions.addAll(ars);
+		}
+		for (AtlasRegion ar : regions)
+		{
+			Texture tex = ar.getTexture();
+			if (tex == null || ar.rotate
+					|| tex.getUWrap() != TextureWrap.ClampToEdge
+					|| tex.getVWrap() != TextureWrap.ClampToEdge
+					|| tex.getTextureData().useMipMaps()
+					|| tex.getTextureData().getType() != TextureDataType.Pixmap)
+			{
+				continue;
+			}
+
+			// the region's pixels on it's texture, regions are flipped, so use the min of each
+			Entry e = new Entry();
+			e.region = ar;
+			e.origTexture = tex;
+			e.origX = Math.round(Math.min(ar.getU(), ar.getU2()) * tex.getWidth());
+			e.origY = Math.round(Math.min(ar.getV(), ar.getV2())
+					* tex.getHeight());
+			e.width = Math.round(Math.abs(ar.getU2() - ar.getU())
+					* tex.getWidth());
+			e.height = Math.round(Math.abs(ar.getV2() - ar.getV())
+					* tex.getHeight());
+			if (e.width <= 0 || e.height <= 0
+					|| e.width + BORDER * 2 > pageSize
+					|| e.height + BORDER * 2 > pageSize)
+			{
+				continue;
+			}
+			entries.add(e);
+		}
+		managerEntries.put(manager, entries);
+		if (entries.size() == 0) return;
+
+		// tallest first packs the shelves better
+		Collections.sort(entries, heightComparator);
+
+		Blending blending = Pixmap.getBlending();
+		Pixmap.setBlending(Blending.None);
+		try
+		{
+			// read each source texture's pixels once
+			HashMap<Texture, Pixmap> sources = new HashMap<Texture, Pixmap>();
+			ArrayList<Pixmap> disposeSources = new ArrayList<Pixmap>();
+			for (Entry e : entries)
+			{
+				Pixmap src = sources.get(e.origTexture);
+				if (src == null)
+				{
+					TextureData data = e.origTexture.getTextureData();
+					if (!data.isPrepared())
+					{
+						data.prepare();
+					}
+					src = data.consumePixmap();
+					if (data.disposePixmap())
+					{
+						disposeSources.add(src);
+					}
+					sources.put(e.origTexture, src);
+				}
+
+				Group group = getGroup(e.origTexture.getMinFilter(),
+						e.origTexture.getMagFilter());
+				place(group, e, pageSize);
+				drawRegion(src, e.origX, e.origY, e.width, e.height,
+						e.page.pixmap, e.x, e.y);
+			}
+			for (Pixmap p : disposeSources)
+			{
+				p.dispose();
+			}
+		}
+		finally
+		{
+			Pixmap.setBlending(blending);
+		}
+
+		moved.clear();
+		for (Entry e : entries)
+		{
+			moved.add(e.region);
+		}
+		uploadPages();
+		for (Entry e : entries)
+		{
+			retarget(e);
+		}
+		updateMeshes(-1);
+
+		if (Lttl.game.inEditor())
+		{
+			Lttl.logNote("Texture Residency: " + entries.size() + " regions of "
+					+ manager.scene.toString() + " packed, " + getPageCount()
+					+ " pages");
+		}
+	}
+
+	/**
+	 * Restores all of the texture manager's regions to their own textures, so it's textures can be disposed. Repacks
+	 * the group if too much of the pages is wasted. Ran even if disabled, in case it was disabled after adding.
+	 *
+	 * @param manager
+	 */
+	void remove(LttlTextureManager manager)
+	{
+		remove(manager, true);
+	}
+
+	private void remove(LttlTextureManager manager, boolean update)
+	{
+		ArrayList<Entry> entries = managerEntries.remove(manager);
+		if (entries == null || entries.size() == 0) return;
+
+		moved.clear();
+		for (Entry e : entries)
+		{
+			e.page.liveEntries--;
+			Group group = getGroup(e.origTexture.getMinFilter(),
+					e.origTexture.getMagFilter());
+			group.wastedArea += (e.width + BORDER * 2) * (e.height + BORDER * 2);
+			restore(e);
+		}
+		if (!update)
+		{
+			moved.clear();
+			return;
+		}
+
+		int pageSize = Lttl.game.getSettings().textureResidencyPageSize;
+		float repackWaste = Lttl.game.getSettings().textureResidencyRepackWaste;
+		for (int i = groups.size() - 1; i >= 0; i--)
+		{
+			Group group = groups.get(i);
+			boolean empty = true;
+			for (Page page : group.pages)
+			{
+				if (page.liveEntries > 0)
+				{
+					empty = false;
+					break;
+				}
+			}
+			if (empty)
+			{
+				disposePages(group.pages);
+				groups.remove(i);
+			}
+			else if (group.wastedArea > (long) pageSize * pageSize
+					* group.pages.size() * repackWaste)
+			{
+				repack(group, pageSize);
+			}
+		}
+
+		// updates the removed regions too, since they might be used by another scene's renderers, but not the
+		// manager's own scene, since it's being unloaded or refreshed
+		updateMeshes(manager.scene.getId());
+	}
+
+	/**
+	 * Packs the group's remaining regions on to new pages, copying from the old pages. Regions that no longer fit
+	 * because the page size setting shrank are restored to their own textures.
+	 */
+	private void repack(Group group, int pageSize)
+	{
+		ArrayList<Entry> entries = new ArrayList<Entry>();
+		for (ArrayList<Entry> list : managerEntries.values())
+		{
+			for (Entry e : list)
+			{
+				if (e.page != null && group.pages.contains(e.page))
+				{
+					entries.add(e);
+				}
+			}
+		}
+		Collections.sort(entries, heightComparator);
+
+		ArrayList<Page> oldPages = new ArrayList<Page>(group.pages);
+		group.pages.clear();
+		group.wastedArea = 0;
+
+		ArrayList<Entry> dropped = new ArrayList<Entry>();
+		Blending blending = Pixmap.getBlending();
+		Pixmap.setBlending(Blending.None);
+		try
+		{
+			for (Entry e : entries)
+			{
+				Pixmap src = e.page.pixmap;
+				int srcX = e.x - BORDER;
+				int srcY = e.y - BORDER;
+				if (!place(group, e, pageSize))
+				{
+					restore(e);
+					dropped.add(e);
+					continue;
+				}
+				// copies the border too
+				e.page.pixmap.drawPixmap(src, srcX, srcY, e.width + BORDER * 2,
+						e.height + BORDER * 2, e.x - BORDER, e.y - BORDER);
+				moved.add(e.region);
+			}
+		}
+		finally
+		{
+			Pixmap.setBlending(blending);
+		}
+
+		if (dropped.size() > 0)
+		{
+			entries.removeAll(dropped);
+			for (ArrayList<Entry> list : managerEntries.values())
+			{
+				list.removeAll(dropped);
+			}
+		}
+
+		uploadPages();
+		for (Entry e : entries)
+		{
+			retarget(e);
+		}
+		disposePages(oldPages);
+
+		if (Lttl.game.inEditor())
+		{
+			Lttl.logNote("Texture Residency: repacked " + entries.size()
+					+ " regions, " + getPageCount() + " pages");
+		}
+	}
+
+	/**
+	 * Finds a spot for the entry on the group's pages, adding a page if needed, and sets it on the entry.
+	 *
+	 * @return false if the entry is bigger than a page, the entry is not changed
+	 */
+	private boolean place(Group group, Entry e, int pageSize)
+	{
+		int w = e.width + BORDER * 2;
+		int h = e.height + BORDER * 2;
+		if (w > pageSize || h > pageSize) return false;
+		for (Page page : group.pages)
+		{
+			if (place(page, e, w, h)) return true;
+		}
+
+		Page page = new Page();
+		page.pixmap = new Pixmap(pageSize, pageSize, Format.RGBA8888);
+		page.pixmap.setColor(0, 0, 0, 0);
+		page.pixmap.fill();
+		group.pages.add(page);
+		return place(page, e, w, h);
+	}
+
+	/**
+	 * @return if placed on the page, on the shortest shelf it fits on, or a new shelf
+	 */
+	private boolean place(Page page, Entry e, int w, int h)
+	{
+		// the page size setting may have changed since the page was made
+		int pageSize = page.pixmap.getWidth();
+		int[] best = null;
+		for (int[] shelf : page.shelves)
+		{
+			if (shelf[1] >= h && shelf[2] + w <= pageSize
+					&& (best == null || shelf[1] < best[1]))
+			{
+				best = shelf;
+			}
+		}
+		if (best == null)
+		{
+			if (page.nextShelfY + h > pageSize) return false;
+			best = new int[]
+			{ page.nextShelfY, h, 0 };
+			page.shelves.add(best);
+			page.nextShelfY += h;
+		}
+
+		e.page = page;
+		e.x = best[2] + BORDER;
+		e.y = best[0] + BORDER;
+		best[2] += w;
+		page.liveEntries++;
+		page.dirty = true;
+		return true;
+	}
+
+	/**
+	 * Draws the region and duplicates it's edges in to the border around it.
+	 */
+	private void drawRegion(Pixmap src, int srcX, int srcY, int w, int h,
+			Pixmap dst, int x, int y)
+	{
+		int right = srcX + w - 1;
+		int bottom = srcY + h - 1;
+		dst.drawPixmap(src, srcX, srcY, w, h, x, y);
+		// sides
+		dst.drawPixmap(src, srcX, srcY, w, 1, x, y - 1);
+		dst.drawPixmap(src, srcX, bottom, w, 1, x, y + h);
+		dst.drawPixmap(src, srcX, srcY, 1, h, x - 1, y);
+		dst.drawPixmap(src, right, srcY, 1, h, x + w, y);
+		// corners
+		dst.drawPixmap(src, srcX, srcY, 1, 1, x - 1, y - 1);
+		dst.drawPixmap(src, right, srcY, 1, 1, x + w, y - 1);
+		dst.drawPixmap(src, srcX, bottom, 1, 1, x - 1, y + h);
+		dst.drawPixmap(src, right, bottom, 1, 1, x + w, y + h);
+	}
+
+	/**
+	 * Puts the entry's region back on it's own texture, flipped like when it was loaded.
+	 */
+	private void restore(Entry e)
+	{
+		e.region.setTexture(e.origTexture);
+		e.region.setRegion(e.origX, e.origY, e.width, e.height);
+		e.region.flip(false, true);
+		moved.add(e.region);
+		e.page = null;
+	}
+
+	private void retarget(Entry e)
+	{
+		e.region.setTexture(e.page.texture);
+		e.region.setRegion(e.x, e.y, e.width, e.height);
+		e.region.flip(false, true);
+	}
+
+	/**
+	 * Creates or reuploads the textures of the pages that were drawn on.
+	 */
+	private void uploadPages()
+	{
+		for (Group group : groups)
+		{
+			for (Page page : group.pages)
+			{
+				if (!page.dirty) continue;
+				page.dirty = false;
+				if (page.texture == null)
+				{
+					page.texture = new Texture(page.pixmap);
+					page.texture.setFilter(group.minFilter, group.magFilter);
+					page.texture.setWrap(TextureWrap.ClampToEdge,
+							TextureWrap.ClampToEdge);
+				}
+				else
+				{
+					page.texture.draw(page.pixmap, 0, 0);
+				}
+			}
+		}
+	}
+
+	private void disposePages(ArrayList<Page> pages)
+	{
+		for (Page page : pages)
+		{
+			if (page.texture != null)
+			{
+				page.texture.dispose();
+			}
+			page.pixmap.dispose();
+		}
+		pages.clear();
+	}
+
+	private Group getGroup(TextureFilter minFilter, TextureFilter magFilter)
+	{
+		for (Group group : groups)
+		{
+			if (group.minFilter == minFilter && group.magFilter == magFilter) return group;
+		}
+		Group group = new Group();
+		group.minFilter = minFilter;
+		group.magFilter = magFilter;
+		groups.add(group);
+		return group;
+	}
+
+	/**
+	 * Updates the meshes that use any of the moved regions, since their UVs changed.
+	 *
+	 * @param skipSceneId
+	 *            meshes on this scene are not updated, -1 for none
+	 */
+	private void updateMeshes(int skipSceneId)
+	{
+		if (moved.size() == 0) return;
+
+		for (LttlMeshGenerator mg : Lttl.scenes.findComponentsAllScenes(
+				LttlMeshGenerator.class, true))
+		{
+			LttlRenderer r = mg.r();
+			if (r != null && r.getMesh() != null
+					&& mg.getSceneId() != skipSceneId
+					&& (moved.contains(r.getTex0().getAR()) || moved
+							.contains(r.getTex1().getAR())))
+			{
+				mg.updateMesh();
+			}
+		}
+		moved.clear();
+	}
+
+	/**
+	 * @return the number of shared pages
+	 */
+	int getPageCount()
+	{
+		int count = 0;
+		for (Group group : groups)
+		{
+			count += group.pages.size();
+		}
+		return count;
+	}
+
+	/**
+	 * Restores every region and disposes all the pages, without updating any meshes.
+	 */
+	void dispose()
+	{
+		for (LttlTextureManager manager : new ArrayList<LttlTextureManager>(
+				managerEntries.keySet()))
+		{
+			remove(manager, false);
+		}
+		for (Group group : groups)
+		{
+			disposePages(group.pages);
+		}
+		groups.clear();
+	}
+}
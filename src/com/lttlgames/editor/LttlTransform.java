@@ -38,7 +38,7 @@ import com.lttlgames.tweenengine.Timeline;
 import com.lttlgames.tweenengine.Tween;
 import com.lttlgames.tweenengine.TweenGetterSetter;
 
-//17
+//18
 @ComponentLimitOne
 @GuiHideComponentList
 @Persist(-9020)
@@ -184,6 +184,10 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 	@GuiCallback("guiSetWorldZpos")
 	float worldZpos = 0;
 	float lastF_worldZpos = Float.POSITIVE_INFINITY; // force change
+	/**
+	 * index in {@link LoopManager#transformsOrdered}, only accurate after {@link LoopManager#updateZOrderIndexes()}
+	 */
+	int zOrderIndex = -1;
 
 	@Persist(9020015)
 	public SelectionOptions selectionOptions = new SelectionOptions();
@@ -193,6 +197,31 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 	 */
 	@Persist(902007)
 	public boolean unPauseable = false;
+	/**
+	 * If true, while playing, this transform's local values (position, scale, rotation, shear, origin, and zPos) are
+	 * not checked for changes every frame when staging. It only updates when {@link #markDirty()} is called (the world
+	 * setters, this transform's tweens, and the physics body do this), or when it's parent changes. Good for backgrounds and other objects that
+	 * never move.<br>
+	 * If this transform and all it's descendants are static, staging skips the whole subtree, so changing a renderer's
+	 * alpha directly on one of them also needs {@link #markDirty()} (enabling, disabling, reparenting, and
+	 * {@link LttlRenderer#tweenAlphaTo(float, float)} do this).
+	 */
+	@Persist(9020018)
+	public boolean staticTransform = false;
+	/**
+	 * if true, a {@link #staticTransform} will check it's local values for changes on next update, and it is in
+	 * {@link LoopManager#dirtyTransforms}
+	 */
+	boolean stageDirty = false;
+	/**
+	 * if true, this transform or one of it's descendants was marked dirty since this transform was last staged
+	 */
+	boolean subtreeDirty = false;
+	/**
+	 * if true, when this transform was last staged, it and all of it's descendants were static and had nothing else
+	 * to update, so while playing staging skips the whole subtree until it or a descendant is marked dirty
+	 */
+	boolean staticSubtree = false;
 
 	{
 		// default open
@@ -412,7 +441,7 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 
 		// LIST CLEAN UP
 		// remove from LoopManager's z ordered list (preventing any rendering)
-		Lttl.loop.transformsOrdered.remove(this);
+		Lttl.loop.removeTransformZindex(this);
 		// remove from it's scene's transform hierarchy (top level) if it is there
 		getSceneCore().transformHiearchy.remove(this);
 
@@ -578,6 +607,8 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 	{
 		// need to use a tmp vector2, because if updating world values, need accurate position vector
 		position.set(worldToLocalPosition(tmpV2.set(x, y), true));
+		// after the assignment, since updating the world values above cleans it
+		markDirty();
 	}
 
 	/**
@@ -617,6 +648,7 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 		if (!maintainPosition)
 		{
 			originRenderMesh.set(x, y);
+			markDirty();
 		}
 		else
 		{
@@ -648,6 +680,7 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 		}
 
 		originRenderMesh.set(worldToRenderPosition(tmp1, false));
+		markDirty();
 
 		if (maintainPosition)
 		{
@@ -679,6 +712,7 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 	public void setWorldzPos(float p_worldZPos)
 	{
 		zPos = worldToLocalZPos(p_worldZPos, true);
+		markDirty();
 	}
 
 	/**
@@ -689,6 +723,7 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 	public void setWorldRotation(float p_worldRotation)
 	{
 		rotation = worldToLocalRotation(p_worldRotation, true);
+		markDirty();
 	}
 
 	/**
@@ -700,6 +735,7 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 	public void setWorldScale(float x, float y)
 	{
 		worldToLocalScale(scale.set(x, y), true);
+		markDirty();
 	}
 
 	/**
@@ -721,6 +757,7 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 	public void setWorldShear(float x, float y)
 	{
 		worldToLocalShear(shear.set(x, y), true);
+		markDirty();
 	}
 
 	/**
@@ -744,16 +781,32 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 	 *            transform creation first time.
 	 */
 	void updateTransforms(boolean forceUpdate)
+	{
+		updateTransforms(forceUpdate, null);
+	}
+
+	/**
+	 * @param forceUpdate
+	 * @param deferredCallbacks
+	 *            if not null, the renderer's onWorldTransformChange() is not called, this transform is added to the list
+	 *            instead so it can be called later on the main thread (used by parallel staging)
+	 * @see #updateTransforms(boolean)
+	 */
+	void updateTransforms(boolean forceUpdate,
+			ArrayList<LttlTransform> deferredCallbacks)
 	{
 		// only update local transform if local changes were made or if it is suppose to be
 		// ignoringCameraTransformations and camera has changed
 		boolean localTransformChange = false;
-		if (forceUpdate || !position.equals(oldPosition)
-				|| rotation != oldRotation
-				|| !scale.equals(oldScale)
-				|| !shear.equals(oldShear)
-				|| zPos != oldzPos
-				|| !originRenderMesh.equals(oldOrigin)
+		if (forceUpdate
+				// static transforms only check their local values when marked dirty
+				|| ((stageDirty || !staticTransform || !Lttl.game.isPlaying()) && (!position
+						.equals(oldPosition)
+						|| rotation != oldRotation
+						|| !scale.equals(oldScale)
+						|| !shear.equals(oldShear)
+						|| zPos != oldzPos || !originRenderMesh
+							.equals(oldOrigin)))
 				|| (getParent() == null && lastParentId != -1)
 				|| (getParent() != null && lastParentId != getParent().getId())
 				// if parentTransformChanged, only need to update if this transform has some rotation or shear, since
@@ -773,7 +826,7 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 			LttlProfiler.transformWorldUpdates.add();
 
 			modifiedId++;
-			updateWorldTransform();
+			updateWorldTransform(deferredCallbacks);
 			updateWorldValuesInternal();
 
 			// mark all children to force them to update their transform because the parent's world transform did
@@ -790,6 +843,27 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 
 		// reset
 		parentTransformChanged = false;
+		stageDirty = false;
+	}
+
+	/**
+	 * Marks this transform's local values as changed. Only needed on a {@link #staticTransform} after modifying
+	 * position, scale, rotation, shear, origin, or zPos directly.
+	 */
+	public void markDirty()
+	{
+		if (!stageDirty)
+		{
+			stageDirty = true;
+			Lttl.loop.dirtyTransforms.add(this);
+		}
+
+		// flag the parents so staging does not skip this transform's static parents
+		for (LttlTransform lt = this; lt != null && !lt.subtreeDirty; lt = lt
+				.getParent())
+		{
+			lt.subtreeDirty = true;
+		}
 	}
 
 	/**
@@ -845,8 +919,11 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 
 	/**
 	 * only ran when there is a change
+	 * 
+	 * @param deferredCallbacks
+	 *            if not null, adds self to it instead of calling the renderer's world transform change callback
 	 */
-	private void updateWorldTransform()
+	private void updateWorldTransform(ArrayList<LttlTransform> deferredCallbacks)
 	{
 		if (getParent() != null)
 		{
@@ -864,7 +941,14 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 
 		if (r() != null)
 		{
-			r().onWorldTransformChange();
+			if (deferredCallbacks != null)
+			{
+				deferredCallbacks.add(this);
+			}
+			else
+			{
+				r().onWorldTransformChange();
+			}
 		}
 	}
 
@@ -1123,6 +1207,8 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 		{
 			scene.transformHiearchy.add(this);
 		}
+		Lttl.scenes.callbackDispatcher.markDirty();
+		markDirty();
 
 		// remove transform from GUI tree, now that it has been removed from parent or scene hiearchy
 		// dont do this if it is being destroyed, since it was already removed
@@ -1724,13 +1810,21 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 			public void set(float[] values)
 			{
 				LttlTransform.this.rotation = values[0];
+				markDirty();
 			}
 
 			@Override
 			public float[] get()
 			{
-				return new float[]
-				{ LttlTransform.this.rotation };
+				return get(null);
+			}
+
+			@Override
+			public float[] get(float[] result)
+			{
+				result = ensureLength(result, 1);
+				result[0] = LttlTransform.this.rotation;
+				return result;
 			}
 		}, duration).target(targetRotation);
 	}
@@ -1750,13 +1844,21 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 			public void set(float[] values)
 			{
 				LttlTransform.this.zPos = values[0];
+				markDirty();
 			}
 
 			@Override
 			public float[] get()
 			{
-				return new float[]
-				{ LttlTransform.this.zPos };
+				return get(null);
+			}
+
+			@Override
+			public float[] get(float[] result)
+			{
+				result = ensureLength(result, 1);
+				result[0] = LttlTransform.this.zPos;
+				return result;
 			}
 		}, duration).target(targetZPos);
 	}
@@ -2101,13 +2203,21 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 								public void set(float[] values)
 								{
 									zPos = values[0];
+									markDirty();
 								}
 
 								@Override
 								public float[] get()
 								{
-									return new float[]
-									{ zPos };
+									return get(null);
+								}
+
+								@Override
+								public float[] get(float[] result)
+								{
+									result = ensureLength(result, 1);
+									result[0] = zPos;
+									return result;
 								}
 							});
 					break;
@@ -2122,13 +2232,21 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 								public void set(float[] values)
 								{
 									rotation = values[0];
+									markDirty();
 								}
 
 								@Override
 								public float[] get()
 								{
-									return new float[]
-									{ rotation };
+									return get(null);
+								}
+
+								@Override
+								public float[] get(float[] result)
+								{
+									result = ensureLength(result, 1);
+									result[0] = rotation;
+									return result;
 								}
 							});
 					break;
@@ -2150,6 +2268,7 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 	public void moveChildOrder(int start, int dest)
 	{
 		LttlHelper.MoveItemArrayList(children, start, dest);
+		Lttl.scenes.callbackDispatcher.markDirty();
 	}
 
 	/**
@@ -2163,6 +2282,7 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 	public void moveComponentOrder(int start, int dest)
 	{
 		LttlHelper.MoveItemArrayList(components, start, dest);
+		Lttl.scenes.callbackDispatcher.markDirty();
 	}
 
 	/**
@@ -2272,6 +2392,7 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 	void onGuiChange(LttlTransformChangeType changeType, boolean handle,
 			LttlTransform sourceTransform)
 	{
+		markDirty();
 		if (guiListeners != null)
 		{
 			for (GuiTransformListener g : guiListeners)
@@ -2895,6 +3016,7 @@ public final class LttlTransform extends LttlComponent implements LttlAnimated
 	{
 		if (!Lttl.game.inEditor()) return;
 		this.altSelectionBounds = alt;
+		Lttl.loop.spatialIndex.setAlternateSelection(this, alt != null);
 	}
 
 	/**
@@ -254,8 +254,9 @@ public final class LttlTween
 			Vector2 tweenedVector, float targetX, float targetY, float duration)
 	{
 		return Tween.to(hostComponent,
-				TweenGetterSetter.getVector2(tweenedVector), duration).target(
-				targetX, targetY);
+				markDirtyOnSet(hostComponent,
+						TweenGetterSetter.getVector2(tweenedVector)), duration)
+				.target(targetX, targetY);
 	}
 
 	/**
@@ -297,10 +298,50 @@ public final class LttlTween
 		{
 			Lttl.Throw("Property out of range.");
 		}
-		return Tween
-				.to(hostComponent,
-						TweenGetterSetter.getVector2(tweenedVector, property),
-						duration).target(targetValue);
+		return Tween.to(
+				hostComponent,
+				markDirtyOnSet(hostComponent,
+						TweenGetterSetter.getVector2(tweenedVector, property)),
+				duration).target(targetValue);
+	}
+
+	/**
+	 * If the host is a transform, it's probably one of it's vectors being tweened, so it is marked dirty on each set
+	 * (see {@link LttlTransform#staticTransform}).
+	 */
+	private TweenGetterSetter markDirtyOnSet(LttlComponent hostComponent,
+			final TweenGetterSetter getterSetter)
+	{
+		if (!(hostComponent instanceof LttlTransform)) return getterSetter;
+
+		final LttlTransform transform = (LttlTransform) hostComponent;
+		return new TweenGetterSetter()
+		{
+			@Override
+			public void set(float[] values)
+			{
+				getterSetter.set(values);
+				transform.markDirty();
+			}
+
+			@Override
+			public float[] get()
+			{
+				return getterSetter.get();
+			}
+
+			@Override
+			public float[] get(float[] result)
+			{
+				return getterSetter.get(result);
+			}
+
+			@Override
+			public Object getTarget()
+			{
+				return getterSetter.getTarget();
+			}
+		};
 	}
 
 	/**
@@ -0,0 +1,178 @@
+package com.lttlgames.editor;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.badlogic.gdx.math.Matrix3;
+import com.lttlgames.graphics.LttlMesh;
+import com.lttlgames.helpers.LttlFrameProfiler;
+
+/**
+ * Transforms the world vertices of many pre multiplied meshes at once, before a view renders, so the render loop finds
+ * them already updated. Each mesh is split in chunks of {@link #CHUNK_VERTICES}, which are transformed in parallel on
+ * the staging fork join pool when there are at least {@link LttlGameSettings#parallelWorldVerticesMin} vertices,
+ * otherwise on the main thread. Each chunk writes straight into it's own range of the mesh's world vertices (sized on the main
+ * thread by {@link LttlMesh#prepareWorldVertices()}) and the transform uses no temporaries, so nothing is shared
+ * between threads.
+ */
+final class LttlWorldVertexTransformer
+{
+	static final int CHUNK_VERTICES = 1024;
+
+	/* CHUNKS */
+	private LttlMesh[] meshes = new LttlMesh[64];
+	/**
+	 * the world render transform values of each chunk's mesh, they don't change while rendering
+	 */
+	private float[][] transforms = new float[64][];
+	private int[] starts = new int[64];
+	private int[] ends = new int[64];
+	private int chunkCount = 0;
+	private int vertexCount = 0;
+
+	private final ArrayList<ChunkTask> tasks = new ArrayList<ChunkTask>();
+	private final RecursiveAction allTask = new RecursiveAction()
+	{
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected void compute()
+		{
+			invokeAll(tasks);
+		}
+	};
+
+	private class ChunkTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		int start;
+		int end;
+
+		@Override
+		protected void compute()
+		{
+			for (int i = start; i < end; i++)
+			{
+				transformChunk(i);
+			}
+		}
+	}
+
+	/**
+	 * Adds the mesh to be transformed by the next {@link #run(ForkJoinPool)}, sizing it's world vertices now.
+	 *
+	 * @param mesh
+	 * @param worldRenderTransform
+	 */
+	void add(LttlMesh mesh, Matrix3 worldRenderTransform)
+	{
+		mesh.prepareWorldVertices();
+		int count = mesh.getVertexCount();
+		vertexCount += count;
+
+		// always at least one chunk, so the AA offsets get transformed
+		int start = 0;
+		do
+		{
+			if (chunkCount == meshes.length)
+			{
+				grow();
+			}
+			meshes[chunkCount] = mesh;
+			transforms[chunkCount] = worldRenderTransform.val;
+			starts[chunkCount] = start;
+			ends[chunkCount] = Math.min(start + CHUNK_VERTICES, count);
+			chunkCount++;
+			start += CHUNK_VERTICES;
+		}
+		while (start < count);
+	}
+
+	/**
+	 * Transforms all the added meshes and clears them, returns once all are done.
+	 *
+	 * @param pool
+	 *            ran on if there are enough vertices
+	 */
+	void run(ForkJoinPool pool)
+	{
+		if (chunkCount == 0) return;
+
+		LttlFrameProfiler.begin("World Vertices");
+		try
+		{
+			int min = Lttl.game.getSettings().parallelWorldVerticesMin;
+			if (chunkCount > 1 && min > 0 && vertexCount >= min
+					&& Runtime.getRuntime().availableProcessors() > 1)
+			{
+				// a few tasks per thread, so they balance out
+				int taskCount = Math.min(chunkCount, pool.getParallelism() * 4);
+				while (tasks.size() > taskCount)
+				{
+					tasks.remove(tasks.size() - 1);
+				}
+				while (tasks.size() < taskCount)
+				{
+					tasks.add(new ChunkTask());
+				}
+				for (int i = 0; i < taskCount; i++)
+				{
+					ChunkTask task = tasks.get(i);
+					task.reinitialize();
+					task.start = chunkCount * i / taskCount;
+					task.end = chunkCount * (i + 1) / taskCount;
+				}
+
+				allTask.reinitialize();
+				pool.invoke(allTask);
+			}
+			else
+			{
+				for (int i = 0; i < chunkCount; i++)
+				{
+					transformChunk(i);
+				}
+			}
+		}
+		finally
+		{
+			for (int i = 0; i < chunkCount; i++)
+			{
+				meshes[i] = null;
+				transforms[i] = null;
+			}
+			chunkCount = 0;
+			vertexCount = 0;
+			LttlFrameProfiler.end();
+		}
+	}
+
+	private void transformChunk(int i)
+	{
+		LttlMesh mesh = meshes[i];
+		mesh.transformWorldVertices(transforms[i], starts[i], ends[i]);
+		if (starts[i] == 0)
+		{
+			mesh.transformWorldAAOffsets(transforms[i]);
+		}
+	}
+
+	private void grow()
+	{
+		int size = meshes.length * 2;
+		LttlMesh[] newMeshes = new LttlMesh[size];
+		System.arraycopy(meshes, 0, newMeshes, 0, chunkCount);
+		meshes = newMeshes;
+		float[][] newTransforms = new float[size][];
+		System.arraycopy(transforms, 0, newTransforms, 0, chunkCount);
+		transforms = newTransforms;
+		int[] newStarts = new int[size];
+		System.arraycopy(starts, 0, newStarts, 0, chunkCount);
+		starts = newStarts;
+		int[] newEnds = new int[size];
+		System.arraycopy(ends, 0, newEnds, 0, chunkCount);
+		ends = newEnds;
+	}
+}
@@ -1,6 +1,12 @@
 package com.lttlgames.editor;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Matrix4;
@@ -20,10 +26,11 @@ import com.badlogic.gdx.physics.box2d.Filter;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.Manifold;
 import com.badlogic.gdx.physics.box2d.PolygonShape;
-import com.badlogic.gdx.physics.box2d.QueryCallback;
 import com.badlogic.gdx.physics.box2d.World;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
 import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
 import com.badlogic.gdx.utils.Pool;
 import com.lttlgames.components.MouseJointSettings;
 import com.lttlgames.components.interfaces.MouseListener;
@@ -37,9 +44,10 @@ import com.lttlgames.editor.annotations.GuiReadOnly;
 import com.lttlgames.editor.annotations.GuiShow;
 import com.lttlgames.editor.annotations.Persist;
 import com.lttlgames.helpers.LttlClosure;
+import com.lttlgames.helpers.LttlFrameProfiler;
 import com.lttlgames.helpers.LttlHelper;
 
-//15
+//18
 @Persist(-9092)
 public class PhysicsController implements ContactListener
 {
@@ -74,6 +82,39 @@ public class PhysicsController implements ContactListener
 	@GuiGroup("Step")
 	@Persist(9092013)
 	public boolean enableZeroStep = false;
+	/**
+	 * Each frame, sets the transforms of bodies with {@link LttlPhysicsBody#bodyToTransform} (and not
+	 * {@link LttlPhysicsBody#transformToBody}) between their last two steps, based on how far the frame is into the next
+	 * fixed step. This removes the stutter when the frame rate does not match the fixed delta time, but the transforms
+	 * are up to one step behind their bodies. With {@link #threadedStep}, the states are recorded on the step thread
+	 * when the step finishes, and interpolating waits for it.
+	 */
+	@GuiGroup("Step")
+	@Persist(9092016)
+	public boolean interpolate = false;
+	/**
+	 * Runs the last step of each frame on a separate thread, so it runs while the rest of the frame (updates, staging,
+	 * and rendering) does. The step is finished at the beginning of the next frame's fixed updates, where it's contact
+	 * callbacks, after step closures, and {@link LttlComponent#onLateFixedUpdate()} run on the main thread in the order
+	 * they happened, so they are a frame late. {@link #getWorld()} and {@link LttlPhysicsBody#getBody()} wait for the
+	 * step to finish if it is still running.<br>
+	 * Contacts that begin and end in the same step are not called back, and the contact given to
+	 * {@link PhysicsListener#endContact(LttlPhysicsBody, Contact)} has already been destroyed, so it only has the values
+	 * saved when it ended (see {@link LttlContact}). Steps are not threaded while a body has {@link LttlPhysicsBody#callbackSolve}, since pre and post solve
+	 * need to run during the step.
+	 */
+	@GuiGroup("Step")
+	@Persist(9092017)
+	public boolean threadedStep = false;
+	/**
+	 * Keeps the results of each {@link LttlPhysicsQuery} until the next step, so identical queries (same request and
+	 * filter) ran during the same step only copy them. Bodies moved since the step (ie.
+	 * {@link LttlPhysicsBody#transformToBody}) won't be seen by the cached queries, see
+	 * {@link LttlPhysicsQuery#useCache}.
+	 */
+	@GuiGroup("Queries")
+	@Persist(9092018)
+	public boolean cacheQueries = false;
 
 	/**
 	 * default settings for mouse joints
@@ -146,6 +187,11 @@ public class PhysicsController implements ContactListener
 	private int stepCount = 0;
 	private Array<LttlPhysicsFixture> fixtureCompsArray = new Array<LttlPhysicsFixture>(
 			false, 2);
+	private final LttlPhysicsQueries queries = new LttlPhysicsQueries(this);
+	/**
+	 * used by the getFixtureComponentsOverlap methods
+	 */
+	private final LttlPhysicsQuery sharedQuery = new LttlPhysicsQuery();
 	private ArrayList<LttlClosure> queueEndContacts = new ArrayList<LttlClosure>(
 			0);
 	private Body staticBody;
@@ -167,12 +213,54 @@ public class PhysicsController implements ContactListener
 	 */
 	private boolean isQueueEndContacts = false;
 
+	/* THREADED STEP */
+	private static final int CONTACT_BEGIN = 0;
+	private static final int CONTACT_UPDATE = 1;
+	private static final int CONTACT_END = 2;
+
+	/**
+	 * a contact callback that happened on the step thread
+	 */
+	private static final class ContactEvent
+	{
+		int type;
+		LttlContact contact;
+	}
+
+	private static ExecutorService stepExecutor;
+	private static volatile Thread stepThread;
+	private volatile Future<?> runningStep;
+	private boolean threadedStepPending = false;
+	private final ArrayList<ContactEvent> contactEvents = new ArrayList<ContactEvent>();
+	private int contactEventCount = 0;
+	private final Array<Body> stepThreadBodies = new Array<Body>(0);
+	private final IdentityMap<LttlContact, Boolean> cancelledContacts = new IdentityMap<LttlContact, Boolean>();
+
+	/**
+	 * native contact address -> it's contact, for the contacts that have begun and not ended
+	 */
+	private final LongMap<LttlContact> contacts = new LongMap<LttlContact>();
+
+	/* INTERPOLATION */
+	private final Array<LttlPhysicsBody> interpolatedBodies = new Array<LttlPhysicsBody>(
+			false, 8);
+	private final Comparator<LttlPhysicsBody> depthComparator = new Comparator<LttlPhysicsBody>()
+	{
+		@Override
+		public int compare(LttlPhysicsBody o1, LttlPhysicsBody o2)
+		{
+			return o1.interpolationDepth - o2.interpolationDepth;
+		}
+	};
+
 	/**
 	 * private, guarantees a world always exists
 	 */
 	private void destroyWorld()
 	{
 		if (world == null) return;
+		cancelThreadedStep();
+		queries.clearCache();
 
 		Array<Body> bodies = new Array<Body>(world.getBodyCount());
 		world.getBodies(bodies);
@@ -181,13 +269,14 @@ public class PhysicsController implements ContactListener
 		{
 			LttlPhysicsBody.getComp(b).destroyPhysics();
 		}
+		contacts.clear();
 	}
 
 	@SuppressWarnings("unused")
 	private void onGuiGravity()
 	{
 		if (world == null) return;
-		world.setGravity(gravity);
+		getWorld().setGravity(gravity);
 	}
 
 	@GuiButton
@@ -222,11 +311,13 @@ public class PhysicsController implements ContactListener
 
 	public World getWorld()
 	{
+		waitForStep();
 		return world;
 	}
 
 	void step(boolean isZero)
 	{
+		queries.clearCache();
 		isStepping = true;
 		if (isZero)
 		{
@@ -248,6 +339,328 @@ public class PhysicsController implements ContactListener
 
 		// bleh
 		processQueuedEndContacts();
+
+		if (!isZero)
+		{
+			recordStepStates(bodiesContainerShared);
+		}
+	}
+
+	/**
+	 * @return if {@link #threadedStep} is enabled and no body needs solve callbacks during the step
+	 */
+	boolean canStepThreaded()
+	{
+		if (!threadedStep) return false;
+
+		getWorld().getBodies(bodiesContainerShared);
+		for (Body b : bodiesContainerShared)
+		{
+			LttlPhysicsBody bodyComp = LttlPhysicsBody.getComp(b);
+			if (bodyComp != null && bodyComp.callbackSolve
+					&& bodyComp.isEnabled()) { return false; }
+		}
+		return true;
+	}
+
+	/**
+	 * Starts a step on the step thread, it is finished by {@link #finishThreadedStep()}.
+	 */
+	void startThreadedStep()
+	{
+		if (stepExecutor == null)
+		{
+			stepExecutor = Executors
+					.newSingleThreadExecutor(new ThreadFactory()
+					{
+						@Override
+						public Thread newThread(Runnable r)
+						{
+							Thread thread = new Thread(r, "Physics Step");
+							thread.setDaemon(true);
+							stepThread = thread;
+							return thread;
+						}
+					});
+		}
+
+		stepCount++;
+		queries.clearCache();
+		contactEventCount = 0;
+		threadedStepPending = true;
+		final World stepWorld = world;
+		final float deltaTime = Lttl.game.getSettings().fixedDeltaTime;
+		final int stepVelocityIterations = velocityIterations;
+		final int stepPositionIterations = positionIterations;
+		runningStep = stepExecutor.submit(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				long start = LttlFrameProfiler.isRecording() ? System
+						.nanoTime() : 0;
+				stepWorld.step(deltaTime, stepVelocityIterations,
+						stepPositionIterations);
+				// when it finishes, not when the main thread gets to it
+				recordStepStates(stepThreadBodies);
+				if (start != 0)
+				{
+					LttlFrameProfiler.record("Physics Step", start,
+							System.nanoTime());
+				}
+			}
+		});
+	}
+
+	/**
+	 * Waits for a step running on the step thread to finish, does not process it's callbacks (see
+	 * {@link #finishThreadedStep()}).
+	 */
+	public void waitForStep()
+	{
+		if (runningStep == null || Thread.currentThread() == stepThread) return;
+
+		// only cleared after the step is done, so anything that checks it while waiting still sees it running
+		Future<?> step = runningStep;
+		try
+		{
+			step.get();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		catch (ExecutionException e)
+		{
+			Lttl.Throw(new RuntimeException("Physics step failed on the step thread.",
+					e.getCause()));
+		}
+		finally
+		{
+			if (runningStep == step)
+			{
+				runningStep = null;
+			}
+		}
+	}
+
+	/**
+	 * Finishes the step started by {@link #startThreadedStep()} if there is one, then runs it's contact callbacks, after
+	 * step closures, and {@link LttlComponent#onLateFixedUpdate()} (updating the transforms from the bodies).
+	 */
+	void finishThreadedStep()
+	{
+		if (!threadedStepPending) return;
+		threadedStepPending = false;
+		waitForStep();
+
+		// callbacks that register after step closures should run after them, same as during a step
+		isStepping = true;
+		replayContactEvents();
+		isStepping = false;
+		processAfterStepClosures();
+		processQueuedEndContacts();
+
+		shouldUpdateBodyToTransform = true;
+		Lttl.scenes.callBackScenes(ComponentCallBackType.onLateFixedUpdate);
+		shouldUpdateBodyToTransform = false;
+	}
+
+	/**
+	 * Waits for the threaded step and runs the contact callbacks it queued, the rest of it is still finished by
+	 * {@link #finishThreadedStep()}. Ran before a body or fixture is destroyed, since destroying it ends it's contacts
+	 * right away, and the queued begin contacts would then add contacts that no longer exist.
+	 */
+	void flushThreadedStep()
+	{
+		// already replaying them
+		if (!threadedStepPending || isStepping) return;
+		waitForStep();
+
+		isStepping = true;
+		replayContactEvents();
+		isStepping = false;
+	}
+
+	/**
+	 * Waits for the threaded step and drops it's callbacks, ran before the world is destroyed.
+	 */
+	private void cancelThreadedStep()
+	{
+		waitForStep();
+		threadedStepPending = false;
+		clearContactEvents();
+	}
+
+	private void clearContactEvents()
+	{
+		for (int i = 0; i < contactEventCount; i++)
+		{
+			contactEvents.get(i).contact = null;
+		}
+		contactEventCount = 0;
+	}
+
+	/**
+	 * the step thread only ever runs steps, so any callback on it is from a threaded step, even while the main thread is
+	 * waiting for it
+	 */
+	private boolean isStepThread()
+	{
+		return Thread.currentThread() == stepThread;
+	}
+
+	private void queueContactEvent(int type, LttlContact contact)
+	{
+		if (contactEventCount == contactEvents.size())
+		{
+			contactEvents.add(new ContactEvent());
+		}
+		ContactEvent event = contactEvents.get(contactEventCount++);
+		event.type = type;
+		event.contact = contact;
+	}
+
+	/**
+	 * @param contact
+	 *            the World's reused contact
+	 * @return the contact for the native contact it currently points at
+	 */
+	private LttlContact getContact(Contact contact)
+	{
+		long addr = LttlContact.getAddr(contact);
+		LttlContact lttlContact = contacts.get(addr);
+		if (lttlContact == null)
+		{
+			lttlContact = new LttlContact(world, addr);
+			contacts.put(addr, lttlContact);
+		}
+		return lttlContact;
+	}
+
+	/**
+	 * Saves the ending contact's values, since the native contact is freed after, and forgets it, the address can be
+	 * reused by a new native contact.
+	 * 
+	 * @param contact
+	 *            the World's reused contact
+	 */
+	private LttlContact getEndedContact(Contact contact)
+	{
+		long addr = LttlContact.getAddr(contact);
+		LttlContact lttlContact = contacts.remove(addr);
+		if (lttlContact == null)
+		{
+			lttlContact = new LttlContact(world, addr);
+		}
+		lttlContact.end();
+		return lttlContact;
+	}
+
+	private void replayContactEvents()
+	{
+		// contacts that began and ended in the same step were never touching outside of it, and no longer exist
+		for (int i = 0; i < contactEventCount; i++)
+		{
+			ContactEvent event = contactEvents.get(i);
+			if (event.type == CONTACT_BEGIN)
+			{
+				cancelledContacts.put(event.contact, Boolean.FALSE);
+			}
+			else if (event.type == CONTACT_END
+					&& cancelledContacts.containsKey(event.contact))
+			{
+				cancelledContacts.put(event.contact, Boolean.TRUE);
+			}
+		}
+
+		for (int i = 0; i < contactEventCount; i++)
+		{
+			ContactEvent event = contactEvents.get(i);
+			if (cancelledContacts.get(event.contact, Boolean.FALSE)) continue;
+
+			LttlContact contact = event.contact;
+			switch (event.type)
+			{
+				case CONTACT_BEGIN:
+					onBeginContact(contact.getFixtureA(),
+							contact.getFixtureB(), contact);
+					break;
+				case CONTACT_UPDATE:
+					processUpdateBodyCollisions(contact.getFixtureA(), contact,
+							false);
+					processUpdateBodyCollisions(contact.getFixtureB(), contact,
+							false);
+					break;
+				case CONTACT_END:
+					processEndContact(contact.getFixtureA(), contact);
+					processEndContact(contact.getFixtureB(), contact);
+					break;
+			}
+		}
+
+		clearContactEvents();
+		cancelledContacts.clear();
+	}
+
+	/**
+	 * Saves the state of the interpolated bodies after a step.
+	 * 
+	 * @param bodies
+	 *            container, the step thread has it's own
+	 */
+	private void recordStepStates(Array<Body> bodies)
+	{
+		if (!interpolate) return;
+
+		world.getBodies(bodies);
+		for (Body b : bodies)
+		{
+			LttlPhysicsBody bodyComp = LttlPhysicsBody.getComp(b);
+			if (bodyComp != null && bodyComp.isInterpolated())
+			{
+				bodyComp.recordStepState();
+			}
+		}
+	}
+
+	/**
+	 * Sets the interpolated bodies' transforms, parents first, since setting a parent's world values moves it's
+	 * children.
+	 */
+	private void interpolateBodies()
+	{
+		float alpha = Math.min(1, Lttl.game.fixedAccumulator
+				/ Lttl.game.getSettings().fixedDeltaTime);
+
+		// waits for a threaded step, since it's states are what is interpolated to
+		getWorld().getBodies(bodiesContainerShared);
+		for (Body b : bodiesContainerShared)
+		{
+			LttlPhysicsBody bodyComp = LttlPhysicsBody.getComp(b);
+			if (bodyComp != null && bodyComp.isInterpolated()
+					&& bodyComp.hasStepState() && bodyComp.isEnabled())
+			{
+				bodyComp.interpolationDepth = getDepth(bodyComp.t());
+				interpolatedBodies.add(bodyComp);
+			}
+		}
+		interpolatedBodies.sort(depthComparator);
+		for (LttlPhysicsBody bodyComp : interpolatedBodies)
+		{
+			bodyComp.interpolate(alpha);
+		}
+		interpolatedBodies.clear();
+	}
+
+	private static int getDepth(LttlTransform lt)
+	{
+		int depth = 0;
+		for (LttlTransform p = lt.getParent(); p != null; p = p.getParent())
+		{
+			depth++;
+		}
+		return depth;
 	}
 
 	/**
@@ -357,6 +770,10 @@ public class PhysicsController implements ContactListener
 	 */
 	void update()
 	{
+		if (interpolate && Lttl.game.isPlaying() && enabled)
+		{
+			interpolateBodies();
+		}
 		updateStats();
 	}
 
@@ -388,10 +805,6 @@ public class PhysicsController implements ContactListener
 		return getFixtureComponentsOverlap(x, y, x, y, output);
 	}
 
-	// OPTIMIZE if this becomes slow with many fixtures, could try iterating only through body objects that have
-	// mouseCallback enabled, might be slower since box2d probably implements some sort of tree, but if it was really
-	// slow, I could also implement some tree, but rather not do any of this. Also this query does AABB overlap check
-	// first, which is fast, then I test if the specific point (if it is a point) is inside the fixture.
 	/**
 	 * Gets all the {@link LttlPhysicsFixture} that overlap this AABB in no specific order.
 	 */
@@ -400,45 +813,19 @@ public class PhysicsController implements ContactListener
 	{
 		output.clear();
 
-		final boolean isPoint = x1 == x2 && y1 == y2;
-
-		final float x1S = x1 * scaling;
-		final float y1S = y1 * scaling;
-		final float x2S = x2 * scaling;
-		final float y2S = y2 * scaling;
-
-		// checks
-		world.QueryAABB(new QueryCallback()
+		// the mouse needs to see bodies moved since the step
+		sharedQuery.useCache = false;
+		if (x1 == x2 && y1 == y2)
 		{
-			@Override
-			public boolean reportFixture(Fixture fixture)
-			{
-				// check if the fixture's fixture component already exists in the array, we only care about unique
-				// fixture components not individual fixture pieces
-				if (output.size > 0)
-				{
-					for (LttlPhysicsFixture fixtureComp : output)
-					{
-						// skip adding since already have this fixture component
-						if (fixtureComp == fixture.getUserData()) return true;
-					}
-				}
-				// if the AABB we are testing is really a point, then check if point is inside fixture
-				if (isPoint)
-				{
-					if (!fixture.testPoint(x1S, y1S)) { return true; }
-				}
-				else
-				{
-					Lttl.Throw();
-					// TODO need to check if AABB given actually overlaps the fixture, not just the fixture's AABB
-				}
-
-				// don't have it, so add it
-				output.add((LttlPhysicsFixture) fixture.getUserData());
-				return true;
-			}
-		}, x1S, y1S, x2S, y2S);
+			sharedQuery.setPoint(x1, y1);
+		}
+		else
+		{
+			sharedQuery.setAABB(x1, y1, x2, y2);
+		}
+		queries.run(sharedQuery);
+		output.addAll(sharedQuery.components);
+		sharedQuery.clearResults();
 
 		return output;
 	}
@@ -450,22 +837,8 @@ public class PhysicsController implements ContactListener
 			float y2, final Array<Fixture> output)
 	{
 		output.clear();
-
-		x1 *= scaling;
-		y1 *= scaling;
-		x2 *= scaling;
-		y2 *= scaling;
-		world.QueryAABB(new QueryCallback()
-		{
-
-			@Override
-			public boolean reportFixture(Fixture fixture)
-			{
-				output.add(fixture);
-				return true;
-			}
-		}, x1, y1, x2, y2);
-
+		queries.getFixturesOverlap(getWorld(), x1 * scaling, y1 * scaling, x2
+				* scaling, y2 * scaling, false, output);
 		return output;
 	}
 
@@ -484,18 +857,7 @@ public class PhysicsController implements ContactListener
 		final float yS = y * scaling;
 
 		// fast way (i think) to get fixtures, but it can be inaccurate if lots of fixtures in same body
-		world.QueryAABB(new QueryCallback()
-		{
-			@Override
-			public boolean reportFixture(Fixture fixture)
-			{
-				// test point if actually in fixture, since the query just checks fixture's AABB with the point given
-				if (!fixture.testPoint(xS, yS)) return true;
-
-				output.add(fixture);
-				return true;
-			}
-		}, xS, yS, xS, yS);
+		queries.getFixturesOverlap(getWorld(), xS, yS, xS, yS, true, output);
 
 		return output;
 	}
@@ -509,6 +871,46 @@ public class PhysicsController implements ContactListener
 		return getFixturesOverlap(point.x, point.y, output);
 	}
 
+	/**
+	 * Runs the query now.
+	 *
+	 * @param query
+	 * @return the query, with it's results
+	 */
+	public LttlPhysicsQuery query(LttlPhysicsQuery query)
+	{
+		return queries.run(query);
+	}
+
+	/**
+	 * Queues the query to be ran with the others on the next {@link #runQueries()}, which is faster than running them
+	 * one at a time when there are many.
+	 *
+	 * @param query
+	 */
+	public void queueQuery(LttlPhysicsQuery query)
+	{
+		queries.queue(query);
+	}
+
+	/**
+	 * Runs all the queries queued by {@link #queueQuery(LttlPhysicsQuery)} together.
+	 */
+	public void runQueries()
+	{
+		queries.runQueued();
+	}
+
+	/**
+	 * Runs all the queries together.
+	 *
+	 * @param queries
+	 */
+	public void runQueries(Array<LttlPhysicsQuery> queries)
+	{
+		this.queries.run(queries);
+	}
+
 	/**
 	 * check for mouse position in all fixtures, process callbacks on enabled bodies
 	 */
@@ -666,11 +1068,20 @@ public class PhysicsController implements ContactListener
 	 * Contacts should always be touching.
 	 */
 	@Override
-	public void beginContact(Contact contact)
+	public void beginContact(Contact worldContact)
 	{
-		Fixture fixtureA = contact.getFixtureA();
-		Fixture fixtureB = contact.getFixtureB();
+		LttlContact contact = getContact(worldContact);
+		if (isStepThread())
+		{
+			queueContactEvent(CONTACT_BEGIN, contact);
+			return;
+		}
+		onBeginContact(contact.getFixtureA(), contact.getFixtureB(), contact);
+	}
 
+	private void onBeginContact(Fixture fixtureA, Fixture fixtureB,
+			Contact contact)
+	{
 		processBeginContact(fixtureA, contact);
 		processBeginContact(fixtureB, contact);
 
@@ -722,8 +1133,17 @@ public class PhysicsController implements ContactListener
 	 * tags/group to filter it out completely.
 	 */
 	@Override
-	public void preSolve(Contact contact, Manifold oldManifold)
+	public void preSolve(Contact worldContact, Manifold oldManifold)
 	{
+		LttlContact contact = getContact(worldContact);
+
+		// threaded steps have no solve callbacks, just update the body collisions after
+		if (isStepThread())
+		{
+			queueContactEvent(CONTACT_UPDATE, contact);
+			return;
+		}
+
 		// body component callbacks for preSolve
 		// must try and update both preSolves first
 		// mark if at least one of them actually had a preSolve callback that could have modified contact
@@ -787,8 +1207,11 @@ public class PhysicsController implements ContactListener
 	 * impulses, you should probably just implement the pre-solve event.
 	 */
 	@Override
-	public void postSolve(Contact contact, ContactImpulse impulse)
+	public void postSolve(Contact worldContact, ContactImpulse impulse)
 	{
+		if (isStepThread()) return;
+		LttlContact contact = getContact(worldContact);
+
 		// body component callbacks
 		processPostSolve(contact.getFixtureA(), contact, impulse);
 		processPostSolve(contact.getFixtureB(), contact, impulse);
@@ -824,8 +1247,14 @@ public class PhysicsController implements ContactListener
 	 * touching because contacts only exist if touching.
 	 */
 	@Override
-	public void endContact(Contact contact)
+	public void endContact(Contact worldContact)
 	{
+		LttlContact contact = getEndedContact(worldContact);
+		if (isStepThread())
+		{
+			queueContactEvent(CONTACT_END, contact);
+			return;
+		}
 		processEndContact(contact.getFixtureA(), contact);
 		processEndContact(contact.getFixtureB(), contact);
 	}
@@ -946,7 +1375,7 @@ public class PhysicsController implements ContactListener
 	 */
 	public void setContactFilter(ContactFilter filter)
 	{
-		world.setContactFilter(filter);
+		getWorld().setContactFilter(filter);
 	}
 
 	public ContactFilter getDefaultContactFilter()
@@ -24,6 +24,7 @@ public class ProcessedFieldType
 	private ArrayList<ProcessedFieldType> params;
 	private ProcessedFieldType[] paramTypesProcessed;
 	private Field field;
+	private LttlFieldAccessor accessor;
 
 	// CONSTRUCTORS
 	/**
@@ -244,6 +245,19 @@ public class ProcessedFieldType
 		return field;
 	}
 
+	/**
+	 * @return the cached accessor for this field, use this to get and set the field's value instead of the
+	 *         {@link Field} so accessibility does not need to be toggled
+	 */
+	LttlFieldAccessor getAccessor()
+	{
+		if (accessor == null)
+		{
+			accessor = LttlFieldAccessor.get(field);
+		}
+		return accessor;
+	}
+
 	/**
 	 * Sets the params, current Type and param types from the provided pft
 	 * 
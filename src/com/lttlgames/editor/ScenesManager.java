@@ -4,18 +4,27 @@ import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 import com.badlogic.gdx.Application.ApplicationType;
 import com.badlogic.gdx.Files.FileType;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.lttlgames.editor.LttlJsonDeserializer.ComponentRef;
+import com.lttlgames.editor.LttlSceneLoad.SceneLoadCallback;
 import com.lttlgames.helpers.LttlHelper;
 
 /**
@@ -47,12 +56,37 @@ public final class ScenesManager
 	boolean isScenesAndWorldListDirty = true;
 
 	ArrayList<LttlSceneCore> loadedScenes = new ArrayList<LttlSceneCore>();
+	/**
+	 * shared texture pages of all the loaded scenes, see {@link LttlGameSettings#useTextureResidency}
+	 */
+	final LttlTextureResidency textureResidency = new LttlTextureResidency();
+	/**
+	 * scenes being loaded by {@link #loadSceneAsync(int, SceneLoadCallback)}
+	 */
+	private ArrayList<LttlSceneLoad> sceneLoads = new ArrayList<LttlSceneLoad>();
+	/**
+	 * All the components in the world and loaded scenes by id (ids are unique across all scenes), so finding a
+	 * component that could be in any scene does not need to check each scene's componentMap.
+	 */
+	private final IntMap<LttlComponent> componentDirectory = new IntMap<LttlComponent>();
+	/**
+	 * the per frame callbacks, see {@link #callBackScenes(ComponentCallBackType)}
+	 */
+	final LttlCallbackDispatcher callbackDispatcher = new LttlCallbackDispatcher();
+	private ExecutorService sceneLoadExecutor;
 
 	private FileHandle scenesDirRelative;
 	private FileHandle backupDirRelative;
 	private FileHandle tempDirRelative;
 	private FileHandle scenesDirInternal; // only one that needs to be internal because it will be accessed not
 											// in editor
+	private FileHandle binaryDirRelative;
+	private FileHandle binaryDirInternal;
+
+	/**
+	 * extension for exported binary scene files, named by just the scene id
+	 */
+	private static final String BINARY_EXTENSION = ".lttlb";
 
 	LttlSceneCore getLoadedSceneCore(String sceneName)
 	{
@@ -227,6 +261,129 @@ public final class ScenesManager
 		return scene.getLttlScene();
 	}
 
+	/**
+	 * Load a scene based on the name without blocking the game loop.
+	 * 
+	 * @param name
+	 * @param callback
+	 *            can be null
+	 * @return the load, which has it's progress
+	 * @see #loadSceneAsync(int, SceneLoadCallback)
+	 */
+	public LttlSceneLoad loadSceneAsync(String name, SceneLoadCallback callback)
+	{
+		return loadSceneAsync(getSceneId(name), callback);
+	}
+
+	/**
+	 * Loads a scene without blocking the game loop. The file is read on a background thread, then deserializing, the
+	 * resources, component references, and initial transform preps are done over the next frames within
+	 * {@link LttlGameSettings#sceneLoadBudgetMs}. Once done, the scene is added to the game, the OnStart callbacks are
+	 * ran, and then the callback's onComplete.
+	 * 
+	 * @param sceneId
+	 * @param callback
+	 *            can be null
+	 * @return the load, which has it's progress
+	 */
+	public LttlSceneLoad loadSceneAsync(int sceneId, SceneLoadCallback callback)
+	{
+		// since this function is able to be ran by user, check this
+		if (sceneId == Lttl.scenes.WORLD_ID)
+		{
+			Lttl.Throw("Can't load world scene.");
+		}
+		checkSceneLoadable(sceneId);
+
+		Lttl.logNote("Loading Scene Async: " + getSceneName(sceneId) + "["
+				+ sceneId + "]");
+
+		final LttlSceneLoad load = new LttlSceneLoad(sceneId, callback);
+		sceneLoads.add(load);
+		if (sceneLoadExecutor == null)
+		{
+			sceneLoadExecutor = Executors
+					.newSingleThreadExecutor(new ThreadFactory()
+					{
+						@Override
+						public Thread newThread(Runnable r)
+						{
+							Thread thread = new Thread(r, "Scene Loader");
+							thread.setDaemon(true);
+							return thread;
+						}
+					});
+		}
+		sceneLoadExecutor.execute(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				load.read();
+			}
+		});
+		return load;
+	}
+
+	/**
+	 * @param sceneId
+	 * @return if this scene is being loaded by {@link #loadSceneAsync(int, SceneLoadCallback)}
+	 */
+	public boolean isSceneLoading(int sceneId)
+	{
+		for (LttlSceneLoad load : sceneLoads)
+		{
+			if (load.getSceneId() == sceneId) { return true; }
+		}
+		return false;
+	}
+
+	/**
+	 * Processes the async scene loads, in the order they were started, within the frame's budget. Ran once a frame
+	 * before updates.
+	 */
+	void processSceneLoads()
+	{
+		if (sceneLoads.isEmpty()) return;
+
+		long deadline = TimeUtils.nanoTime()
+				+ (long) (Lttl.game.getSettings().sceneLoadBudgetMs * 1000000);
+		for (Iterator<LttlSceneLoad> it = sceneLoads.iterator(); it.hasNext();)
+		{
+			LttlSceneLoad load = it.next();
+			if (load.update(deadline))
+			{
+				it.remove();
+			}
+			if (TimeUtils.nanoTime() >= deadline)
+			{
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Adds the completely loaded scene to the game and runs it's OnStart callbacks.
+	 * 
+	 * @param scene
+	 * @param zOrderList
+	 *            all of the scene's transforms
+	 */
+	void loadSceneAsyncFinish(LttlSceneCore scene,
+			ArrayList<LttlTransform> zOrderList)
+	{
+		loadSceneShared(scene);
+		if (Lttl.game.inEditor())
+		{
+			Lttl.editor.getGui().getSelectionController()
+					.addSceneTree(scene.getLttlScene());
+		}
+		Lttl.loop.addTransformsZindex(zOrderList);
+
+		// callback all trasnforms
+		processSceneOnStartCallBack(scene);
+	}
+
 	/**
 	 * sets world value on LttlGame if world
 	 * 
@@ -240,33 +397,128 @@ public final class ScenesManager
 		// check a bunch of stuff, but only if it's not loading the world, since a lot of it references the world
 		if (sceneId != Lttl.scenes.WORLD_ID)
 		{
-			if (!getWorldCore().sceneNameMap.containsValue(sceneId))
-			{
-				Lttl.Throw("No scene with ID " + sceneId
-						+ " exists for loading.");
-			}
-			if (sceneId != WORLD_ID
-					&& sceneId > getWorldCore().getLastSceneId())
-			{
-				Lttl.Throw("Inconsistency with scene ids. Scene id " + sceneId
-						+ " is out of range.");
-			}
-			if (isSceneLoaded(sceneId))
-			{
-				Lttl.Throw("Scene id " + sceneId + " already loaded.");
-			}
+			checkSceneLoadable(sceneId);
+		}
+
+		// create LttlScene object from file
+		ArrayList<ComponentRef> compRefsList = new ArrayList<ComponentRef>(50);
+		LttlSceneCore scene = readScene(sceneId, sceneClass, compRefsList);
+		if (scene == null) { return null; }
+		loadSceneFinish(scene, sceneClass, compRefsList);
+
+		return scene;
+	}
+
+	/**
+	 * Throws if the scene does not exist or is already loaded (or loading).
+	 * 
+	 * @param sceneId
+	 */
+	private void checkSceneLoadable(int sceneId)
+	{
+		if (!getWorldCore().sceneNameMap.containsValue(sceneId))
+		{
+			Lttl.Throw("No scene with ID " + sceneId + " exists for loading.");
+		}
+		if (sceneId != WORLD_ID && sceneId > getWorldCore().getLastSceneId())
+		{
+			Lttl.Throw("Inconsistency with scene ids. Scene id " + sceneId
+					+ " is out of range.");
+		}
+		if (isSceneLoaded(sceneId))
+		{
+			Lttl.Throw("Scene id " + sceneId + " already loaded.");
+		}
+		if (isSceneLoading(sceneId))
+		{
+			Lttl.Throw("Scene id " + sceneId + " is already loading.");
+		}
+	}
+
+	/**
+	 * Reads the scene's file and creates the scene object from it.
+	 * 
+	 * @param sceneId
+	 * @param sceneClass
+	 * @param compRefsList
+	 *            populated with all the component references that need to be set once the scene is loaded
+	 * @return can return null if no scene file is found
+	 */
+	LttlSceneCore readScene(int sceneId,
+			Class<? extends LttlSceneCore> sceneClass,
+			ArrayList<ComponentRef> compRefsList)
+	{
+		ByteBuffer binary = readSceneBinary(sceneId);
+		return createScene(sceneId, binary,
+				binary == null ? readSceneJson(sceneId) : null, sceneClass,
+				compRefsList, null);
+	}
+
+	/**
+	 * When not in editor, returns the exported binary scene if there is one with the current version. The json is not
+	 * read to check if it is stale, the editor removes exports that are stale (see {@link #removeStaleBinaryScenes()}).
+	 * Only reads the file, so it can be ran on a background thread.
+	 * 
+	 * @param sceneId
+	 * @return null if there is no binary scene to use, then use the json ({@link #readSceneJson(int)})
+	 */
+	ByteBuffer readSceneBinary(int sceneId)
+	{
+		if (Lttl.game.inEditor()) return null;
+		ByteBuffer binary = getSceneBinary(sceneId);
+		if (binary != null && !LttlBinaryScene.isCurrentVersion(binary))
+		{
+			Lttl.logNote("Loading Scene: Binary scene file for scene id "
+					+ sceneId
+					+ " was exported with a different version, using the json instead.");
+			return null;
 		}
+		return binary;
+	}
 
-		// get json string, if in editor, tries to get it from temp folder first
-		String jsonString;
+	/**
+	 * Returns the scene's json, if in editor, tries to get it from temp folder first. Only reads the file, so it can be
+	 * ran on a background thread.
+	 * 
+	 * @param sceneId
+	 * @return null if no scene file is found
+	 */
+	String readSceneJson(int sceneId)
+	{
 		if (Lttl.game.inEditor())
 		{
-			jsonString = getSceneJsonStringTryTempDir(sceneId);
+			return getSceneJsonStringTryTempDir(sceneId);
 		}
 		else
 		{
-			jsonString = getSceneJsonStringScenesDir(sceneId);
+			return getSceneJsonStringScenesDir(sceneId);
 		}
+	}
+
+	/**
+	 * Creates the scene object from it's binary or json (see {@link #readSceneBinary(int)} and
+	 * {@link #readSceneJson(int)}). Creates components, so only on main thread.
+	 * 
+	 * @param sceneId
+	 * @param binary
+	 *            used if not null
+	 * @param jsonString
+	 * @param sceneClass
+	 * @param compRefsList
+	 *            populated with all the component references that need to be set once the scene is loaded
+	 * @param deferredComponents
+	 *            optional, if not null, the scene's components are not deserialized, a runnable for each one is added
+	 *            to it instead, they need to all be ran before the component references are set
+	 * @return null if there is neither
+	 */
+	LttlSceneCore createScene(int sceneId, ByteBuffer binary, String jsonString,
+			Class<? extends LttlSceneCore> sceneClass,
+			ArrayList<ComponentRef> compRefsList,
+			ArrayList<Runnable> deferredComponents)
+	{
+		if (binary != null) { return LttlBinaryDeserializer.deserialize(binary,
+				sceneClass, compRefsList, null, deferredComponents); }
+
 		// check if jsonString failed, return a null scene
 		if (jsonString == null)
 		{
@@ -276,9 +528,14 @@ public final class ScenesManager
 		}
 
 		// create LttlScene object from json
-		ArrayList<ComponentRef> compRefsList = new ArrayList<ComponentRef>(50);
-		LttlSceneCore scene = LttlCopier.fromJson(jsonString, sceneClass,
-				compRefsList, null);
+		return LttlJsonDeserializer.deserialize(jsonString, sceneClass,
+				compRefsList, null, deferredComponents);
+	}
+
+	private void loadSceneFinish(LttlSceneCore scene,
+			Class<? extends LttlSceneCore> sceneClass,
+			ArrayList<ComponentRef> compRefsList)
+	{
 		if (sceneClass != LttlWorldCore.class)
 		{
 			// add scene to game, don't want to add LttlWorld to loadedScenes and don't need to update scenesAndWorld,
@@ -289,12 +546,12 @@ public final class ScenesManager
 		{
 			// set world on game
 			Lttl.game.world = (LttlWorldCore) scene;
+			componentDirectory.clear();
+			registerSceneComponents(scene);
 		}
 
 		// update references and run caclulations and other preparations
 		prepareLoadedScene(scene, compRefsList);
-
-		return scene;
 	}
 
 	/**
@@ -426,6 +683,7 @@ public final class ScenesManager
 
 		// clear transformHiearchy
 		ls.transformHiearchy.clear();
+		callbackDispatcher.markDirty();
 
 		// update
 		for (LttlTransform lt : originalList)
@@ -467,6 +725,117 @@ public final class ScenesManager
 		}
 	}
 
+	/**
+	 * Returns the exported binary scene file's contents, memory mapped if it is a file on disk, otherwise (ie. android
+	 * assets) read all at once.
+	 * 
+	 * @param sceneId
+	 * @return null if there is no exported binary file for this scene
+	 */
+	private ByteBuffer getSceneBinary(int sceneId)
+	{
+		FileHandle file = binaryDirInternal.child(sceneId + BINARY_EXTENSION);
+		if (!file.exists()) { return null; }
+
+		if (file.type() != FileType.Classpath && file.file().exists())
+		{
+			try (RandomAccessFile raf = new RandomAccessFile(file.file(), "r");
+					FileChannel channel = raf.getChannel())
+			{
+				return channel.map(FileChannel.MapMode.READ_ONLY, 0,
+						channel.size());
+			}
+			catch (IOException e)
+			{
+				Lttl.logNote("Loading Scene: Could not map binary scene file "
+						+ file.path() + ", reading it instead.");
+			}
+		}
+		return ByteBuffer.wrap(file.readBytes());
+	}
+
+	/**
+	 * Deletes any exported binary scene that was not made from the scene's saved json with the current version (the
+	 * json was edited outside of the editor or the format changed), so a game never loads a stale binary without having
+	 * to read the json to check. Only in editor.
+	 */
+	private void removeStaleBinaryScenes()
+	{
+		for (FileHandle f : binaryDirRelative.list())
+		{
+			if (f.isDirectory() || !f.name().endsWith(BINARY_EXTENSION)) continue;
+
+			String json = null;
+			try
+			{
+				json = getSceneJsonStringShared(
+						Integer.parseInt(f.nameWithoutExtension()),
+						scenesDirRelative);
+			}
+			catch (NumberFormatException e)
+			{
+			}
+			if (json == null
+					|| !LttlBinaryScene.isMadeFrom(
+							ByteBuffer.wrap(f.readBytes()), json))
+			{
+				f.delete();
+				Lttl.logNote("Binary Scenes: Removed stale export " + f.name()
+						+ ", export binary scenes again before building.");
+			}
+		}
+	}
+
+	/**
+	 * Exports every saved scene (and the world) to the binary format in the scenes/binary folder, which is what a game
+	 * will load when not in the editor. Each export is converted back to json and checked against the saved file.
+	 */
+	void exportBinaryScenes()
+	{
+		if (Lttl.game.isPlaying())
+		{
+			Lttl.logNote("Exporting Binary Scenes: Not allowed while playing.");
+			return;
+		}
+
+		// remove old exports, so deleted scenes do not remain
+		for (FileHandle f : binaryDirRelative.list())
+		{
+			if (!f.isDirectory() && f.name().endsWith(BINARY_EXTENSION))
+			{
+				f.delete();
+			}
+		}
+
+		// need the saved files to be current
+		saveAllScenes();
+
+		// includes world
+		for (int sceneId : getWorldCore().sceneNameMap.values())
+		{
+			String json = getSceneJsonStringShared(sceneId, scenesDirRelative);
+			if (json == null)
+			{
+				Lttl.logNote("Exporting Binary Scenes: No saved file for scene "
+						+ sceneId + ".");
+				continue;
+			}
+
+			byte[] bytes = LttlBinaryScene.fromJson(json);
+			if (!json.equals(LttlBinaryScene.toJson(ByteBuffer.wrap(bytes))))
+			{
+				Lttl.Throw("Exporting Binary Scenes: Scene " + sceneId
+						+ " does not convert back to the same json.");
+			}
+			binaryDirRelative.child(sceneId + BINARY_EXTENSION).writeBytes(
+					bytes, false);
+
+			Lttl.logNote("Exporting Binary Scene: " + getSceneName(sceneId)
+					+ " [" + sceneId + "] " + json.length() + " chars -> "
+					+ bytes.length + " bytes");
+		}
+	}
+
 	/**
 	 * Finds the latest saved json file for this scene and returns the contents. This should be useable by all
 	 * platforms.
@@ -733,6 +1102,16 @@ public final class ScenesManager
 					break;
 				}
 			}
+
+			// the exported binary is no longer made from the saved json
+			FileHandle binaryFile = binaryDirRelative.child(id
+					+ BINARY_EXTENSION);
+			if (binaryFile.exists())
+			{
+				binaryFile.delete();
+				Lttl.logNote("Saving Scene: Removed stale binary export for scene "
+						+ id + ", export binary scenes again before building.");
+			}
 		}
 
 		// generate new name for file
@@ -825,6 +1204,19 @@ public final class ScenesManager
 		}
 		scenesDirInternal = LttlResourceManager
 				.getFileHandleInternalAssets("scenes");
+		binaryDirInternal = LttlResourceManager
+				.getFileHandleInternalAssets("scenes/binary");
+
+		// binary export folder (only in editor)
+		if (Lttl.game.inEditor())
+		{
+			binaryDirRelative = LttlResourceManager.getFileHandle(
+					"scenes/binary", FileType.Absolute, true);
+			if (!binaryDirRelative.exists())
+			{
+				binaryDirRelative.mkdirs();
+			}
+		}
 
 		// backup folder (only in editor)
 		if (Lttl.game.inEditor())
@@ -846,6 +1238,8 @@ public final class ScenesManager
 			{
 				tempDirRelative.mkdirs();
 			}
+
+			removeStaleBinaryScenes();
 		}
 	}
 
@@ -865,8 +1259,18 @@ public final class ScenesManager
 		scene.getTextureManager().dispose();
 		scene.getAudioManager().dispose();
 
+		// any components that were not destroyed (should be none)
+		for (LttlComponent lc : scene.getRef().componentMap.values())
+		{
+			if (componentDirectory.get(lc.getId()) == lc)
+			{
+				componentDirectory.remove(lc.getId());
+			}
+		}
+
 		// this makes sure there are no references of LttlSceneCore, can't use LttlScene (container) anymore now
 		scene.nullRef();
+		LttlTextureManager.incrementGeneration();
 
 		if (Lttl.game.inEditor() && !Lttl.game.isPlaying())
 		{
@@ -884,6 +1288,7 @@ public final class ScenesManager
 	private void updateScenesAndWorld()
 	{
 		isScenesAndWorldListDirty = false;
+		callbackDispatcher.markDirty();
 		scenesAndWorld.clear();
 		scenesAndWorld.add(getWorldCore());
 		scenesAndWorld.addAll(loadedScenes);
@@ -1010,6 +1415,9 @@ public final class ScenesManager
 	private void loadSceneShared(LttlSceneCore scene)
 	{
 		loadedScenes.add(scene);
+		// references that found nothing may be in this scene's textures
+		LttlTextureManager.incrementGeneration();
+		registerSceneComponents(scene);
 		isScenesAndWorldListDirty = true;
 		updateScenesOnEditorStart();
 	}
@@ -1066,12 +1474,19 @@ public final class ScenesManager
 	}
 
 	/**
-	 * Callback all loaded scenes
+	 * Callback all loaded scenes. The per frame callbacks use {@link LttlCallbackDispatcher}'s flattened lists instead
+	 * of walking the trees.
 	 * 
 	 * @param methodType
 	 */
 	void callBackScenes(ComponentCallBackType methodType)
 	{
+		if (LttlCallbackDispatcher.isDispatched(methodType))
+		{
+			callbackDispatcher.dispatch(methodType);
+			return;
+		}
+
 		// iterate through all loaded scenes and world
 		for (LttlSceneCore ls : Lttl.scenes.getScenesAndWorld())
 		{
@@ -1189,16 +1604,45 @@ public final class ScenesManager
 	 */
 	public LttlComponent findComponentByIdAllScenes(int id)
 	{
-		LttlComponent lc = null;
-		for (LttlScene scene : getAllLoaded(true))
+		return componentDirectory.get(id);
+	}
+
+	/**
+	 * Adds the component to the directory used by {@link #findComponentByIdAllScenes(int)}, only if it's scene has
+	 * been added to the game.
+	 * 
+	 * @param component
+	 * @param scene
+	 *            the component's scene
+	 */
+	void registerComponent(LttlComponent component, LttlSceneCore scene)
+	{
+		if (scene == getWorldCore() || loadedScenes.contains(scene))
 		{
-			lc = scene.findComponentById(id);
-			if (lc != null)
-			{
-				break;
-			}
+			componentDirectory.put(component.getId(), component);
+			callbackDispatcher.markDirty();
+		}
+	}
+
+	void unregisterComponent(int id)
+	{
+		componentDirectory.remove(id);
+		callbackDispatcher.markDirty();
+	}
+
+	/**
+	 * Adds all the scene's components to the directory, ran when the scene (or world) is added to the game.
+	 * 
+	 * @param scene
+	 */
+	private void registerSceneComponents(LttlSceneCore scene)
+	{
+		componentDirectory.ensureCapacity(scene.componentMap.size());
+		for (LttlComponent lc : scene.componentMap.values())
+		{
+			componentDirectory.put(lc.getId(), lc);
 		}
-		return lc;
+		callbackDispatcher.markDirty();
 	}
 
 	/**
@@ -22,28 +22,49 @@ public final class LttlAntiAliaser
 	{
 	}
 
-	private static Vector2Array basePoints = new Vector2Array();
-	private static Vector2Array aaPoints = new Vector2Array();
-	private static Vector2Array vec2ContainerC = new Vector2Array();
-	private static IntArray relationships = new IntArray();
-	private static ShortArray indices = new ShortArray();
-	private static Vector2 tmp = new Vector2();
-	private static Vector2 aaPoint = new Vector2();
-	private static PolygonContainer polyContainer;
-	private static ArrayList<Vector2Array> holes = new ArrayList<Vector2Array>(
-			0);
+	/**
+	 * temp variables, one set per thread so meshes can be generated on the mesh worker thread
+	 */
+	private static final class Scratch
+	{
+		final Vector2Array basePoints = new Vector2Array();
+		final Vector2Array aaPoints = new Vector2Array();
+		final Vector2Array vec2ContainerC = new Vector2Array();
+		final IntArray relationships = new IntArray();
+		final ShortArray indices = new ShortArray();
+		final Vector2 tmp = new Vector2();
+		final Vector2 aaPoint = new Vector2();
+		PolygonContainer polyContainer;
+		final ArrayList<Vector2Array> holes = new ArrayList<Vector2Array>(0);
+	}
+
+	private static final ThreadLocal<Scratch> threadScratch = new ThreadLocal<Scratch>()
+	{
+		@Override
+		protected Scratch initialValue()
+		{
+			return new Scratch();
+		}
+	};
 
 	/**
 	 * Uses AA settings to determine which AA to do.
 	 * 
 	 * @param mesh
 	 * @param width
+	 *            the actual AA, at the target camera's current zoom
 	 * @param settings
 	 */
 	public static void AddAntiAliasingEither(LttlMesh mesh, float width,
 			AASettings settings)
 	{
-		if (settings.useSimple)
+		if (settings.isShaderAA())
+		{
+			AddAntiAliasingSimple(mesh, width, settings.simpleCleanup,
+					settings.mitreRatioLimitOverride, Lttl.game.getSettings()
+							.getTargetCamera().zoom);
+		}
+		else if (settings.useSimple)
 		{
 			AddAntiAliasingSimple(mesh, width, settings.simpleCleanup,
 					settings.mitreRatioLimitOverride);
@@ -72,6 +93,14 @@ public final class LttlAntiAliaser
 	public static void AddAntiAliasing(LttlMesh mesh, float width,
 			float mitreRatioLimit)
 	{
+		Scratch scratch = threadScratch.get();
+		Vector2Array basePoints = scratch.basePoints;
+		Vector2Array aaPoints = scratch.aaPoints;
+		Vector2Array vec2ContainerC = scratch.vec2ContainerC;
+		ShortArray indices = scratch.indices;
+		Vector2 tmp = scratch.tmp;
+		Vector2 aaPoint = scratch.aaPoint;
+		ArrayList<Vector2Array> holes = scratch.holes;
 		mesh.clearAA();
 
 		width = Math.abs(width);
@@ -97,12 +126,12 @@ public final class LttlAntiAliaser
 						endIndex, basePoints);
 
 				// if holeIndex > 0 then this is a hole, so actually do a shrink
-				polyContainer = LttlGeometryUtil.offsetPolygon(basePoints,
+				scratch.polyContainer = LttlGeometryUtil.offsetPolygon(basePoints,
 						holeIndex > 0 ? -width : width, Joint.MITER, 1,
-						mitreRatioLimit, polyContainer);
-				if (polyContainer.getHoles().size() == 0)
+						mitreRatioLimit, scratch.polyContainer);
+				if (scratch.polyContainer.getHoles().size() == 0)
 				{
-					aaPoints.set(polyContainer.getPoints());
+					aaPoints.set(scratch.polyContainer.getPoints());
 				}
 				else
 				{
@@ -225,6 +254,30 @@ public final class LttlAntiAliaser
 	static public void AddAntiAliasingSimple(LttlMesh mesh, float width,
 			boolean cleanup, float mitreRatioLimit)
 	{
+		AddAntiAliasingSimple(mesh, width, cleanup, mitreRatioLimit, 0);
+	}
+
+	/**
+	 * @param mesh
+	 *            clears any AA values it has first
+	 * @param width
+	 * @param cleanup
+	 *            if true, will try and cleanup any points that are self intersecting, not usually necessary
+	 * @param mitreRatioLimit
+	 *            if greater than, then overrides the global setting
+	 * @param shaderAAZoom
+	 *            if greater than 0, uses shader AA ({@link LttlMesh#hasShaderAA()}), this is the camera zoom the width
+	 *            was calculated with, so the offsets can be stored at a zoom of 1
+	 */
+	static public void AddAntiAliasingSimple(LttlMesh mesh, float width,
+			boolean cleanup, float mitreRatioLimit, float shaderAAZoom)
+	{
+		Scratch scratch = threadScratch.get();
+		Vector2Array basePoints = scratch.basePoints;
+		Vector2Array aaPoints = scratch.aaPoints;
+		IntArray relationships = scratch.relationships;
+		Vector2 tmp = scratch.tmp;
+		Vector2 aaPoint = scratch.aaPoint;
 		// clear all AA
 		mesh.clearAA();
 
@@ -274,7 +327,20 @@ public final class LttlAntiAliaser
 
 				// get real UV adn color form related
 				mesh.getUV(relIndex, tmp);
-				mesh.addVertice(aaPoint, tmp, mesh.getColor(relIndex), 0);
+				if (shaderAAZoom > 0)
+				{
+					// stays on the related point, the shader moves it out by the offset
+					float relX = mesh.getX(relIndex);
+					float relY = mesh.getY(relIndex);
+					mesh.addAAOffset((aaPoint.x - relX) * shaderAAZoom,
+							(aaPoint.y - relY) * shaderAAZoom);
+					mesh.addVertice(relX, relY, tmp.x, tmp.y,
+							mesh.getColor(relIndex), 0);
+				}
+				else
+				{
+					mesh.addVertice(aaPoint, tmp, mesh.getColor(relIndex), 0);
+				}
 
 				// add indices
 				int next = LttlMath.loopIndex(i + 1, n);
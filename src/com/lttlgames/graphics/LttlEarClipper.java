@@ -0,0 +1,953 @@
+package com.lttlgames.graphics;
+
+import java.util.ArrayList;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ShortArray;
+import com.lttlgames.helpers.LttlGeometryUtil.PolygonContainer;
+import com.lttlgames.helpers.LttlProfiler;
+import com.lttlgames.helpers.Vector2Array;
+
+/**
+ * Ear clipping triangulator that supports holes (based on mapbox's earcut). The vertices are a doubly linked list, so
+ * removing an ear is O(1), and for bigger polygons the vertices are also sorted on a z-order curve, so checking if any
+ * vertex is in an ear only checks the vertices near the ear's bounding box. Holes are bridged to the outer shell so it
+ * is one polygon. If it gets stuck (self intersections) it cures local intersections and then splits the polygon.<br>
+ * <br>
+ * Each thread has it's own workspace that is reused, so triangulating doesn't allocate once the workspace is big
+ * enough.
+ */
+public final class LttlEarClipper
+{
+	private static final int NULL = -1;
+	/**
+	 * polygons with more vertices than this use the z-order curve
+	 */
+	private static final int HASH_THRESHOLD = 80;
+
+	private static final ThreadLocal<LttlEarClipper> threadWorkspace = new ThreadLocal<LttlEarClipper>()
+	{
+		@Override
+		protected LttlEarClipper initialValue()
+		{
+			return new LttlEarClipper();
+		}
+	};
+
+	/* NODES */
+	private int nodeCount = 0;
+	/**
+	 * vertex index
+	 */
+	private int[] index = new int[64];
+	private float[] x = new float[64];
+	private float[] y = new float[64];
+	private int[] prev = new int[64];
+	private int[] next = new int[64];
+	private int[] z = new int[64];
+	private int[] prevZ = new int[64];
+	private int[] nextZ = new int[64];
+	private boolean[] steiner = new boolean[64];
+
+	private ShortArray triangles;
+	private float minX, minY, invSize;
+	private final IntArray holeQueue = new IntArray();
+
+	private LttlEarClipper()
+	{
+	}
+
+	/**
+	 * Triangulates the polygon and it's holes. Same vertex layout as
+	 * {@link LttlTriangulator#DelaunayTriangulate(PolygonContainer, Vector2Array, ShortArray, IntArray)}, the points
+	 * and then each hole's points, but no vertices are added.
+	 *
+	 * @param polyCont
+	 * @param pointsContainer
+	 *            cleared and set to the points and holes' points
+	 * @param indicesContainer
+	 *            cleared
+	 * @param holeIndexes
+	 *            the first vertex of each hole, can be null
+	 */
+	public static void Triangulate(PolygonContainer polyCont,
+			Vector2Array pointsContainer, ShortArray indicesContainer,
+			IntArray holeIndexes)
+	{
+		LttlProfiler.triangulations.add();
+
+		ArrayList<Vector2Array> holes = polyCont.getHoles();
+		pointsContainer.clear();
+		pointsContainer.addAll(polyCont.getPoints());
+		if (holeIndexes != null)
+		{
+			holeIndexes.clear();
+		}
+		IntArray holeQueue = null;
+		if (holes.size() > 0)
+		{
+			holeQueue = threadWorkspace.get().holeQueue;
+			holeQueue.clear();
+			for (int i = 0, n = holes.size(); i < n; i++)
+			{
+				holeQueue.add(pointsContainer.size());
+				if (holeIndexes != null)
+				{
+					holeIndexes.add(pointsContainer.size());
+				}
+				pointsContainer.addAll(holes.get(i));
+			}
+		}
+
+		threadWorkspace.get().triangulate(pointsContainer, holeQueue,
+				indicesContainer);
+	}
+
+	/**
+	 * Triangulates a polygon with no holes.
+	 *
+	 * @param points
+	 * @param indicesContainer
+	 *            cleared
+	 */
+	public static void Triangulate(Vector2Array points,
+			ShortArray indicesContainer)
+	{
+		LttlProfiler.triangulations.add();
+		threadWorkspace.get().triangulate(points, null, indicesContainer);
+	}
+
+	/**
+	 * @param points
+	 *            all the points, the holes are after the outer shell
+	 * @param holeStarts
+	 *            the first point of each hole, null if none (this array gets used after)
+	 * @param indicesContainer
+	 */
+	private void triangulate(Vector2Array points, IntArray holeStarts,
+			ShortArray indicesContainer)
+	{
+		triangles = indicesContainer;
+		triangles.clear();
+		nodeCount = 0;
+
+		boolean hasHoles = holeStarts != null && holeStarts.size > 0;
+		int outerLength = hasHoles ? holeStarts.get(0) : points.size();
+		int outerNode = linkedList(points, 0, outerLength, true);
+		if (outerNode == NULL || next[outerNode] == prev[outerNode])
+		{
+			triangles = null;
+			return;
+		}
+		triangles.ensureCapacity((points.size() + (hasHoles ? holeStarts.size
+				* 2 : 0) - 2) * 3);
+
+		if (hasHoles)
+		{
+			outerNode = eliminateHoles(points, holeStarts, outerNode);
+		}
+
+		// if the shape is not too simple, use z-order curve hash
+		invSize = 0;
+		if (points.size() > HASH_THRESHOLD)
+		{
+			float maxX, maxY;
+			minX = maxX = points.getX(0);
+			minY = maxY = points.getY(0);
+			for (int i = 1; i < outerLength; i++)
+			{
+				float px = points.getX(i), py = points.getY(i);
+				if (px < minX) minX = px;
+				if (py < minY) minY = py;
+				if (px > maxX) maxX = px;
+				if (py > maxY) maxY = py;
+			}
+			// minX, minY and invSize are later used to transform coords into integers for z-order calculation
+			invSize = Math.max(maxX - minX, maxY - minY);
+			invSize = invSize != 0 ? 32767 / invSize : 0;
+		}
+
+		earcutLinked(outerNode, 0);
+		triangles = null;
+	}
+
+	/**
+	 * Creates a circular doubly linked list from the polygon points in the specified winding order.
+	 */
+	private int linkedList(Vector2Array points, int start, int end,
+			boolean clockwise)
+	{
+		int last = NULL;
+		if (clockwise == (signedArea(points, start, end) > 0))
+		{
+			for (int i = start; i < end; i++)
+			{
+				last = insertNode(i, points.getX(i), points.getY(i), last);
+			}
+		}
+		else
+		{
+			for (int i = end - 1; i >= start; i--)
+			{
+				last = insertNode(i, points.getX(i), points.getY(i), last);
+			}
+		}
+
+		if (last != NULL && equals(last, next[last]))
+		{
+			removeNode(last);
+			last = next[last];
+		}
+		return last;
+	}
+
+	/**
+	 * Eliminates colinear or duplicate points.
+	 */
+	private int filterPoints(int start, int end)
+	{
+		if (start == NULL) return start;
+		if (end == NULL) end = start;
+
+		int p = start;
+		boolean again;
+		do
+		{
+			again = false;
+			if (!steiner[p] && (equals(p, next[p]) || area(prev[p], p, next[p]) == 0))
+			{
+				removeNode(p);
+				p = end = prev[p];
+				if (p == next[p]) break;
+				again = true;
+			}
+			else
+			{
+				p = next[p];
+			}
+		}
+		while (again || p != end);
+
+		return end;
+	}
+
+	/**
+	 * Main ear slicing loop which triangulates a polygon (given as a linked list).
+	 */
+	private void earcutLinked(int ear, int pass)
+	{
+		if (ear == NULL) return;
+
+		// interlink polygon nodes in z-order
+		if (pass == 0 && invSize != 0)
+		{
+			indexCurve(ear);
+		}
+
+		int stop = ear;
+
+		// iterate through ears, slicing them one by one
+		while (prev[ear] != next[ear])
+		{
+			int p = prev[ear];
+			int n = next[ear];
+
+			if (invSize != 0 ? isEarHashed(ear) : isEar(ear))
+			{
+				// cut off the triangle
+				triangles.add((short) index[p]);
+				triangles.add((short) index[ear]);
+				triangles.add((short) index[n]);
+
+				removeNode(ear);
+
+				// skipping the next vertex leads to less sliver triangles
+				ear = next[n];
+				stop = next[n];
+				continue;
+			}
+
+			ear = n;
+
+			// if we looped through the whole remaining polygon and can't find any more ears
+			if (ear == stop)
+			{
+				if (pass == 0)
+				{
+					// try filtering points and slicing again
+					earcutLinked(filterPoints(ear, NULL), 1);
+				}
+				else if (pass == 1)
+				{
+					// if this didn't work, try curing all small self-intersections locally
+					ear = cureLocalIntersections(filterPoints(ear, NULL));
+					earcutLinked(ear, 2);
+				}
+				else if (pass == 2)
+				{
+					// as a last resort, try splitting the remaining polygon into two
+					splitEarcut(ear);
+				}
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Checks whether a polygon node forms a valid ear with adjacent nodes.
+	 */
+	private boolean isEar(int ear)
+	{
+		int a = prev[ear], b = ear, c = next[ear];
+		// reflex, can't be an ear
+		if (area(a, b, c) >= 0) return false;
+
+		// now make sure we don't have other points inside the potential ear
+		float ax = x[a], ay = y[a], bx = x[b], by = y[b], cx = x[c], cy = y[c];
+		int p = next[c];
+		while (p != a)
+		{
+			if (pointInTriangle(ax, ay, bx, by, cx, cy, x[p], y[p])
+					&& area(prev[p], p, next[p]) >= 0) { return false; }
+			p = next[p];
+		}
+		return true;
+	}
+
+	private boolean isEarHashed(int ear)
+	{
+		int a = prev[ear], b = ear, c = next[ear];
+		// reflex, can't be an ear
+		if (area(a, b, c) >= 0) return false;
+
+		float ax = x[a], ay = y[a], bx = x[b], by = y[b], cx = x[c], cy = y[c];
+
+		// triangle bbox
+		float minTX = Math.min(ax, Math.min(bx, cx));
+		float minTY = Math.min(ay, Math.min(by, cy));
+		float maxTX = Math.max(ax, Math.max(bx, cx));
+		float maxTY = Math.max(ay, Math.max(by, cy));
+
+		// z-order range for the current triangle bbox
+		int minZ = zOrder(minTX, minTY);
+		int maxZ = zOrder(maxTX, maxTY);
+
+		int p = prevZ[ear];
+		int n = nextZ[ear];
+
+		// look for points inside the triangle in both directions
+		while (p != NULL && z[p] >= minZ && n != NULL && z[n] <= maxZ)
+		{
+			if (p != a && p != c
+					&& pointInTriangle(ax, ay, bx, by, cx, cy, x[p], y[p])
+					&& area(prev[p], p, next[p]) >= 0) { return false; }
+			p = prevZ[p];
+
+			if (n != a && n != c
+					&& pointInTriangle(ax, ay, bx, by, cx, cy, x[n], y[n])
+					&& area(prev[n], n, next[n]) >= 0) { return false; }
+			n = nextZ[n];
+		}
+
+		// look for remaining points in decreasing z-order
+		while (p != NULL && z[p] >= minZ)
+		{
+			if (p != a && p != c
+					&& pointInTriangle(ax, ay, bx, by, cx, cy, x[p], y[p])
+					&& area(prev[p], p, next[p]) >= 0) { return false; }
+			p = prevZ[p];
+		}
+
+		// look for remaining points in increasing z-order
+		while (n != NULL && z[n] <= maxZ)
+		{
+			if (n != a && n != c
+					&& pointInTriangle(ax, ay, bx, by, cx, cy, x[n], y[n])
+					&& area(prev[n], n, next[n]) >= 0) { return false; }
+			n = nextZ[n];
+		}
+
+		return true;
+	}
+
+	/**
+	 * Goes through all polygon nodes and cures small local self-intersections.
+	 */
+	private int cureLocalIntersections(int start)
+	{
+		int p = start;
+		do
+		{
+			int a = prev[p], b = next[next[p]];
+
+			if (!equals(a, b) && intersects(a, p, next[p], b)
+					&& locallyInside(a, b) && locallyInside(b, a))
+			{
+				triangles.add((short) index[a]);
+				triangles.add((short) index[p]);
+				triangles.add((short) index[b]);
+
+				// remove two nodes involved
+				removeNode(p);
+				removeNode(next[p]);
+
+				p = start = b;
+			}
+			p = next[p];
+		}
+		while (p != start);
+
+		return filterPoints(p, NULL);
+	}
+
+	/**
+	 * Tries splitting polygon into two and triangulate them independently.
+	 */
+	private void splitEarcut(int start)
+	{
+		// look for a valid diagonal that divides the polygon into two
+		int a = start;
+		do
+		{
+			int b = next[next[a]];
+			while (b != prev[a])
+			{
+				if (index[a] != index[b] && isValidDiagonal(a, b))
+				{
+					// split the polygon in two by the diagonal
+					int c = splitPolygon(a, b);
+
+					// filter colinear points around the cuts
+					a = filterPoints(a, next[a]);
+					c = filterPoints(c, next[c]);
+
+					// run earcut on each half
+					earcutLinked(a, 0);
+					earcutLinked(c, 0);
+					return;
+				}
+				b = next[b];
+			}
+			a = next[a];
+		}
+		while (a != start);
+	}
+
+	/**
+	 * Links every hole into the outer loop, producing a single-ring polygon without holes.
+	 */
+	private int eliminateHoles(Vector2Array points, IntArray holeStarts,
+			int outerNode)
+	{
+		int holeCount = holeStarts.size;
+		// replaces the hole starts with their left most nodes
+		for (int i = 0; i < holeCount; i++)
+		{
+			int start = holeStarts.get(i);
+			int end = i < holeCount - 1 ? holeStarts.get(i + 1) : points.size();
+			int list = linkedList(points, start, end, false);
+			if (list == next[list])
+			{
+				steiner[list] = true;
+			}
+			holeStarts.set(i, getLeftmost(list));
+		}
+
+		// sort by x (insertion, there are not usually many holes)
+		for (int i = 1; i < holeCount; i++)
+		{
+			int node = holeStarts.get(i);
+			int j = i - 1;
+			for (; j >= 0 && x[holeStarts.get(j)] > x[node]; j--)
+			{
+				holeStarts.set(j + 1, holeStarts.get(j));
+			}
+			holeStarts.set(j + 1, node);
+		}
+
+		// process holes from left to right
+		for (int i = 0; i < holeCount; i++)
+		{
+			outerNode = eliminateHole(holeStarts.get(i), outerNode);
+		}
+		holeStarts.clear();
+
+		return outerNode;
+	}
+
+	/**
+	 * Finds a bridge between vertices that connects hole with an outer ring and link it.
+	 */
+	private int eliminateHole(int hole, int outerNode)
+	{
+		int bridge = findHoleBridge(hole, outerNode);
+		if (bridge == NULL) return outerNode;
+
+		int bridgeReverse = splitPolygon(bridge, hole);
+
+		// filter collinear points around the cuts
+		filterPoints(bridgeReverse, next[bridgeReverse]);
+		return filterPoints(bridge, next[bridge]);
+	}
+
+	/**
+	 * David Eberly's algorithm for finding a bridge between hole and outer polygon.
+	 */
+	private int findHoleBridge(int hole, int outerNode)
+	{
+		int p = outerNode;
+		float hx = x[hole];
+		float hy = y[hole];
+		float qx = Float.NEGATIVE_INFINITY;
+		int m = NULL;
+
+		// find a segment intersected by a ray from the hole's leftmost point to the left, segment's endpoint with lesser
+		// x will be potential connection point
+		do
+		{
+			int pn = next[p];
+			if (hy <= y[p] && hy >= y[pn] && y[pn] != y[p])
+			{
+				float px = x[p] + (hy - y[p]) * (x[pn] - x[p]) / (y[pn] - y[p]);
+				if (px <= hx && px > qx)
+				{
+					qx = px;
+					m = x[p] < x[pn] ? p : pn;
+					// hole touches outer segment, pick leftmost endpoint
+					if (px == hx) return m;
+				}
+			}
+			p = pn;
+		}
+		while (p != outerNode);
+
+		if (m == NULL) return NULL;
+
+		// look for points inside the triangle of hole point, segment intersection and endpoint, if there are no points
+		// found, we have a valid connection, otherwise choose the point of the minimum angle with the ray as
+		// connection point
+		int stop = m;
+		float mx = x[m];
+		float my = y[m];
+		float tanMin = Float.POSITIVE_INFINITY;
+
+		p = m;
+		do
+		{
+			if (hx >= x[p]
+					&& x[p] >= mx
+					&& hx != x[p]
+					&& pointInTriangle(hy < my ? hx : qx, hy, mx, my,
+							hy < my ? qx : hx, hy, x[p], y[p]))
+			{
+				float tan = Math.abs(hy - y[p]) / (hx - x[p]);
+
+				if (locallyInside(p, hole)
+						&& (tan < tanMin || (tan == tanMin && (x[p] > x[m] || (x[p] == x[m] && sectorContainsSector(
+								m, p))))))
+				{
+					m = p;
+					tanMin = tan;
+				}
+			}
+			p = next[p];
+		}
+		while (p != stop);
+
+		return m;
+	}
+
+	/**
+	 * Whether sector in vertex m contains sector in vertex p in the same coordinates.
+	 */
+	private boolean sectorContainsSector(int m, int p)
+	{
+		return area(prev[m], m, prev[p]) < 0 && area(next[p], m, next[m]) < 0;
+	}
+
+	/**
+	 * Interlinks polygon nodes in z-order.
+	 */
+	private void indexCurve(int start)
+	{
+		int p = start;
+		do
+		{
+			if (z[p] == 0)
+			{
+				z[p] = zOrder(x[p], y[p]);
+			}
+			prevZ[p] = prev[p];
+			nextZ[p] = next[p];
+			p = next[p];
+		}
+		while (p != start);
+
+		nextZ[prevZ[p]] = NULL;
+		prevZ[p] = NULL;
+
+		sortLinked(p);
+	}
+
+	/**
+	 * Simon Tatham's linked list merge sort algorithm.
+	 */
+	private int sortLinked(int list)
+	{
+		int inSize = 1;
+		int numMerges;
+		do
+		{
+			int p = list;
+			list = NULL;
+			int tail = NULL;
+			numMerges = 0;
+
+			while (p != NULL)
+			{
+				numMerges++;
+				int q = p;
+				int pSize = 0;
+				for (int i = 0; i < inSize; i++)
+				{
+					pSize++;
+					q = nextZ[q];
+					if (q == NULL) break;
+				}
+				int qSize = inSize;
+
+				while (pSize > 0 || (qSize > 0 && q != NULL))
+				{
+					int e;
+					if (pSize != 0 && (qSize == 0 || q == NULL || z[p] <= z[q]))
+					{
+						e = p;
+						p = nextZ[p];
+						pSize--;
+					}
+					else
+					{
+						e = q;
+						q = nextZ[q];
+						qSize--;
+					}
+
+					if (tail != NULL)
+					{
+						nextZ[tail] = e;
+					}
+					else
+					{
+						list = e;
+					}
+
+					prevZ[e] = tail;
+					tail = e;
+				}
+
+				p = q;
+			}
+
+			nextZ[tail] = NULL;
+			inSize *= 2;
+		}
+		while (numMerges > 1);
+
+		return list;
+	}
+
+	/**
+	 * z-order of a point given coords and inverse of the longer side of data bbox
+	 */
+	private int zOrder(float px, float py)
+	{
+		// coords are transformed into non-negative 15-bit integer range
+		int zx = (int) ((px - minX) * invSize);
+		int zy = (int) ((py - minY) * invSize);
+
+		zx = (zx | (zx << 8)) & 0x00FF00FF;
+		zx = (zx | (zx << 4)) & 0x0F0F0F0F;
+		zx = (zx | (zx << 2)) & 0x33333333;
+		zx = (zx | (zx << 1)) & 0x55555555;
+
+		zy = (zy | (zy << 8)) & 0x00FF00FF;
+		zy = (zy | (zy << 4)) & 0x0F0F0F0F;
+		zy = (zy | (zy << 2)) & 0x33333333;
+		zy = (zy | (zy << 1)) & 0x55555555;
+
+		return zx | (zy << 1);
+	}
+
+	/**
+	 * Finds the leftmost node of a polygon ring.
+	 */
+	private int getLeftmost(int start)
+	{
+		int p = start, leftmost = start;
+		do
+		{
+			if (x[p] < x[leftmost] || (x[p] == x[leftmost] && y[p] < y[leftmost]))
+			{
+				leftmost = p;
+			}
+			p = next[p];
+		}
+		while (p != start);
+
+		return leftmost;
+	}
+
+	/**
+	 * Checks if a point lies within a convex triangle.
+	 */
+	private static boolean pointInTriangle(float ax, float ay, float bx,
+			float by, float cx, float cy, float px, float py)
+	{
+		return (cx - px) * (ay - py) >= (ax - px) * (cy - py)
+				&& (ax - px) * (by - py) >= (bx - px) * (ay - py)
+				&& (bx - px) * (cy - py) >= (cx - px) * (by - py);
+	}
+
+	/**
+	 * Checks if a diagonal between two polygon nodes is valid (lies in polygon interior).
+	 */
+	private boolean isValidDiagonal(int a, int b)
+	{
+		// doesn't intersect other edges
+		return index[next[a]] != index[b]
+				&& index[prev[a]] != index[b]
+				&& !intersectsPolygon(a, b)
+				&& ((locallyInside(a, b) && locallyInside(b, a)
+						&& middleInside(a, b) && (area(prev[a], a, prev[b]) != 0 || area(
+						a, prev[b], b) != 0)) || (equals(a, b)
+						&& area(prev[a], a, next[a]) > 0 && area(prev[b], b,
+						next[b]) > 0));
+	}
+
+	/**
+	 * Signed area of a triangle.
+	 */
+	private float area(int p, int q, int r)
+	{
+		return (y[q] - y[p]) * (x[r] - x[q]) - (x[q] - x[p]) * (y[r] - y[q]);
+	}
+
+	private boolean equals(int p1, int p2)
+	{
+		return x[p1] == x[p2] && y[p1] == y[p2];
+	}
+
+	/**
+	 * Checks if two segments intersect.
+	 */
+	private boolean intersects(int p1, int q1, int p2, int q2)
+	{
+		int o1 = sign(area(p1, q1, p2));
+		int o2 = sign(area(p1, q1, q2));
+		int o3 = sign(area(p2, q2, p1));
+		int o4 = sign(area(p2, q2, q1));
+
+		// general case
+		if (o1 != o2 && o3 != o4) return true;
+
+		// p1, q1 and p2 are collinear and p2 lies on p1q1
+		if (o1 == 0 && onSegment(p1, p2, q1)) return true;
+		// p1, q1 and q2 are collinear and q2 lies on p1q1
+		if (o2 == 0 && onSegment(p1, q2, q1)) return true;
+		// p2, q2 and p1 are collinear and p1 lies on p2q2
+		if (o3 == 0 && onSegment(p2, p1, q2)) return true;
+		// p2, q2 and q1 are collinear and q1 lies on p2q2
+		if (o4 == 0 && onSegment(p2, q1, q2)) return true;
+
+		return false;
+	}
+
+	/**
+	 * For collinear points p, q, r, checks if point q lies on segment pr.
+	 */
+	private boolean onSegment(int p, int q, int r)
+	{
+		return x[q] <= Math.max(x[p], x[r]) && x[q] >= Math.min(x[p], x[r])
+				&& y[q] <= Math.max(y[p], y[r]) && y[q] >= Math.min(y[p], y[r]);
+	}
+
+	private static int sign(float num)
+	{
+		return num > 0 ? 1 : num < 0 ? -1 : 0;
+	}
+
+	/**
+	 * Checks if a polygon diagonal intersects any polygon segments.
+	 */
+	private boolean intersectsPolygon(int a, int b)
+	{
+		int p = a;
+		do
+		{
+			int pn = next[p];
+			if (index[p] != index[a] && index[pn] != index[a]
+					&& index[p] != index[b] && index[pn] != index[b]
+					&& intersects(p, pn, a, b)) { return true; }
+			p = pn;
+		}
+		while (p != a);
+
+		return false;
+	}
+
+	/**
+	 * Checks if a polygon diagonal is locally inside the polygon.
+	 */
+	private boolean locallyInside(int a, int b)
+	{
+		return area(prev[a], a, next[a]) < 0 ? area(a, b, next[a]) >= 0
+				&& area(a, prev[a], b) >= 0 : area(a, b, prev[a]) < 0
+				|| area(a, next[a], b) < 0;
+	}
+
+	/**
+	 * Checks if the middle point of a polygon diagonal is inside the polygon.
+	 */
+	private boolean middleInside(int a, int b)
+	{
+		int p = a;
+		boolean inside = false;
+		float px = (x[a] + x[b]) / 2;
+		float py = (y[a] + y[b]) / 2;
+		do
+		{
+			int pn = next[p];
+			if (((y[p] > py) != (y[pn] > py)) && y[pn] != y[p]
+					&& (px < (x[pn] - x[p]) * (py - y[p]) / (y[pn] - y[p]) + x[p]))
+			{
+				inside = !inside;
+			}
+			p = pn;
+		}
+		while (p != a);
+
+		return inside;
+	}
+
+	/**
+	 * Links two polygon vertices with a bridge, if the vertices belong to the same ring, it splits polygon into two,
+	 * if one belongs to the outer ring and another to a hole, it merges it into a single ring.
+	 *
+	 * @return the copy of b
+	 */
+	private int splitPolygon(int a, int b)
+	{
+		int a2 = newNode(index[a], x[a], y[a]);
+		int b2 = newNode(index[b], x[b], y[b]);
+		int an = next[a];
+		int bp = prev[b];
+
+		next[a] = b;
+		prev[b] = a;
+
+		next[a2] = an;
+		prev[an] = a2;
+
+		next[b2] = a2;
+		prev[a2] = b2;
+
+		next[bp] = b2;
+		prev[b2] = bp;
+
+		return b2;
+	}
+
+	/**
+	 * Creates a node and optionally links it with previous one (in a circular doubly linked list).
+	 */
+	private int insertNode(int i, float px, float py, int last)
+	{
+		int p = newNode(i, px, py);
+
+		if (last == NULL)
+		{
+			prev[p] = p;
+			next[p] = p;
+		}
+		else
+		{
+			next[p] = next[last];
+			prev[p] = last;
+			prev[next[last]] = p;
+			next[last] = p;
+		}
+		return p;
+	}
+
+	private void removeNode(int p)
+	{
+		prev[next[p]] = prev[p];
+		next[prev[p]] = next[p];
+
+		if (prevZ[p] != NULL)
+		{
+			nextZ[prevZ[p]] = nextZ[p];
+		}
+		if (nextZ[p] != NULL)
+		{
+			prevZ[nextZ[p]] = prevZ[p];
+		}
+	}
+
+	private int newNode(int i, float px, float py)
+	{
+		if (nodeCount == index.length)
+		{
+			grow(nodeCount * 2);
+		}
+		int p = nodeCount++;
+		index[p] = i;
+		x[p] = px;
+		y[p] = py;
+		prev[p] = NULL;
+		next[p] = NULL;
+		z[p] = 0;
+		prevZ[p] = NULL;
+		nextZ[p] = NULL;
+		steiner[p] = false;
+		return p;
+	}
+
+	private void grow(int capacity)
+	{
+		index = copy(index, capacity);
+		prev = copy(prev, capacity);
+		next = copy(next, capacity);
+		z = copy(z, capacity);
+		prevZ = copy(prevZ, capacity);
+		nextZ = copy(nextZ, capacity);
+		float[] newX = new float[capacity];
+		System.arraycopy(x, 0, newX, 0, nodeCount);
+		x = newX;
+		float[] newY = new float[capacity];
+		System.arraycopy(y, 0, newY, 0, nodeCount);
+		y = newY;
+		boolean[] newSteiner = new boolean[capacity];
+		System.arraycopy(steiner, 0, newSteiner, 0, nodeCount);
+		steiner = newSteiner;
+	}
+
+	private int[] copy(int[] array, int capacity)
+	{
+		int[] result = new int[capacity];
+		System.arraycopy(array, 0, result, 0, nodeCount);
+		return result;
+	}
+
+	private static float signedArea(Vector2Array points, int start, int end)
+	{
+		float sum = 0;
+		for (int i = start, j = end - 1; i < end; i++)
+		{
+			sum += (points.getX(j) - points.getX(i))
+					* (points.getY(i) + points.getY(j));
+			j = i;
+		}
+		return sum;
+	}
+}
@@ -37,6 +37,19 @@ public class LttlMesh
 	public static final int ATTRIBUTE_INDEX_ALPHA = 5;
 	// NOTE changes to vertex attributes should also be done in LttlMesh.addVertice
 	public static final int VERTICE_ATTRIBUTE_COUNT = 6;
+	/**
+	 * The layout used when rendering meshes with shader AA ({@link #hasShaderAA()}), {@link #VERTEX_ATTRIBUTES} plus
+	 * the AA offset. The offsets are not stored in the vertices array, they are interleaved when batched.
+	 */
+	public static final VertexAttribute[] VERTEX_ATTRIBUTES_SHADER_AA = new VertexAttribute[]
+	{
+			new VertexAttribute(Usage.Position, 2, LttlShaders.ATTR_POS),
+			new VertexAttribute(Usage.TextureCoordinates, 2,
+					LttlShaders.ATTR_TEXCOORD),
+			new VertexAttribute(Usage.ColorPacked, 4, LttlShaders.ATTR_COLOR),
+			new VertexAttribute(Usage.Generic, 1, LttlShaders.ATTR_ALPHA),
+			new VertexAttribute(Usage.Generic, 2, LttlShaders.ATTR_AA_OFFSET) };
+	public static final int VERTICE_ATTRIBUTE_COUNT_SHADER_AA = 8;
 
 	/* TEMP */
 	private static final Vector2 tmp = new Vector2();
@@ -52,6 +65,12 @@ public class LttlMesh
 	 * This holds the value for where the aa indices start
 	 */
 	private int aaIndiceIndex = -1;
+	/**
+	 * If using shader AA, the offset (x, y) of each AA vertex (starting at {@link #aaVerticeIndex}) at a camera zoom of
+	 * 1, null until used.
+	 */
+	private FloatArray aaOffsetsArray;
+	private FloatArray worldAAOffsetsArray;
 	private final IntArray holesIndexArray = new IntArray(0);
 	private FloatArray verticesArray;
 	private FloatArray worldVerticesArray = new FloatArray();
@@ -187,6 +206,15 @@ public class LttlMesh
 		holesIndexArray.addAll(mesh.holesIndexArray);
 		aaVerticeIndex = mesh.aaVerticeIndex;
 		aaIndiceIndex = mesh.aaIndiceIndex;
+		if (mesh.hasShaderAA())
+		{
+			getAAOffsetsArray().addAll(mesh.aaOffsetsArray);
+			// world offsets only exist once the world vertices have been updated
+			if (mesh.worldAAOffsetsArray != null)
+			{
+				getWorldAAOffsetsArray().addAll(mesh.worldAAOffsetsArray);
+			}
+		}
 	}
 
 	public float get(int index, int attribute)
@@ -434,16 +462,85 @@ public class LttlMesh
 	}
 
 	public void updateWorldVertices(Matrix3 worldRenderTransform)
+	{
+		prepareWorldVertices();
+		transformWorldVertices(worldRenderTransform.val, 0, getVertexCount());
+		transformWorldAAOffsets(worldRenderTransform.val);
+	}
+
+	/**
+	 * Sizes the world vertices (and world AA offsets) arrays to match the local ones, so
+	 * {@link #transformWorldVertices(float[], int, int)} and {@link #transformWorldAAOffsets(float[])} can fill them
+	 * without allocating. Main thread only.
+	 */
+	public void prepareWorldVertices()
 	{
 		worldVerticesArray.clear();
-		worldVerticesArray.addAll(verticesArray);
-		for (int i = 0, n = getVertexCount(); i < n; i++)
+		worldVerticesArray.ensureCapacity(verticesArray.size);
+		worldVerticesArray.size = verticesArray.size;
+
+		if (hasShaderAA())
+		{
+			FloatArray worldOffsets = getWorldAAOffsetsArray();
+			worldOffsets.clear();
+			worldOffsets.ensureCapacity(aaOffsetsArray.size);
+			worldOffsets.size = aaOffsetsArray.size;
+		}
+	}
+
+	/**
+	 * Copies a range of the vertices to the world vertices, transforming their positions. Needs
+	 * {@link #prepareWorldVertices()} first. Uses no shared temporaries, so different ranges (or meshes) can be
+	 * transformed on different threads at the same time.
+	 * 
+	 * @param m
+	 *            the world render transform's values
+	 * @param start
+	 *            first vertex
+	 * @param end
+	 *            vertex after the last
+	 */
+	public void transformWorldVertices(float[] m, int start, int end)
+	{
+		float[] local = verticesArray.items;
+		float[] world = worldVerticesArray.items;
+		int from = start * VERTICE_ATTRIBUTE_COUNT;
+		int to = end * VERTICE_ATTRIBUTE_COUNT;
+		System.arraycopy(local, from, world, from, to - from);
+
+		float m00 = m[Matrix3.M00], m01 = m[Matrix3.M01], m02 = m[Matrix3.M02];
+		float m10 = m[Matrix3.M10], m11 = m[Matrix3.M11], m12 = m[Matrix3.M12];
+		for (int i = from; i < to; i += VERTICE_ATTRIBUTE_COUNT)
+		{
+			float x = local[i + ATTRIBUTE_INDEX_POSX];
+			float y = local[i + ATTRIBUTE_INDEX_POSY];
+			world[i + ATTRIBUTE_INDEX_POSX] = x * m00 + y * m01 + m02;
+			world[i + ATTRIBUTE_INDEX_POSY] = x * m10 + y * m11 + m12;
+		}
+	}
+
+	/**
+	 * Transforms the AA offsets to the world AA offsets, if {@link #hasShaderAA()}. Needs
+	 * {@link #prepareWorldVertices()} first.
+	 * 
+	 * @param m
+	 *            the world render transform's values
+	 */
+	public void transformWorldAAOffsets(float[] m)
+	{
+		if (!hasShaderAA()) return;
+
+		// AA offsets are directions, so only rotate and scale them
+		float[] local = aaOffsetsArray.items;
+		float[] world = worldAAOffsetsArray.items;
+		float m00 = m[Matrix3.M00], m01 = m[Matrix3.M01];
+		float m10 = m[Matrix3.M10], m11 = m[Matrix3.M11];
+		for (int i = 0, n = aaOffsetsArray.size; i < n; i += 2)
 		{
-			tmp.set(get(verticesArray, i, LttlMesh.ATTRIBUTE_INDEX_POSX),
-					get(verticesArray, i, LttlMesh.ATTRIBUTE_INDEX_POSY));
-			tmp.mul(worldRenderTransform);
-			set(worldVerticesArray, i, LttlMesh.ATTRIBUTE_INDEX_POSX, tmp.x);
-			set(worldVerticesArray, i, LttlMesh.ATTRIBUTE_INDEX_POSY, tmp.y);
+			float x = local[i];
+			float y = local[i + 1];
+			world[i] = x * m00 + y * m01;
+			world[i + 1] = x * m10 + y * m11;
 		}
 	}
 
@@ -468,6 +565,42 @@ public class LttlMesh
 		return worldVerticesArray;
 	}
 
+	/**
+	 * The AA offsets (x, y) of each AA vertex, see {@link #hasShaderAA()}.
+	 */
+	public FloatArray getAAOffsetsArray()
+	{
+		if (aaOffsetsArray == null)
+		{
+			aaOffsetsArray = new FloatArray();
+		}
+		return aaOffsetsArray;
+	}
+
+	/**
+	 * The AA offsets transformed with the world vertices, see {@link #updateWorldVertices(Matrix3)}.
+	 */
+	public FloatArray getWorldAAOffsetsArray()
+	{
+		if (worldAAOffsetsArray == null)
+		{
+			worldAAOffsetsArray = new FloatArray();
+		}
+		return worldAAOffsetsArray;
+	}
+
+	/**
+	 * Adds the AA offset for the next AA vertex, see {@link #hasShaderAA()}.
+	 * 
+	 * @param x
+	 * @param y
+	 */
+	public void addAAOffset(float x, float y)
+	{
+		getAAOffsetsArray().add(x);
+		aaOffsetsArray.add(y);
+	}
+
 	/**
 	 * Gets all vertices (holes and AA)<br>
 	 * see {@link #getVerticesPos(FloatArray, int, int, Vector2Array)}
@@ -638,6 +771,7 @@ public class LttlMesh
 		holesIndexArray.clear();
 		aaVerticeIndex = -1;
 		aaIndiceIndex = -1;
+		clearAAOffsets();
 	}
 
 	public int getIndiceCount()
@@ -1037,6 +1171,18 @@ public class LttlMesh
 		return aaVerticeIndex > 0;
 	}
 
+	/**
+	 * Does the mesh use shader AA. The AA vertices are at the position of the vertices they are related to, and have
+	 * an offset ({@link #getAAOffsetsArray()}) that the shader scales by the camera zoom, so the AA does not need to be
+	 * regenerated when the camera zooms. Rendered with {@link LttlShaders#getShaderAA(LttlShader, boolean)}.
+	 * 
+	 * @return
+	 */
+	public boolean hasShaderAA()
+	{
+		return hasAA() && aaOffsetsArray != null && aaOffsetsArray.size > 0;
+	}
+
 	/**
 	 * This is the index that the AA vertices start, after main mesh vertices and holes. -1 means no AA, use
 	 * {@link #hasAA()} before.
@@ -1133,5 +1279,12 @@ public class LttlMesh
 		}
 		aaVerticeIndex = -1;
 		aaIndiceIndex = -1;
+		clearAAOffsets();
+	}
+
+	private void clearAAOffsets()
+	{
+		if (aaOffsetsArray != null) aaOffsetsArray.clear();
+		if (worldAAOffsetsArray != null) worldAAOffsetsArray.clear();
 	}
 }
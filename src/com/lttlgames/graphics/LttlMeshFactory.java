@@ -24,12 +24,26 @@ public class LttlMeshFactory
 	private static LttlMesh lineQuadMesh;
 	private static LttlMesh circleMesh;
 	private static LttlMesh donutMesh;
-	private static FloatArray tmpFloatArray = new FloatArray();
-	private static Vector2Array tmpVector2Array = new Vector2Array(0);
-	private static Vector2Array tmpVector2Array2 = new Vector2Array(0);
+	/**
+	 * temp variables, one set per thread so meshes can be generated on the mesh worker thread
+	 */
+	private static final class Scratch
+	{
+		final FloatArray tmpFloatArray = new FloatArray();
+		final Vector2Array tmpVector2Array = new Vector2Array(0);
+		final Vector2Array tmpVector2Array2 = new Vector2Array(0);
+		final Vector2 tmpV2 = new Vector2();
+		final Color tmpColor = new Color();
+	}
 
-	private static Vector2 tmpV2 = new Vector2();
-	private static Color tmpColor = new Color();
+	private static final ThreadLocal<Scratch> threadScratch = new ThreadLocal<Scratch>()
+	{
+		@Override
+		protected Scratch initialValue()
+		{
+			return new Scratch();
+		}
+	};
 
 	/**
 	 * Used for testing scripts, not meant to be used in editor,shapes need to be at (0,0) and not rotated or scaled
@@ -55,6 +69,7 @@ public class LttlMeshFactory
 	public static LttlMesh GeneratePolygon(LttlMesh mesh,
 			PolygonContainer polyCont, boolean delaunay)
 	{
+		Vector2Array tmpVector2Array = threadScratch.get().tmpVector2Array;
 		// check if more than 2 point
 		Lttl.Throw(polyCont.getPoints().size() < 3);
 
@@ -1218,6 +1233,9 @@ public class LttlMeshFactory
 	public static void DensifyQuad(FloatArray vertices, ShortArray indices,
 			int steps, boolean vertical, Color[] colors)
 	{
+		Scratch scratch = threadScratch.get();
+		FloatArray tmpFloatArray = scratch.tmpFloatArray;
+		Color tmpColor = scratch.tmpColor;
 		// early out if not changing anything
 		if (steps < 1) return;
 		// add one to steps, since that was what is was programmed for
@@ -1500,6 +1518,7 @@ public class LttlMeshFactory
 			float radiusY, int sides, float degrees, float degreesOffset,
 			boolean uvRadial, float aaWidth)
 	{
+		Vector2Array tmpVector2Array = threadScratch.get().tmpVector2Array;
 		if (sides < 3) return null;
 		degrees = LttlMath.clamp(degrees, -360, 360);
 		boolean is360 = LttlMath.abs(degrees) == 360;
@@ -1634,6 +1653,9 @@ public class LttlMeshFactory
 			float radiusY, int sides, float degrees, float degreesOffset,
 			float width, boolean centered)
 	{
+		Scratch scratch = threadScratch.get();
+		Vector2Array tmpVector2Array = scratch.tmpVector2Array;
+		Vector2Array tmpVector2Array2 = scratch.tmpVector2Array2;
 		Lttl.Throw(sides < 3);
 		Lttl.Throw(width == 0);
 
@@ -1800,6 +1822,7 @@ public class LttlMeshFactory
 	 */
 	public static Vector2Array Offset(Vector2Array points, float offset)
 	{
+		Vector2 tmpV2 = threadScratch.get().tmpV2;
 		if (points.size() < 2) return points;
 
 		Vector2 currentLineVector = null;
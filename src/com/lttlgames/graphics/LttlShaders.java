@@ -3,6 +3,7 @@ package com.lttlgames.graphics;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.IdentityMap;
 import com.lttlgames.editor.Lttl;
 
 /**
@@ -14,9 +15,23 @@ public final class LttlShaders
 	public static final String ATTR_POS = ShaderProgram.POSITION_ATTRIBUTE;
 	public static final String ATTR_TEXCOORD = ShaderProgram.TEXCOORD_ATTRIBUTE;
 	public static final String ATTR_ALPHA = "a_alpha";
+	/**
+	 * the AA fringe offset (at a camera zoom of 1) of a vertex, only in shader AA variants
+	 */
+	public static final String ATTR_AA_OFFSET = "a_aaOffset";
 
 	public static final String UNIFORM_WORLD_MATRIX = "u_worldView";
 	public static final String UNIFORM_COLOR1 = "u_color1";
+	/**
+	 * how much the AA offsets are scaled, 1 / camera zoom
+	 */
+	public static final String UNIFORM_AA_ZOOM = "u_aaZoom";
+
+	/**
+	 * the vertex and fragment source of each loaded shader, so shader AA variants can be made from them
+	 */
+	private static final IdentityMap<ShaderProgram, String[]> shaderSources = new IdentityMap<ShaderProgram, String[]>();
+	private static final IdentityMap<ShaderProgram, ShaderProgram> shaderAAVariants = new IdentityMap<ShaderProgram, ShaderProgram>();
 
 	private LttlShaders()
 	{
@@ -117,6 +132,8 @@ public final class LttlShaders
 			Lttl.logNote("ShaderTest: " + frag);
 			Lttl.Throw();
 		}
+		shaderSources.put(shader, new String[]
+		{ vert, frag });
 		return shader;
 	}
 
@@ -223,6 +240,49 @@ public final class LttlShaders
 		}
 	}
 
+	/**
+	 * Returns the shader AA variant of the specified shader. It moves each vertex by its {@link #ATTR_AA_OFFSET}
+	 * scaled by {@link #UNIFORM_AA_ZOOM}, so the AA fringe stays the same width on screen at any camera zoom without
+	 * regenerating the mesh. The vertices it renders need the {@link LttlMesh#VERTEX_ATTRIBUTES_SHADER_AA} layout.
+	 * 
+	 * @param shader
+	 * @param multipleTextures
+	 * @return
+	 */
+	public static ShaderProgram getShaderAA(LttlShader shader,
+			boolean multipleTextures)
+	{
+		ShaderProgram base = getShader(shader, multipleTextures);
+		if (base == null) return null;
+
+		ShaderProgram variant = shaderAAVariants.get(base);
+		if (variant == null)
+		{
+			String[] sources = shaderSources.get(base);
+			variant = load(toShaderAAVert(sources[0]), sources[1]);
+			shaderAAVariants.put(base, variant);
+		}
+		return variant;
+	}
+
+	/**
+	 * Adds the AA offset attribute and zoom uniform to the vertex shader, and applies them to the position before it
+	 * is transformed.
+	 * 
+	 * @param vert
+	 * @return
+	 */
+	private static String toShaderAAVert(String vert)
+	{
+		return vert.replaceFirst("void main\\(\\)", "attribute vec2 "
+				+ ATTR_AA_OFFSET + ";" + "uniform float " + UNIFORM_AA_ZOOM + ";"
+				+ "void main()").replaceAll(
+				UNIFORM_WORLD_MATRIX + "\\s*\\*\\s*" + ATTR_POS,
+				UNIFORM_WORLD_MATRIX + " * vec4(" + ATTR_POS + ".xy + "
+						+ ATTR_AA_OFFSET + " * " + UNIFORM_AA_ZOOM + ", "
+						+ ATTR_POS + ".zw)");
+	}
+
 	// @formatter:on
 
 	/**
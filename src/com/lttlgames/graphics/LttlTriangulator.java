@@ -28,7 +28,8 @@ public final class LttlTriangulator
 	/**
 	 * Decides if should triangulate using
 	 * {@link #DelaunayTriangulate(Vector2Array, ArrayList, Vector2Array, ShortArray, IntArray)} or
-	 * {@link #Triangulate(Vector2Array, ShortArray)} based on if there are any holes or forcing delaunay.
+	 * {@link LttlEarClipper#Triangulate(PolygonContainer, Vector2Array, ShortArray, IntArray)} based on forcing
+	 * delaunay. Both support holes and have the same vertex layout, but the ear clipper never adds vertices.
 	 * 
 	 * @param polyCont
 	 * @param pointsContainer
@@ -36,13 +37,13 @@ public final class LttlTriangulator
 	 * @param holesIndexArray
 	 *            can be null
 	 * @param delaunay
-	 *            if false, but has holes, will do it anyway
+	 *            more uniform triangles, but slower
 	 */
 	public static void TriangulateEither(PolygonContainer polyCont,
 			Vector2Array pointsContainer, ShortArray indicesContainer,
 			IntArray holesIndexArray, boolean delaunay)
 	{
-		if (delaunay || polyCont.getHoles().size() > 0)
+		if (delaunay)
 		{
 			try
 			{
@@ -58,9 +59,8 @@ public final class LttlTriangulator
 		}
 		else
 		{
-			pointsContainer.clear();
-			pointsContainer.addAll(polyCont.getPoints());
-			LttlTriangulator.Triangulate(pointsContainer, indicesContainer);
+			LttlEarClipper.Triangulate(polyCont, pointsContainer,
+					indicesContainer, holesIndexArray);
 		}
 	}
 
@@ -212,15 +212,30 @@ public final class LttlTriangulator
 		return new Polygon(array);
 	}
 
-	// temp variables
-	private static IntArray intArrayTemp = new IntArray();
-	private static Vector2 v2SnipAtemp = new Vector2();
-	private static Vector2 v2SnipBtemp = new Vector2();
-	private static Vector2 v2SnipCtemp = new Vector2();
-	private static Vector2 v2SnipPtemp = new Vector2();
+	/**
+	 * temp variables, one set per thread so meshes can be generated on the mesh worker thread
+	 */
+	private static final class Scratch
+	{
+		final IntArray intArrayTemp = new IntArray();
+		final Vector2 v2SnipAtemp = new Vector2();
+		final Vector2 v2SnipBtemp = new Vector2();
+		final Vector2 v2SnipCtemp = new Vector2();
+		final Vector2 v2SnipPtemp = new Vector2();
+	}
+
+	private static final ThreadLocal<Scratch> threadScratch = new ThreadLocal<Scratch>()
+	{
+		@Override
+		protected Scratch initialValue()
+		{
+			return new Scratch();
+		}
+	};
 
 	/**
-	 * Good for fast triangulation, does not allow holes. <br>
+	 * Good for fast triangulation of small polygons, does not allow holes. O(n^3) worst case, bigger polygons should use
+	 * {@link LttlEarClipper}. <br>
 	 * <br>
 	 * Benchmark:Faster than {@link #DelaunayTriangulate(PolygonContainer, Vector2Array, ShortArray)} with lower
 	 * vertices. About the same speed for very large amounts of vertices.
@@ -231,6 +246,7 @@ public final class LttlTriangulator
 	public static void Triangulate(final Vector2Array points,
 			ShortArray indicesContainer)
 	{
+		IntArray intArrayTemp = threadScratch.get().intArrayTemp;
 		LttlProfiler.triangulations.add();
 
 		indicesContainer.clear();
@@ -308,6 +324,11 @@ public final class LttlTriangulator
 	private static boolean Snip(int u, int v, int w, int n, IntArray V,
 			Vector2Array points)
 	{
+		Scratch scratch = threadScratch.get();
+		Vector2 v2SnipAtemp = scratch.v2SnipAtemp;
+		Vector2 v2SnipBtemp = scratch.v2SnipBtemp;
+		Vector2 v2SnipCtemp = scratch.v2SnipCtemp;
+		Vector2 v2SnipPtemp = scratch.v2SnipPtemp;
 		int p;
 		Vector2 A = points.get(V.get(u), v2SnipAtemp);
 		Vector2 B = points.get(V.get(v), v2SnipBtemp);
@@ -0,0 +1,440 @@
+package com.lttlgames.helpers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.lttlgames.editor.Lttl;
+import com.lttlgames.editor.LttlGameSettings;
+
+/**
+ * Times the phases of each frame (input, animation, each fixed step, logic, stage, render...) and how long each
+ * component class spends in it's callbacks. Unlike {@link LttlProfiler} it works outside the editor, so it can be used
+ * on device. Only records while {@link LttlGameSettings#recordFrameTimings} is on, when off each call is just a static
+ * boolean check.<br>
+ * <br>
+ * Everything is recorded to a ring buffer (the last {@link #CAPACITY} events) which can be exported with
+ * {@link #exportChromeTrace(FileHandle)} and opened in chrome://tracing or https://ui.perfetto.dev. The component times
+ * are summed up over all the recorded frames, see {@link #printComponentTimes()}.<br>
+ * <br>
+ * Phases ({@link #begin(String)} and {@link #end()}) and component times are only for the main thread, other threads can
+ * use {@link #record(Object, long, long)}.
+ */
+public final class LttlFrameProfiler
+{
+	private LttlFrameProfiler()
+	{
+		// Exists only to defeat instantiation.
+	}
+
+	/**
+	 * number of events the ring buffer holds, power of 2
+	 */
+	public static final int CAPACITY = 1 << 16;
+	private static final int MASK = CAPACITY - 1;
+
+	private static final byte KIND_PHASE = 0;
+	private static final byte KIND_COMPONENT = 1;
+
+	/**
+	 * only changes at the beginning of a frame, other threads may see it late which only means an event is skipped
+	 */
+	private static boolean recording = false;
+
+	/* RING BUFFER */
+	private static byte[] kinds;
+	/**
+	 * a String or a Class
+	 */
+	private static Object[] names;
+	private static long[] starts;
+	private static long[] durations;
+	private static long[] threads;
+	/**
+	 * the write index of the event each slot holds, -1 while it's being written, so a reader can tell if it copied a
+	 * slot that another thread was writing
+	 */
+	private static AtomicLongArray sequences;
+	private static final AtomicLong writeIndex = new AtomicLong();
+	private static long baseTime;
+
+	/* MAIN THREAD */
+	private static long mainThread;
+	private static long frameStart;
+	private static int recordedFrames = 0;
+	private static String[] phaseNames = new String[16];
+	private static long[] phaseStarts = new long[16];
+	private static int phaseDepth = 0;
+	/**
+	 * the time of nested callbacks for each component callback that is running, so each class only gets it's own time
+	 */
+	private static long[] componentChildTimes = new long[16];
+	private static int componentDepth = 0;
+	private static final IdentityMap<Class<?>, ComponentTime> componentTimes = new IdentityMap<Class<?>, ComponentTime>();
+
+	private static final class ComponentTime
+	{
+		final Class<?> type;
+		long frameNanos;
+		int frameCalls;
+		long totalNanos;
+		long totalCalls;
+		long peakFrameNanos;
+
+		ComponentTime(Class<?> type)
+		{
+			this.type = type;
+		}
+	}
+
+	/**
+	 * @return if frame timings are being recorded this frame
+	 */
+	public static boolean isRecording()
+	{
+		return recording;
+	}
+
+	/**
+	 * Ran by the loop at the beginning of each frame, starts the "Frame" phase.
+	 */
+	public static void beginFrame()
+	{
+		recording = Lttl.game.getSettings().recordFrameTimings;
+		phaseDepth = 0;
+		componentDepth = 0;
+		if (!recording) return;
+
+		if (kinds == null)
+		{
+			kinds = new byte[CAPACITY];
+			names = new Object[CAPACITY];
+			starts = new long[CAPACITY];
+			durations = new long[CAPACITY];
+			threads = new long[CAPACITY];
+			sequences = new AtomicLongArray(CAPACITY);
+			for (int i = 0; i < CAPACITY; i++)
+			{
+				sequences.set(i, -1);
+			}
+			baseTime = System.nanoTime();
+		}
+		mainThread = Thread.currentThread().getId();
+		frameStart = System.nanoTime();
+		begin("Frame");
+	}
+
+	/**
+	 * Ran by the loop at the end of each frame (even if it threw), ends any phases still open and records the frame's
+	 * component times.
+	 */
+	public static void endFrame()
+	{
+		if (!recording) return;
+
+		while (phaseDepth > 0)
+		{
+			end();
+		}
+
+		for (ComponentTime time : componentTimes.values())
+		{
+			if (time.frameCalls == 0) continue;
+			write(KIND_COMPONENT, time.type, frameStart, time.frameNanos,
+					mainThread);
+			time.totalNanos += time.frameNanos;
+			time.totalCalls += time.frameCalls;
+			if (time.frameNanos > time.peakFrameNanos)
+			{
+				time.peakFrameNanos = time.frameNanos;
+			}
+			time.frameNanos = 0;
+			time.frameCalls = 0;
+		}
+		recordedFrames++;
+	}
+
+	/**
+	 * Starts a phase, must be followed by an {@link #end()}. Phases can be nested. Main thread only.
+	 *
+	 * @param name
+	 *            should be a constant, so it doesn't allocate
+	 */
+	public static void begin(String name)
+	{
+		if (!recording) return;
+
+		if (phaseDepth == phaseNames.length)
+		{
+			String[] newNames = new String[phaseDepth * 2];
+			System.arraycopy(phaseNames, 0, newNames, 0, phaseDepth);
+			phaseNames = newNames;
+			long[] newStarts = new long[phaseDepth * 2];
+			System.arraycopy(phaseStarts, 0, newStarts, 0, phaseDepth);
+			phaseStarts = newStarts;
+		}
+		phaseNames[phaseDepth] = name;
+		phaseStarts[phaseDepth] = System.nanoTime();
+		phaseDepth++;
+	}
+
+	/**
+	 * Ends the last phase started with {@link #begin(String)}.
+	 */
+	public static void end()
+	{
+		if (!recording || phaseDepth == 0) return;
+
+		phaseDepth--;
+		long start = phaseStarts[phaseDepth];
+		write(KIND_PHASE, phaseNames[phaseDepth], start, System.nanoTime()
+				- start, mainThread);
+		phaseNames[phaseDepth] = null;
+	}
+
+	/**
+	 * Records an event that already happened, can be called from any thread.
+	 *
+	 * @param name
+	 *            a String or a Class (the class's name is used)
+	 * @param start
+	 *            {@link System#nanoTime()}
+	 * @param end
+	 *            {@link System#nanoTime()}
+	 */
+	public static void record(Object name, long start, long end)
+	{
+		if (!recording || kinds == null) return;
+		write(KIND_PHASE, name, start, end - start, Thread.currentThread()
+				.getId());
+	}
+
+	/**
+	 * Ran before a component callback. Main thread only.
+	 *
+	 * @return the start time to give {@link #endComponent(Class, long)}, 0 if not recording
+	 */
+	public static long beginComponent()
+	{
+		if (!recording) return 0;
+
+		if (componentDepth == componentChildTimes.length)
+		{
+			long[] newTimes = new long[componentDepth * 2];
+			System.arraycopy(componentChildTimes, 0, newTimes, 0,
+					componentDepth);
+			componentChildTimes = newTimes;
+		}
+		componentChildTimes[componentDepth++] = 0;
+		return System.nanoTime();
+	}
+
+	/**
+	 * Ran after a component callback, adds it's time (without any callbacks nested in it) to the component's class.
+	 *
+	 * @param type
+	 *            the component's class
+	 * @param start
+	 *            from {@link #beginComponent()}
+	 */
+	public static void endComponent(Class<?> type, long start)
+	{
+		if (start == 0 || componentDepth == 0) return;
+
+		long total = System.nanoTime() - start;
+		componentDepth--;
+		if (componentDepth > 0)
+		{
+			componentChildTimes[componentDepth - 1] += total;
+		}
+
+		ComponentTime time = componentTimes.get(type);
+		if (time == null)
+		{
+			time = new ComponentTime(type);
+			componentTimes.put(type, time);
+		}
+		time.frameNanos += total - componentChildTimes[componentDepth];
+		time.frameCalls++;
+	}
+
+	private static void write(byte kind, Object name, long start,
+			long duration, long thread)
+	{
+		long n = writeIndex.getAndIncrement();
+		int i = (int) (n & MASK);
+		sequences.set(i, -1);
+		kinds[i] = kind;
+		names[i] = name;
+		starts[i] = start;
+		durations[i] = duration;
+		threads[i] = thread;
+		sequences.set(i, n);
+	}
+
+	/**
+	 * Clears the recorded events and component times.
+	 */
+	public static void clear()
+	{
+		writeIndex.set(0);
+		if (names != null)
+		{
+			for (int i = 0; i < CAPACITY; i++)
+			{
+				sequences.set(i, -1);
+				names[i] = null;
+			}
+		}
+		componentTimes.clear();
+		recordedFrames = 0;
+	}
+
+	/**
+	 * Logs the time each component class spent in it's callbacks, most expensive first.
+	 */
+	public static void printComponentTimes()
+	{
+		if (recordedFrames == 0)
+		{
+			Lttl.logNote("Frame Profiler: No frames recorded, turn on recordFrameTimings.");
+			return;
+		}
+
+		ArrayList<ComponentTime> sorted = new ArrayList<ComponentTime>();
+		for (ComponentTime time : componentTimes.values())
+		{
+			sorted.add(time);
+		}
+		Collections.sort(sorted, new Comparator<ComponentTime>()
+		{
+			@Override
+			public int compare(ComponentTime o1, ComponentTime o2)
+			{
+				// Long.compare() needs API 19 on Android
+				if (o1.totalNanos == o2.totalNanos) return 0;
+				return o1.totalNanos < o2.totalNanos ? 1 : -1;
+			}
+		});
+
+		Lttl.logNote("Frame Profiler: ***** Component Times (" + recordedFrames
+				+ " frames) *****");
+		for (ComponentTime time : sorted)
+		{
+			Lttl.logNote("Frame Profiler - " + getName(time.type) + ": "
+					+ toMs(time.totalNanos / recordedFrames) + "ms avg ["
+					+ toMs(time.peakFrameNanos) + "ms peak] "
+					+ (time.totalCalls / recordedFrames) + " calls");
+		}
+	}
+
+	/**
+	 * Exports the recorded events to a local file.
+	 *
+	 * @see #exportChromeTrace(FileHandle)
+	 */
+	public static void exportChromeTrace()
+	{
+		exportChromeTrace(Gdx.files.local("profiler/trace-"
+				+ System.currentTimeMillis() + ".json"));
+	}
+
+	/**
+	 * Exports the recorded events in the Chrome trace event format. Phases are complete events, and each component
+	 * class is a counter of it's milliseconds each frame. Should be called from the main thread. Events other threads
+	 * are writing while exporting are skipped.
+	 *
+	 * @param file
+	 */
+	public static void exportChromeTrace(FileHandle file)
+	{
+		long count = Math.min(writeIndex.get(), CAPACITY);
+		if (kinds == null || count == 0)
+		{
+			Lttl.logNote("Frame Profiler: Nothing to export, turn on recordFrameTimings.");
+			return;
+		}
+		long first = writeIndex.get() - count;
+
+		StringBuilder sb = new StringBuilder((int) count * 96);
+		sb.append("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+		boolean comma = false;
+		int exported = 0;
+		for (long n = first; n < first + count; n++)
+		{
+			int i = (int) (n & MASK);
+			// copy the slot, then make sure it wasn't being written or overwritten while copying
+			if (sequences.get(i) != n) continue;
+			byte kind = kinds[i];
+			Object name = names[i];
+			long start = starts[i];
+			long duration = durations[i];
+			long thread = threads[i];
+			if (sequences.get(i) != n || name == null) continue;
+
+			if (comma) sb.append(',');
+			comma = true;
+			exported++;
+			sb.append("\n{\"name\":\"");
+			appendEscaped(sb, getName(name));
+			sb.append("\",\"pid\":1,\"tid\":").append(thread);
+			sb.append(",\"ts\":").append(toMicros(start - baseTime));
+			if (kind == KIND_PHASE)
+			{
+				sb.append(",\"cat\":\"phase\",\"ph\":\"X\",\"dur\":").append(
+						toMicros(duration));
+			}
+			else
+			{
+				sb.append(",\"cat\":\"component\",\"ph\":\"C\",\"args\":{\"ms\":")
+						.append(toMs(duration)).append('}');
+			}
+			sb.append('}');
+		}
+		sb.append("\n]}");
+
+		file.writeString(sb.toString(), false);
+		Lttl.logNote("Frame Profiler: Exported " + exported + " events to "
+				+ file.path());
+	}
+
+	private static String getName(Object name)
+	{
+		if (name instanceof Class)
+		{
+			Class<?> type = (Class<?>) name;
+			String simple = type.getSimpleName();
+			// anonymous classes don't have a simple name
+			return simple.isEmpty() ? type.getName() : simple;
+		}
+		return name.toString();
+	}
+
+	private static void appendEscaped(StringBuilder sb, String s)
+	{
+		for (int i = 0, n = s.length(); i < n; i++)
+		{
+			char c = s.charAt(i);
+			if (c == '"' || c == '\\')
+			{
+				sb.append('\\');
+			}
+			sb.append(c);
+		}
+	}
+
+	private static double toMicros(long nanos)
+	{
+		return nanos / 1000.0;
+	}
+
+	private static double toMs(long nanos)
+	{
+		return nanos / 1000000.0;
+	}
+}
@@ -33,22 +33,38 @@ import com.vividsolutions.jts.operation.buffer.BufferParameters;
 public class LttlGeometryUtil
 {
 	// JTS Topology
-	private static GeometryFactory geometryFactory;
-
-	private static Vector2Array tmpArray1 = new Vector2Array(0);
-	private static Vector2Array tmpArray2 = new Vector2Array(0);
-	private static IntArray tmpIntArray = new IntArray(0);
-	private static Vector2 temp = new Vector2();
-	private static Vector2 temp2 = new Vector2();
-	private static Vector2 temp3 = new Vector2();
-	private static Vector2 temp4 = new Vector2();
-	private static Vector2 offsetPrevLineStartPoint = new Vector2();
-	private static Vector2 offsetPrevLineEndPoint = new Vector2();
-	private static Vector2 offsetCurrentLineStartPoint = new Vector2();
-	private static Vector2 offsetCurrentLineEndPoint = new Vector2();
-	private static Vector2 prevLineVectorNor = new Vector2();
-	private static Vector2 currentLineVectorNor = new Vector2();
-	private static Vector2 intersectionPoint = new Vector2();
+	private static final GeometryFactory geometryFactory = new GeometryFactory();
+
+	/**
+	 * temp variables, one set per thread so meshes can be generated on the mesh worker thread
+	 */
+	private static final class Scratch
+	{
+		final Vector2Array tmpArray1 = new Vector2Array(0);
+		final Vector2Array tmpArray2 = new Vector2Array(0);
+		final IntArray tmpIntArray = new IntArray(0);
+		final Vector2 temp = new Vector2();
+		final Vector2 temp2 = new Vector2();
+		final Vector2 temp3 = new Vector2();
+		final Vector2 temp4 = new Vector2();
+		final Vector2 offsetPrevLineStartPoint = new Vector2();
+		final Vector2 offsetPrevLineEndPoint = new Vector2();
+		final Vector2 offsetCurrentLineStartPoint = new Vector2();
+		final Vector2 offsetCurrentLineEndPoint = new Vector2();
+		final Vector2 prevLineVectorNor = new Vector2();
+		final Vector2 currentLineVectorNor = new Vector2();
+		final Vector2 intersectionPoint = new Vector2();
+		OffsetPathObject opo;
+	}
+
+	private static final ThreadLocal<Scratch> threadScratch = new ThreadLocal<Scratch>()
+	{
+		@Override
+		protected Scratch initialValue()
+		{
+			return new Scratch();
+		}
+	};
 
 	/**
 	 * @param points
@@ -79,10 +95,6 @@ public class LttlGeometryUtil
 
 	static public GeometryFactory getGeometryFactory()
 	{
-		if (geometryFactory == null)
-		{
-			geometryFactory = new GeometryFactory();
-		}
 		return geometryFactory;
 	}
 
@@ -215,7 +227,6 @@ public class LttlGeometryUtil
 	}
 
 	private static boolean offsetPathDebug = false;
-	private static OffsetPathObject opo;
 
 	/**
 	 * Offsets the path. This allows offsetting paths that are open and gives relationship data, which
@@ -252,6 +263,18 @@ public class LttlGeometryUtil
 			boolean cleanup, Vector2Array offsettedPointsContainer,
 			IntArray relationshipContainer)
 	{
+		Scratch scratch = threadScratch.get();
+		Vector2Array tmpArray1 = scratch.tmpArray1;
+		IntArray tmpIntArray = scratch.tmpIntArray;
+		Vector2 temp = scratch.temp;
+		Vector2 temp2 = scratch.temp2;
+		Vector2 offsetPrevLineStartPoint = scratch.offsetPrevLineStartPoint;
+		Vector2 offsetPrevLineEndPoint = scratch.offsetPrevLineEndPoint;
+		Vector2 offsetCurrentLineStartPoint = scratch.offsetCurrentLineStartPoint;
+		Vector2 offsetCurrentLineEndPoint = scratch.offsetCurrentLineEndPoint;
+		Vector2 prevLineVectorNor = scratch.prevLineVectorNor;
+		Vector2 currentLineVectorNor = scratch.currentLineVectorNor;
+		Vector2 intersectionPoint = scratch.intersectionPoint;
 		// not enough points (if closed needs at least 3, if open needs at least 2
 		Lttl.Throw(source.size() < (isClosed ? 3 : 2));
 		Lttl.Throw(amount == 0);
@@ -259,7 +282,7 @@ public class LttlGeometryUtil
 		// save all settings
 		float miterDstLimit = LttlMath.abs(amount)
 				* Lttl.game.getSettings().getMiterRatioLimit(miterRatioLimit);
-		opo = new OffsetPathObject(source, isClosed, isCCW, amount,
+		scratch.opo = new OffsetPathObject(source, isClosed, isCCW, amount,
 				miterDstLimit);
 
 		// reset temp variables
@@ -304,7 +327,7 @@ public class LttlGeometryUtil
 
 		tmpArray1.clear();
 		tmpIntArray.clear();
-		opo = null;
+		scratch.opo = null;
 	}
 
 	private static class OffsetPathObject
@@ -328,6 +351,14 @@ public class LttlGeometryUtil
 
 	private static void offsetPathCleanup(Vector2Array source, boolean isClosed)
 	{
+		Scratch scratch = threadScratch.get();
+		Vector2Array tmpArray1 = scratch.tmpArray1;
+		IntArray tmpIntArray = scratch.tmpIntArray;
+		Vector2 temp = scratch.temp;
+		Vector2 temp2 = scratch.temp2;
+		Vector2 temp3 = scratch.temp3;
+		Vector2 temp4 = scratch.temp4;
+		Vector2 intersectionPoint = scratch.intersectionPoint;
 		// rarely works
 
 		// in brief, it checks it's neighbor to see if the lines have an intersection point that is in the same
@@ -385,6 +416,19 @@ public class LttlGeometryUtil
 	 */
 	static private void offsetPathProcessPoint(int currentIndex, boolean init)
 	{
+		Scratch scratch = threadScratch.get();
+		Vector2 temp = scratch.temp;
+		Vector2 temp2 = scratch.temp2;
+		Vector2 temp3 = scratch.temp3;
+		Vector2 temp4 = scratch.temp4;
+		Vector2 offsetPrevLineStartPoint = scratch.offsetPrevLineStartPoint;
+		Vector2 offsetPrevLineEndPoint = scratch.offsetPrevLineEndPoint;
+		Vector2 offsetCurrentLineStartPoint = scratch.offsetCurrentLineStartPoint;
+		Vector2 offsetCurrentLineEndPoint = scratch.offsetCurrentLineEndPoint;
+		Vector2 prevLineVectorNor = scratch.prevLineVectorNor;
+		Vector2 currentLineVectorNor = scratch.currentLineVectorNor;
+		Vector2 intersectionPoint = scratch.intersectionPoint;
+		OffsetPathObject opo = scratch.opo;
 		int nextIndex = LttlMath.loopIndex(currentIndex + 1, opo.source.size());
 
 		// use last iteration's nextLineVector for this line's current, saves calculations
@@ -562,6 +606,9 @@ public class LttlGeometryUtil
 
 	static private void offsetPathAddPoint(Vector2 point, int relationshipIndex)
 	{
+		Scratch scratch = threadScratch.get();
+		Vector2Array tmpArray1 = scratch.tmpArray1;
+		IntArray tmpIntArray = scratch.tmpIntArray;
 		tmpArray1.add(point);
 		tmpIntArray.add(relationshipIndex);
 	}
@@ -681,6 +728,9 @@ public class LttlGeometryUtil
 	 */
 	static public Polygon createPolygon(LttlMesh mesh, boolean world)
 	{
+		Scratch scratch = threadScratch.get();
+		Vector2Array tmpArray1 = scratch.tmpArray1;
+		Vector2Array tmpArray2 = scratch.tmpArray2;
 		LinearRing shell = null;
 		LinearRing[] holes = null;
 
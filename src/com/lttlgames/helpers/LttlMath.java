@@ -1713,49 +1713,33 @@ public final class LttlMath extends MathRef
 		return output;
 	}
 
+	/**
+	 * Post multiplies a x shear into the matrix. Done directly on the values (no temporary matrix), so it is thread safe.
+	 */
 	public static Matrix3 ShearX(Matrix3 mat, float shear)
 	{
 		if (shear == 0) return mat;
 
-		Matrix3 tmpM3 = CheckoutTmpM3Internal();
-		tmpM3.val[Matrix3.M00] = 1;
-		tmpM3.val[Matrix3.M10] = 0;
-		tmpM3.val[Matrix3.M20] = 0;
-
-		tmpM3.val[Matrix3.M01] = shear;
-		tmpM3.val[Matrix3.M11] = 1;
-		tmpM3.val[Matrix3.M21] = 0;
-
-		tmpM3.val[Matrix3.M02] = 0;
-		tmpM3.val[Matrix3.M12] = 0;
-		tmpM3.val[Matrix3.M22] = 1;
-
-		mat.mul(tmpM3);
-
-		ReturnTmpM3Internal();
+		// column 1 += shear * column 0
+		float[] val = mat.val;
+		val[Matrix3.M01] += shear * val[Matrix3.M00];
+		val[Matrix3.M11] += shear * val[Matrix3.M10];
+		val[Matrix3.M21] += shear * val[Matrix3.M20];
 		return mat;
 	}
 
+	/**
+	 * Post multiplies a y shear into the matrix. Done directly on the values (no temporary matrix), so it is thread safe.
+	 */
 	public static Matrix3 ShearY(Matrix3 mat, float shear)
 	{
 		if (shear == 0) return mat;
 
-		Matrix3 tmpM3 = CheckoutTmpM3Internal();
-		tmpM3.val[Matrix3.M00] = 1;
-		tmpM3.val[Matrix3.M10] = shear;
-		tmpM3.val[Matrix3.M20] = 0;
-
-		tmpM3.val[Matrix3.M01] = 0;
-		tmpM3.val[Matrix3.M11] = 1;
-		tmpM3.val[Matrix3.M21] = 0;
-
-		tmpM3.val[Matrix3.M02] = 0;
-		tmpM3.val[Matrix3.M12] = 0;
-		tmpM3.val[Matrix3.M22] = 1;
-
-		mat.mul(tmpM3);
-
-		ReturnTmpM3Internal();
+		// column 0 += shear * column 1
+		float[] val = mat.val;
+		val[Matrix3.M00] += shear * val[Matrix3.M01];
+		val[Matrix3.M10] += shear * val[Matrix3.M11];
+		val[Matrix3.M20] += shear * val[Matrix3.M21];
 		return mat;
 	}
 
@@ -44,6 +44,21 @@ public final class LttlProfiler
 	@GuiShow
 	public static LttlProfileData batchCount = new LttlProfileData(
 			"Render Batches");
+	/**
+	 * The number of static batches uploaded, should be 0 when nothing static changes.
+	 */
+	@GuiShow
+	public static LttlProfileData staticBatchRebuilds = new LttlProfileData(
+			"Static Batch Rebuilds");
+	@GuiShow
+	public static LttlProfileData poolSpawns = new LttlProfileData(
+			"Pool Spawns");
+	/**
+	 * The number of prefab pool instances copied, should be 0 after the pools are prewarmed.
+	 */
+	@GuiShow
+	public static LttlProfileData poolInstantiations = new LttlProfileData(
+			"Pool Instantiations");
 	@GuiShow
 	private static LttlProfileData javaHeap = new LttlProfileData("Java Heap");
 	@GuiShow
@@ -69,8 +84,9 @@ public final class LttlProfiler
 	{ enabledTransforms, enabledComponents, meshUpdates, meshObjects,
 			triangulations, aaUpdates, transformLocalUpdates,
 			transformWorldUpdates, renderedMeshes, renderedVertices,
-			renderedTriangles, batchCount, checkBoundingRectangles,
-			textureRefreshes, pathUpdates, javaHeap };
+			renderedTriangles, batchCount, staticBatchRebuilds,
+			checkBoundingRectangles, textureRefreshes, pathUpdates,
+			poolSpawns, poolInstantiations, javaHeap };
 
 	/**
 	 * Calculates peaks, prints to screen, and clears for next frame<br>
@@ -113,6 +129,27 @@ public final class LttlProfiler
 		Lttl.editor.getSettings().showProfilerData = !Lttl.editor.getSettings().showProfilerData;
 	}
 
+	/**
+	 * Exports the recorded frame timings, see {@link LttlFrameProfiler#exportChromeTrace()}.
+	 */
+	@GuiButton
+	public static void exportFrameTrace()
+	{
+		LttlFrameProfiler.exportChromeTrace();
+	}
+
+	@GuiButton
+	public static void printComponentTimes()
+	{
+		LttlFrameProfiler.printComponentTimes();
+	}
+
+	@GuiButton
+	public static void clearFrameTimings()
+	{
+		LttlFrameProfiler.clear();
+	}
+
 	@GuiButton
 	public static void resetPeaks()
 	{
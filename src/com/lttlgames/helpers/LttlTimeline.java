@@ -10,6 +10,10 @@ public class LttlTimeline
 	@Persist(909700)
 	@GuiHide
 	private Vector2Array points;
+	/**
+	 * the values at even steps from 0 to 1, if baked
+	 */
+	private float[] samples;
 
 	/**
 	 * Creates a LttlTimeline with two points that represent linear interpolation.
@@ -53,6 +57,45 @@ public class LttlTimeline
 		}
 		// sort
 		points.sortByX(true);
+
+		if (samples != null)
+		{
+			sample();
+		}
+	}
+
+	/**
+	 * Samples the timeline at even steps, so {@link #getValue(float)} interpolates between the two nearest samples in
+	 * constant time instead of searching the points. Sharp corners between points are softened within a step. Stays
+	 * baked (resampled on {@link #modified()}) until {@link #unbake()}.
+	 * 
+	 * @param resolution
+	 *            number of samples, at least 2
+	 */
+	public void bake(int resolution)
+	{
+		Lttl.Throw(resolution < 2);
+		if (samples != null && samples.length == resolution) return;
+		samples = new float[resolution];
+		sample();
+	}
+
+	public void unbake()
+	{
+		samples = null;
+	}
+
+	public boolean isBaked()
+	{
+		return samples != null;
+	}
+
+	private void sample()
+	{
+		for (int i = 0, n = samples.length; i < n; i++)
+		{
+			samples[i] = searchValue(i / (n - 1f));
+		}
 	}
 
 	public float getValue(float percent, float start, float end)
@@ -68,6 +111,18 @@ public class LttlTimeline
 	 * @return
 	 */
 	public float getValue(float percent)
+	{
+		if (samples != null)
+		{
+			float position = LttlMath.Clamp01(percent) * (samples.length - 1);
+			int i = (int) position;
+			if (i >= samples.length - 1) { return samples[samples.length - 1]; }
+			return LttlMath.Lerp(samples[i], samples[i + 1], position - i);
+		}
+		return searchValue(percent);
+	}
+
+	private float searchValue(float percent)
 	{
 		// no points
 		Lttl.Throw(points.size() == 0);
@@ -41,6 +41,20 @@ public abstract class BaseTween<T>
 	boolean isAutoRemoveEnabled;
 	private float speedMultiplier = 1;
 
+	// Manager and Pool
+	/**
+	 * the index of this top level object in the {@link TweenManager}'s slot array, -1 if not managed
+	 */
+	int managerIndex = -1;
+	/**
+	 * if this object is waiting in it's {@link Pool}, so it can't be freed twice
+	 */
+	boolean isPooled;
+	/**
+	 * instance ids are unique, since they are also used as keys by {@link TweenManager#getFromId(long)}
+	 */
+	private static long nextInstanceId = 0;
+
 	// -------------------------------------------------------------------------
 
 	protected void reset()
@@ -59,7 +73,7 @@ public abstract class BaseTween<T>
 		isAutoRemoveEnabled = true;
 
 		// generate a new instance id
-		instanceId = System.nanoTime();
+		instanceId = ++nextInstanceId;
 	}
 
 	// -------------------------------------------------------------------------
@@ -574,8 +588,10 @@ public abstract class BaseTween<T>
 
 	protected void callCallback(CallBack type, float interpValue)
 	{
-		for (TweenCallback callback : callbacks)
+		// indexed, since this runs every step and an iterator would be allocated each time
+		for (int i = 0, n = callbacks.size(); i < n; i++)
 		{
+			TweenCallback callback = callbacks.get(i);
 			if (callback == null) continue;
 
 			callback.source = this;
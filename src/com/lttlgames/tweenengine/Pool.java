@@ -6,7 +6,7 @@ import java.util.ArrayList;
  * A light pool of objects that can be resused to avoid allocation.
  * Based on Nathan Sweet pool implementation
  */
-abstract class Pool<T> {
+abstract class Pool<T extends BaseTween<?>> {
 	private final ArrayList<T> objects;
 	private final Callback<T> callback;
 
@@ -19,12 +19,15 @@ abstract class Pool<T> {
 
 	public T get() {
 		T obj = objects.isEmpty() ? create() : objects.remove(objects.size()-1);
+		obj.isPooled = false;
 		if (callback != null) callback.onUnPool(obj);
 		return obj;
 	}
 
 	public void free(T obj) {
-		if (!objects.contains(obj)) {
+		// the flag instead of objects.contains(), which was a linear search every free
+		if (!obj.isPooled) {
+			obj.isPooled = true;
 			if (callback != null) callback.onPool(obj);
 			objects.add(obj);
 		}
@@ -93,7 +93,7 @@ public final class Timeline extends BaseTween<Timeline>
 		SEQUENCE, PARALLEL
 	}
 
-	private final List<BaseTween<?>> children = new ArrayList<BaseTween<?>>(10);
+	final List<BaseTween<?>> children = new ArrayList<BaseTween<?>>(10);
 	private Timeline current;
 	private Modes mode;
 	private boolean isBuilt;
@@ -1,5 +1,7 @@
 package com.lttlgames.tweenengine;
 
+import java.util.Arrays;
+
 import com.lttlgames.editor.EaseMode;
 import com.lttlgames.editor.Lttl;
 import com.lttlgames.editor.LttlComponent;
@@ -120,6 +122,15 @@ public final class Tween extends BaseTween<Tween>
 	private float[] accessorBuffer;
 	float[] targetArray;
 
+	// Reused arrays, kept when pooled so a reused tween does not allocate
+	private float[] targetValuesReuse;
+	private float[] startValuesReuse;
+	private float[] endValuesReuse;
+	private float[] accessorBufferReuse;
+	private float[] targetArrayReuse;
+	private float[] ns_startStepReuse;
+	private float[] sh_valuesReuse;
+
 	private TweenGetterSetter getterSetter;
 
 	// Noise
@@ -254,7 +265,8 @@ public final class Tween extends BaseTween<Tween>
 	 */
 	public Tween target(float... targetValues)
 	{
-		this.targetValues = new float[targetValues.length];
+		this.targetValues = targetValuesReuse = TweenGetterSetter.ensureLength(
+				targetValuesReuse, targetValues.length);
 
 		System.arraycopy(targetValues, 0, this.targetValues, 0,
 				targetValues.length);
@@ -366,7 +378,8 @@ public final class Tween extends BaseTween<Tween>
 		if (getterSetter == null) return this;
 
 		// create buffer, even though these aren't the exact start values
-		accessorBuffer = getterSetter.get();
+		accessorBuffer = accessorBufferReuse = getterSetter
+				.get(accessorBufferReuse);
 
 		if (targetValues.length != accessorBuffer.length)
 		{
@@ -392,8 +405,9 @@ public final class Tween extends BaseTween<Tween>
 		if (getterSetter == null) return;
 
 		// get start values
-		startValues = getterSetter.get();
-		endValues = new float[combinedAttrsCnt];
+		startValues = startValuesReuse = getterSetter.get(startValuesReuse);
+		endValues = endValuesReuse = TweenGetterSetter.ensureLength(
+				endValuesReuse, combinedAttrsCnt);
 
 		// modify the target values if end percentage is not 1
 		if (getTargetPercentage() != 1)
@@ -526,7 +540,8 @@ public final class Tween extends BaseTween<Tween>
 		{
 			if (targetArray == null)
 			{
-				targetArray = new float[combinedAttrsCnt];
+				targetArray = targetArrayReuse = TweenGetterSetter
+						.ensureLength(targetArrayReuse, combinedAttrsCnt);
 			}
 			for (int i = 0; i < targetArray.length; i++)
 			{
@@ -594,7 +609,9 @@ public final class Tween extends BaseTween<Tween>
 		{
 			if (sh_values == null)
 			{
-				sh_values = new float[combinedAttrsCnt];
+				sh_values = sh_valuesReuse = TweenGetterSetter.ensureLength(
+						sh_valuesReuse, combinedAttrsCnt);
+				Arrays.fill(sh_values, 0);
 			}
 
 			// calculate the shake interpolation
@@ -777,7 +794,8 @@ public final class Tween extends BaseTween<Tween>
 		if (addNoise && (!isInitialized() || generateNewNoisePerIteration))
 		{
 			// generate a random step starts for each because using same noise
-			ns_startStep = new float[combinedAttrsCnt];
+			ns_startStep = ns_startStepReuse = TweenGetterSetter
+					.ensureLength(ns_startStepReuse, combinedAttrsCnt);
 			for (int i = 0; i < ns_startStep.length; i++)
 			{
 				// NOTE may want to make this bigger if getting similar noise
@@ -12,6 +12,31 @@ public abstract class TweenGetterSetter
 
 	public abstract float[] get();
 
+	/**
+	 * Optional to override. Gets the values into the given array, so a tween being reused from the pool does not need
+	 * to allocate new arrays. Only returns a different array if result is null or not the right length.
+	 * 
+	 * @param result
+	 *            can be null
+	 * @return the values
+	 */
+	public float[] get(float[] result)
+	{
+		float[] values = get();
+		if (result == null || result.length != values.length) return values;
+		System.arraycopy(values, 0, result, 0, values.length);
+		return result;
+	}
+
+	/**
+	 * Returns result if it is the given length, otherwise a new array.
+	 */
+	protected static float[] ensureLength(float[] result, int length)
+	{
+		return (result != null && result.length == length) ? result
+				: new float[length];
+	}
+
 	/**
 	 * Optional to override. Returns the target object that the tween is applied to. This is helpful when searching for
 	 * a tween with a specific target object.
@@ -48,8 +73,16 @@ public abstract class TweenGetterSetter
 			@Override
 			public float[] get()
 			{
-				return new float[]
-				{ pointer.x, pointer.y };
+				return get(null);
+			}
+
+			@Override
+			public float[] get(float[] result)
+			{
+				result = ensureLength(result, 2);
+				result[0] = pointer.x;
+				result[1] = pointer.y;
+				return result;
 			}
 		};
 	}
@@ -89,15 +122,23 @@ public abstract class TweenGetterSetter
 
 			@Override
 			public float[] get()
+			{
+				return get(null);
+			}
+
+			@Override
+			public float[] get(float[] result)
 			{
 				switch (property)
 				{
 					case 0:
-						return new float[]
-						{ pointer.x };
+						result = ensureLength(result, 1);
+						result[0] = pointer.x;
+						return result;
 					case 1:
-						return new float[]
-						{ pointer.y };
+						result = ensureLength(result, 1);
+						result[0] = pointer.y;
+						return result;
 				}
 				return null;
 			}
@@ -129,8 +170,18 @@ public abstract class TweenGetterSetter
 			@Override
 			public float[] get()
 			{
-				return new float[]
-				{ pointer.r, pointer.g, pointer.b, pointer.a };
+				return get(null);
+			}
+
+			@Override
+			public float[] get(float[] result)
+			{
+				result = ensureLength(result, 4);
+				result[0] = pointer.r;
+				result[1] = pointer.g;
+				result[2] = pointer.b;
+				result[3] = pointer.a;
+				return result;
 			}
 		};
 	}
@@ -176,21 +227,31 @@ public abstract class TweenGetterSetter
 
 			@Override
 			public float[] get()
+			{
+				return get(null);
+			}
+
+			@Override
+			public float[] get(float[] result)
 			{
 				switch (property)
 				{
 					case 0:
-						return new float[]
-						{ pointer.r };
+						result = ensureLength(result, 1);
+						result[0] = pointer.r;
+						return result;
 					case 1:
-						return new float[]
-						{ pointer.g };
+						result = ensureLength(result, 1);
+						result[0] = pointer.g;
+						return result;
 					case 2:
-						return new float[]
-						{ pointer.b };
+						result = ensureLength(result, 1);
+						result[0] = pointer.b;
+						return result;
 					case 3:
-						return new float[]
-						{ pointer.a };
+						result = ensureLength(result, 1);
+						result[0] = pointer.a;
+						return result;
 				}
 				return null;
 			}
@@ -212,8 +273,15 @@ public abstract class TweenGetterSetter
 			@Override
 			public float[] get()
 			{
-				return new float[]
-				{ value };
+				return get(null);
+			}
+
+			@Override
+			public float[] get(float[] result)
+			{
+				result = ensureLength(result, 1);
+				result[0] = value;
+				return result;
 			}
 		};
 	}
@@ -234,8 +302,15 @@ public abstract class TweenGetterSetter
 			@Override
 			public float[] get()
 			{
-				return new float[]
-				{ value };
+				return get(null);
+			}
+
+			@Override
+			public float[] get(float[] result)
+			{
+				result = ensureLength(result, 1);
+				result[0] = value;
+				return result;
 			}
 		};
 	}
@@ -255,8 +330,15 @@ public abstract class TweenGetterSetter
 			@Override
 			public float[] get()
 			{
-				return new float[]
-				{ list.get(index) };
+				return get(null);
+			}
+
+			@Override
+			public float[] get(float[] result)
+			{
+				result = ensureLength(result, 1);
+				result[0] = list.get(index);
+				return result;
 			}
 		};
 	}
@@ -276,8 +358,15 @@ public abstract class TweenGetterSetter
 			@Override
 			public float[] get()
 			{
-				return new float[]
-				{ list.get(index) };
+				return get(null);
+			}
+
+			@Override
+			public float[] get(float[] result)
+			{
+				result = ensureLength(result, 1);
+				result[0] = list.get(index);
+				return result;
 			}
 		};
 	}
@@ -296,8 +385,15 @@ public abstract class TweenGetterSetter
 			@Override
 			public float[] get()
 			{
-				return new float[]
-				{ Array.getFloat(array, index) };
+				return get(null);
+			}
+
+			@Override
+			public float[] get(float[] result)
+			{
+				result = ensureLength(result, 1);
+				result[0] = Array.getFloat(array, index);
+				return result;
 			}
 		};
 	}
@@ -316,8 +412,15 @@ public abstract class TweenGetterSetter
 			@Override
 			public float[] get()
 			{
-				return new float[]
-				{ Array.getInt(array, index) };
+				return get(null);
+			}
+
+			@Override
+			public float[] get(float[] result)
+			{
+				result = ensureLength(result, 1);
+				result[0] = Array.getInt(array, index);
+				return result;
 			}
 		};
 	}
@@ -4,6 +4,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.LongMap;
 import com.lttlgames.editor.Lttl;
 import com.lttlgames.editor.LttlComponent;
 
@@ -24,8 +27,27 @@ public class TweenManager
 	// Public API
 	// -------------------------------------------------------------------------
 
+	/**
+	 * the top level objects, each one's {@link BaseTween#managerIndex} is it's index in here
+	 */
 	private final ArrayList<BaseTween<?>> objects = new ArrayList<BaseTween<?>>(
 			20);
+	/**
+	 * instance id -> object, includes every tween and timeline inside the top level objects
+	 */
+	private final LongMap<BaseTween<?>> idMap = new LongMap<BaseTween<?>>();
+	/**
+	 * getter setter target -> the top level objects that have a tween with that target
+	 */
+	private final IdentityMap<Object, ArrayList<BaseTween<?>>> targetMap = new IdentityMap<Object, ArrayList<BaseTween<?>>>();
+	/**
+	 * host component id -> the top level objects that have a tween with that host
+	 */
+	private final IntMap<ArrayList<BaseTween<?>>> hostMap = new IntMap<ArrayList<BaseTween<?>>>();
+	/**
+	 * reused lists for targetMap and hostMap
+	 */
+	private final ArrayList<ArrayList<BaseTween<?>>> targetListPool = new ArrayList<ArrayList<BaseTween<?>>>();
 	private boolean isPaused = false;
 
 	/**
@@ -35,18 +57,20 @@ public class TweenManager
 	 */
 	public TweenManager add(BaseTween<?> object)
 	{
-		if (objects.contains(object))
+		if (object.managerIndex != -1)
 		{
 			Lttl.Throw("This tween object is already on manager or did not get removed properly when free to pool.");
 		}
-		objects.add(object);
 		object.startUnmanaged();
+		object.managerIndex = objects.size();
+		objects.add(object);
+		// children can't be pushed once started, so the tree can be indexed now
+		index(object, object);
 		return this;
 	}
 
 	/**
-	 * Finds a BaseTween object (Tween or Timeline) from an id, returning null means none exists, probably finished.<br>
-	 * This is untested, and could be slow.
+	 * Finds a BaseTween object (Tween or Timeline) from an id, returning null means none exists, probably finished.
 	 * 
 	 * @param id
 	 *            this id should should have been saved from the tween object you are looking for by using getId()
@@ -54,23 +78,21 @@ public class TweenManager
 	 */
 	public BaseTween<?> getFromId(long id)
 	{
-		for (BaseTween<?> bt : objects)
-		{
-			BaseTween<?> result = bt.searchForId(id);
-			if (result != null) { return result; }
-		}
-		return null;
+		return idMap.get(id);
 	}
 
 	/**
-	 * Returns true if the manager contains any valid interpolation associated to the given target object.
+	 * Returns true if the manager contains any valid interpolation associated to the given target object. Killed ones
+	 * are not counted, even though they stay on the manager until the next update.
 	 */
 	public boolean containsTarget(Object target)
 	{
-		for (int i = 0, n = objects.size(); i < n; i++)
+		if (target == null) return false;
+		ArrayList<BaseTween<?>> list = targetMap.get(target);
+		if (list == null) return false;
+		for (int i = 0, n = list.size(); i < n; i++)
 		{
-			BaseTween<?> obj = objects.get(i);
-			if (obj.containsTarget(target)) return true;
+			if (!list.get(i).isKilled()) return true;
 		}
 		return false;
 	}
@@ -93,9 +115,12 @@ public class TweenManager
 	 */
 	public void killTarget(Object target)
 	{
-		for (int i = 0, n = objects.size(); i < n; i++)
+		if (target == null) return;
+		ArrayList<BaseTween<?>> list = targetMap.get(target);
+		if (list == null) return;
+		for (int i = 0, n = list.size(); i < n; i++)
 		{
-			BaseTween<?> obj = objects.get(i);
+			BaseTween<?> obj = list.get(i);
 			if (obj.isKilled()) continue;
 			obj.killTarget(target);
 		}
@@ -107,9 +132,12 @@ public class TweenManager
 	 */
 	public void killHost(LttlComponent host)
 	{
-		for (int i = 0, n = objects.size(); i < n; i++)
+		if (host == null) return;
+		ArrayList<BaseTween<?>> list = hostMap.get(host.getId());
+		if (list == null) return;
+		for (int i = 0, n = list.size(); i < n; i++)
 		{
-			BaseTween<?> obj = objects.get(i);
+			BaseTween<?> obj = list.get(i);
 			if (obj.isKilled()) continue;
 			obj.killHost(host);
 		}
@@ -121,6 +149,7 @@ public class TweenManager
 	public void ensureCapacity(int minCapacity)
 	{
 		objects.ensureCapacity(minCapacity);
+		idMap.ensureCapacity(minCapacity);
 	}
 
 	/**
@@ -147,14 +176,29 @@ public class TweenManager
 	public void update(float delta)
 	{
 		// only iterates through the top level base tweens
-		for (int i = objects.size() - 1; i >= 0; i--)
+		// removes the finished ones by shifting the rest down in one pass, keeping their order
+		int size = objects.size();
+		int write = 0;
+		for (int i = 0; i < size; i++)
 		{
 			BaseTween<?> obj = objects.get(i);
 			if (obj.isFinished() && obj.isAutoRemoveEnabled)
 			{
-				objects.remove(i);
+				unindex(obj, obj);
+				obj.managerIndex = -1;
 				obj.free();
+				continue;
 			}
+			if (write != i)
+			{
+				objects.set(write, obj);
+				obj.managerIndex = write;
+			}
+			write++;
+		}
+		for (int i = size - 1; i >= write; i--)
+		{
+			objects.remove(i);
 		}
 
 		if (!isPaused) // if tween manager itself is not paused
@@ -232,6 +276,113 @@ public class TweenManager
 	// Helpers
 	// -------------------------------------------------------------------------
 
+	/**
+	 * Adds the object and all it's children to the id, host, and target maps.
+	 * 
+	 * @param obj
+	 * @param top
+	 *            the top level object
+	 */
+	private void index(BaseTween<?> obj, BaseTween<?> top)
+	{
+		idMap.put(obj.getId(), obj);
+		if (obj instanceof Tween)
+		{
+			if (obj.hostCompId >= 0)
+			{
+				ArrayList<BaseTween<?>> list = hostMap.get(obj.hostCompId);
+				if (list == null)
+				{
+					list = obtainList();
+					hostMap.put(obj.hostCompId, list);
+				}
+				addTop(list, top);
+			}
+
+			TweenGetterSetter getterSetter = ((Tween) obj).getGetterSetter();
+			Object target = getterSetter == null ? null : getterSetter
+					.getTarget();
+			if (target == null) return;
+			ArrayList<BaseTween<?>> list = targetMap.get(target);
+			if (list == null)
+			{
+				list = obtainList();
+				targetMap.put(target, list);
+			}
+			addTop(list, top);
+		}
+		else
+		{
+			List<BaseTween<?>> children = ((Timeline) obj).children;
+			for (int i = 0, n = children.size(); i < n; i++)
+			{
+				index(children.get(i), top);
+			}
+		}
+	}
+
+	/**
+	 * Removes the object and all it's children from the id, host, and target maps, ran before it is freed.
+	 * 
+	 * @param obj
+	 * @param top
+	 *            the top level object
+	 */
+	private void unindex(BaseTween<?> obj, BaseTween<?> top)
+	{
+		idMap.remove(obj.getId());
+		if (obj instanceof Tween)
+		{
+			if (obj.hostCompId >= 0)
+			{
+				ArrayList<BaseTween<?>> list = hostMap.get(obj.hostCompId);
+				if (list != null)
+				{
+					list.remove(top);
+					if (list.isEmpty())
+					{
+						hostMap.remove(obj.hostCompId);
+						targetListPool.add(list);
+					}
+				}
+			}
+
+			TweenGetterSetter getterSetter = ((Tween) obj).getGetterSetter();
+			Object target = getterSetter == null ? null : getterSetter
+					.getTarget();
+			if (target == null) return;
+			ArrayList<BaseTween<?>> list = targetMap.get(target);
+			if (list == null) return;
+			list.remove(top);
+			if (list.isEmpty())
+			{
+				targetMap.remove(target);
+				targetListPool.add(list);
+			}
+		}
+		else
+		{
+			List<BaseTween<?>> children = ((Timeline) obj).children;
+			for (int i = 0, n = children.size(); i < n; i++)
+			{
+				unindex(children.get(i), top);
+			}
+		}
+	}
+
+	private ArrayList<BaseTween<?>> obtainList()
+	{
+		return targetListPool.isEmpty() ? new ArrayList<BaseTween<?>>(2)
+				: targetListPool.remove(targetListPool.size() - 1);
+	}
+
+	private static void addTop(ArrayList<BaseTween<?>> list, BaseTween<?> top)
+	{
+		// same top level object may have multiple tweens with the target or host, they are indexed together
+		if (!list.isEmpty() && list.get(list.size() - 1) == top) return;
+		list.add(top);
+	}
+
 	private static int getTweensCount(List<BaseTween<?>> objs)
 	{
 		int cnt = 0;